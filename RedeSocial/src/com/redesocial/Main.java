@@ -1,17 +1,127 @@
 package com.redesocial;
 
+import com.redesocial.api.ServidorApi;
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorSessoes;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.metricas.GravacaoEventos;
+import com.redesocial.metricas.Metricas;
+import com.redesocial.persistencia.DiarioMutacoes;
 import com.redesocial.ui.MenuPrincipal;
 
+import javax.management.JMException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 public class Main {
     public static void main(String[] args) {
         System.out.println("----- Rede Social -----"); // Exibe o título do sistema
 
         try {
+            GerenciadorUsuarios gerenciadorUsuarios = new GerenciadorUsuarios();
+            GerenciadorPosts gerenciadorPosts = new GerenciadorPosts(gerenciadorUsuarios);
+
+            // Recupera os dados gravados e passa a registrar cada alteração no diário (argumento --dados=diretorio)
+            Path diretorioDados = Path.of("dados");
+            for (String arg : args) {
+                if (arg.startsWith("--dados=")) {
+                    diretorioDados = Path.of(arg.substring(8));
+                }
+            }
+            DiarioMutacoes diario = DiarioMutacoes.abrir(diretorioDados, gerenciadorUsuarios, gerenciadorPosts);
+            if (diario.getPosicaoSnapshot() > 0 || diario.getRegistrosReproduzidos() > 0) {
+                System.out.println("Dados recuperados: snapshot até a alteração " + diario.getPosicaoSnapshot()
+                        + " e " + diario.getRegistrosReproduzidos() + " alterações reaplicadas.");
+            }
+
+            // Calcula as sugestões de amizade de todos os usuários em segundo plano, em paralelo nos núcleos
+            // disponíveis; até terminar, cada sugestão é calculada na primeira consulta
+            Thread.ofVirtual().name("recalculo-sugestoes").start(gerenciadorUsuarios::recalcularSugestoes);
+
+            // Com o argumento --exclusao-em-segundo-plano, os posts, curtidas e comentários de uma conta excluída
+            // são apagados por uma thread virtual, sem atrasar quem pediu a exclusão
+            ExecutorService executorExclusoes = null;
+            if (Arrays.asList(args).contains("--exclusao-em-segundo-plano")) {
+                executorExclusoes = Executors.newVirtualThreadPerTaskExecutor();
+                gerenciadorPosts.usarExecutorExclusoes(executorExclusoes);
+            }
+
+            // Mede a latência e as falhas de cada operação a partir daqui, sem incluir a recuperação dos dados;
+            // as métricas podem ser consultadas pelo menu ou via JMX (o argumento --sem-metricas as desativa e
+            // --amostragem-metricas=N cronometra só uma a cada N chamadas, em média)
+            if (!Arrays.asList(args).contains("--sem-metricas")) {
+                int amostragem = 1;
+                for (String arg : args) {
+                    if (arg.startsWith("--amostragem-metricas=")) {
+                        amostragem = Integer.parseInt(arg.substring(22));
+                    }
+                }
+                Metricas metricas = new Metricas(amostragem);
+                gerenciadorUsuarios.usarMetricas(metricas);
+                gerenciadorPosts.usarMetricas(metricas);
+                try {
+                    metricas.registrarJmx();
+                } catch (JMException e) {
+                    System.out.println("Métricas indisponíveis via JMX: " + e.getMessage());
+                }
+            }
+
+            // Com o argumento --jfr=arquivo, as operações e as montagens de feed são gravadas pelo Java Flight
+            // Recorder até o fim do programa; --jfr-limiar-ms=N grava só as que levarem N ms ou mais
+            GravacaoEventos gravacao = null;
+            Path arquivoJfr = null;
+            Duration limiarJfr = Duration.ZERO;
+            for (String arg : args) {
+                if (arg.startsWith("--jfr=")) {
+                    arquivoJfr = Path.of(arg.substring(6));
+                } else if (arg.startsWith("--jfr-limiar-ms=")) {
+                    limiarJfr = Duration.ofMillis(Long.parseLong(arg.substring(16)));
+                }
+            }
+            if (arquivoJfr != null) {
+                gravacao = GravacaoEventos.iniciar(arquivoJfr, limiarJfr);
+                System.out.println("Gravando eventos do JFR em " + arquivoJfr);
+            }
+
+            // O console e a API compartilham as sessões abertas pelo login
+            GerenciadorSessoes gerenciadorSessoes = new GerenciadorSessoes(gerenciadorUsuarios);
+
+            // Com o argumento --api[=porta], a API HTTP é iniciada junto com o console, compartilhando os dados
+            ServidorApi servidor = null;
+            for (String arg : args) {
+                if (arg.startsWith("--api")) {
+                    int porta = arg.startsWith("--api=") ? Integer.parseInt(arg.substring(6)) : 8080;
+                    servidor = new ServidorApi(porta, gerenciadorUsuarios, gerenciadorPosts, gerenciadorSessoes);
+                    servidor.iniciar();
+                    System.out.println("API HTTP disponível na porta " + servidor.getPorta());
+                }
+            }
+
             // Instancia o menu principal
-            MenuPrincipal menu = new MenuPrincipal();
+            MenuPrincipal menu = new MenuPrincipal(gerenciadorUsuarios, gerenciadorPosts, gerenciadorSessoes);
 
             // Exibe o menu principal ao usuário
             menu.exibirMenu();
+
+            // Encerra a API ao sair do console
+            if (servidor != null) {
+                servidor.parar();
+            }
+
+            // Termina as limpezas de contas excluídas ainda em andamento
+            if (executorExclusoes != null) {
+                executorExclusoes.close();
+            }
+
+            // Garante que todas as alterações pendentes estejam gravadas antes de encerrar
+            diario.fechar();
+
+            if (gravacao != null) {
+                gravacao.close();
+            }
         } catch (Exception e) {
             // Captura e exibe mensagens de erro
             System.out.println("Erro ao inicializar o sistema: " + e.getMessage());
@@ -0,0 +1,192 @@
+package com.redesocial.api;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gerador de carga local para a {@link ServidorApi}.
+ * Cadastra usuários, abre uma sessão para cada um, cria amizades entre eles e então dispara, a partir de clientes em threads virtuais,
+ * uma mistura de leituras de feed, criação de posts, curtidas e comentários durante o tempo configurado.
+ * Ao final, informa a vazão e as latências p50, p99 e p999.
+ *
+ * Uso: {@code java com.redesocial.api.GeradorCarga [url] [clientes] [segundos]}
+ */
+public class GeradorCarga {
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+
+    private final String url;
+    private final HttpClient cliente;
+    private final AtomicInteger maiorIdPost = new AtomicInteger();
+    private final AtomicLong erros = new AtomicLong();
+
+    /**
+     * Construtor da classe.
+     * @param url Endereço base da API, por exemplo {@code http://localhost:8080}.
+     */
+    public GeradorCarga(String url) {
+        this.url = url;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1) // O servidor embutido do JDK não aceita upgrade para HTTP/2
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        new GeradorCarga(url).executar(clientes, segundos);
+    }
+
+    /**
+     * Prepara os dados e executa a carga, imprimindo o relatório no final.
+     * @param clientes Quantidade de clientes simultâneos (um usuário por cliente).
+     * @param segundos Duração da carga, em segundos.
+     * @throws Exception Se a preparação falhar.
+     */
+    public void executar(int clientes, int segundos) throws Exception {
+        System.out.println("Preparando " + clientes + " usuários em " + url + "...");
+        String[] tokens = new String[clientes];
+        int[] ids = cadastrarUsuarios(clientes, tokens);
+        for (int i = 0; i < ids.length; i++) {
+            for (int j = 1; j <= 5 && i + j < ids.length; j++) {
+                enviar("POST", "/amizades", "idAmigo=" + ids[i + j], tokens[i]);
+            }
+        }
+
+        System.out.println("Executando carga por " + segundos + "s...");
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        List<Future<long[]>> resultados = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String token : tokens) {
+                resultados.add(executor.submit(() -> simularCliente(token, fim)));
+            }
+        }
+
+        long[] latencias = resultados.stream()
+                .map(GeradorCarga::resultado)
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        relatar(latencias, segundos);
+    }
+
+    /**
+     * Cadastra os usuários e faz o login de cada um, guardando os tokens das sessões.
+     * @return Os IDs dos usuários.
+     */
+    private int[] cadastrarUsuarios(int quantidade, String[] tokens) throws Exception {
+        long sufixo = System.currentTimeMillis();
+        int[] ids = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            String username = "carga" + sufixo + "_" + i;
+            String resposta = enviar("POST", "/usuarios",
+                    "nome=Carga+" + i + "&username=" + username + "&email=" + username + "%40teste.com&senha=123456", null).body();
+            ids[i] = extrairId(resposta);
+            Matcher token = TOKEN.matcher(enviar("POST", "/login", "username=" + username + "&senha=123456", null).body());
+            tokens[i] = token.find() ? token.group(1) : null;
+        }
+        return ids;
+    }
+
+    /**
+     * Executa operações aleatórias em nome do usuário da sessão até o fim da carga.
+     * @return As latências medidas, em nanossegundos.
+     */
+    private long[] simularCliente(String token, long fim) {
+        long[] latencias = new long[1024];
+        int quantidade = 0;
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < fim) {
+            int sorteio = aleatorio.nextInt(100);
+            int idPost = Math.max(1, aleatorio.nextInt(Math.max(1, maiorIdPost.get())) + 1);
+            long inicio = System.nanoTime();
+            try {
+                if (sorteio < 50) {
+                    enviar("GET", "/feed?tamanho=20", null, token);
+                } else if (sorteio < 70) {
+                    String resposta = enviar("POST", "/posts", "conteudo=Post+de+carga", token).body();
+                    maiorIdPost.accumulateAndGet(extrairId(resposta), Math::max);
+                } else if (sorteio < 90) {
+                    enviar("POST", "/posts/" + idPost + "/curtidas", "", token);
+                } else {
+                    enviar("POST", "/posts/" + idPost + "/comentarios", "conteudo=Comentario", token);
+                }
+            } catch (Exception e) {
+                erros.incrementAndGet();
+            }
+
+            if (quantidade == latencias.length) {
+                latencias = Arrays.copyOf(latencias, quantidade * 2);
+            }
+            latencias[quantidade++] = System.nanoTime() - inicio;
+        }
+        return Arrays.copyOf(latencias, quantidade);
+    }
+
+    private HttpResponse<String> enviar(String metodo, String caminho, String corpo, String token) throws Exception {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(url + caminho)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            requisicao.header("Authorization", "Bearer " + token);
+        }
+        if (corpo == null) {
+            requisicao.method(metodo, HttpRequest.BodyPublishers.noBody());
+        } else {
+            requisicao.header("Content-Type", "application/x-www-form-urlencoded")
+                    .method(metodo, HttpRequest.BodyPublishers.ofString(corpo));
+        }
+
+        HttpResponse<String> resposta = cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() >= 500) {
+            erros.incrementAndGet();
+        }
+        return resposta;
+    }
+
+    private static int extrairId(String json) {
+        Matcher matcher = ID.matcher(json);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    private static long[] resultado(Future<long[]> futuro) {
+        try {
+            return futuro.get();
+        } catch (Exception e) {
+            return new long[0];
+        }
+    }
+
+    private void relatar(long[] latencias, int segundos) {
+        System.out.println("\n=== Resultado da Carga ===");
+        System.out.println("Requisições: " + latencias.length + " | Erros: " + erros.get());
+        System.out.printf("Vazão: %.1f req/s%n", latencias.length / (double) segundos);
+        if (latencias.length > 0) {
+            System.out.printf("Latência p50: %.2f ms | p99: %.2f ms | p999: %.2f ms | máx: %.2f ms%n",
+                    percentil(latencias, 0.50), percentil(latencias, 0.99),
+                    percentil(latencias, 0.999), latencias[latencias.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentil(long[] ordenadas, double percentil) {
+        int posicao = (int) Math.min(ordenadas.length - 1, Math.ceil(percentil * ordenadas.length) - 1);
+        return ordenadas[Math.max(0, posicao)] / 1e6;
+    }
+}
@@ -0,0 +1,163 @@
+package com.redesocial.api;
+
+import com.redesocial.gerenciador.SugestaoAmizade;
+import com.redesocial.modelo.Comentario;
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+
+import java.util.List;
+
+/**
+ * Utilitário para montar as respostas JSON da API sem dependências externas.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Converte um usuário para JSON, sem expor a senha.
+     * @param usuario O usuário.
+     * @return O objeto JSON.
+     */
+    static String usuario(Usuario usuario) {
+        return "{\"id\":" + usuario.getId()
+                + ",\"nome\":" + texto(usuario.getNome())
+                + ",\"username\":" + texto(usuario.getUsername())
+                + ",\"email\":" + texto(usuario.getEmail())
+                + ",\"dataCadastro\":" + texto(usuario.getDataCadastro() != null ? usuario.getDataCadastro().toString() : null)
+                + "}";
+    }
+
+    /**
+     * Converte um post para JSON.
+     * @param post O post.
+     * @return O objeto JSON.
+     */
+    static String post(Post post) {
+        return "{\"id\":" + post.getId()
+                + ",\"autor\":{\"id\":" + post.getAutor().getId() + ",\"username\":" + texto(post.getAutor().getUsername()) + "}"
+                + ",\"conteudo\":" + texto(post.getConteudo())
+                + ",\"dataPublicacao\":" + texto(post.getDataPublicacao().toString())
+                + ",\"curtidas\":" + post.getNumeroCurtidas()
+                + ",\"comentarios\":" + post.getNumeroComentarios()
+                + "}";
+    }
+
+    /**
+     * Converte um comentário para JSON.
+     * @param comentario O comentário.
+     * @return O objeto JSON.
+     */
+    static String comentario(Comentario comentario) {
+        return "{\"id\":" + comentario.getId()
+                + ",\"autor\":{\"id\":" + comentario.getAutor().getId() + ",\"username\":" + texto(comentario.getAutor().getUsername()) + "}"
+                + ",\"conteudo\":" + texto(comentario.getConteudo())
+                + ",\"dataComentario\":" + texto(comentario.getDataComentario().toString())
+                + "}";
+    }
+
+    /**
+     * Converte uma lista de usuários para um array JSON.
+     * @param usuarios Os usuários.
+     * @return O array JSON.
+     */
+    static String usuarios(List<Usuario> usuarios) {
+        StringBuilder json = new StringBuilder("[");
+        for (Usuario usuario : usuarios) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(usuario(usuario));
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Converte uma lista de posts para um array JSON.
+     * @param posts Os posts.
+     * @return O array JSON.
+     */
+    static String posts(List<Post> posts) {
+        StringBuilder json = new StringBuilder("[");
+        for (Post post : posts) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(post(post));
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Converte uma lista de comentários para um array JSON.
+     * @param comentarios Os comentários.
+     * @return O array JSON.
+     */
+    static String comentarios(List<Comentario> comentarios) {
+        StringBuilder json = new StringBuilder("[");
+        for (Comentario comentario : comentarios) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(comentario(comentario));
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Converte uma lista de sugestões de amizade para um array JSON.
+     * @param sugestoes As sugestões.
+     * @return O array JSON.
+     */
+    static String sugestoes(List<SugestaoAmizade> sugestoes) {
+        StringBuilder json = new StringBuilder("[");
+        for (SugestaoAmizade sugestao : sugestoes) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("{\"idUsuario\":").append(sugestao.idUsuario())
+                    .append(",\"amigosEmComum\":").append(sugestao.amigosEmComum()).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Monta o objeto de erro retornado pela API.
+     * @param mensagem A mensagem de erro.
+     * @return O objeto JSON.
+     */
+    static String erro(String mensagem) {
+        return "{\"erro\":" + texto(mensagem) + "}";
+    }
+
+    /**
+     * Converte um texto para uma string JSON, escapando os caracteres especiais.
+     * @param valor O texto (pode ser nulo).
+     * @return A string JSON, ou {@code null}.
+     */
+    static String texto(String valor) {
+        if (valor == null) {
+            return "null";
+        }
+        StringBuilder json = new StringBuilder(valor.length() + 2).append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+}
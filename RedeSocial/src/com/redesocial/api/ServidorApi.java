@@ -0,0 +1,378 @@
+package com.redesocial.api;
+
+import com.redesocial.exception.PostException;
+import com.redesocial.exception.SessaoException;
+import com.redesocial.exception.UsuarioException;
+import com.redesocial.exception.ValidacaoException;
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorSessoes;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.gerenciador.PaginaAmigosEmComum;
+import com.redesocial.gerenciador.PaginaBuscaPosts;
+import com.redesocial.gerenciador.PaginaComentarios;
+import com.redesocial.gerenciador.PaginaFeed;
+import com.redesocial.gerenciador.Sessao;
+import com.redesocial.modelo.Comentario;
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * API HTTP/JSON da rede social, construída sobre o servidor HTTP embutido no JDK.
+ * Expõe as mesmas operações do menu de console (cadastro, login, posts, curtidas, comentários, feed e amizades)
+ * e atende cada requisição em uma thread virtual, permitindo milhares de clientes simultâneos.
+ * Os parâmetros podem ser enviados na query string ou no corpo, no formato {@code application/x-www-form-urlencoded}.
+ * As operações feitas em nome de um usuário (publicar, curtir, comentar, ver o feed e alterar amizades) exigem
+ * o token devolvido por {@code POST /login}, no cabeçalho {@code Authorization: Bearer <token>}.
+ */
+public class ServidorApi {
+    private static final int TAMANHO_PAGINA_PADRAO = 20;
+    private static final String PREFIXO_TOKEN = "Bearer ";
+
+    private final GerenciadorUsuarios gerenciadorUsuarios;
+    private final GerenciadorPosts gerenciadorPosts;
+    private final GerenciadorSessoes gerenciadorSessoes;
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+
+    /**
+     * Construtor da classe, que prepara o servidor na porta informada.
+     * @param porta Porta TCP em que o servidor irá escutar (0 escolhe uma porta livre).
+     * @param gerenciadorUsuarios Instância do gerenciador de usuários.
+     * @param gerenciadorPosts Instância do gerenciador de posts.
+     * @throws IOException Se não for possível abrir a porta.
+     */
+    public ServidorApi(int porta, GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts) throws IOException {
+        this(porta, gerenciadorUsuarios, gerenciadorPosts, new GerenciadorSessoes(gerenciadorUsuarios));
+    }
+
+    /**
+     * Construtor da classe que compartilha as sessões com outras interfaces.
+     * @param porta Porta TCP em que o servidor irá escutar (0 escolhe uma porta livre).
+     * @param gerenciadorUsuarios Instância do gerenciador de usuários.
+     * @param gerenciadorPosts Instância do gerenciador de posts.
+     * @param gerenciadorSessoes Instância do gerenciador de sessões.
+     * @throws IOException Se não for possível abrir a porta.
+     */
+    public ServidorApi(int porta, GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts,
+                       GerenciadorSessoes gerenciadorSessoes) throws IOException {
+        this.gerenciadorUsuarios = gerenciadorUsuarios;
+        this.gerenciadorPosts = gerenciadorPosts;
+        this.gerenciadorSessoes = gerenciadorSessoes;
+        // Desativa o algoritmo de Nagle: cabeçalhos e corpo são escritos separadamente e, sem isso,
+        // cada resposta esperaria o ACK atrasado do cliente (cerca de 40 ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.servidor = HttpServer.create(new InetSocketAddress(porta), 1024);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor(); // Uma thread virtual por requisição
+
+        servidor.createContext("/usuarios", troca -> atender(troca, this::usuarios));
+        servidor.createContext("/login", troca -> atender(troca, this::login));
+        servidor.createContext("/posts", troca -> atender(troca, this::posts));
+        servidor.createContext("/feed", troca -> atender(troca, this::feed));
+        servidor.createContext("/amizades", troca -> atender(troca, this::amizades));
+        servidor.setExecutor(executor);
+    }
+
+    /**
+     * Inicia o atendimento das requisições.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Encerra o servidor, aguardando até um segundo pelas requisições em andamento.
+     */
+    public void parar() {
+        servidor.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Retorna a porta em que o servidor está escutando.
+     * @return A porta TCP.
+     */
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Resposta de uma operação da API.
+     * @param status Código de status HTTP.
+     * @param corpo Corpo JSON.
+     */
+    private record Resposta(int status, String corpo) {
+    }
+
+    /**
+     * Operação da API, que recebe a requisição já decodificada.
+     */
+    @FunctionalInterface
+    private interface Operacao {
+        Resposta executar(Requisicao requisicao);
+    }
+
+    /**
+     * Requisição HTTP decodificada: método, segmentos do caminho, parâmetros e token da sessão.
+     * @param metodo Método HTTP.
+     * @param caminho Segmentos do caminho, sem barras.
+     * @param parametros Parâmetros da query string e do corpo.
+     * @param token Token do cabeçalho {@code Authorization}, ou null.
+     */
+    private record Requisicao(String metodo, String[] caminho, Map<String, String> parametros, String token) {
+
+        String texto(String nome) {
+            String valor = parametros.get(nome);
+            if (valor == null) {
+                throw new ValidacaoException("Parâmetro obrigatório ausente: " + nome);
+            }
+            return valor;
+        }
+
+        int inteiro(String nome) {
+            try {
+                return Integer.parseInt(texto(nome));
+            } catch (NumberFormatException e) {
+                throw new ValidacaoException("Parâmetro inválido: " + nome);
+            }
+        }
+
+        int inteiro(String nome, int padrao) {
+            return parametros.containsKey(nome) ? inteiro(nome) : padrao;
+        }
+    }
+
+    private void atender(HttpExchange troca, Operacao operacao) throws IOException {
+        Resposta resposta;
+        try {
+            resposta = operacao.executar(decodificar(troca));
+        } catch (ValidacaoException e) {
+            resposta = new Resposta(400, Json.erro(e.getMessage()));
+        } catch (SessaoException e) {
+            resposta = new Resposta(401, Json.erro(e.getMessage()));
+        } catch (UsuarioException | PostException e) {
+            resposta = new Resposta(422, Json.erro(e.getMessage()));
+        } catch (RuntimeException e) {
+            resposta = new Resposta(500, Json.erro("Erro inesperado: " + e.getMessage()));
+        }
+
+        byte[] corpo = resposta.corpo().getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        troca.sendResponseHeaders(resposta.status(), corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+
+    private static Requisicao decodificar(HttpExchange troca) throws IOException {
+        Map<String, String> parametros = new HashMap<>();
+        lerParametros(troca.getRequestURI().getRawQuery(), parametros);
+        try (InputStream entrada = troca.getRequestBody()) {
+            lerParametros(new String(entrada.readAllBytes(), StandardCharsets.UTF_8), parametros);
+        }
+
+        String autorizacao = troca.getRequestHeaders().getFirst("Authorization");
+        String token = autorizacao != null && autorizacao.startsWith(PREFIXO_TOKEN)
+                ? autorizacao.substring(PREFIXO_TOKEN.length()).trim() : null;
+
+        String caminho = troca.getRequestURI().getPath().replaceAll("^/+|/+$", "");
+        return new Requisicao(troca.getRequestMethod(), caminho.split("/+"), parametros, token);
+    }
+
+    private static void lerParametros(String texto, Map<String, String> parametros) {
+        if (texto == null || texto.isEmpty()) {
+            return;
+        }
+        for (String par : texto.split("&")) {
+            int separador = par.indexOf('=');
+            String nome = separador < 0 ? par : par.substring(0, separador);
+            String valor = separador < 0 ? "" : par.substring(separador + 1);
+            parametros.put(URLDecoder.decode(nome, StandardCharsets.UTF_8), URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Resposta naoEncontrado() {
+        return new Resposta(404, Json.erro("Recurso não encontrado."));
+    }
+
+    /**
+     * POST /usuarios cadastra um usuário; GET /usuarios?busca=termo busca usuários; GET /usuarios/{id} consulta um usuário;
+     * GET /usuarios/{id}/sugestoes?limite= lista as sugestões de amizade, com a quantidade de amigos em comum;
+     * GET /usuarios/{id}/amigos-em-comum?com=&amp;tamanho=&amp;depoisDe= conta e lista os amigos em comum com outro
+     * usuário e informa se os dois são amigos.
+     */
+    private Resposta usuarios(Requisicao requisicao) {
+        String[] caminho = requisicao.caminho();
+        if (caminho.length == 1 && requisicao.metodo().equals("POST")) {
+            Usuario usuario = new Usuario(requisicao.texto("nome"), requisicao.texto("username"),
+                    requisicao.texto("email"), requisicao.texto("senha"), LocalDateTime.now());
+            gerenciadorUsuarios.cadastrar(usuario);
+            return new Resposta(201, Json.usuario(usuario));
+        }
+        if (caminho.length == 1 && requisicao.metodo().equals("GET")) {
+            return new Resposta(200, Json.usuarios(gerenciadorUsuarios.buscar(requisicao.texto("busca"),
+                    requisicao.inteiro("limite", TAMANHO_PAGINA_PADRAO))));
+        }
+        if (caminho.length == 2 && requisicao.metodo().equals("GET")) {
+            return new Resposta(200, Json.usuario(gerenciadorUsuarios.buscarPorId(inteiro(caminho[1]))));
+        }
+        if (caminho.length == 3 && caminho[2].equals("amigos-em-comum") && requisicao.metodo().equals("GET")) {
+            int idUsuario = inteiro(caminho[1]);
+            int idOutro = requisicao.inteiro("com", 0);
+            PaginaAmigosEmComum pagina = gerenciadorUsuarios.consultarAmigosEmComum(idUsuario, idOutro,
+                    requisicao.inteiro("depoisDe", 0), requisicao.inteiro("tamanho", TAMANHO_PAGINA_PADRAO));
+            return new Resposta(200, "{\"quantidade\":" + gerenciadorUsuarios.contarAmigosEmComum(idUsuario, idOutro)
+                    + ",\"saoAmigos\":" + gerenciadorUsuarios.saoAmigos(idUsuario, idOutro)
+                    + ",\"amigos\":" + Json.usuarios(pagina.getAmigos())
+                    + ",\"proximoCursor\":" + (pagina.temProximaPagina() ? pagina.getProximoCursor() : "null") + "}");
+        }
+        if (caminho.length == 3 && caminho[2].equals("sugestoes") && requisicao.metodo().equals("GET")) {
+            return new Resposta(200, Json.sugestoes(gerenciadorUsuarios.sugerirAmigos(inteiro(caminho[1]),
+                    requisicao.inteiro("limite", 10))));
+        }
+        return naoEncontrado();
+    }
+
+    /**
+     * POST /login autentica um usuário pelo username e senha e devolve o token da sessão;
+     * DELETE /login encerra a sessão do token informado (logout).
+     */
+    private Resposta login(Requisicao requisicao) {
+        if (requisicao.metodo().equals("POST")) {
+            Sessao sessao = gerenciadorSessoes.entrar(requisicao.texto("username"), requisicao.texto("senha"));
+            return new Resposta(200, "{\"token\":" + Json.texto(sessao.getToken())
+                    + ",\"usuario\":" + Json.usuario(gerenciadorUsuarios.buscarPorId(sessao.getIdUsuario())) + "}");
+        }
+        if (requisicao.metodo().equals("DELETE")) {
+            return new Resposta(200, "{\"encerrada\":" + gerenciadorSessoes.sair(requisicao.token()) + "}");
+        }
+        return naoEncontrado();
+    }
+
+    /**
+     * Retorna o ID do usuário dono da sessão da requisição.
+     * @throws SessaoException Se a requisição não tiver uma sessão válida.
+     */
+    private int usuarioDaSessao(Requisicao requisicao) {
+        return gerenciadorSessoes.validar(requisicao.token()).getIdUsuario();
+    }
+
+    /**
+     * POST /posts cria um post; GET /posts/{id} consulta um post; GET /posts/em-alta?limite= lista os posts em alta;
+     * GET /posts/busca?q=&amp;tamanho=&amp;antes= busca posts pelo conteúdo, dos mais recentes para os mais antigos;
+     * POST e DELETE /posts/{id}/curtidas curtem e descurtem; POST /posts/{id}/comentarios comenta;
+     * GET /posts/{id}/comentarios?tamanho=&amp;antes= consulta uma página de comentários, dos mais recentes para os mais antigos.
+     * Criar, curtir, descurtir e comentar são feitos em nome do usuário da sessão.
+     */
+    private Resposta posts(Requisicao requisicao) {
+        String[] caminho = requisicao.caminho();
+        String metodo = requisicao.metodo();
+
+        if (caminho.length == 1 && metodo.equals("POST")) {
+            Usuario autor = gerenciadorUsuarios.buscarPorId(usuarioDaSessao(requisicao));
+            Post post = new Post(null, autor, requisicao.texto("conteudo"), LocalDateTime.now());
+            gerenciadorPosts.validarPost(post);
+            gerenciadorUsuarios.adicionarPost(autor, post);
+            gerenciadorPosts.criar(post);
+            return new Resposta(201, Json.post(post));
+        }
+        if (caminho.length < 2) {
+            return naoEncontrado();
+        }
+        if (caminho.length == 2 && caminho[1].equals("em-alta") && metodo.equals("GET")) {
+            return new Resposta(200, "{\"posts\":" + Json.posts(gerenciadorPosts.listarEmAlta(
+                    requisicao.inteiro("limite", TAMANHO_PAGINA_PADRAO))) + "}");
+        }
+        if (caminho.length == 2 && caminho[1].equals("busca") && metodo.equals("GET")) {
+            PaginaBuscaPosts pagina = gerenciadorPosts.buscar(requisicao.texto("q"),
+                    requisicao.inteiro("tamanho", TAMANHO_PAGINA_PADRAO), requisicao.inteiro("antes", 0));
+            return new Resposta(200, "{\"posts\":" + Json.posts(pagina.getPosts())
+                    + ",\"proximoCursor\":" + (pagina.temProximaPagina() ? pagina.getProximoCursor() : "null") + "}");
+        }
+
+        int idPost = inteiro(caminho[1]);
+        if (caminho.length == 2 && metodo.equals("GET")) {
+            return new Resposta(200, Json.post(gerenciadorPosts.buscarPorId(idPost)));
+        }
+        if (caminho.length == 3 && caminho[2].equals("curtidas")) {
+            if (metodo.equals("POST")) {
+                gerenciadorPosts.curtir(idPost, usuarioDaSessao(requisicao));
+                return new Resposta(200, Json.post(gerenciadorPosts.buscarPorId(idPost)));
+            }
+            if (metodo.equals("DELETE")) {
+                gerenciadorPosts.descurtir(idPost, usuarioDaSessao(requisicao));
+                return new Resposta(200, Json.post(gerenciadorPosts.buscarPorId(idPost)));
+            }
+        }
+        if (caminho.length == 3 && caminho[2].equals("comentarios") && metodo.equals("POST")) {
+            Usuario autor = gerenciadorUsuarios.buscarPorId(usuarioDaSessao(requisicao));
+            Comentario comentario = new Comentario(autor, requisicao.texto("conteudo"), gerenciadorPosts.buscarPorId(idPost));
+            gerenciadorPosts.comentar(comentario);
+            return new Resposta(201, Json.post(gerenciadorPosts.buscarPorId(idPost)));
+        }
+        if (caminho.length == 3 && caminho[2].equals("comentarios") && metodo.equals("GET")) {
+            PaginaComentarios pagina = gerenciadorPosts.consultarComentarios(idPost,
+                    requisicao.inteiro("tamanho", TAMANHO_PAGINA_PADRAO), requisicao.inteiro("antes", 0));
+            return new Resposta(200, "{\"comentarios\":" + Json.comentarios(pagina.getComentarios())
+                    + ",\"proximoCursor\":" + (pagina.temProximaPagina() ? pagina.getProximoCursor() : "null") + "}");
+        }
+        return naoEncontrado();
+    }
+
+    /**
+     * GET /feed?tamanho=&amp;cursor= consulta uma página do feed de notícias do usuário da sessão.
+     */
+    private Resposta feed(Requisicao requisicao) {
+        if (!requisicao.metodo().equals("GET")) {
+            return naoEncontrado();
+        }
+        PaginaFeed pagina = gerenciadorPosts.consultarFeed(usuarioDaSessao(requisicao),
+                requisicao.inteiro("tamanho", TAMANHO_PAGINA_PADRAO), requisicao.parametros().get("cursor"));
+        return new Resposta(200, "{\"posts\":" + Json.posts(pagina.getPosts())
+                + ",\"proximoCursor\":" + Json.texto(pagina.getProximoCursor()) + "}");
+    }
+
+    /**
+     * POST /amizades?idAmigo= cria uma amizade do usuário da sessão; DELETE /amizades?idAmigo= remove;
+     * GET /amizades?idUsuario= lista os amigos de um usuário.
+     */
+    private Resposta amizades(Requisicao requisicao) {
+        switch (requisicao.metodo()) {
+            case "POST" -> {
+                gerenciadorUsuarios.adicionarAmizade(usuarioDaSessao(requisicao), requisicao.inteiro("idAmigo"));
+                return new Resposta(200, "{\"amigos\":true}");
+            }
+            case "DELETE" -> {
+                gerenciadorUsuarios.removerAmizade(usuarioDaSessao(requisicao), requisicao.inteiro("idAmigo"));
+                return new Resposta(200, "{\"amigos\":false}");
+            }
+            case "GET" -> {
+                return new Resposta(200, Json.usuarios(gerenciadorUsuarios.listarAmigos(requisicao.inteiro("idUsuario"))));
+            }
+            default -> {
+                return naoEncontrado();
+            }
+        }
+    }
+
+    private static int inteiro(String segmento) {
+        try {
+            return Integer.parseInt(segmento);
+        } catch (NumberFormatException e) {
+            throw new ValidacaoException("ID inválido: " + segmento);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.redesocial.exception;
+
+/**
+ * Exceção personalizada para tratar erros na gravação ou leitura dos dados persistidos em disco.
+ * Extende a classe RuntimeException, permitindo o lançamento de exceções em tempo de execução.
+ */
+public class PersistenciaException extends RuntimeException {
+
+    /**
+     * Construtor da exceção que recebe uma mensagem de erro.
+     * @param message Mensagem de erro a ser associada à exceção.
+     */
+    public PersistenciaException(String message) {
+        super(message); // Passa a mensagem para a classe pai (RuntimeException)
+    }
+
+    /**
+     * Construtor da exceção que recebe uma mensagem de erro e a causa original.
+     * @param message Mensagem de erro a ser associada à exceção.
+     * @param cause Erro de entrada/saída que originou a exceção.
+     */
+    public PersistenciaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
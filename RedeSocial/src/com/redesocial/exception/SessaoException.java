@@ -0,0 +1,16 @@
+package com.redesocial.exception;
+
+/**
+ * Exceção personalizada para tratar sessões inexistentes, encerradas ou expiradas.
+ * Extende a classe RuntimeException, permitindo o lançamento de exceções em tempo de execução.
+ */
+public class SessaoException extends RuntimeException {
+
+    /**
+     * Construtor da exceção que recebe uma mensagem de erro.
+     * @param mensagem A mensagem de erro a ser associada à exceção.
+     */
+    public SessaoException(String mensagem) {
+        super(mensagem); // Passa a mensagem para a classe pai (RuntimeException)
+    }
+}
@@ -0,0 +1,108 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.modelo.Comentario;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Armazém dos comentários de todos os posts.
+ * Os IDs são globais e alocados atomicamente, em ordem de chegada; cada post tem a sua
+ * {@link ListaComentarios}, ordenada por ID, de onde saem a contagem e as páginas de comentários recentes
+ * sem percorrer o post inteiro.
+ */
+class ArmazemComentarios {
+    private final Map<Integer, ListaComentarios> porPost = new ConcurrentHashMap<>();
+    private final AtomicInteger proximoId = new AtomicInteger(1);
+    private final AtomicBoolean idUmUsado = new AtomicBoolean();
+
+    /**
+     * Aloca o ID de um comentário novo.
+     * @return O ID, maior que todos os já alocados ou restaurados.
+     */
+    int novoId() {
+        int id = proximoId.getAndIncrement();
+        if (id == 1) {
+            idUmUsado.set(true);
+        }
+        return id;
+    }
+
+    /**
+     * Reserva o ID de um comentário restaurado, fazendo o gerador avançar para depois dele.
+     * Os comentários gravados antes dos IDs globais tinham todos o ID 1; a partir do segundo, recebem um ID novo.
+     * @param id O ID gravado.
+     * @return O ID a ser usado pelo comentário.
+     */
+    int reservar(int id) {
+        if (id <= 0 || id == 1 && idUmUsado.getAndSet(true)) {
+            return novoId();
+        }
+        proximoId.accumulateAndGet(id + 1, Math::max);
+        return id;
+    }
+
+    int getProximoId() {
+        return proximoId.get();
+    }
+
+    /**
+     * Faz o gerador de IDs avançar, sem recuar, até o valor informado.
+     * @param id O menor ID que ainda pode ser alocado.
+     */
+    void avancarProximoId(int id) {
+        proximoId.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Adiciona um comentário, já com ID, à lista do seu post.
+     * @param idPost O ID do post.
+     * @param comentario O comentário.
+     * @return true se o comentário foi adicionado, false se o post já tinha um comentário com o mesmo ID.
+     */
+    boolean adicionar(int idPost, Comentario comentario) {
+        return porPost.computeIfAbsent(idPost, id -> new ListaComentarios()).adicionar(comentario);
+    }
+
+    /**
+     * Verifica se este exato comentário já foi adicionado ao post.
+     * @param idPost O ID do post.
+     * @param comentario O comentário, já com ID.
+     * @return true se o comentário já está no post.
+     */
+    boolean contem(int idPost, Comentario comentario) {
+        ListaComentarios comentarios = porPost.get(idPost);
+        return comentarios != null && comentarios.contem(comentario);
+    }
+
+    /**
+     * Retorna uma visão imutável dos comentários de um post, em ordem crescente de ID.
+     * @param idPost O ID do post.
+     * @return A fatia atual, vazia se o post não tiver comentários.
+     */
+    ListaComentarios.Fatia fatia(int idPost) {
+        ListaComentarios comentarios = porPost.get(idPost);
+        return comentarios == null ? new ListaComentarios.Fatia(new Comentario[0], 0) : comentarios.fatia();
+    }
+
+    /**
+     * Remove de um post os comentários de um autor.
+     * @param idPost O ID do post.
+     * @param idAutor O ID do autor.
+     * @return A quantidade de comentários removidos.
+     */
+    int removerDoAutor(int idPost, int idAutor) {
+        ListaComentarios comentarios = porPost.get(idPost);
+        return comentarios == null ? 0 : comentarios.removerDoAutor(idAutor);
+    }
+
+    /**
+     * Descarta os comentários de um post excluído.
+     * @param idPost O ID do post.
+     */
+    void removerPost(int idPost) {
+        porPost.remove(idPost);
+    }
+}
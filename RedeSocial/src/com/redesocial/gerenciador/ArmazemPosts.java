@@ -0,0 +1,317 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+import com.redesocial.util.ConjuntoIds;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Armazém colunar dos posts.
+ * Em vez de um grafo de objetos por post, cada atributo fica em um array indexado pelo ID (autor, conteúdo,
+ * data em milissegundos, quantidade de curtidas e de comentários), dividido em blocos de {@value #TAMANHO_BLOCO}
+ * posts alocados à medida que os IDs avançam. O conjunto dos usuários que curtiram só é criado na primeira
+ * curtida. Um post ocupa cerca de 30 bytes além do seu texto; os {@link Post} devolvidos são visões
+ * montadas na leitura, com as contagens daquele momento.
+ * Como não há mais um objeto por post para sincronizar, cada post é protegido por uma trava escolhida pelo
+ * ID ({@link #travaDe(int)}). Os atributos fixos são gravados antes de o ID ser publicado nas listas dos
+ * autores, então a data pode ser lida sem trava por quem obteve o ID dessas listas.
+ */
+class ArmazemPosts {
+    private static final int BITS_BLOCO = 12;
+    static final int TAMANHO_BLOCO = 1 << BITS_BLOCO;
+    private static final int QUANTIDADE_TRAVAS = 1024; // Potência de 2
+    private static final long SEM_DATA = Long.MIN_VALUE;
+
+    private volatile Bloco[] blocos = new Bloco[0];
+    private final Object[] travas = new Object[QUANTIDADE_TRAVAS];
+
+    /**
+     * Colunas de um intervalo de {@value #TAMANHO_BLOCO} IDs.
+     */
+    private static final class Bloco {
+        final boolean[] ativos = new boolean[TAMANHO_BLOCO];
+        final Usuario[] autores = new Usuario[TAMANHO_BLOCO];
+        final String[] conteudos = new String[TAMANHO_BLOCO];
+        final long[] instantes = new long[TAMANHO_BLOCO];
+        final int[] curtidas = new int[TAMANHO_BLOCO];
+        final int[] comentarios = new int[TAMANHO_BLOCO];
+        final ConjuntoIds[] curtiram = new ConjuntoIds[TAMANHO_BLOCO]; // Criado na primeira curtida
+    }
+
+    ArmazemPosts() {
+        for (int i = 0; i < QUANTIDADE_TRAVAS; i++) {
+            travas[i] = new Object();
+        }
+    }
+
+    /**
+     * Retorna a trava que protege as curtidas, a contagem de comentários e a exclusão de um post.
+     * @param id O ID do post.
+     * @return A trava do post, compartilhada com outros posts.
+     */
+    Object travaDe(int id) {
+        return travas[id & (QUANTIDADE_TRAVAS - 1)];
+    }
+
+    /**
+     * Grava um post com o ID já atribuído, sem curtidas nem comentários.
+     * @param post O post.
+     */
+    void gravar(Post post) {
+        int id = post.getId();
+        Bloco bloco = blocoParaGravar(id);
+        int i = id & (TAMANHO_BLOCO - 1);
+        synchronized (travaDe(id)) {
+            bloco.autores[i] = post.getAutor();
+            bloco.conteudos[i] = post.getConteudo();
+            bloco.instantes[i] = post.getDataPublicacao() == null ? SEM_DATA : CursorFeed.instanteDe(post.getDataPublicacao());
+            bloco.curtidas[i] = 0;
+            bloco.comentarios[i] = 0;
+            bloco.curtiram[i] = null;
+            bloco.ativos[i] = true;
+        }
+    }
+
+    /**
+     * Remove um post. O ID não é reaproveitado.
+     * @param id O ID do post.
+     * @return A visão do post removido, ou null se ele não existia.
+     */
+    Post remover(int id) {
+        Bloco bloco = blocoDe(id);
+        if (bloco == null) {
+            return null;
+        }
+        int i = id & (TAMANHO_BLOCO - 1);
+        synchronized (travaDe(id)) {
+            if (!bloco.ativos[i]) {
+                return null;
+            }
+            Post post = visao(bloco, i, id);
+            bloco.ativos[i] = false;
+            bloco.autores[i] = null;
+            bloco.conteudos[i] = null;
+            bloco.curtiram[i] = null; // A data é mantida para leitores que ainda tenham o ID
+            return post;
+        }
+    }
+
+    /**
+     * Verifica se um post existe.
+     * @param id O ID do post.
+     * @return true se o post existe.
+     */
+    boolean existe(int id) {
+        Bloco bloco = blocoDe(id);
+        if (bloco == null) {
+            return false;
+        }
+        synchronized (travaDe(id)) {
+            return bloco.ativos[id & (TAMANHO_BLOCO - 1)];
+        }
+    }
+
+    /**
+     * Monta a visão de um post.
+     * @param id O ID do post.
+     * @return O post, ou null se ele não existir.
+     */
+    Post ler(int id) {
+        Bloco bloco = blocoDe(id);
+        if (bloco == null) {
+            return null;
+        }
+        int i = id & (TAMANHO_BLOCO - 1);
+        synchronized (travaDe(id)) {
+            return bloco.ativos[i] ? visao(bloco, i, id) : null;
+        }
+    }
+
+    /**
+     * Retorna o ID do autor de um post.
+     * @param id O ID do post.
+     * @return O ID do autor, ou 0 se o post não existir ou não tiver autor.
+     */
+    int idAutorDe(int id) {
+        Bloco bloco = blocoDe(id);
+        if (bloco == null) {
+            return 0;
+        }
+        int i = id & (TAMANHO_BLOCO - 1);
+        synchronized (travaDe(id)) {
+            Usuario autor = bloco.autores[i];
+            return bloco.ativos[i] && autor != null && autor.getId() != null ? autor.getId() : 0;
+        }
+    }
+
+    /**
+     * Retorna a data de publicação de um post em milissegundos, sem trava.
+     * Só deve ser chamado com IDs obtidos das listas dos autores, publicados depois da gravação do post.
+     * @param id O ID do post.
+     * @return A data em milissegundos.
+     */
+    long instanteDe(int id) {
+        return blocoDe(id).instantes[id & (TAMANHO_BLOCO - 1)];
+    }
+
+    /**
+     * Registra a curtida de um usuário.
+     * @param id O ID do post, que deve existir.
+     * @param idUsuario O ID do usuário.
+     * @return true se a curtida foi registrada, false se o usuário já tinha curtido.
+     */
+    boolean adicionarCurtida(int id, int idUsuario) {
+        Bloco bloco = blocoDe(id);
+        int i = id & (TAMANHO_BLOCO - 1);
+        synchronized (travaDe(id)) {
+            ConjuntoIds curtiram = bloco.curtiram[i];
+            if (curtiram == null) {
+                curtiram = bloco.curtiram[i] = new ConjuntoIds();
+            }
+            if (!curtiram.adicionar(idUsuario)) {
+                return false;
+            }
+            bloco.curtidas[i]++;
+            return true;
+        }
+    }
+
+    /**
+     * Verifica se um usuário curtiu um post.
+     * @param id O ID do post, que deve existir.
+     * @param idUsuario O ID do usuário.
+     * @return true se o usuário curtiu o post.
+     */
+    boolean curtiu(int id, int idUsuario) {
+        Bloco bloco = blocoDe(id);
+        int i = id & (TAMANHO_BLOCO - 1);
+        synchronized (travaDe(id)) {
+            ConjuntoIds curtiram = bloco.curtiram[i];
+            return curtiram != null && curtiram.contem(idUsuario);
+        }
+    }
+
+    /**
+     * Remove a curtida de um usuário.
+     * @param id O ID do post, que deve existir.
+     * @param idUsuario O ID do usuário.
+     * @return true se a curtida foi removida, false se o usuário não tinha curtido.
+     */
+    boolean removerCurtida(int id, int idUsuario) {
+        Bloco bloco = blocoDe(id);
+        int i = id & (TAMANHO_BLOCO - 1);
+        synchronized (travaDe(id)) {
+            ConjuntoIds curtiram = bloco.curtiram[i];
+            if (curtiram == null || !curtiram.remover(idUsuario)) {
+                return false;
+            }
+            bloco.curtidas[i]--;
+            return true;
+        }
+    }
+
+    /**
+     * Retorna os IDs dos usuários que curtiram um post.
+     * @param id O ID do post.
+     * @return Os IDs, vazio se o post não existir ou não tiver curtidas.
+     */
+    int[] curtidasDe(int id) {
+        Bloco bloco = blocoDe(id);
+        if (bloco == null) {
+            return new int[0];
+        }
+        synchronized (travaDe(id)) {
+            ConjuntoIds curtiram = bloco.curtiram[id & (TAMANHO_BLOCO - 1)];
+            return curtiram == null ? new int[0] : curtiram.paraArray();
+        }
+    }
+
+    /**
+     * Conta um comentário recém-adicionado.
+     * @param id O ID do post, que deve existir.
+     */
+    void contarComentario(int id) {
+        Bloco bloco = blocoDe(id);
+        synchronized (travaDe(id)) {
+            bloco.comentarios[id & (TAMANHO_BLOCO - 1)]++;
+        }
+    }
+
+    /**
+     * Desconta comentários removidos.
+     * @param id O ID do post, que deve existir.
+     * @param quantidade A quantidade de comentários removidos.
+     */
+    void descontarComentarios(int id, int quantidade) {
+        Bloco bloco = blocoDe(id);
+        synchronized (travaDe(id)) {
+            bloco.comentarios[id & (TAMANHO_BLOCO - 1)] -= quantidade;
+        }
+    }
+
+    /**
+     * Monta as visões de todos os posts, em ordem de ID.
+     * @return Os posts.
+     */
+    List<Post> listar() {
+        Bloco[] blocos = this.blocos;
+        List<Post> lista = new ArrayList<>();
+        for (int b = 0; b < blocos.length; b++) {
+            if (blocos[b] == null) {
+                continue;
+            }
+            for (int i = 0; i < TAMANHO_BLOCO; i++) {
+                Post post = ler((b << BITS_BLOCO) | i);
+                if (post != null) {
+                    lista.add(post);
+                }
+            }
+        }
+        return lista;
+    }
+
+    private static Post visao(Bloco bloco, int i, int id) {
+        long instante = bloco.instantes[i];
+        LocalDateTime data = instante == SEM_DATA ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(instante), ZoneOffset.UTC);
+        Post post = new Post(id, bloco.autores[i], bloco.conteudos[i], data);
+        post.setNumeroCurtidas(bloco.curtidas[i]);
+        post.setNumeroComentarios(bloco.comentarios[i]);
+        return post;
+    }
+
+    private Bloco blocoDe(int id) {
+        Bloco[] blocos = this.blocos;
+        int b = id >>> BITS_BLOCO;
+        return id > 0 && b < blocos.length ? blocos[b] : null;
+    }
+
+    /**
+     * Retorna o bloco do ID, alocando-o (e ampliando a tabela de blocos) se necessário.
+     * A tabela é substituída por uma cópia, para que as leituras sem trava sempre vejam uma tabela completa.
+     */
+    private Bloco blocoParaGravar(int id) {
+        Bloco bloco = blocoDe(id);
+        if (bloco != null) {
+            return bloco;
+        }
+
+        synchronized (this) {
+            Bloco[] blocos = this.blocos;
+            int b = id >>> BITS_BLOCO;
+            if (b < blocos.length && blocos[b] != null) {
+                return blocos[b];
+            }
+            Bloco[] novos = Arrays.copyOf(blocos, Math.max(blocos.length, b + 1 + (b >> 1)));
+            novos[b] = new Bloco();
+            this.blocos = novos;
+            return novos[b];
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.redesocial.gerenciador;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+/**
+ * Indica se os eventos do JFR dos gerenciadores estão ligados em alguma gravação em andamento.
+ * O compilador JIT nem sempre consegue eliminar a criação de um evento desligado, então os gerenciadores
+ * consultam estes indicadores antes de criar cada evento. Eles são atualizados sempre que uma gravação muda
+ * de estado, seja ela iniciada pela linha de comando da JVM, pelo {@code jcmd} ou pela aplicação.
+ */
+final class ChaveEventos {
+    static volatile boolean operacoes;
+    static volatile boolean feed;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                atualizar();
+            }
+
+            @Override
+            public void recordingStateChanged(Recording gravacao) {
+                atualizar();
+            }
+        });
+    }
+
+    private ChaveEventos() {
+    }
+
+    private static void atualizar() {
+        operacoes = EventType.getEventType(EventoOperacao.class).isEnabled();
+        feed = EventType.getEventType(EventoFeed.class).isEnabled();
+    }
+}
@@ -0,0 +1,90 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.exception.ValidacaoException;
+import com.redesocial.modelo.Post;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Posição de leitura no feed de notícias, formada pelo instante de publicação e pelo ID do último post lido.
+ * É entregue aos clientes como um texto opaco, que deve ser devolvido para obter a página seguinte.
+ */
+public final class CursorFeed implements Comparable<CursorFeed> {
+    private final long instante; // Data de publicação em milissegundos
+    private final int idPost;
+
+    /**
+     * Construtor da classe.
+     * @param instante Data de publicação, em milissegundos.
+     * @param idPost ID do post.
+     */
+    public CursorFeed(long instante, int idPost) {
+        this.instante = instante;
+        this.idPost = idPost;
+    }
+
+    /**
+     * Cria o cursor correspondente à posição de um post no feed.
+     * @param post O post.
+     * @return O cursor que aponta para o post.
+     */
+    public static CursorFeed de(Post post) {
+        return new CursorFeed(instanteDe(post.getDataPublicacao()), post.getId());
+    }
+
+    /**
+     * Converte uma data de publicação para milissegundos, a chave de ordenação usada no feed.
+     * @param data A data de publicação.
+     * @return A data em milissegundos.
+     */
+    public static long instanteDe(LocalDateTime data) {
+        return data.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Codifica o cursor em um texto opaco.
+     * @return O cursor codificado.
+     */
+    public String codificar() {
+        String texto = instante + ":" + idPost;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor gerado por {@link #codificar()}.
+     * @param codificado O cursor codificado.
+     * @return O cursor correspondente.
+     * @throws ValidacaoException Se o texto não for um cursor válido.
+     */
+    public static CursorFeed decodificar(String codificado) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(codificado), StandardCharsets.UTF_8);
+            int separador = texto.indexOf(':');
+            return new CursorFeed(Long.parseLong(texto.substring(0, separador)), Integer.parseInt(texto.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidacaoException("Cursor do feed inválido.");
+        }
+    }
+
+    public long getInstante() {
+        return instante;
+    }
+
+    public int getIdPost() {
+        return idPost;
+    }
+
+    /**
+     * Compara dois cursores pela ordem do feed: primeiro pelo instante e, em caso de empate, pelo ID.
+     * @param outro O cursor a ser comparado.
+     * @return Valor negativo, zero ou positivo se este cursor for anterior, igual ou posterior ao outro.
+     */
+    @Override
+    public int compareTo(CursorFeed outro) {
+        int comparacao = Long.compare(instante, outro.instante);
+        return comparacao != 0 ? comparacao : Integer.compare(idPost, outro.idPost);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.metricas.GravacaoEventos;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder emitido a cada montagem de uma página do feed de notícias, seja pela timeline
+ * pré-calculada ({@link GerenciadorPosts#listarFeed}) ou pela intercalação a partir de um cursor
+ * ({@link GerenciadorPosts#consultarFeed}, usada pelo menu "Ver Feed de Notícias" em todas as páginas).
+ * Desativado por padrão, como o {@link EventoOperacao}.
+ */
+@Name(GravacaoEventos.EVENTO_FEED)
+@Label("Montagem do Feed")
+@Category({"Rede Social", "Feed"})
+@Description("Montagem de uma página do feed de notícias")
+@Enabled(false)
+@StackTrace(false)
+final class EventoFeed extends Event {
+    private static final EventoFeed DESLIGADO = new EventoFeed();
+
+    @Label("ID do Usuário")
+    int idUsuario;
+
+    @Label("Origem")
+    @Description("timeline (pré-calculada, pelo listarFeed) ou cursor (por intercalação, pelo consultarFeed)")
+    String origem;
+
+    @Label("Amigos")
+    int amigos;
+
+    @Label("Posts Examinados")
+    @Description("Posts candidatos percorridos para montar a página")
+    int postsExaminados;
+
+    @Label("Tamanho do Resultado")
+    int tamanhoResultado;
+
+    @Label("Tem Próxima Página")
+    boolean temProximaPagina;
+
+    /**
+     * Marca o início da montagem de uma página.
+     * @return O evento iniciado.
+     */
+    static EventoFeed iniciar() {
+        if (!ChaveEventos.feed) {
+            return DESLIGADO;
+        }
+        EventoFeed evento = new EventoFeed();
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Marca o fim da montagem e indica se o evento deve ser gravado, para que os campos só sejam calculados
+     * quando necessário.
+     * @return true se o evento estiver ligado e acima do limiar de duração configurado.
+     */
+    boolean concluir() {
+        if (this == DESLIGADO) {
+            return false;
+        }
+        end();
+        return shouldCommit();
+    }
+
+    /**
+     * Preenche e grava o evento, depois de {@link #concluir()} indicar que ele deve ser gravado.
+     */
+    void gravar(int idUsuario, String origem, int amigos, int postsExaminados, int tamanhoResultado,
+                boolean temProximaPagina) {
+        this.idUsuario = idUsuario;
+        this.origem = origem;
+        this.amigos = amigos;
+        this.postsExaminados = postsExaminados;
+        this.tamanhoResultado = tamanhoResultado;
+        this.temProximaPagina = temProximaPagina;
+        commit();
+    }
+}
@@ -0,0 +1,40 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.metricas.GravacaoEventos;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder emitido a cada chamada de um método público dos gerenciadores, com a duração
+ * da chamada. Permite relacionar operações lentas a pausas de GC e disputa por travas na mesma gravação.
+ * Desativado por padrão: é ligado pela configuração da gravação (ver {@link GravacaoEventos}). O evento só guarda
+ * os dados; quem o cria, inicia e grava é a {@link Medicao}, que nem o cria enquanto estiver desligado, e o custo
+ * se resume à leitura de um indicador.
+ */
+@Name(GravacaoEventos.EVENTO_OPERACAO)
+@Label("Operação do Gerenciador")
+@Category({"Rede Social", "Gerenciadores"})
+@Description("Chamada de um método público de GerenciadorUsuarios ou GerenciadorPosts")
+@Enabled(false)
+@StackTrace(false)
+final class EventoOperacao extends Event {
+    @Label("Operação")
+    String operacao;
+
+    @Label("ID do Usuário")
+    @Description("Usuário envolvido na operação, quando informado na chamada")
+    int idUsuario;
+
+    @Label("ID do Post")
+    @Description("Post envolvido na operação, quando informado na chamada")
+    int idPost;
+
+    @Label("Falha")
+    @Description("Classe da exceção lançada, se a operação falhou")
+    String falha;
+}
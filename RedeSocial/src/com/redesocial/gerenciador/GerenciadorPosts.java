@@ -2,53 +2,587 @@ package com.redesocial.gerenciador;
 
 import com.redesocial.exception.PostException;
 import com.redesocial.exception.ValidacaoException;
+import com.redesocial.metricas.Metricas;
+import com.redesocial.metricas.OperacaoMedida;
 import com.redesocial.modelo.Comentario;
 import com.redesocial.modelo.Post;
 import com.redesocial.modelo.Usuario;
 
+import java.time.InstantSource;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Classe responsável pela gestão de posts dentro da rede social.
  * Ela permite a criação, busca, listagem, curtidas, descurtidas, comentários e exclusão de posts.
+ * Também mantém as timelines dos usuários, distribuindo cada novo post para o autor e seus amigos.
+ * Os posts ficam em um {@link ArmazemPosts} colunar, e os {@link Post} devolvidos são visões montadas na leitura.
+ * É segura para uso por várias sessões simultâneas: os índices são mapas concorrentes, os IDs são alocados
+ * atomicamente e cada lista de autor, timeline e post possui sua própria trava.
+ * Cada alteração é anotada no {@link RegistroMutacoes} configurado e só é confirmada depois de gravada.
+ * Índices reversos (posts de cada autor e a {@link PegadaUsuario} de cada usuário) permitem apagar uma conta
+ * excluída visitando apenas os posts em que ela deixou rastros; essa limpeza pode ser feita em segundo plano.
+ * As curtidas e os comentários alimentam um {@link MotorTendencias}, que mantém os posts em alta sem varrer os posts.
+ * O conteúdo dos posts é indexado em um {@link IndiceBuscaPosts}, para buscas por palavras, hashtags e menções.
+ * A latência e as falhas dos métodos públicos são medidas pela {@link Medicao}, com as {@link Metricas} configuradas
+ * e eventos {@link EventoOperacao} quando uma gravação do JFR os liga; acessos O(1) não são medidos.
+ * A classe é final porque o construtor se registra como ouvinte do gerenciador de usuários: uma subclasse
+ * poderia ser notificada antes de terminar de ser construída.
  */
-public class GerenciadorPosts {
-    private List<Post> posts;
-    private int proximoId;
-    private int idComentario;
+public final class GerenciadorPosts implements OuvinteAmizades, OuvinteExclusoes {
+    private static final int CAPACIDADE_TIMELINE = 500; // Quantidade de posts mantidos por timeline
+
+    private final ArmazemPosts posts; // Atributos, curtidas e contagens dos posts, em colunas indexadas pelo ID
+    private final Map<Integer, ListaPostsAutor> postsPorAutor; // Posts de cada autor, em ordem de criação
+    private final Map<Integer, Timeline> timelines; // Feed pré-calculado de cada usuário
+    private final AtomicInteger proximoId;
+    private final ArmazemComentarios comentarios; // Comentários de cada post, com IDs globais
+    private final Map<Integer, PegadaUsuario> pegadas; // Posts curtidos e comentados por cada usuário, encerrada na exclusão
+    private final MotorTendencias tendencias; // Pontuações de engajamento recente e ranking dos posts em alta
+    private final IndiceBuscaPosts indiceBusca; // Índice invertido do conteúdo dos posts
     private final GerenciadorUsuarios gerenciadorUsuarios;
+    private volatile RegistroMutacoes registro; // Onde cada alteração é registrada antes de ser confirmada
+    private volatile Metricas metricas; // Onde as latências e falhas de cada operação são registradas
+    private volatile Executor executorExclusoes; // Onde as contas excluídas são apagadas
 
     /**
-     * Construtor da classe, que inicializa a lista de posts e configura o ID inicial.
+     * Construtor da classe, que inicializa o índice de posts e configura o ID inicial.
      * @param gerenciadorUsuarios Instância do gerenciador de usuários, necessário para validar usuários nas interações.
      */
     public GerenciadorPosts(GerenciadorUsuarios gerenciadorUsuarios){
-        posts = new ArrayList<>();
-        proximoId = 1;
-        idComentario = 1;
+        this(gerenciadorUsuarios, InstantSource.system());
+    }
+
+    /**
+     * Construtor da classe.
+     * @param gerenciadorUsuarios Instância do gerenciador de usuários, necessário para validar usuários nas interações.
+     * @param relogio Fonte do horário atual, usada no decaimento das pontuações dos posts em alta.
+     */
+    public GerenciadorPosts(GerenciadorUsuarios gerenciadorUsuarios, InstantSource relogio) {
+        posts = new ArmazemPosts();
+        postsPorAutor = new ConcurrentHashMap<>();
+        timelines = new ConcurrentHashMap<>();
+        proximoId = new AtomicInteger(1);
+        comentarios = new ArmazemComentarios();
+        pegadas = new ConcurrentHashMap<>();
+        tendencias = new MotorTendencias(relogio);
+        indiceBusca = new IndiceBuscaPosts();
         this.gerenciadorUsuarios = gerenciadorUsuarios;
+        registro = RegistroMutacoes.NENHUM;
+        metricas = Metricas.DESATIVADAS;
+        executorExclusoes = Runnable::run;
+        gerenciadorUsuarios.registrarOuvinteAmizades(this);
+        gerenciadorUsuarios.registrarOuvinteExclusoes(this);
+    }
+
+    /**
+     * Define onde as alterações de posts, curtidas e comentários passam a ser registradas.
+     * @param registro O registro de alterações.
+     * @throws ValidacaoException Se o registro for nulo.
+     */
+    public void usarRegistro(RegistroMutacoes registro) {
+        if (registro == null) {
+            throw new ValidacaoException("Registro não pode ser nulo.");
+        }
+        this.registro = registro;
+    }
+
+    /**
+     * Define onde as latências e as falhas das operações de posts, curtidas e comentários passam a ser medidas.
+     * @param metricas As métricas, possivelmente compartilhadas com outros gerenciadores.
+     * @throws ValidacaoException Se as métricas forem nulas.
+     */
+    public void usarMetricas(Metricas metricas) {
+        if (metricas == null) {
+            throw new ValidacaoException("Métricas não podem ser nulas.");
+        }
+        this.metricas = metricas;
+    }
+
+    public Metricas getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Define onde os posts, curtidas e comentários de uma conta excluída são apagados.
+     * Por padrão a limpeza é feita na própria thread da exclusão; com um executor em segundo plano, a exclusão
+     * retorna logo e os rastros da conta somem pouco depois. Como a limpeza não é registrada, ela é refeita
+     * por completo na recuperação.
+     * @param executor O executor da limpeza.
+     * @throws ValidacaoException Se o executor for nulo.
+     */
+    public void usarExecutorExclusoes(Executor executor) {
+        if (executor == null) {
+            throw new ValidacaoException("Executor não pode ser nulo.");
+        }
+        this.executorExclusoes = executor;
     }
 
     /**
      * Cria um novo post e o adiciona à lista de posts.
+     * Uma data de publicação anterior à do último post do mesmo autor é igualada a ela.
      * @param post O post a ser criado.
      * @throws ValidacaoException Se o post for nulo.
      */
     public void criar(Post post) {
-        if (post == null) {
-            throw new ValidacaoException("Post não pode ser nulo.");
+        Medicao.executar(metricas, OperacaoMedida.POSTS_CRIAR, 0, 0, () -> {
+            if (post == null) {
+                throw new ValidacaoException("Post não pode ser nulo.");
+            }
+
+            RegistroMutacoes registro = this.registro;
+            if (post.getAutor() == null || post.getAutor().getId() == null) {
+                post.setId(proximoId.getAndIncrement());
+                long posicao = registro.postCriado(post);
+                posts.gravar(post);
+                indiceBusca.adicionar(post.getId(), post.getConteudo());
+                registro.aguardar(posicao);
+                return;
+            }
+
+            // O ID é alocado com a trava da lista do autor, para que a lista continue ordenada por ID
+            ListaPostsAutor postsDoAutor = postsPorAutor.computeIfAbsent(post.getAutor().getId(), id -> new ListaPostsAutor());
+            long posicao;
+            synchronized (postsDoAutor) {
+                manterOrdemDoAutor(postsDoAutor, post);
+                post.setId(proximoId.getAndIncrement());
+                posicao = registro.postCriado(post); // Registrado antes de ficar visível para curtidas e comentários
+                posts.gravar(post);
+                postsDoAutor.adicionar(post.getId());
+            }
+            indiceBusca.adicionar(post.getId(), post.getConteudo());
+            distribuir(post);
+            registro.aguardar(posicao);
+        });
+    }
+
+    /**
+     * Garante que a data do novo post não seja anterior à do último post do autor, chamado com a trava da lista
+     * do autor. Sessões concorrentes do mesmo autor podem entregar as datas fora da ordem dos IDs; como a lista
+     * é ordenada por ID e o cursor do feed por (data, ID), a data atrasada é igualada à do post anterior.
+     */
+    private void manterOrdemDoAutor(ListaPostsAutor postsDoAutor, Post post) {
+        ListaPostsAutor.Fatia fatia = postsDoAutor.fatia();
+        if (fatia.tamanho() == 0 || post.getDataPublicacao() == null) {
+            return;
+        }
+        Post ultimo = posts.ler(fatia.itens()[fatia.tamanho() - 1]);
+        if (ultimo != null && ultimo.getDataPublicacao() != null && post.getDataPublicacao().isBefore(ultimo.getDataPublicacao())) {
+            post.setDataPublicacao(ultimo.getDataPublicacao());
+        }
+    }
+
+    /**
+     * Reinsere um post com o ID que ele já possuía, sem registrá-lo novamente, e o distribui para as timelines.
+     * Usado na recuperação dos dados persistidos, na ordem original de criação; o gerador de IDs avança para
+     * depois do ID restaurado.
+     * @param post O post a ser restaurado, com ID definido.
+     * @throws ValidacaoException Se o post ou seu ID forem inválidos.
+     */
+    public void restaurar(Post post) {
+        if (post == null || post.getId() == null || post.getId() <= 0) {
+            throw new ValidacaoException("Post ou ID inválido.");
+        }
+
+        posts.gravar(post);
+        indiceBusca.adicionar(post.getId(), post.getConteudo());
+        proximoId.accumulateAndGet(post.getId() + 1, Math::max);
+        if (post.getAutor() != null && post.getAutor().getId() != null) {
+            ListaPostsAutor postsDoAutor = postsPorAutor.computeIfAbsent(post.getAutor().getId(), id -> new ListaPostsAutor());
+            synchronized (postsDoAutor) {
+                postsDoAutor.adicionar(post.getId());
+            }
+            distribuir(post);
+        }
+    }
+
+    /**
+     * Distribui o post recém-criado para a timeline do autor e de cada um dos seus amigos.
+     * @param post O post a ser distribuído.
+     */
+    private void distribuir(Post post) {
+        timelineDe(post.getAutor().getId()).adicionar(post.getId());
+        for (int idAmigo : gerenciadorUsuarios.idsAmigos(post.getAutor().getId())) {
+            timelineDe(idAmigo).adicionar(post.getId());
+        }
+    }
+
+    /**
+     * Retorna a timeline de um usuário, criando-a se ainda não existir.
+     * @param idUsuario O ID do usuário.
+     * @return A timeline do usuário.
+     */
+    private Timeline timelineDe(int idUsuario) {
+        return timelines.computeIfAbsent(idUsuario, id -> new Timeline(CAPACIDADE_TIMELINE));
+    }
+
+    /**
+     * Retorna o ID que será atribuído ao próximo post criado.
+     * @return O próximo ID.
+     */
+    public int getProximoId() {
+        return proximoId.get();
+    }
+
+    /**
+     * Garante que os próximos posts criados recebam IDs a partir do valor informado, para que IDs de posts
+     * excluídos não sejam reaproveitados após uma recuperação.
+     * @param id O menor ID a ser atribuído aos próximos posts.
+     */
+    public void avancarProximoId(int id) {
+        proximoId.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Retorna o ID que será atribuído ao próximo comentário.
+     * @return O próximo ID de comentário.
+     */
+    public int getProximoIdComentario() {
+        return comentarios.getProximoId();
+    }
+
+    /**
+     * Garante que os próximos comentários recebam IDs a partir do valor informado.
+     * @param id O menor ID a ser atribuído aos próximos comentários.
+     */
+    public void avancarProximoIdComentario(int id) {
+        comentarios.avancarProximoId(id);
+    }
+
+    /**
+     * Lista o feed de notícias de um usuário (posts dele e dos seus amigos), do mais recente para o mais antigo.
+     * A leitura é apenas um recorte da timeline pré-calculada; posts excluídos são ignorados.
+     * @param idUsuario O ID do usuário dono do feed.
+     * @param limite Quantidade máxima de posts retornados.
+     * @return A lista com até {@code limite} posts do feed.
+     * @throws ValidacaoException Se o limite for negativo.
+     */
+    public List<Post> listarFeed(int idUsuario, int limite) {
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_LISTAR_FEED, idUsuario, 0, () -> {
+            if (limite < 0) {
+                throw new ValidacaoException("Limite não pode ser negativo.");
+            }
+
+            Timeline timeline = timelines.get(idUsuario);
+            if (timeline == null) {
+                return new ArrayList<>();
+            }
+
+            EventoFeed eventoFeed = EventoFeed.iniciar();
+            List<Post> feed = new ArrayList<>(Math.min(limite, timeline.tamanho()));
+            int examinados = 0;
+            for (int idPost : timeline.recentes(timeline.tamanho())) {
+                examinados++;
+                Post post = posts.ler(idPost);
+                if (post != null) {
+                    feed.add(post);
+                    if (feed.size() == limite) {
+                        break;
+                    }
+                }
+            }
+            if (eventoFeed.concluir()) {
+                eventoFeed.gravar(idUsuario, "timeline", gerenciadorUsuarios.contarAmigos(idUsuario), examinados,
+                        feed.size(), examinados < timeline.tamanho());
+            }
+            return feed;
+        });
+    }
+
+    /**
+     * Consulta uma página do feed de notícias de um usuário a partir de um cursor.
+     * A página é obtida por uma intercalação (k-way merge) das listas de posts do usuário e de cada amigo,
+     * já ordenadas por data, usando um heap com no máximo um elemento por autor. O custo depende do tamanho
+     * da página e do número de amigos, e não do total de posts do sistema.
+     * @param idUsuario O ID do usuário dono do feed.
+     * @param tamanhoPagina Quantidade máxima de posts da página.
+     * @param cursor Cursor devolvido pela página anterior, ou null para começar pelos posts mais recentes.
+     * @return A página do feed e o cursor para a próxima página.
+     * @throws ValidacaoException Se o tamanho da página não for positivo ou o cursor for inválido.
+     */
+    public PaginaFeed consultarFeed(int idUsuario, int tamanhoPagina, String cursor) {
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_CONSULTAR_FEED, idUsuario, 0, () -> {
+            if (tamanhoPagina <= 0) {
+                throw new ValidacaoException("Tamanho da página deve ser positivo.");
+            }
+
+            gerenciadorUsuarios.buscarPorId(idUsuario); // Garante que o usuário existe
+            CursorFeed limite = cursor == null ? null : CursorFeed.decodificar(cursor);
+
+            EventoFeed eventoFeed = EventoFeed.iniciar();
+
+            // Cada fonte começa no post mais recente anterior ao cursor
+            PriorityQueue<FonteFeed> heap = new PriorityQueue<>();
+            adicionarFonte(heap, idUsuario, limite);
+            int[] idsAmigos = gerenciadorUsuarios.idsAmigos(idUsuario);
+            for (int idAmigo : idsAmigos) {
+                adicionarFonte(heap, idAmigo, limite);
+            }
+
+            // Cada post que entra no heap é um candidato examinado; a intercalação só lê a coluna de datas
+            int examinados = heap.size();
+            List<Post> pagina = new ArrayList<>(tamanhoPagina);
+            CursorFeed ultimo = null;
+            while (!heap.isEmpty() && pagina.size() < tamanhoPagina) {
+                FonteFeed fonte = heap.poll();
+                ultimo = new CursorFeed(fonte.instante, fonte.idPost);
+                Post post = posts.ler(fonte.idPost);
+                if (post != null) { // Pode ter sido excluído depois de lido da lista do autor
+                    pagina.add(post);
+                }
+                if (fonte.avancar()) {
+                    heap.add(fonte);
+                    examinados++;
+                }
+            }
+
+            String proximoCursor = heap.isEmpty() ? null : ultimo.codificar();
+            if (eventoFeed.concluir()) {
+                eventoFeed.gravar(idUsuario, "cursor", idsAmigos.length, examinados, pagina.size(), proximoCursor != null);
+            }
+            return new PaginaFeed(pagina, proximoCursor);
+        });
+    }
+
+    private void adicionarFonte(PriorityQueue<FonteFeed> heap, int idAutor, CursorFeed limite) {
+        ListaPostsAutor.Fatia postsDoAutor = fatiaDoAutor(idAutor);
+
+        int posicao = postsDoAutor.tamanho() - 1;
+        if (limite != null) {
+            // Busca binária pelo último post estritamente anterior ao cursor
+            int inicio = 0, fim = postsDoAutor.tamanho() - 1;
+            posicao = -1;
+            while (inicio <= fim) {
+                int meio = (inicio + fim) >>> 1;
+                int idPost = postsDoAutor.itens()[meio];
+                if (new CursorFeed(posts.instanteDe(idPost), idPost).compareTo(limite) < 0) {
+                    posicao = meio;
+                    inicio = meio + 1;
+                } else {
+                    fim = meio - 1;
+                }
+            }
+        }
+
+        if (posicao >= 0) {
+            heap.add(new FonteFeed(posts, postsDoAutor.itens(), posicao));
+        }
+    }
+
+    private ListaPostsAutor.Fatia fatiaDoAutor(int idAutor) {
+        ListaPostsAutor postsDoAutor = postsPorAutor.get(idAutor);
+        return postsDoAutor == null ? new ListaPostsAutor.Fatia(ListaPostsAutor.VAZIO, 0) : postsDoAutor.fatia();
+    }
+
+    /**
+     * Posição de leitura na lista de posts de um autor durante a intercalação do feed.
+     * A fonte com o post mais recente tem a maior prioridade no heap.
+     */
+    private static class FonteFeed implements Comparable<FonteFeed> {
+        private final ArmazemPosts armazem;
+        private final int[] ids;
+        private int posicao;
+        private long instante; // Chave do post atual: data de publicação e ID
+        private int idPost;
+
+        FonteFeed(ArmazemPosts armazem, int[] ids, int posicao) {
+            this.armazem = armazem;
+            this.ids = ids;
+            this.posicao = posicao;
+            carregar();
+        }
+
+        boolean avancar() {
+            if (--posicao < 0) {
+                return false;
+            }
+            carregar();
+            return true;
+        }
+
+        private void carregar() {
+            idPost = ids[posicao];
+            instante = armazem.instanteDe(idPost);
         }
-        post.setId(proximoId++);
-        posts.add(post);
+
+        @Override
+        public int compareTo(FonteFeed outra) {
+            int comparacao = Long.compare(outra.instante, instante);
+            return comparacao != 0 ? comparacao : Integer.compare(outra.idPost, idPost);
+        }
+    }
+
+    /**
+     * Preenche retroativamente as timelines dos novos amigos com os posts recentes um do outro.
+     * @param idUsuario1 O ID do primeiro usuário.
+     * @param idUsuario2 O ID do segundo usuário.
+     */
+    @Override
+    public void amizadeAdicionada(int idUsuario1, int idUsuario2) {
+        timelineDe(idUsuario1).mesclar(idsRecentesDoAutor(idUsuario2));
+        timelineDe(idUsuario2).mesclar(idsRecentesDoAutor(idUsuario1));
+    }
+
+    /**
+     * Remove das timelines dos ex-amigos os posts um do outro.
+     * @param idUsuario1 O ID do primeiro usuário.
+     * @param idUsuario2 O ID do segundo usuário.
+     */
+    @Override
+    public void amizadeRemovida(int idUsuario1, int idUsuario2) {
+        removerDaTimeline(idUsuario1, idUsuario2);
+        removerDaTimeline(idUsuario2, idUsuario1);
     }
 
     /**
-     * Lista todos os posts registrados.
-     * @return Uma lista de todos os posts.
+     * Agenda a limpeza da conta excluída no executor configurado.
+     * @param idUsuario O ID do usuário excluído.
+     * @param amigos Os IDs de quem era amigo dele.
      */
-    public List<Post> listarPosts(){
-        return posts;
+    @Override
+    public void usuarioExcluido(int idUsuario, int[] amigos) {
+        executorExclusoes.execute(() -> apagarConta(idUsuario, amigos));
+    }
+
+    /**
+     * Apaga os posts de um usuário excluído, desfaz as suas curtidas e remove os seus comentários, visitando
+     * apenas os posts indicados pelos índices reversos. Nada disso é registrado: a exclusão do usuário já foi.
+     */
+    private void apagarConta(int idUsuario, int[] amigos) {
+        ListaPostsAutor postsDoUsuario = postsPorAutor.remove(idUsuario);
+        if (postsDoUsuario != null) {
+            ListaPostsAutor.Fatia fatia = postsDoUsuario.fatia();
+            for (int i = 0; i < fatia.tamanho(); i++) {
+                descartarPost(fatia.itens()[i]);
+            }
+        }
+
+        // Encerrada antes de ser lida: uma curtida ou um comentário concorrente ou já está nela, ou é recusado
+        PegadaUsuario pegada = pegadaDe(idUsuario);
+        pegada.encerrar();
+        for (int idPost : pegada.curtidos()) {
+            synchronized (posts.travaDe(idPost)) {
+                if (posts.existe(idPost) && posts.removerCurtida(idPost, idUsuario)) {
+                    tendencias.desfazerCurtida(idPost, idUsuario);
+                }
+                pegada.descurtiu(idPost);
+            }
+        }
+        for (int idPost : pegada.comentados()) {
+            synchronized (posts.travaDe(idPost)) {
+                if (posts.existe(idPost)) {
+                    int removidos = comentarios.removerDoAutor(idPost, idUsuario);
+                    posts.descontarComentarios(idPost, removidos);
+                    if (removidos > 0) {
+                        tendencias.desfazerComentarios(idPost, idUsuario);
+                    }
+                }
+                pegada.esquecerComentarios(idPost);
+            }
+        }
+
+        timelines.remove(idUsuario);
+        for (int idAmigo : amigos) {
+            removerDaTimeline(idAmigo, idUsuario);
+        }
+    }
+
+    private PegadaUsuario pegadaDe(int idUsuario) {
+        return pegadas.computeIfAbsent(idUsuario, id -> new PegadaUsuario());
+    }
+
+    private void removerDaTimeline(int idDono, int idAutor) {
+        Timeline timeline = timelines.get(idDono);
+        if (timeline != null) {
+            timeline.removerSe(idPost -> {
+                int autor = posts.idAutorDe(idPost);
+                return autor == 0 || autor == idAutor;
+            });
+        }
+    }
+
+    /**
+     * Retorna os IDs dos posts mais recentes de um autor que cabem em uma timeline, em ordem crescente.
+     * @param idAutor O ID do autor.
+     * @return Os IDs dos posts.
+     */
+    private int[] idsRecentesDoAutor(int idAutor) {
+        ListaPostsAutor.Fatia postsDoAutor = fatiaDoAutor(idAutor);
+        int inicio = Math.max(0, postsDoAutor.tamanho() - CAPACIDADE_TIMELINE);
+        return Arrays.copyOfRange(postsDoAutor.itens(), inicio, postsDoAutor.tamanho());
+    }
+
+    /**
+     * Lista os posts em alta: os de maior engajamento recente, com curtidas e comentários das últimas 24 horas
+     * pesando mais quanto mais novos forem. A lista é mantida pelo {@link MotorTendencias} a cada interação, então
+     * a leitura não percorre os posts. Curtidas e comentários restaurados na recuperação não contam.
+     * @param limite Quantidade máxima de posts retornados (até {@value MotorTendencias#QUANTIDADE_EM_ALTA}).
+     * @return Os posts, do mais para o menos engajado.
+     * @throws ValidacaoException Se o limite for negativo.
+     */
+    public List<Post> listarEmAlta(int limite) {
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_LISTAR_EM_ALTA, 0, 0, () -> {
+            if (limite < 0) {
+                throw new ValidacaoException("Limite não pode ser negativo.");
+            }
+
+            int[] ids = tendencias.emAlta(limite);
+            List<Post> lista = new ArrayList<>(ids.length);
+            for (int idPost : ids) {
+                adicionarSeExistir(lista, idPost);
+            }
+            return lista;
+        });
+    }
+
+    /**
+     * Busca posts pelo conteúdo, do mais recente para o mais antigo, uma página por vez.
+     * Os termos separados por espaço devem aparecer todos no post, e "OU" separa alternativas; acentos e
+     * maiúsculas são ignorados. {@code #tag} procura a hashtag e {@code @username} procura menções. Apenas os
+     * posts que contêm os termos são visitados, por meio do {@link IndiceBuscaPosts}.
+     * @param consulta O texto da busca, por exemplo {@code "#ferias praia OU @maria"}.
+     * @param tamanhoPagina Quantidade máxima de posts da página.
+     * @param antesDe Cursor devolvido pela página anterior, ou 0 para começar pelos mais recentes.
+     * @return A página de posts encontrados, com o cursor da próxima página.
+     * @throws ValidacaoException Se a consulta não tiver termos, o tamanho da página não for positivo ou o cursor
+     *                            for negativo.
+     */
+    public PaginaBuscaPosts buscar(String consulta, int tamanhoPagina, int antesDe) {
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_BUSCAR, 0, 0, () -> {
+            if (tamanhoPagina <= 0) {
+                throw new ValidacaoException("Tamanho da página deve ser positivo.");
+            }
+            if (antesDe < 0) {
+                throw new ValidacaoException("Cursor da busca inválido.");
+            }
+            List<String[]> clausulas = IndiceBuscaPosts.interpretar(consulta);
+
+            // Um resultado a mais indica se existe uma próxima página
+            int[] ids = indiceBusca.buscar(clausulas, antesDe, Math.min(tamanhoPagina, Integer.MAX_VALUE - 1) + 1);
+            int quantidade = Math.min(ids.length, tamanhoPagina);
+            List<Post> pagina = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                adicionarSeExistir(pagina, ids[i]);
+            }
+            return new PaginaBuscaPosts(pagina, ids.length > tamanhoPagina ? ids[tamanhoPagina - 1] : 0);
+        });
+    }
+
+    /**
+     * Lista todos os posts registrados, em ordem de criação.
+     * @return Uma cópia somente leitura com todos os posts.
+     */
+    public List<Post> listarPosts() {
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_LISTAR_POSTS, 0, 0, () -> {
+            return Collections.unmodifiableList(posts.listar()); // Já em ordem de ID
+        });
     }
 
     /**
@@ -58,10 +592,11 @@ public class GerenciadorPosts {
      * @throws PostException Se o post não for encontrado.
      */
     public Post buscarPorId(int id) {
-        return posts.stream()
-                .filter(post -> post.getId() == id)
-                .findFirst()
-                .orElseThrow(() -> new PostException("Post com ID " + id + " não encontrado."));
+        Post post = posts.ler(id);
+        if (post == null) {
+            throw new PostException("Post com ID " + id + " não encontrado.");
+        }
+        return post;
     }
 
     /**
@@ -71,19 +606,66 @@ public class GerenciadorPosts {
      * @throws PostException Se o usuário não tiver posts ou o ID for inválido.
      */
     public List<Post> listarPorUsuario(int idUsuario) {
-        List<Post> postsDoUsuario = new ArrayList<>();
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_LISTAR_POR_USUARIO, idUsuario, 0, () -> {
+            ListaPostsAutor.Fatia postsDoUsuario = fatiaDoAutor(idUsuario);
 
-        for (Post post : posts) {
-            if (post.getAutor().getId() == idUsuario) {
-                postsDoUsuario.add(post);
+            if (postsDoUsuario.tamanho() == 0) {
+                throw new PostException("Nenhum post encontrado para o usuário com ID " + idUsuario);
             }
-        }
 
-        if (postsDoUsuario.isEmpty()) {
-            throw new PostException("Nenhum post encontrado para o usuário com ID " + idUsuario);
-        }
+            List<Post> lista = new ArrayList<>(postsDoUsuario.tamanho());
+            for (int i = 0; i < postsDoUsuario.tamanho(); i++) {
+                adicionarSeExistir(lista, postsDoUsuario.itens()[i]);
+            }
+            return lista;
+        });
+    }
+
+    /**
+     * Lista os posts mais recentes de um usuário, do mais novo para o mais antigo.
+     * Percorre apenas o final da lista de posts do autor, sem tocar nos posts de outros usuários.
+     * @param idUsuario O ID do usuário cujos posts serão listados.
+     * @param limite Quantidade máxima de posts retornados.
+     * @return A lista com até {@code limite} posts do usuário (vazia se ele não tiver posts).
+     * @throws ValidacaoException Se o limite for negativo.
+     */
+    public List<Post> listarUltimosPorUsuario(int idUsuario, int limite) {
+        return listarUltimosPorUsuario(idUsuario, limite, 0);
+    }
+
+    /**
+     * Lista uma página dos posts de um usuário, do mais novo para o mais antigo, anteriores ao cursor.
+     * O cursor é o ID do último post da página anterior; como a lista do autor está ordenada por ID, a página
+     * é localizada por busca binária, sem percorrer os posts mais recentes.
+     * @param idUsuario O ID do usuário cujos posts serão listados.
+     * @param limite Quantidade máxima de posts retornados.
+     * @param antesDe ID do último post da página anterior, ou 0 para começar pelos mais recentes.
+     * @return A lista com até {@code limite} posts do usuário anteriores ao cursor.
+     * @throws ValidacaoException Se o limite ou o cursor forem negativos.
+     */
+    public List<Post> listarUltimosPorUsuario(int idUsuario, int limite, int antesDe) {
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_LISTAR_ULTIMOS_POR_USUARIO, idUsuario, 0, () -> {
+            if (limite < 0) {
+                throw new ValidacaoException("Limite não pode ser negativo.");
+            }
+            if (antesDe < 0) {
+                throw new ValidacaoException("Cursor dos posts inválido.");
+            }
+
+            ListaPostsAutor.Fatia postsDoUsuario = fatiaDoAutor(idUsuario);
+            int fim = postsDoUsuario.tamanho();
+            if (antesDe > 0) {
+                int posicao = ListaPostsAutor.posicaoDe(postsDoUsuario, antesDe);
+                fim = posicao >= 0 ? posicao : -(posicao + 1);
+            }
+            List<Post> ultimos = new ArrayList<>(Math.min(limite, fim));
 
-        return postsDoUsuario;
+            for (int i = fim - 1; i >= 0 && ultimos.size() < limite; i--) {
+                adicionarSeExistir(ultimos, postsDoUsuario.itens()[i]);
+            }
+
+            return ultimos;
+        });
     }
 
     /**
@@ -93,21 +675,34 @@ public class GerenciadorPosts {
      * @throws PostException Se o post ou o usuário forem inválidos, ou se o usuário já tiver curtido o post.
      */
     public void curtir(int idPost, int idUsuario) {
-        Post post = buscarPorId(idPost);
-        if (post == null) {
-            throw new PostException("Erro ao curtir post: post inválido.");
-        }
+        Medicao.executar(metricas, OperacaoMedida.POSTS_CURTIR, idUsuario, idPost, () -> {
+            exigirPost(idPost);
 
-        Usuario usuario = gerenciadorUsuarios.buscarPorId(idUsuario);
-        if (usuario == null) {
-            throw new PostException("Erro ao curtir post: usuário inválido.");
-        }
-
-        if (post.getCurtidas().contains(usuario)) {
-            throw new PostException("Usuário já curtiu este post.");
-        }
+            Usuario usuario = gerenciadorUsuarios.buscarPorId(idUsuario);
+            if (usuario == null) {
+                throw new PostException("Erro ao curtir post: usuário inválido.");
+            }
 
-        post.adicionarCurtida(usuario);
+            RegistroMutacoes registro = this.registro;
+            long posicao;
+            synchronized (posts.travaDe(idPost)) {
+                exigirPost(idPost); // Pode ter sido excluído antes da trava
+                if (posts.curtiu(idPost, usuario.getId())) {
+                    throw new PostException("Usuário já curtiu este post.");
+                }
+                PegadaUsuario pegada = pegadaDe(idUsuario);
+                synchronized (pegada) { // A conta não é encerrada entre a verificação e a curtida
+                    if (pegada.encerrada()) {
+                        throw new PostException("Erro ao curtir post: usuário inválido.");
+                    }
+                    posicao = registro.curtidaAdicionada(idPost, idUsuario); // Registrada antes de ser aplicada
+                    posts.adicionarCurtida(idPost, usuario.getId());
+                    pegada.curtiu(idPost);
+                }
+                tendencias.registrarCurtida(idPost, idUsuario);
+            }
+            registro.aguardar(posicao);
+        });
     }
 
     /**
@@ -117,45 +712,246 @@ public class GerenciadorPosts {
      * @throws PostException Se o post ou o usuário forem inválidos, ou se o usuário não tiver curtido o post.
      */
     public void descurtir(int idPost, int idUsuario) {
-        Post post = buscarPorId(idPost);
-        if (post == null) {
-            throw new PostException("Erro ao descurtir post: post inválido.");
-        }
+        Medicao.executar(metricas, OperacaoMedida.POSTS_DESCURTIR, idUsuario, idPost, () -> {
+            exigirPost(idPost);
 
-        Usuario usuario = gerenciadorUsuarios.buscarPorId(idUsuario);
-        if (usuario == null) {
-            throw new PostException("Erro ao descurtir post: usuário inválido.");
-        }
-
-        if (!post.getCurtidas().contains(usuario)) {
-            throw new PostException("Erro ao descurtir post: o usuário não curtiu este post.");
-        }
+            Usuario usuario = gerenciadorUsuarios.buscarPorId(idUsuario);
+            if (usuario == null) {
+                throw new PostException("Erro ao descurtir post: usuário inválido.");
+            }
 
-        post.removerCurtida(usuario);
+            RegistroMutacoes registro = this.registro;
+            long posicao;
+            synchronized (posts.travaDe(idPost)) {
+                exigirPost(idPost);
+                if (!posts.curtiu(idPost, usuario.getId())) {
+                    throw new PostException("Erro ao descurtir post: o usuário não curtiu este post.");
+                }
+                posicao = registro.curtidaRemovida(idPost, idUsuario);
+                posts.removerCurtida(idPost, usuario.getId());
+                PegadaUsuario pegada = pegadas.get(idUsuario);
+                if (pegada != null) {
+                    pegada.descurtiu(idPost);
+                }
+                tendencias.desfazerCurtida(idPost, idUsuario);
+            }
+            registro.aguardar(posicao);
+        });
     }
 
     /**
      * Permite adicionar um comentário a um post.
      * @param comentario O comentário a ser adicionado.
      * @throws ValidacaoException Se o comentário for nulo.
-     * @throws PostException Se o post relacionado ao comentário for inválido.
+     * @throws PostException Se o post relacionado ao comentário ou o seu autor forem inválidos.
      */
     public void comentar(Comentario comentario) {
-        if (comentario == null) {
-            throw new ValidacaoException("Comentário não pode ser nulo.");
+        Medicao.executar(metricas, OperacaoMedida.POSTS_COMENTAR, 0, 0, () -> {
+            if (comentario == null) {
+                throw new ValidacaoException("Comentário não pode ser nulo.");
+            }
+
+            Post post = comentario.getPost();
+            if (post == null) {
+                throw new PostException("Erro ao comentar: post inválido.");
+            }
+
+            Usuario autor = comentario.getAutor();
+            if (!gerenciadorUsuarios.existe(autor)) {
+                throw new PostException("Erro ao comentar: usuário inválido.");
+            }
+
+            int idPost = post.getId();
+            exigirPost(idPost);
+
+            RegistroMutacoes registro = this.registro;
+            long posicao;
+            synchronized (posts.travaDe(idPost)) {
+                exigirPost(idPost);
+                PegadaUsuario pegada = pegadaDe(autor.getId());
+                synchronized (pegada) { // A conta não é encerrada entre a verificação e o comentário
+                    if (pegada.encerrada()) {
+                        throw new PostException("Erro ao comentar: usuário inválido.");
+                    }
+                    if (!atribuirIdComentario(idPost, comentario)) {
+                        return; // O comentário já estava no post
+                    }
+                    posicao = registro.comentarioAdicionado(comentario); // Com o ID já atribuído, antes de ser aplicado
+                    if (inserirComentario(idPost, comentario)) {
+                        tendencias.registrarComentario(idPost, autor.getId());
+                    }
+                }
+            }
+            registro.aguardar(posicao);
+        });
+    }
+
+    /**
+     * Reinsere um comentário com o ID que ele já possuía, sem registrá-lo novamente.
+     * Usado na recuperação dos dados persistidos; o gerador de IDs avança para depois do ID restaurado.
+     * @param comentario O comentário a ser restaurado.
+     * @throws PostException Se o post do comentário não existir.
+     */
+    public void restaurarComentario(Comentario comentario) {
+        if (comentario.getPost() == null || !posts.existe(comentario.getPost().getId())) {
+            throw new PostException("Erro ao restaurar comentário: post não encontrado.");
         }
 
-        Post post = comentario.getPost();
-        if (post == null) {
-            throw new PostException("Erro ao comentar: post inválido.");
+        int idPost = comentario.getPost().getId();
+        Usuario autor = comentario.getAutor();
+        synchronized (posts.travaDe(idPost)) {
+            if (autor != null && autor.getId() != null && pegadaDe(autor.getId()).encerrada()) {
+                return; // A conta do autor já foi apagada
+            }
+            if (atribuirIdComentario(idPost, comentario)) {
+                inserirComentario(idPost, comentario);
+            }
         }
+    }
 
-        Post postExistente = buscarPorId(post.getId());
-        if (postExistente == null) {
-            throw new PostException("Erro ao comentar: post não encontrado.");
+    /**
+     * Atribui o ID do comentário, chamado com a trava do post, de modo que os IDs de um mesmo post são alocados
+     * em ordem crescente e a inserção é sempre no final da lista. Comentários novos recebem o próximo ID; os
+     * restaurados mantêm o seu.
+     * @return false se o comentário já estava no post.
+     */
+    private boolean atribuirIdComentario(int idPost, Comentario comentario) {
+        if (comentario.getId() != null && comentarios.contem(idPost, comentario)) {
+            return false;
         }
+        comentario.setId(comentario.getId() == null ? comentarios.novoId() : comentarios.reservar(comentario.getId()));
+        return true;
+    }
 
-        postExistente.adicionarComentario(comentario);
+    /**
+     * Adiciona o comentário, já com ID, ao índice do post, chamado com a trava do post.
+     * @return false se o post já tinha outro comentário com o mesmo ID, o que a reaplicação do registro repete.
+     */
+    private boolean inserirComentario(int idPost, Comentario comentario) {
+        if (!comentarios.adicionar(idPost, comentario)) {
+            return false;
+        }
+        posts.contarComentario(idPost);
+        if (comentario.getAutor() != null && comentario.getAutor().getId() != null) {
+            pegadaDe(comentario.getAutor().getId()).comentou(idPost);
+        }
+        return true;
+    }
+
+    /**
+     * Consulta os comentários de um post, do mais recente para o mais antigo, uma página por vez.
+     * O cursor é o ID do último comentário da página anterior; como os comentários são indexados por ID, a
+     * página é localizada por busca binária, sem percorrer os demais comentários do post.
+     * @param idPost O ID do post.
+     * @param tamanhoPagina Quantidade máxima de comentários na página.
+     * @param antesDe Cursor devolvido pela página anterior, ou 0 para começar pelos mais recentes.
+     * @return A página de comentários, com o cursor da próxima página.
+     * @throws ValidacaoException Se o tamanho da página não for positivo ou o cursor for negativo.
+     * @throws PostException Se o post não for encontrado.
+     */
+    public PaginaComentarios consultarComentarios(int idPost, int tamanhoPagina, int antesDe) {
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_CONSULTAR_COMENTARIOS, 0, idPost, () -> {
+            if (tamanhoPagina <= 0) {
+                throw new ValidacaoException("Tamanho da página deve ser positivo.");
+            }
+            if (antesDe < 0) {
+                throw new ValidacaoException("Cursor dos comentários inválido.");
+            }
+            exigirPost(idPost);
+
+            ListaComentarios.Fatia fatia = comentarios.fatia(idPost);
+            int fim = fatia.tamanho();
+            if (antesDe > 0) {
+                int posicao = ListaComentarios.posicaoDe(fatia, antesDe);
+                fim = posicao >= 0 ? posicao : -(posicao + 1);
+            }
+            int primeiro = Math.max(0, fim - tamanhoPagina);
+
+            List<Comentario> pagina = new ArrayList<>(fim - primeiro);
+            for (int i = fim - 1; i >= primeiro; i--) {
+                pagina.add(fatia.itens()[i]);
+            }
+            return new PaginaComentarios(pagina, primeiro > 0 ? fatia.itens()[primeiro].getId() : 0);
+        });
+    }
+
+    /**
+     * Lista todos os comentários de um post, do mais antigo para o mais recente.
+     * @param idPost O ID do post.
+     * @return Os comentários do post, ou uma lista vazia se ele não tiver comentários.
+     */
+    public List<Comentario> listarComentarios(int idPost) {
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_LISTAR_COMENTARIOS, 0, idPost, () -> {
+            ListaComentarios.Fatia fatia = comentarios.fatia(idPost);
+            return Collections.unmodifiableList(Arrays.asList(fatia.itens()).subList(0, fatia.tamanho()));
+        });
+    }
+
+    /**
+     * Retorna, em tempo constante, a quantidade de comentários de um post.
+     * @param idPost O ID do post.
+     * @return O número de comentários.
+     */
+    public int contarComentarios(int idPost) {
+        return comentarios.fatia(idPost).tamanho();
+    }
+
+    /**
+     * Lista os IDs dos usuários que curtiram um post.
+     * @param idPost O ID do post.
+     * @return Os IDs, ou um array vazio se o post não tiver curtidas.
+     */
+    public int[] listarCurtidas(int idPost) {
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_LISTAR_CURTIDAS, 0, idPost, () -> posts.curtidasDe(idPost));
+    }
+
+    /**
+     * Reinsere uma curtida, sem registrá-la novamente. Usado na recuperação dos dados persistidos.
+     * @param idPost O ID do post.
+     * @param idUsuario O ID do usuário que curtiu.
+     * @throws PostException Se o post não existir.
+     */
+    public void restaurarCurtida(int idPost, int idUsuario) {
+        synchronized (posts.travaDe(idPost)) {
+            exigirPost(idPost);
+            PegadaUsuario pegada = pegadaDe(idUsuario);
+            synchronized (pegada) {
+                if (!pegada.encerrada() && posts.adicionarCurtida(idPost, idUsuario)) { // Ignora contas já apagadas
+                    pegada.curtiu(idPost);
+                }
+            }
+        }
+    }
+
+    /**
+     * Desfaz uma curtida sem registrar a alteração. Usado na recuperação dos dados persistidos.
+     * @param idPost O ID do post.
+     * @param idUsuario O ID do usuário que havia curtido.
+     * @throws PostException Se o post não existir.
+     */
+    public void restaurarDescurtida(int idPost, int idUsuario) {
+        synchronized (posts.travaDe(idPost)) {
+            exigirPost(idPost);
+            if (posts.removerCurtida(idPost, idUsuario)) {
+                PegadaUsuario pegada = pegadas.get(idUsuario);
+                if (pegada != null) {
+                    pegada.descurtiu(idPost);
+                }
+            }
+        }
+    }
+
+    private void exigirPost(int idPost) {
+        if (!posts.existe(idPost)) {
+            throw new PostException("Post com ID " + idPost + " não encontrado.");
+        }
+    }
+
+    private void adicionarSeExistir(List<Post> lista, int idPost) {
+        Post post = posts.ler(idPost);
+        if (post != null) {
+            lista.add(post);
+        }
     }
 
     /**
@@ -165,14 +961,87 @@ public class GerenciadorPosts {
      * @throws PostException Se o post não for encontrado para exclusão.
      */
     public boolean deletar(int id) {
-        Post post = buscarPorId(id);
-
-        if (post != null) {
-            posts.remove(post);
+        return Medicao.medir(metricas, OperacaoMedida.POSTS_DELETAR, 0, id, () -> {
+            RegistroMutacoes registro = this.registro;
+            long posicao;
+            int[] curtiram;
+            Post post;
+            synchronized (posts.travaDe(id)) { // Registrada antes da remoção, com a mesma trava
+                if (!posts.existe(id)) {
+                    throw new PostException("Post com ID " + id + " não encontrado para exclusão.");
+                }
+                posicao = registro.postExcluido(id);
+                curtiram = posts.curtidasDe(id);
+                post = posts.remover(id);
+            }
+            esquecerPost(post, curtiram);
+            registro.aguardar(posicao);
             return true;
+        });
+    }
+
+    /**
+     * Remove um post, seus comentários e as referências a ele nas pegadas de quem o curtiu ou comentou.
+     * @param id O ID do post.
+     * @return O post removido, ou null se ele não existia.
+     */
+    private Post descartarPost(int id) {
+        int[] curtiram;
+        Post post;
+        synchronized (posts.travaDe(id)) { // Depois da remoção, ninguém mais curte nem comenta o post
+            curtiram = posts.curtidasDe(id);
+            post = posts.remover(id); // A remoção pelo índice não desloca os demais posts
+        }
+        if (post == null) {
+            return null;
+        }
+        esquecerPost(post, curtiram);
+        return post;
+    }
+
+    /**
+     * Remove as referências a um post já retirado do armazém: lista do autor, ranking, índice de busca,
+     * comentários e pegadas de quem o curtiu ou comentou.
+     * @param post O post removido.
+     * @param curtiram Os IDs de quem curtia o post no momento da remoção.
+     */
+    private void esquecerPost(Post post, int[] curtiram) {
+        int id = post.getId();
+        removerDoAutor(post);
+        tendencias.postRemovido(id);
+        indiceBusca.remover(id, post.getConteudo());
+        for (int idUsuario : curtiram) {
+            PegadaUsuario pegada = pegadas.get(idUsuario);
+            if (pegada != null) {
+                pegada.descurtiu(id);
+            }
         }
+        ListaComentarios.Fatia fatia = comentarios.fatia(id);
+        comentarios.removerPost(id);
+        for (int i = 0; i < fatia.tamanho(); i++) {
+            Usuario autor = fatia.itens()[i].getAutor();
+            PegadaUsuario pegada = autor == null || autor.getId() == null ? null : pegadas.get(autor.getId());
+            if (pegada != null) {
+                pegada.esquecerComentarios(id);
+            }
+        }
+    }
 
-        throw new PostException("Post com ID " + id + " não encontrado para exclusão.");
+    /**
+     * Remove o post da lista do seu autor e o desconta da quantidade de posts do autor.
+     * Como a lista está ordenada por ID, a posição é localizada por busca binária.
+     * @param post O post a ser removido.
+     */
+    private void removerDoAutor(Post post) {
+        if (post.getAutor() == null || post.getAutor().getId() == null) {
+            return;
+        }
+        post.getAutor().removerPost(post);
+
+        ListaPostsAutor postsDoAutor = postsPorAutor.get(post.getAutor().getId());
+        if (postsDoAutor != null) {
+            postsDoAutor.remover(post.getId());
+        }
     }
 
     /**
@@ -181,24 +1050,26 @@ public class GerenciadorPosts {
      * @throws ValidacaoException Se o post não passar nas validações.
      */
     public void validarPost(Post post) {
-        if (post.getConteudo().trim().isEmpty()) {
-            throw new ValidacaoException("Conteúdo do post não pode ser vazio");
-        }
+        Medicao.executar(metricas, OperacaoMedida.POSTS_VALIDAR_POST, 0, 0, () -> {
+            if (post.getConteudo().trim().isEmpty()) {
+                throw new ValidacaoException("Conteúdo do post não pode ser vazio");
+            }
 
-        if (post.getAutor() == null || !gerenciadorUsuarios.listarUsuarios().contains(post.getAutor())) {
-            throw new ValidacaoException("Autor inválido");
-        }
+            if (post.getAutor() == null || !gerenciadorUsuarios.existe(post.getAutor())) {
+                throw new ValidacaoException("Autor inválido");
+            }
 
-        if (post.getConteudo().length() > 280) {
-            throw new ValidacaoException("Limite de caracteres atingido");
-        }
+            if (post.getConteudo().length() > 280) {
+                throw new ValidacaoException("Limite de caracteres atingido");
+            }
 
-        if (post.getDataPublicacao() == null) {
-            throw new ValidacaoException("Data de publicação não pode ser nula");
-        }
+            if (post.getDataPublicacao() == null) {
+                throw new ValidacaoException("Data de publicação não pode ser nula");
+            }
 
-        if (post.getAutor().getId() == null || post.getAutor().getId() <= 0) {
-            throw new ValidacaoException("ID do autor inválido");
-        }
+            if (post.getAutor().getId() == null || post.getAutor().getId() <= 0) {
+                throw new ValidacaoException("ID do autor inválido");
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.exception.SessaoException;
+import com.redesocial.exception.UsuarioException;
+import com.redesocial.exception.ValidacaoException;
+import com.redesocial.modelo.Usuario;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.InstantSource;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Classe responsável por gerenciar as sessões dos usuários autenticados.
+ * O login devolve um token aleatório de 128 bits, que é associado à sessão em um mapa concorrente; a partir
+ * daí, cada requisição é resolvida em O(1) pelo token, sem repetir a autenticação.
+ * Sessões sem acesso por mais que o tempo de ociosidade expiram. A validação recusa na hora uma sessão
+ * expirada, e a memória é liberada por uma {@link RodaTemporizacao}, que avança junto com as próprias
+ * chamadas, sem thread dedicada e sem varrer todas as sessões.
+ * Cada sessão ocupa cerca de 150 bytes (sessão, token e entrada do mapa), então um milhão de sessões
+ * ativas cabe em cerca de 150 MB; informe a quantidade esperada no construtor para evitar redimensionar o mapa.
+ */
+public class GerenciadorSessoes {
+    public static final Duration OCIOSIDADE_PADRAO = Duration.ofMinutes(30);
+    static final long RESOLUCAO_MS = 1000; // Duração de um tique da roda
+    private static final int BYTES_TOKEN = 16;
+
+    private final GerenciadorUsuarios gerenciadorUsuarios;
+    private final long ociosidade; // Em milissegundos
+    private final InstantSource relogio;
+    private final ConcurrentHashMap<String, Sessao> sessoes;
+    private final RodaTemporizacao roda;
+    private final ReentrantLock trava = new ReentrantLock(); // Protege a roda
+    private final Consumer<Sessao> aoVencer = this::vencer;
+    private final SecureRandom aleatorio = new SecureRandom();
+    private final Base64.Encoder codificador = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Construtor da classe, com o tempo de ociosidade padrão.
+     * @param gerenciadorUsuarios Instância do gerenciador de usuários, usada para autenticar.
+     */
+    public GerenciadorSessoes(GerenciadorUsuarios gerenciadorUsuarios) {
+        this(gerenciadorUsuarios, OCIOSIDADE_PADRAO, 1024, InstantSource.system());
+    }
+
+    /**
+     * Construtor da classe.
+     * @param gerenciadorUsuarios Instância do gerenciador de usuários, usada para autenticar.
+     * @param ociosidade Tempo sem acesso após o qual uma sessão expira.
+     * @param sessoesEsperadas Quantidade de sessões simultâneas esperada, para dimensionar o mapa.
+     * @param relogio Fonte do horário atual.
+     * @throws ValidacaoException Se a ociosidade for menor que um segundo ou a quantidade esperada for negativa.
+     */
+    public GerenciadorSessoes(GerenciadorUsuarios gerenciadorUsuarios, Duration ociosidade, int sessoesEsperadas,
+                              InstantSource relogio) {
+        if (ociosidade == null || ociosidade.toMillis() < RESOLUCAO_MS) {
+            throw new ValidacaoException("O tempo de ociosidade deve ser de pelo menos um segundo.");
+        }
+        if (sessoesEsperadas < 0) {
+            throw new ValidacaoException("A quantidade de sessões esperada não pode ser negativa.");
+        }
+        this.gerenciadorUsuarios = gerenciadorUsuarios;
+        this.ociosidade = ociosidade.toMillis();
+        this.relogio = relogio;
+        this.sessoes = new ConcurrentHashMap<>(sessoesEsperadas);
+        this.roda = new RodaTemporizacao(relogio.millis() / RESOLUCAO_MS);
+    }
+
+    /**
+     * Autentica um usuário e abre uma sessão para ele.
+     * @param username O username.
+     * @param senha A senha.
+     * @return A sessão aberta, com o token a ser apresentado nas próximas chamadas.
+     * @throws UsuarioException Se o username ou a senha estiverem incorretos.
+     */
+    public Sessao entrar(String username, String senha) {
+        return abrir(gerenciadorUsuarios.autenticar(username, senha));
+    }
+
+    /**
+     * Abre uma sessão para um usuário já autenticado.
+     * @param usuario O usuário.
+     * @return A sessão aberta.
+     * @throws ValidacaoException Se o usuário for nulo ou não tiver ID.
+     */
+    public Sessao abrir(Usuario usuario) {
+        if (usuario == null || usuario.getId() == null) {
+            throw new ValidacaoException("Usuário inválido.");
+        }
+
+        long agora = relogio.millis();
+        avancar(agora);
+
+        Sessao sessao;
+        do {
+            sessao = new Sessao(novoToken(), usuario.getId(), agora);
+        } while (sessoes.putIfAbsent(sessao.getToken(), sessao) != null);
+
+        trava.lock();
+        try {
+            roda.agendar(sessao, tiqueVencimento(sessao));
+        } finally {
+            trava.unlock();
+        }
+        return sessao;
+    }
+
+    /**
+     * Valida um token e registra o acesso, adiando a expiração da sessão.
+     * @param token O token devolvido no login.
+     * @return A sessão correspondente.
+     * @throws SessaoException Se o token não for informado ou a sessão não existir, tiver sido encerrada ou expirado.
+     */
+    public Sessao validar(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new SessaoException("Sessão não informada.");
+        }
+
+        long agora = relogio.millis();
+        avancar(agora);
+
+        Sessao sessao = sessoes.get(token);
+        if (sessao == null) {
+            throw new SessaoException("Sessão inválida ou expirada.");
+        }
+        if (agora - sessao.getUltimoAcesso() >= ociosidade) {
+            sessoes.remove(token, sessao); // A roda libera o agendamento quando chegar a vez dele
+            throw new SessaoException("Sessão inválida ou expirada.");
+        }
+        sessao.registrarAcesso(agora);
+        return sessao;
+    }
+
+    /**
+     * Encerra uma sessão (logout).
+     * @param token O token da sessão.
+     * @return true se a sessão existia, false caso contrário.
+     */
+    public boolean sair(String token) {
+        Sessao sessao = token == null ? null : sessoes.remove(token);
+        if (sessao == null) {
+            return false;
+        }
+
+        trava.lock();
+        try {
+            roda.remover(sessao);
+        } finally {
+            trava.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Retorna a quantidade de sessões abertas, incluindo as expiradas que ainda não foram liberadas.
+     * @return A quantidade de sessões.
+     */
+    public long getQuantidade() {
+        return sessoes.mappingCount();
+    }
+
+    /**
+     * Avança a roda até o horário atual, se um novo tique tiver começado. Se outra thread já estiver
+     * avançando, não espera por ela: as sessões expiradas são recusadas na validação de qualquer forma.
+     */
+    private void avancar(long agora) {
+        long tique = agora / RESOLUCAO_MS;
+        if (tique > roda.getTiqueAtual() && trava.tryLock()) {
+            try {
+                roda.avancar(tique, aoVencer);
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+
+    /**
+     * Trata uma sessão cujo vencimento agendado chegou: se ela foi acessada nesse meio-tempo, é reagendada
+     * para o novo vencimento; senão, é removida. Chamado com a trava da roda.
+     */
+    private void vencer(Sessao sessao) {
+        if (sessoes.get(sessao.getToken()) != sessao) {
+            return; // Já encerrada ou recusada na validação
+        }
+        long tique = tiqueVencimento(sessao);
+        if (tique > roda.getTiqueAtual()) {
+            roda.agendar(sessao, tique);
+        } else {
+            sessoes.remove(sessao.getToken(), sessao);
+        }
+    }
+
+    private long tiqueVencimento(Sessao sessao) {
+        return (sessao.getUltimoAcesso() + ociosidade + RESOLUCAO_MS - 1) / RESOLUCAO_MS;
+    }
+
+    private String novoToken() {
+        byte[] bytes = new byte[BYTES_TOKEN];
+        aleatorio.nextBytes(bytes);
+        return codificador.encodeToString(bytes);
+    }
+}
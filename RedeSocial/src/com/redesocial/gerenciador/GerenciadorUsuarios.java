@@ -2,27 +2,132 @@ package com.redesocial.gerenciador;
 
 import com.redesocial.exception.UsuarioException;
 import com.redesocial.exception.ValidacaoException;
+import com.redesocial.metricas.Metricas;
+import com.redesocial.metricas.OperacaoMedida;
 import com.redesocial.modelo.Post;
 import com.redesocial.modelo.Usuario;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
  * Classe responsável pela gestão de usuários dentro da rede social.
  * Ela permite cadastrar, buscar, atualizar, excluir usuários, além de gerenciar amizades e posts.
+ * É segura para uso por várias sessões simultâneas: os índices são mapas concorrentes, os IDs são
+ * alocados atomicamente e as alterações de um mesmo usuário são serializadas por travas particionadas por ID.
+ * As travas são {@link ReentrantLock} e não monitores, pois dentro delas são usadas outras travas (índice de busca
+ * e grafo de amizades) e uma thread virtual bloqueada dentro de um {@code synchronized} prende sua thread portadora.
+ * Cada alteração é anotada no {@link RegistroMutacoes} configurado e só é confirmada depois de gravada.
+ * A latência e as falhas dos métodos públicos são medidas pela {@link Medicao}, com as {@link Metricas} configuradas
+ * e eventos {@link EventoOperacao} quando uma gravação do JFR os liga; acessos O(1) não são medidos.
  */
 public class GerenciadorUsuarios {
-    private List<Usuario> usuarios;
-    private int proximoId;
+    private static final int QUANTIDADE_TRAVAS = 64; // Potência de 2
+
+    private final Map<Integer, Usuario> usuariosPorId; // Índice primário
+    private final Map<String, Usuario> usuariosPorUsername; // Índice secundário pelo username normalizado
+    private final Map<String, Usuario> usuariosPorEmail; // Índice secundário pelo email normalizado
+    private final Map<Integer, ChavesUsuario> chavesIndexadas; // Chaves com que cada usuário está indexado
+    private final IndiceBuscaUsuarios indiceBusca; // Índice de busca por nome e username
+    private final GrafoAmizades amizades;
+    private final MotorRecomendacoes recomendacoes; // Sugestões de amizade em cache, derivadas do grafo
+    private final List<OuvinteAmizades> ouvintesAmizades;
+    private final List<OuvinteExclusoes> ouvintesExclusoes;
+    private final ReentrantLock[] travas; // Travas particionadas por ID de usuário
+    private final AtomicInteger proximoId;
+    private volatile RegistroMutacoes registro; // Onde cada alteração é registrada antes de ser confirmada
+    private volatile Metricas metricas; // Onde as latências e falhas de cada operação são registradas
 
     /**
-     * Construtor da classe, que inicializa a lista de usuários e configura o ID inicial.
+     * Chaves normalizadas com que um usuário foi registrado nos índices secundários.
+     * Necessárias porque o objeto pode ser alterado pelos setters antes de {@link #atualizar(Usuario)}.
+     */
+    private record ChavesUsuario(String username, String email) {
+    }
+
+    /**
+     * Construtor da classe, que inicializa os índices de usuários e configura o ID inicial.
      */
     public GerenciadorUsuarios() {
-        usuarios = new ArrayList<>();
-        proximoId = 1;
+        usuariosPorId = new ConcurrentHashMap<>();
+        usuariosPorUsername = new ConcurrentHashMap<>();
+        usuariosPorEmail = new ConcurrentHashMap<>();
+        chavesIndexadas = new ConcurrentHashMap<>();
+        indiceBusca = new IndiceBuscaUsuarios();
+        amizades = new GrafoAmizades();
+        recomendacoes = new MotorRecomendacoes(amizades);
+        ouvintesAmizades = new CopyOnWriteArrayList<>();
+        ouvintesExclusoes = new CopyOnWriteArrayList<>();
+        travas = new ReentrantLock[QUANTIDADE_TRAVAS];
+        for (int i = 0; i < travas.length; i++) {
+            travas[i] = new ReentrantLock();
+        }
+        proximoId = new AtomicInteger(1);
+        registro = RegistroMutacoes.NENHUM;
+        metricas = Metricas.DESATIVADAS;
+    }
+
+    /**
+     * Define onde as alterações de usuários e amizades passam a ser registradas.
+     * @param registro O registro de alterações.
+     * @throws ValidacaoException Se o registro for nulo.
+     */
+    public void usarRegistro(RegistroMutacoes registro) {
+        if (registro == null) {
+            throw new ValidacaoException("Registro não pode ser nulo.");
+        }
+        this.registro = registro;
+    }
+
+    /**
+     * Define onde as latências e as falhas das operações de usuários e amizades passam a ser medidas.
+     * @param metricas As métricas, possivelmente compartilhadas com outros gerenciadores.
+     * @throws ValidacaoException Se as métricas forem nulas.
+     */
+    public void usarMetricas(Metricas metricas) {
+        if (metricas == null) {
+            throw new ValidacaoException("Métricas não podem ser nulas.");
+        }
+        this.metricas = metricas;
+    }
+
+    public Metricas getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Registra um ouvinte que será notificado sempre que uma amizade for criada ou removida.
+     * @param ouvinte O ouvinte a ser registrado.
+     * @throws ValidacaoException Se o ouvinte for nulo.
+     */
+    public void registrarOuvinteAmizades(OuvinteAmizades ouvinte) {
+        if (ouvinte == null) {
+            throw new ValidacaoException("Ouvinte não pode ser nulo.");
+        }
+        ouvintesAmizades.add(ouvinte);
+    }
+
+    /**
+     * Registra um ouvinte que será notificado sempre que um usuário for excluído.
+     * @param ouvinte O ouvinte a ser registrado.
+     * @throws ValidacaoException Se o ouvinte for nulo.
+     */
+    public void registrarOuvinteExclusoes(OuvinteExclusoes ouvinte) {
+        if (ouvinte == null) {
+            throw new ValidacaoException("Ouvinte não pode ser nulo.");
+        }
+        ouvintesExclusoes.add(ouvinte);
     }
 
     /**
@@ -31,20 +136,79 @@ public class GerenciadorUsuarios {
      * @throws ValidacaoException Se o email ou username já estiverem em uso, ou se os dados do usuário forem inválidos.
      */
     public void cadastrar(Usuario usuario) {
-        validarUsuario(usuario);
-        usuario.setId(proximoId++);
+        Medicao.executar(metricas, OperacaoMedida.USUARIOS_CADASTRAR, 0, 0, () -> {
+            validarUsuario(usuario);
+            ChavesUsuario chaves = chavesDe(usuario);
+            usuario.setId(proximoId.getAndIncrement());
+
+            // Reserva o username e o email de forma atômica, garantindo a unicidade mesmo com cadastros simultâneos
+            if (usuariosPorUsername.putIfAbsent(chaves.username(), usuario) != null) {
+                throw new ValidacaoException("Usuário " + usuario.getUsername() + " já existe.");
+            }
 
-        // Verifica se já existe um usuário com o mesmo email
-        if (usuarios.stream().anyMatch(u -> u.getEmail().equals(usuario.getEmail()))) {
-            throw new UsuarioException("Já existe um usuário com este email.");
+            // Verifica se já existe um usuário com o mesmo email
+            if (usuariosPorEmail.putIfAbsent(chaves.email(), usuario) != null) {
+                usuariosPorUsername.remove(chaves.username(), usuario);
+                throw new UsuarioException("Já existe um usuário com este email.");
+            }
+
+            RegistroMutacoes registro = this.registro;
+            long posicao;
+            ReentrantLock trava = travaDe(usuario.getId());
+            trava.lock();
+            try {
+                try {
+                    posicao = registro.usuarioCadastrado(usuario);
+                } catch (RuntimeException e) {
+                    // Sem o registro o cadastro não acontece: libera as chaves reservadas
+                    usuariosPorUsername.remove(chaves.username(), usuario);
+                    usuariosPorEmail.remove(chaves.email(), usuario);
+                    throw e;
+                }
+                indexar(usuario, chaves);
+            } finally {
+                trava.unlock();
+            }
+            registro.aguardar(posicao); // Confirma o cadastro apenas depois de gravado
+        });
+    }
+
+    /**
+     * Reinsere um usuário com o ID que ele já possuía, sem validá-lo nem registrá-lo novamente.
+     * Usado na recuperação dos dados persistidos; o gerador de IDs avança para depois do ID restaurado.
+     * @param usuario O usuário a ser restaurado, com ID definido.
+     * @throws ValidacaoException Se o usuário ou seu ID forem inválidos.
+     */
+    public void restaurar(Usuario usuario) {
+        if (usuario == null || usuario.getId() == null || usuario.getId() <= 0) {
+            throw new ValidacaoException("Usuário ou ID inválido.");
         }
 
-        // Verifica se já existe um usuário com o mesmo username
-        if (usuarios.stream().anyMatch(u -> u.getUsername().equals(usuario.getUsername()))) {
-            throw new UsuarioException("Já existe um usuário com este username.");
+        ReentrantLock trava = travaDe(usuario.getId());
+        trava.lock();
+        try {
+            indexar(usuario, chavesDe(usuario));
+        } finally {
+            trava.unlock();
         }
+        proximoId.accumulateAndGet(usuario.getId() + 1, Math::max);
+    }
+
+    /**
+     * Retorna o ID que será atribuído ao próximo usuário cadastrado.
+     * @return O próximo ID.
+     */
+    public int getProximoId() {
+        return proximoId.get();
+    }
 
-        usuarios.add(usuario);
+    /**
+     * Garante que os próximos usuários cadastrados recebam IDs a partir do valor informado, para que IDs de
+     * usuários excluídos não sejam reaproveitados após uma recuperação.
+     * @param id O menor ID a ser atribuído aos próximos cadastros.
+     */
+    public void avancarProximoId(int id) {
+        proximoId.accumulateAndGet(id, Math::max);
     }
 
     /**
@@ -54,10 +218,20 @@ public class GerenciadorUsuarios {
      * @throws UsuarioException Se o usuário não for encontrado.
      */
     public Usuario buscarPorId(int id) {
-        return usuarios.stream()
-                .filter(u -> u.getId() == id)
-                .findFirst()
-                .orElseThrow(() -> new UsuarioException("Usuário com ID " + id + " não encontrado."));
+        Usuario usuario = usuariosPorId.get(id);
+        if (usuario == null) {
+            throw new UsuarioException("Usuário com ID " + id + " não encontrado.");
+        }
+        return usuario;
+    }
+
+    /**
+     * Verifica se o usuário informado está cadastrado.
+     * @param usuario O usuário a ser verificado.
+     * @return true se o usuário estiver cadastrado, false caso contrário.
+     */
+    public boolean existe(Usuario usuario) {
+        return usuario != null && usuario.getId() != null && usuariosPorId.containsKey(usuario.getId());
     }
 
     /**
@@ -71,92 +245,216 @@ public class GerenciadorUsuarios {
             throw new ValidacaoException("Username não pode ser vazio.");
         }
 
-        // Realiza a busca insensível a maiúsculas/minúsculas e retorna o único usuário que corresponde exatamente ao username
-        return usuarios.stream()
-                .filter(u -> u.getUsername().equalsIgnoreCase(username)) // Comparação exata
-                .findFirst() // Retorna o primeiro (único) encontrado
-                .orElseThrow(() -> new UsuarioException("Usuário com username '" + username + "' não encontrado.")); // Lança exceção caso não encontre
+        // Realiza a busca insensível a maiúsculas/minúsculas pelo índice de usernames normalizados
+        String chave = normalizar(username);
+        Usuario usuario = usuariosPorUsername.get(chave);
+        if (usuario == null || !confirmado(usuario, chave)) {
+            throw new UsuarioException("Usuário com username '" + username + "' não encontrado."); // Lança exceção caso não encontre
+        }
+        return usuario;
     }
 
     /**
-     * Busca usuários pelo nome, ignorando maiúsculas/minúsculas e permitindo pesquisa parcial.
+     * Indica se o username já está confirmado para o usuário. O cadastro e a atualização reservam o username
+     * no índice antes de gravar o registro; até o usuário ser indexado com essas chaves, a reserva não é visível.
+     * @param usuario O usuário encontrado no índice de usernames.
+     * @param chave O username normalizado.
+     * @return true se o usuário está indexado com esse username.
+     */
+    private boolean confirmado(Usuario usuario, String chave) {
+        ChavesUsuario chaves = chavesIndexadas.get(usuario.getId());
+        return chaves != null && chaves.username().equals(chave);
+    }
+
+    /**
+     * Autentica um usuário verificando seu username e sua senha.
+     * @param username O username informado.
+     * @param senha A senha informada.
+     * @return O usuário autenticado.
+     * @throws UsuarioException Se o usuário não for encontrado.
+     * @throws ValidacaoException Se o username for vazio ou a senha estiver incorreta.
+     */
+    public Usuario autenticar(String username, String senha) {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_AUTENTICAR, 0, 0, () -> {
+            // Busca o usuário pelo username
+            Usuario usuario = buscarPorUsername(username);
+
+            // Verifica se a senha fornecida corresponde à senha armazenada
+            if (!usuario.getSenha().equals(senha)) {
+                throw new ValidacaoException("Senha incorreta");
+            }
+
+            return usuario; // Retorna o usuário autenticado
+        });
+    }
+
+    /**
+     * Busca usuários pelo nome, ignorando acentos e maiúsculas/minúsculas e permitindo pesquisa parcial.
+     * Termos com menos de 3 caracteres são buscados como início de uma das palavras do nome.
      * @param nome O nome a ser pesquisado.
-     * @return A lista de usuários cujo nome contenha o nome pesquisado.
+     * @return A lista de usuários cujo nome contenha o nome pesquisado, ordenada por relevância.
      * @throws ValidacaoException Se o nome for vazio ou nulo.
      */
     public List<Usuario> buscarPorNome(String nome) {
-        if (nome == null || nome.trim().isEmpty()) {
-            throw new ValidacaoException("Nome não deve ser vazio.");
-        }
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_BUSCAR_POR_NOME, 0, 0, () -> {
+            if (nome == null || nome.trim().isEmpty()) {
+                throw new ValidacaoException("Nome não deve ser vazio.");
+            }
+
+            return paraUsuarios(indiceBusca.buscar(nome, Integer.MAX_VALUE, false));
+        });
+    }
 
-        return usuarios.stream()
-                .filter(usuario -> usuario.getNome().toLowerCase().contains(nome.toLowerCase()))
+    /**
+     * Busca usuários pelo nome ou pelo username, ignorando acentos e maiúsculas/minúsculas.
+     * Os resultados não se repetem e vêm ordenados por relevância: username exato, início do username,
+     * início de uma palavra do nome e, por fim, trecho em qualquer posição.
+     * @param termo O termo a ser pesquisado.
+     * @param limite Quantidade máxima de resultados.
+     * @return A lista com os usuários mais relevantes.
+     * @throws ValidacaoException Se o termo for vazio ou nulo.
+     */
+    public List<Usuario> buscar(String termo, int limite) {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_BUSCAR, 0, 0, () -> {
+            if (termo == null || termo.trim().isEmpty()) {
+                throw new ValidacaoException("Termo de busca não deve ser vazio.");
+            }
+
+            return paraUsuarios(indiceBusca.buscar(termo, limite, true));
+        });
+    }
+
+    private List<Usuario> paraUsuarios(List<Integer> ids) {
+        return ids.stream()
+                .map(usuariosPorId::get)
+                .filter(Objects::nonNull) // Ignora usuários excluídos durante a busca
                 .collect(Collectors.toList());
     }
 
     /**
-     * Atualiza as informações de um usuário existente.
+     * Atualiza as informações de um usuário existente. A quantidade de posts é mantida pelo gerenciador e não é
+     * copiada do usuário informado.
      * @param usuario O usuário com as novas informações.
      * @return true se a atualização for bem-sucedida, false caso contrário.
      * @throws UsuarioException Se o usuário não for encontrado ou se houver algum conflito de dados (email ou username duplicados).
      */
     public boolean atualizar(Usuario usuario) {
-        if (usuario == null || usuario.getId() == null) {
-            throw new UsuarioException("Usuário ou ID não pode ser nulo.");
-        }
-
-        Usuario usuarioExistente = usuarios.stream()
-                .filter(u -> u.getId().equals(usuario.getId()))
-                .findFirst()
-                .orElse(null);
-
-        if (usuarioExistente == null) {
-            return false;
-        }
-
-        // Verifica se já existe outro usuário com o mesmo email ou username
-        if (usuarios.stream().anyMatch(u -> u.getEmail().equals(usuario.getEmail()) && !u.getId().equals(usuario.getId()))) {
-            throw new UsuarioException("Já existe um usuário com este email.");
-        }
-
-        if (usuarios.stream().anyMatch(u -> u.getUsername().equals(usuario.getUsername()) && !u.getId().equals(usuario.getId()))) {
-            throw new UsuarioException("Já existe um usuário com este username.");
-        }
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_ATUALIZAR, 0, 0, () -> {
+            if (usuario == null || usuario.getId() == null) {
+                throw new UsuarioException("Usuário ou ID não pode ser nulo.");
+            }
 
-        // Atualiza os dados do usuário
-        usuarioExistente.setNome(usuario.getNome());
-        usuarioExistente.setUsername(usuario.getUsername());
-        usuarioExistente.setEmail(usuario.getEmail());
-        usuarioExistente.setSenha(usuario.getSenha());
-        usuarioExistente.setDataCadastro(usuario.getDataCadastro());
-        usuarioExistente.setAmigos(usuario.getAmigos());
-        usuarioExistente.setPosts(usuario.getPosts());
+            RegistroMutacoes registro = this.registro;
+            long posicao;
+            ReentrantLock trava = travaDe(usuario.getId());
+            trava.lock();
+            try {
+                Usuario usuarioExistente = usuariosPorId.get(usuario.getId());
+
+                if (usuarioExistente == null) {
+                    return false;
+                }
+
+                ChavesUsuario antigas = chavesIndexadas.get(usuarioExistente.getId());
+                ChavesUsuario novas = chavesDe(usuario);
+
+                // Reserva as novas chaves, verificando se já existe outro usuário com o mesmo email ou username
+                boolean emailReservado = false;
+                if (!novas.email().equals(antigas.email())) {
+                    if (usuariosPorEmail.putIfAbsent(novas.email(), usuarioExistente) != null) {
+                        throw new UsuarioException("Já existe um usuário com este email.");
+                    }
+                    emailReservado = true;
+                }
+
+                boolean usernameReservado = false;
+                if (!novas.username().equals(antigas.username())) {
+                    if (usuariosPorUsername.putIfAbsent(novas.username(), usuarioExistente) != null) {
+                        if (emailReservado) {
+                            usuariosPorEmail.remove(novas.email(), usuarioExistente);
+                        }
+                        throw new UsuarioException("Já existe um usuário com este username.");
+                    }
+                    usernameReservado = true;
+                }
+
+                // Registra a alteração antes de liberar as chaves antigas, que podem ser reaproveitadas por outro usuário
+                try {
+                    posicao = registro.usuarioAtualizado(usuario);
+                } catch (RuntimeException e) {
+                    // Sem o registro a atualização não acontece: libera as chaves novas reservadas
+                    if (emailReservado) {
+                        usuariosPorEmail.remove(novas.email(), usuarioExistente);
+                    }
+                    if (usernameReservado) {
+                        usuariosPorUsername.remove(novas.username(), usuarioExistente);
+                    }
+                    throw e;
+                }
+
+                // Libera as chaves antigas que mudaram antes de alterar os dados indexados
+                if (!novas.username().equals(antigas.username())) {
+                    usuariosPorUsername.remove(antigas.username(), usuarioExistente);
+                }
+                if (!novas.email().equals(antigas.email())) {
+                    usuariosPorEmail.remove(antigas.email(), usuarioExistente);
+                }
+                indiceBusca.remover(usuarioExistente.getId());
+
+                // Atualiza os dados do usuário
+                usuarioExistente.setNome(usuario.getNome());
+                usuarioExistente.setUsername(usuario.getUsername());
+                usuarioExistente.setEmail(usuario.getEmail());
+                usuarioExistente.setSenha(usuario.getSenha());
+                usuarioExistente.setDataCadastro(usuario.getDataCadastro());
+                indexar(usuarioExistente, novas);
+            } finally {
+                trava.unlock();
+            }
 
-        return true;
+            registro.aguardar(posicao);
+            return true;
+        });
     }
 
     /**
-     * Exclui um usuário pelo seu ID.
+     * Exclui um usuário pelo seu ID, desfazendo também as suas amizades.
+     * Os {@link OuvinteExclusoes} registrados são notificados em seguida, para apagar o restante da conta.
      * @param id O ID do usuário a ser excluído.
      * @return true se a exclusão for bem-sucedida, false caso contrário.
      * @throws UsuarioException Se o usuário não for encontrado.
      */
     public boolean deletar(int id) {
-        if (id <= 0) {
-            throw new UsuarioException("ID inválido.");
-        }
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_DELETAR, id, 0, () -> {
+            if (id <= 0) {
+                throw new UsuarioException("ID inválido.");
+            }
 
-        Usuario usuarioExistente = usuarios.stream()
-                .filter(u -> u.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+            RegistroMutacoes registro = this.registro;
+            long posicao;
+            int[] amigos;
+            ReentrantLock trava = travaDe(id);
+            trava.lock();
+            try {
+                if (!usuariosPorId.containsKey(id)) {
+                    return false;
+                }
+
+                posicao = registro.usuarioExcluido(id);
+                desindexar(id);
+                amigos = amizades.removerTodas(id); // O grafo é o índice reverso das amizades
+            } finally {
+                trava.unlock();
+            }
 
-        if (usuarioExistente == null) {
-            return false;
-        }
+            recomendacoes.usuarioExcluido(id);
 
-        usuarios.remove(usuarioExistente);
-        return true;
+            for (OuvinteExclusoes ouvinte : ouvintesExclusoes) {
+                ouvinte.usuarioExcluido(id, amigos);
+            }
+            registro.aguardar(posicao);
+            return true;
+        });
     }
 
     /**
@@ -166,27 +464,44 @@ public class GerenciadorUsuarios {
      * @throws UsuarioException Se algum dos usuários não for encontrado ou se os IDs forem inválidos.
      */
     public void adicionarAmizade(int idUsuario1, int idUsuario2) {
-        if (idUsuario1 <= 0 || idUsuario2 <= 0) {
-            throw new UsuarioException("ID inválido.");
-        }
+        Medicao.executar(metricas, OperacaoMedida.USUARIOS_ADICIONAR_AMIZADE, idUsuario1, 0, () -> {
+            if (idUsuario1 <= 0 || idUsuario2 <= 0) {
+                throw new UsuarioException("ID inválido.");
+            }
 
-        Usuario usuario1 = usuarios.stream()
-                .filter(u -> u.getId() == idUsuario1)
-                .findFirst()
-                .orElse(null);
+            Usuario usuario1 = usuariosPorId.get(idUsuario1);
+            Usuario usuario2 = usuariosPorId.get(idUsuario2);
 
-        Usuario usuario2 = usuarios.stream()
-                .filter(u -> u.getId() == idUsuario2)
-                .findFirst()
-                .orElse(null);
+            if (usuario1 == null || usuario2 == null) {
+                throw new UsuarioException("Um ou ambos os usuários não foram encontrados.");
+            }
 
-        if (usuario1 == null || usuario2 == null) {
-            throw new UsuarioException("Um ou ambos os usuários não foram encontrados.");
-        }
+            if (idUsuario1 == idUsuario2) {
+                return; // Um usuário não pode ser amigo de si mesmo
+            }
+
+            // Adiciona a amizade mútua; nada muda se os usuários já forem amigos.
+            // As travas dos dois usuários garantem que a ordem registrada seja a mesma ordem aplicada ao grafo
+            // e que nenhum deles seja excluído entre a verificação e a alteração
+            RegistroMutacoes registro = this.registro;
+            long posicao;
+            travarPar(idUsuario1, idUsuario2);
+            try {
+                exigirPar(idUsuario1, idUsuario2);
+                if (amizades.saoAmigos(idUsuario1, idUsuario2)) {
+                    return;
+                }
+                posicao = registro.amizadeAdicionada(idUsuario1, idUsuario2); // Registrada antes de ser aplicada
+                amizades.adicionar(idUsuario1, idUsuario2);
+            } finally {
+                destravarPar(idUsuario1, idUsuario2);
+            }
 
-        // Adiciona a amizade mútua
-        usuario1.adicionarAmigo(usuario2);
-        usuario2.adicionarAmigo(usuario1);
+            for (OuvinteAmizades ouvinte : ouvintesAmizades) {
+                ouvinte.amizadeAdicionada(idUsuario1, idUsuario2);
+            }
+            registro.aguardar(posicao);
+        });
     }
 
     /**
@@ -196,35 +511,320 @@ public class GerenciadorUsuarios {
      * @throws UsuarioException Se algum dos usuários não for encontrado ou se os IDs forem inválidos.
      */
     public void removerAmizade(int idUsuario1, int idUsuario2) {
-        if (idUsuario1 <= 0 || idUsuario2 <= 0) {
-            throw new UsuarioException("ID inválido.");
-        }
+        Medicao.executar(metricas, OperacaoMedida.USUARIOS_REMOVER_AMIZADE, idUsuario1, 0, () -> {
+            if (idUsuario1 <= 0 || idUsuario2 <= 0) {
+                throw new UsuarioException("ID inválido.");
+            }
 
-        Usuario usuario1 = usuarios.stream()
-                .filter(u -> u.getId() == idUsuario1)
-                .findFirst()
-                .orElse(null);
+            Usuario usuario1 = usuariosPorId.get(idUsuario1);
+            Usuario usuario2 = usuariosPorId.get(idUsuario2);
 
-        Usuario usuario2 = usuarios.stream()
-                .filter(u -> u.getId() == idUsuario2)
-                .findFirst()
-                .orElse(null);
+            if (usuario1 == null || usuario2 == null) {
+                throw new UsuarioException("Um ou ambos os usuários não foram encontrados.");
+            }
 
-        if (usuario1 == null || usuario2 == null) {
-            throw new UsuarioException("Um ou ambos os usuários não foram encontrados.");
-        }
+            if (idUsuario1 == idUsuario2) {
+                return;
+            }
+
+            // Remove a amizade mútua; nada muda se os usuários não forem amigos
+            RegistroMutacoes registro = this.registro;
+            long posicao;
+            travarPar(idUsuario1, idUsuario2);
+            try {
+                exigirPar(idUsuario1, idUsuario2);
+                if (!amizades.saoAmigos(idUsuario1, idUsuario2)) {
+                    return;
+                }
+                posicao = registro.amizadeRemovida(idUsuario1, idUsuario2); // Registrada antes de ser aplicada
+                amizades.remover(idUsuario1, idUsuario2);
+            } finally {
+                destravarPar(idUsuario1, idUsuario2);
+            }
 
-        // Remove a amizade mútua
-        usuario1.removerAmigo(usuario2);
-        usuario2.removerAmigo(usuario1);
+            for (OuvinteAmizades ouvinte : ouvintesAmizades) {
+                ouvinte.amizadeRemovida(idUsuario1, idUsuario2);
+            }
+            registro.aguardar(posicao);
+        });
+    }
+
+    /**
+     * Verifica se dois usuários são amigos.
+     * @param idUsuario1 O ID do primeiro usuário.
+     * @param idUsuario2 O ID do segundo usuário.
+     * @return true se os usuários forem amigos.
+     */
+    public boolean saoAmigos(int idUsuario1, int idUsuario2) {
+        return amizades.saoAmigos(idUsuario1, idUsuario2);
+    }
+
+    /**
+     * Retorna a quantidade de amigos de um usuário.
+     * @param idUsuario O ID do usuário.
+     * @return O número de amigos.
+     */
+    public int contarAmigos(int idUsuario) {
+        return amizades.grau(idUsuario);
+    }
+
+    /**
+     * Retorna a quantidade de amigos em comum entre dois usuários, sem copiar as listas de amigos.
+     * As listas ordenadas são intercaladas ou, se uma for muito maior, percorridas por busca galopante, o que
+     * mantém a consulta barata o bastante para cada exibição de perfil, mesmo com centenas de milhares de amigos.
+     * @param idUsuario1 O ID do primeiro usuário.
+     * @param idUsuario2 O ID do segundo usuário.
+     * @return O número de amigos em comum.
+     */
+    public int contarAmigosEmComum(int idUsuario1, int idUsuario2) {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_CONTAR_AMIGOS_EM_COMUM, idUsuario1, 0,
+                () -> amizades.contarEmComum(idUsuario1, idUsuario2));
+    }
+
+    /**
+     * Consulta uma página dos amigos em comum entre dois usuários, em ordem crescente de ID.
+     * A página começa por busca binária a partir do cursor, sem percorrer os amigos das páginas anteriores.
+     * @param idUsuario1 O ID do primeiro usuário.
+     * @param idUsuario2 O ID do segundo usuário.
+     * @param depoisDe Cursor devolvido pela página anterior, ou 0 para começar do início.
+     * @param limite Quantidade máxima de amigos da página.
+     * @return A página de amigos em comum, com o cursor da próxima página.
+     * @throws ValidacaoException Se o limite não for positivo ou o cursor for negativo.
+     */
+    public PaginaAmigosEmComum consultarAmigosEmComum(int idUsuario1, int idUsuario2, int depoisDe, int limite) {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_CONSULTAR_AMIGOS_EM_COMUM, idUsuario1, 0, () -> {
+            if (limite <= 0) {
+                throw new ValidacaoException("Limite deve ser positivo.");
+            }
+            if (depoisDe < 0) {
+                throw new ValidacaoException("Cursor dos amigos em comum inválido.");
+            }
+
+            // Um ID a mais indica se existe uma próxima página
+            int[] ids = amizades.emComum(idUsuario1, idUsuario2, depoisDe, limite == Integer.MAX_VALUE ? limite : limite + 1);
+            int quantidade = Math.min(ids.length, limite);
+            List<Usuario> amigos = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                Usuario amigo = usuariosPorId.get(ids[i]);
+                if (amigo != null) {
+                    amigos.add(amigo);
+                }
+            }
+            return new PaginaAmigosEmComum(amigos, ids.length > limite ? ids[limite - 1] : 0);
+        });
+    }
+
+    /**
+     * Retorna os IDs dos amigos de um usuário, em ordem crescente.
+     * @param idUsuario O ID do usuário.
+     * @return Os IDs dos amigos.
+     */
+    public int[] listarIdsAmigos(int idUsuario) {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_LISTAR_IDS_AMIGOS, idUsuario, 0,
+                () -> amizades.vizinhos(idUsuario));
+    }
+
+    /**
+     * Igual a {@link #listarIdsAmigos(int)}, sem medição, para o uso interno pelo {@link GerenciadorPosts}.
+     */
+    int[] idsAmigos(int idUsuario) {
+        return amizades.vizinhos(idUsuario);
+    }
+
+    /**
+     * Lista os amigos de um usuário.
+     * @param idUsuario O ID do usuário.
+     * @return A lista de amigos, em ordem crescente de ID.
+     */
+    public List<Usuario> listarAmigos(int idUsuario) {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_LISTAR_AMIGOS, idUsuario, 0, () -> {
+            int[] ids = amizades.vizinhos(idUsuario);
+            List<Usuario> amigos = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                Usuario amigo = usuariosPorId.get(id);
+                if (amigo != null) {
+                    amigos.add(amigo);
+                }
+            }
+            return amigos;
+        });
+    }
+
+    /**
+     * Lista os primeiros amigos de um usuário, para prévias que não precisam da lista inteira.
+     * @param idUsuario O ID do usuário.
+     * @param limite A quantidade máxima de amigos.
+     * @return Até {@code limite} amigos, em ordem crescente de ID.
+     */
+    public List<Usuario> listarAmigos(int idUsuario, int limite) {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_LISTAR_AMIGOS, idUsuario, 0, () -> {
+            int[] ids = amizades.vizinhos(idUsuario, limite);
+            List<Usuario> amigos = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                Usuario amigo = usuariosPorId.get(id);
+                if (amigo != null) {
+                    amigos.add(amigo);
+                }
+            }
+            return amigos;
+        });
+    }
+
+    /**
+     * Gera uma cópia imutável e compacta das amizades, para fases de leitura intensa.
+     * @return O grafo de amizades congelado no formato CSR.
+     */
+    public GrafoCsr congelarAmizades() {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_CONGELAR_AMIZADES, 0, 0, amizades::congelar);
+    }
+
+    /**
+     * Sugere amigos para um usuário ("pessoas que você talvez conheça"): os amigos dos seus amigos, ordenados
+     * pela quantidade de amigos em comum. As sugestões ficam em cache e só são recalculadas quando as
+     * amizades do usuário ou dos seus amigos mudam.
+     * @param idUsuario O ID do usuário.
+     * @param limite Quantidade máxima de sugestões; no máximo 10 são mantidas por usuário.
+     * @return As sugestões, da maior para a menor quantidade de amigos em comum.
+     * @throws ValidacaoException Se o limite não for positivo.
+     * @throws UsuarioException Se o usuário não for encontrado.
+     */
+    public List<SugestaoAmizade> sugerirAmigos(int idUsuario, int limite) {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_SUGERIR_AMIGOS, idUsuario, 0, () -> {
+            if (limite <= 0) {
+                throw new ValidacaoException("Limite deve ser positivo.");
+            }
+            if (!usuariosPorId.containsKey(idUsuario)) {
+                throw new UsuarioException("Usuário com ID " + idUsuario + " não encontrado.");
+            }
+            return recomendacoes.sugerir(idUsuario, limite);
+        });
+    }
+
+    /**
+     * Recalcula as sugestões de amizade de todos os usuários, em paralelo em todos os núcleos (fork/join),
+     * para que as primeiras consultas já as encontrem em cache. Pode ser chamado com o sistema em uso.
+     */
+    public void recalcularSugestoes() {
+        Medicao.executar(metricas, OperacaoMedida.USUARIOS_RECALCULAR_SUGESTOES, 0, 0, () -> {
+            recomendacoes.recalcularTodos(ForkJoinPool.commonPool());
+        });
     }
 
     /**
      * Lista todos os usuários registrados.
      * @return Uma lista de todos os usuários.
      */
-    public List<Usuario> listarUsuarios(){
-        return usuarios;
+    public List<Usuario> listarUsuarios() {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_LISTAR_USUARIOS, 0, 0, () -> {
+            List<Usuario> lista = new ArrayList<>(usuariosPorId.values());
+            lista.sort(Comparator.comparing(Usuario::getId)); // Mantém a ordem de cadastro
+            return Collections.unmodifiableList(lista);
+        });
+    }
+
+    /**
+     * Consulta uma página de usuários, em ordem de cadastro, a partir de um cursor.
+     * Os IDs são percorridos em ordem a partir do cursor, então o custo depende do tamanho da página (e dos
+     * IDs de contas excluídas no caminho), e não do total de usuários.
+     * @param depoisDe O ID do último usuário da página anterior, ou 0 para começar do primeiro.
+     * @param limite Quantidade máxima de usuários da página.
+     * @return Até {@code limite} usuários com ID maior que o cursor.
+     * @throws ValidacaoException Se o limite não for positivo.
+     */
+    public List<Usuario> consultarUsuarios(int depoisDe, int limite) {
+        return Medicao.medir(metricas, OperacaoMedida.USUARIOS_CONSULTAR_USUARIOS, 0, 0, () -> {
+            if (limite <= 0) {
+                throw new ValidacaoException("Limite deve ser positivo.");
+            }
+
+            List<Usuario> pagina = new ArrayList<>(limite);
+            int ultimo = proximoId.get();
+            for (int id = Math.max(depoisDe, 0) + 1; id < ultimo && pagina.size() < limite; id++) {
+                Usuario usuario = usuariosPorId.get(id);
+                if (usuario != null) {
+                    pagina.add(usuario);
+                }
+            }
+            return pagina;
+        });
+    }
+
+    /**
+     * Registra o usuário no índice primário e nos índices secundários de username e email.
+     * Deve ser chamado com a trava do usuário.
+     * @param usuario O usuário a ser indexado.
+     * @param chaves As chaves normalizadas do usuário.
+     */
+    private void indexar(Usuario usuario, ChavesUsuario chaves) {
+        usuariosPorId.put(usuario.getId(), usuario);
+        usuariosPorUsername.put(chaves.username(), usuario);
+        usuariosPorEmail.put(chaves.email(), usuario);
+        chavesIndexadas.put(usuario.getId(), chaves);
+        indiceBusca.adicionar(usuario.getId(), usuario.getNome(), usuario.getUsername());
+    }
+
+    /**
+     * Remove o usuário de todos os índices, usando as chaves com que foi registrado.
+     * Deve ser chamado com a trava do usuário.
+     * @param id O ID do usuário a ser removido dos índices.
+     */
+    private void desindexar(int id) {
+        Usuario usuario = usuariosPorId.remove(id);
+        indiceBusca.remover(id);
+        ChavesUsuario chaves = chavesIndexadas.remove(id);
+        if (chaves != null) {
+            // Remove apenas se a chave ainda pertencer a este usuário
+            usuariosPorUsername.remove(chaves.username(), usuario);
+            usuariosPorEmail.remove(chaves.email(), usuario);
+        }
+    }
+
+    private static ChavesUsuario chavesDe(Usuario usuario) {
+        return new ChavesUsuario(normalizar(usuario.getUsername()), normalizar(usuario.getEmail()));
+    }
+
+    private ReentrantLock travaDe(int id) {
+        return travas[id & (QUANTIDADE_TRAVAS - 1)];
+    }
+
+    /**
+     * Trava as partições de dois usuários, sempre na ordem das partições, para que operações simultâneas
+     * sobre pares diferentes não esperem umas pelas outras em ciclo.
+     */
+    private void travarPar(int id1, int id2) {
+        int a = id1 & (QUANTIDADE_TRAVAS - 1);
+        int b = id2 & (QUANTIDADE_TRAVAS - 1);
+        travas[Math.min(a, b)].lock();
+        if (a != b) {
+            travas[Math.max(a, b)].lock();
+        }
+    }
+
+    private void destravarPar(int id1, int id2) {
+        int a = id1 & (QUANTIDADE_TRAVAS - 1);
+        int b = id2 & (QUANTIDADE_TRAVAS - 1);
+        if (a != b) {
+            travas[Math.max(a, b)].unlock();
+        }
+        travas[Math.min(a, b)].unlock();
+    }
+
+    /**
+     * Confirma, com as travas do par, que nenhum dos usuários foi excluído depois da primeira verificação.
+     */
+    private void exigirPar(int id1, int id2) {
+        if (!usuariosPorId.containsKey(id1) || !usuariosPorId.containsKey(id2)) {
+            throw new UsuarioException("Um ou ambos os usuários não foram encontrados.");
+        }
+    }
+
+    /**
+     * Normaliza uma chave de busca (username ou email), ignorando espaços nas bordas e maiúsculas/minúsculas.
+     * @param chave A chave a ser normalizada.
+     * @return A chave normalizada, ou uma string vazia se for nula.
+     */
+    private static String normalizar(String chave) {
+        return chave == null ? "" : chave.trim().toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -238,10 +838,8 @@ public class GerenciadorUsuarios {
         }
 
         // Verifica se o username já existe
-        for (Usuario usuario1 : usuarios) {
-            if (usuario1.getUsername().equals(usuario.getUsername())) {
-                throw new ValidacaoException("Usuário " + usuario.getUsername() + " já existe.");
-            }
+        if (usuariosPorUsername.containsKey(normalizar(usuario.getUsername()))) {
+            throw new ValidacaoException("Usuário " + usuario.getUsername() + " já existe.");
         }
 
         // Verifica se o email é válido
@@ -262,10 +860,12 @@ public class GerenciadorUsuarios {
      * @throws ValidacaoException Se o usuário ou post forem inválidos.
      */
     public void adicionarPost(Usuario usuario, Post post) {
-        if (usuario != null && post != null) {
-            usuario.adicionarPost(post);
-        } else {
-            throw new ValidacaoException("Usuário ou Post inválido.");
-        }
+        Medicao.executar(metricas, OperacaoMedida.USUARIOS_ADICIONAR_POST, 0, 0, () -> {
+            if (usuario != null && post != null) {
+                usuario.adicionarPost(post);
+            } else {
+                throw new ValidacaoException("Usuário ou Post inválido.");
+            }
+        });
     }
 }
\ No newline at end of file
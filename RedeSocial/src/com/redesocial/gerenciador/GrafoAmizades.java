@@ -0,0 +1,353 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.exception.ValidacaoException;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grafo não direcionado das amizades entre usuários, indexado pelos IDs inteiros dos usuários.
+ * Cada usuário tem uma lista de adjacência própria: um array de {@code int} ordenado, com folga para crescimento.
+ * A verificação de amizade é feita por busca binária em O(log d), onde d é o número de amigos.
+ * Cada alteração avança a versão do grafo, e cada lista guarda a versão em que mudou pela última vez; assim,
+ * estruturas derivadas (como as sugestões de amizade) descobrem se ficaram desatualizadas sem serem avisadas.
+ * Leituras simultâneas são permitidas; as alterações são feitas com exclusividade.
+ */
+public class GrafoAmizades {
+    private static final int[] SEM_VIZINHOS = new int[0];
+
+    private int[][] vizinhos; // vizinhos[id] contém os amigos do usuário, ordenados
+    private int[] graus; // graus[id] é a quantidade de posições ocupadas em vizinhos[id]
+    private long[] versoes; // versoes[id] é a versão do grafo em que vizinhos[id] mudou pela última vez
+    private long versao; // Avança a cada alteração
+    private long arestas;
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    /**
+     * Construtor da classe, que inicializa o grafo vazio.
+     */
+    public GrafoAmizades() {
+        vizinhos = new int[16][];
+        graus = new int[16];
+        versoes = new long[16];
+    }
+
+    /**
+     * Adiciona uma amizade mútua entre dois usuários.
+     * @param id1 O ID do primeiro usuário.
+     * @param id2 O ID do segundo usuário.
+     * @return true se a amizade foi criada, false se já existia.
+     * @throws ValidacaoException Se algum ID não for positivo ou se os IDs forem iguais.
+     */
+    public boolean adicionar(int id1, int id2) {
+        validar(id1, id2);
+        trava.writeLock().lock();
+        try {
+            if (contem(id1, id2)) {
+                return false;
+            }
+            versao++;
+            inserir(id1, id2);
+            inserir(id2, id1);
+            arestas++;
+            return true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a amizade mútua entre dois usuários.
+     * @param id1 O ID do primeiro usuário.
+     * @param id2 O ID do segundo usuário.
+     * @return true se a amizade foi removida, false se não existia.
+     * @throws ValidacaoException Se algum ID não for positivo ou se os IDs forem iguais.
+     */
+    public boolean remover(int id1, int id2) {
+        validar(id1, id2);
+        trava.writeLock().lock();
+        try {
+            if (!contem(id1, id2)) {
+                return false;
+            }
+            versao++;
+            retirar(id1, id2);
+            retirar(id2, id1);
+            arestas--;
+            return true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove todas as amizades de um usuário.
+     * @param id O ID do usuário.
+     * @return Os IDs dos usuários que eram amigos dele, em ordem crescente.
+     */
+    public int[] removerTodas(int id) {
+        trava.writeLock().lock();
+        try {
+            int[] antigos = copiarVizinhos(id);
+            versao++;
+            for (int amigo : antigos) {
+                retirar(amigo, id);
+            }
+            if (id > 0 && id < vizinhos.length) {
+                vizinhos[id] = null;
+                graus[id] = 0;
+                versoes[id] = versao;
+            }
+            arestas -= antigos.length;
+            return antigos;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Verifica se dois usuários são amigos, buscando na menor das duas listas de adjacência.
+     * @param id1 O ID do primeiro usuário.
+     * @param id2 O ID do segundo usuário.
+     * @return true se forem amigos.
+     */
+    public boolean saoAmigos(int id1, int id2) {
+        trava.readLock().lock();
+        try {
+            return contem(id1, id2);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conta os amigos em comum entre dois usuários, pela interseção das listas de adjacência (ver {@link Intersecao}).
+     * @param id1 O ID do primeiro usuário.
+     * @param id2 O ID do segundo usuário.
+     * @return A quantidade de amigos em comum.
+     */
+    public int contarEmComum(int id1, int id2) {
+        trava.readLock().lock();
+        try {
+            if (grauSemTrava(id1) == 0 || grauSemTrava(id2) == 0) {
+                return 0;
+            }
+            return Intersecao.contar(vizinhos[id1], graus[id1], vizinhos[id2], graus[id2]);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os primeiros amigos em comum entre dois usuários com ID maior que o cursor.
+     * @param id1 O ID do primeiro usuário.
+     * @param id2 O ID do segundo usuário.
+     * @param depoisDe Cursor: só IDs maiores que ele são retornados.
+     * @param limite A quantidade máxima de IDs.
+     * @return Os IDs em comum, em ordem crescente.
+     */
+    public int[] emComum(int id1, int id2, int depoisDe, int limite) {
+        trava.readLock().lock();
+        try {
+            int grau = Math.min(grauSemTrava(id1), grauSemTrava(id2));
+            if (grau == 0 || limite <= 0) {
+                return SEM_VIZINHOS;
+            }
+            int[] destino = new int[Math.min(grau, limite)];
+            int encontrados = Intersecao.coletar(vizinhos[id1], graus[id1], vizinhos[id2], graus[id2], depoisDe, destino);
+            return encontrados == destino.length ? destino : Arrays.copyOf(destino, encontrados);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de amigos de um usuário.
+     * @param id O ID do usuário.
+     * @return O grau do usuário no grafo.
+     */
+    public int grau(int id) {
+        trava.readLock().lock();
+        try {
+            return grauSemTrava(id);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna uma cópia dos amigos de um usuário, em ordem crescente de ID.
+     * @param id O ID do usuário.
+     * @return Os IDs dos amigos.
+     */
+    public int[] vizinhos(int id) {
+        trava.readLock().lock();
+        try {
+            return copiarVizinhos(id);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna uma cópia dos primeiros amigos de um usuário, em ordem crescente de ID, sem copiar os demais.
+     * @param id O ID do usuário.
+     * @param limite A quantidade máxima de amigos.
+     * @return Os IDs de até {@code limite} amigos.
+     */
+    public int[] vizinhos(int id, int limite) {
+        trava.readLock().lock();
+        try {
+            int grau = Math.min(grauSemTrava(id), Math.max(limite, 0));
+            return grau == 0 ? SEM_VIZINHOS : Arrays.copyOf(vizinhos[id], grau);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a versão atual do grafo, que avança a cada amizade criada ou removida.
+     * @return A versão.
+     */
+    public long getVersao() {
+        trava.readLock().lock();
+        try {
+            return versao;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a versão em que a lista de amigos de um usuário, ou a de algum dos seus amigos, mudou pela última vez.
+     * Tudo o que foi calculado a partir dos amigos de amigos do usuário em uma versão igual ou posterior continua válido.
+     * @param id O ID do usuário.
+     * @return A maior versão entre o usuário e seus amigos.
+     */
+    public long versaoDaVizinhanca(int id) {
+        trava.readLock().lock();
+        try {
+            if (id <= 0 || id >= versoes.length) {
+                return 0;
+            }
+            long maior = versoes[id];
+            int[] lista = vizinhos[id];
+            for (int i = 0; i < graus[id]; i++) {
+                maior = Math.max(maior, versoes[lista[i]]);
+            }
+            return maior;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna o total de amizades do grafo.
+     * @return A quantidade de arestas.
+     */
+    public long getArestas() {
+        trava.readLock().lock();
+        try {
+            return arestas;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gera uma cópia imutável e compacta do grafo no formato CSR (compressed sparse row),
+     * adequada para fases com muitas leituras e nenhuma escrita.
+     * @return O grafo congelado.
+     */
+    public GrafoCsr congelar() {
+        trava.readLock().lock();
+        try {
+            int[] inicios = new int[graus.length + 1];
+            for (int id = 0; id < graus.length; id++) {
+                inicios[id + 1] = inicios[id] + graus[id];
+            }
+
+            int[] destinos = new int[inicios[graus.length]];
+            for (int id = 0; id < graus.length; id++) {
+                if (graus[id] > 0) {
+                    System.arraycopy(vizinhos[id], 0, destinos, inicios[id], graus[id]);
+                }
+            }
+            return new GrafoCsr(inicios, destinos, versao);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verifica a amizade buscando na menor das duas listas de adjacência. Deve ser chamado com a trava.
+     */
+    private boolean contem(int id1, int id2) {
+        if (grauSemTrava(id1) > grauSemTrava(id2)) {
+            int troca = id1;
+            id1 = id2;
+            id2 = troca;
+        }
+        return grauSemTrava(id1) > 0 && Arrays.binarySearch(vizinhos[id1], 0, graus[id1], id2) >= 0;
+    }
+
+    private int grauSemTrava(int id) {
+        return id > 0 && id < graus.length ? graus[id] : 0;
+    }
+
+    private int[] copiarVizinhos(int id) {
+        int grau = grauSemTrava(id);
+        return grau == 0 ? SEM_VIZINHOS : Arrays.copyOf(vizinhos[id], grau);
+    }
+
+    private void inserir(int id, int amigo) {
+        garantirCapacidade(id);
+        int[] lista = vizinhos[id];
+        int grau = graus[id];
+        if (lista == null) {
+            lista = new int[4];
+        } else if (grau == lista.length) {
+            lista = Arrays.copyOf(lista, grau + (grau >> 1) + 1);
+        }
+
+        int posicao = -(Arrays.binarySearch(lista, 0, grau, amigo) + 1);
+        System.arraycopy(lista, posicao, lista, posicao + 1, grau - posicao);
+        lista[posicao] = amigo;
+        vizinhos[id] = lista;
+        graus[id] = grau + 1;
+        versoes[id] = versao;
+    }
+
+    private void retirar(int id, int amigo) {
+        int grau = grauSemTrava(id);
+        if (grau == 0) {
+            return;
+        }
+        int[] lista = vizinhos[id];
+        int posicao = Arrays.binarySearch(lista, 0, grau, amigo);
+        if (posicao >= 0) {
+            System.arraycopy(lista, posicao + 1, lista, posicao, grau - posicao - 1);
+            graus[id] = grau - 1;
+            versoes[id] = versao;
+        }
+    }
+
+    private void garantirCapacidade(int id) {
+        if (id >= graus.length) {
+            int capacidade = Math.max(id + 1, graus.length * 2);
+            vizinhos = Arrays.copyOf(vizinhos, capacidade);
+            graus = Arrays.copyOf(graus, capacidade);
+            versoes = Arrays.copyOf(versoes, capacidade);
+        }
+    }
+
+    private static void validar(int id1, int id2) {
+        if (id1 <= 0 || id2 <= 0) {
+            throw new ValidacaoException("ID inválido.");
+        }
+        if (id1 == id2) {
+            throw new ValidacaoException("Um usuário não pode ser amigo de si mesmo.");
+        }
+    }
+}
\ No newline at end of file
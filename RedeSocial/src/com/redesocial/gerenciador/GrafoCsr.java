@@ -0,0 +1,105 @@
+package com.redesocial.gerenciador;
+
+import java.util.Arrays;
+
+/**
+ * Versão imutável do grafo de amizades no formato CSR (compressed sparse row).
+ * Todas as listas de adjacência ficam em um único array contíguo, sem folga,
+ * e {@code inicios[id]} indica onde começam os amigos do usuário {@code id}.
+ */
+public class GrafoCsr {
+    private final int[] inicios;
+    private final int[] destinos;
+    private final long versao;
+
+    /**
+     * Construtor da classe.
+     * @param inicios Posição inicial de cada lista de adjacência (com uma posição extra no final).
+     * @param destinos Listas de adjacência concatenadas, cada uma em ordem crescente.
+     * @param versao Versão do grafo de origem no momento da cópia.
+     */
+    GrafoCsr(int[] inicios, int[] destinos, long versao) {
+        this.inicios = inicios;
+        this.destinos = destinos;
+        this.versao = versao;
+    }
+
+    /**
+     * Verifica se dois usuários são amigos.
+     * @param id1 O ID do primeiro usuário.
+     * @param id2 O ID do segundo usuário.
+     * @return true se forem amigos.
+     */
+    public boolean saoAmigos(int id1, int id2) {
+        if (grau(id1) == 0) {
+            return false;
+        }
+        return Arrays.binarySearch(destinos, inicios[id1], inicios[id1 + 1], id2) >= 0;
+    }
+
+    /**
+     * Retorna a quantidade de amigos de um usuário.
+     * @param id O ID do usuário.
+     * @return O grau do usuário.
+     */
+    public int grau(int id) {
+        return id > 0 && id < inicios.length - 1 ? inicios[id + 1] - inicios[id] : 0;
+    }
+
+    /**
+     * Retorna uma cópia dos amigos de um usuário, em ordem crescente de ID.
+     * @param id O ID do usuário.
+     * @return Os IDs dos amigos.
+     */
+    public int[] vizinhos(int id) {
+        if (grau(id) == 0) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(destinos, inicios[id], inicios[id + 1]);
+    }
+
+    /**
+     * Retorna a quantidade de posições de ID do grafo; os IDs válidos vão de 1 a este valor menos um.
+     * @return O tamanho do grafo.
+     */
+    public int getTamanho() {
+        return inicios.length - 1;
+    }
+
+    /**
+     * Posição em {@link #destinos()} onde começam os amigos de um usuário. O ID deve ter grau positivo.
+     */
+    int inicio(int id) {
+        return inicios[id];
+    }
+
+    /**
+     * Posição em {@link #destinos()} logo após o último amigo de um usuário. O ID deve ter grau positivo.
+     */
+    int fim(int id) {
+        return inicios[id + 1];
+    }
+
+    /**
+     * Listas de adjacência concatenadas, para leitura sem cópia dentro do pacote. Não deve ser alterado.
+     */
+    int[] destinos() {
+        return destinos;
+    }
+
+    /**
+     * Retorna a versão do {@link GrafoAmizades} de onde esta cópia foi gerada.
+     * @return A versão.
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Retorna o total de amizades do grafo.
+     * @return A quantidade de arestas.
+     */
+    public long getArestas() {
+        return destinos.length / 2;
+    }
+}
\ No newline at end of file
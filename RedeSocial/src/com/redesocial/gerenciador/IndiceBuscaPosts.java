@@ -0,0 +1,454 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.exception.ValidacaoException;
+import com.redesocial.util.ConjuntoIds;
+import com.redesocial.util.Normalizador;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido do conteúdo dos posts, atualizado a cada criação e exclusão.
+ * O texto é normalizado (sem acentos e em minúsculas) e dividido em termos de três tipos: palavras com duas
+ * letras ou mais, hashtags ({@code #tag}, que também contam como a palavra {@code tag}) e menções
+ * ({@code @username}). Cada termo aponta para a lista dos IDs dos posts que o contêm, em ordem crescente e
+ * comprimida: os IDs são gravados como diferenças em varint (1 byte para diferenças até 127), em blocos de
+ * {@value #TAMANHO_BLOCO} cujo primeiro ID fica fora dos bytes. Os blocos permitem percorrer a lista de trás
+ * para frente, do post mais novo para o mais antigo, e saltar direto para o bloco de um ID por busca binária.
+ * Uma consulta é uma disjunção (OU) de cláusulas, e cada cláusula exige todos os seus termos (E). As cláusulas
+ * são resolvidas saltando entre as listas dos seus termos, e os resultados delas são intercalados, sempre do
+ * mais novo para o mais antigo; a leitura para assim que a página enche.
+ * Posts excluídos são marcados e filtrados nas consultas; a lista de um termo é reescrita sem eles quando
+ * metade dos seus IDs é de posts excluídos.
+ * Buscas simultâneas são permitidas; as alterações são feitas com exclusividade.
+ */
+class IndiceBuscaPosts {
+    static final int MAXIMO_TERMOS = 32; // Termos aceitos em uma consulta
+    private static final int TAMANHO_BLOCO = 128;
+
+    private final Map<String, ListaPostagens> termos = new HashMap<>();
+    private final ConjuntoIds removidos = new ConjuntoIds(); // Posts excluídos, ignorados nas consultas
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa o conteúdo de um post.
+     * @param idPost O ID do post.
+     * @param conteudo O conteúdo do post.
+     */
+    void adicionar(int idPost, String conteudo) {
+        Set<String> termosDoPost = termosDe(conteudo, false);
+        trava.writeLock().lock();
+        try {
+            if (removidos.contem(idPost)) {
+                return; // Excluído antes de ser indexado
+            }
+            for (String termo : termosDoPost) {
+                termos.computeIfAbsent(termo, t -> new ListaPostagens()).adicionar(idPost);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um post do índice.
+     * @param idPost O ID do post.
+     * @param conteudo O conteúdo com que o post foi indexado.
+     */
+    void remover(int idPost, String conteudo) {
+        Set<String> termosDoPost = termosDe(conteudo, false);
+        trava.writeLock().lock();
+        try {
+            if (!removidos.adicionar(idPost)) {
+                return;
+            }
+            for (String termo : termosDoPost) {
+                ListaPostagens lista = termos.get(termo);
+                if (lista == null) {
+                    continue;
+                }
+                lista.mortos++;
+                if (lista.mortos * 2 >= lista.quantidade) {
+                    lista.compactar(removidos);
+                    if (lista.quantidade == 0) {
+                        termos.remove(termo);
+                    }
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Interpreta uma consulta: termos separados por espaço devem aparecer todos no post, e as palavras "OU" ou
+     * "OR" separam alternativas. "E" e "AND" são aceitos entre termos e ignorados.
+     * @param consulta O texto da consulta, por exemplo {@code "#java @maria OU café"}.
+     * @return As cláusulas da consulta, cada uma com os termos que exige.
+     * @throws ValidacaoException Se a consulta não tiver termos ou tiver termos demais.
+     */
+    static List<String[]> interpretar(String consulta) {
+        List<String[]> clausulas = new ArrayList<>();
+        Set<String> clausula = new LinkedHashSet<>();
+        int quantidade = 0;
+        for (String palavra : (consulta == null ? "" : consulta.trim()).split("\\s+")) {
+            String operador = palavra.toUpperCase(Locale.ROOT);
+            if (operador.equals("OU") || operador.equals("OR")) {
+                if (!clausula.isEmpty()) {
+                    clausulas.add(clausula.toArray(new String[0]));
+                    clausula = new LinkedHashSet<>();
+                }
+            } else if (!operador.equals("E") && !operador.equals("AND")) {
+                for (String termo : termosDe(palavra, true)) {
+                    if (clausula.add(termo) && ++quantidade > MAXIMO_TERMOS) {
+                        throw new ValidacaoException("A busca pode ter no máximo " + MAXIMO_TERMOS + " termos.");
+                    }
+                }
+            }
+        }
+        if (!clausula.isEmpty()) {
+            clausulas.add(clausula.toArray(new String[0]));
+        }
+        if (clausulas.isEmpty()) {
+            throw new ValidacaoException("A busca deve ter pelo menos uma palavra com duas letras, uma #hashtag ou uma @menção.");
+        }
+        return clausulas;
+    }
+
+    /**
+     * Busca os posts que satisfazem pelo menos uma das cláusulas, do mais novo para o mais antigo.
+     * @param clausulas As cláusulas, como devolvidas por {@link #interpretar(String)}.
+     * @param antesDe Cursor: só IDs menores que ele são considerados, ou 0 para começar pelos mais novos.
+     * @param limite A quantidade máxima de IDs.
+     * @return Os IDs encontrados, em ordem decrescente.
+     */
+    int[] buscar(List<String[]> clausulas, int antesDe, int limite) {
+        trava.readLock().lock();
+        try {
+            List<Conjuncao> conjuncoes = new ArrayList<>(clausulas.size());
+            for (String[] clausula : clausulas) {
+                Conjuncao conjuncao = conjuncao(clausula);
+                if (conjuncao != null) {
+                    conjuncoes.add(conjuncao);
+                }
+            }
+
+            int teto = antesDe <= 0 ? Integer.MAX_VALUE : antesDe - 1;
+            int[] atuais = new int[conjuncoes.size()]; // Próximo resultado de cada cláusula, ou 0
+            for (int i = 0; i < atuais.length; i++) {
+                atuais[i] = conjuncoes.get(i).proximo(teto);
+            }
+
+            int[] destino = new int[Math.min(limite, TAMANHO_BLOCO)];
+            int encontrados = 0;
+            while (encontrados < limite) {
+                int maior = 0;
+                for (int atual : atuais) {
+                    maior = Math.max(maior, atual);
+                }
+                if (maior == 0) {
+                    break;
+                }
+                if (!removidos.contem(maior)) {
+                    if (encontrados == destino.length) {
+                        destino = Arrays.copyOf(destino, (int) Math.min(limite, 2L * encontrados));
+                    }
+                    destino[encontrados++] = maior;
+                }
+                for (int i = 0; i < atuais.length; i++) {
+                    if (atuais[i] == maior) {
+                        atuais[i] = conjuncoes.get(i).proximo(maior - 1);
+                    }
+                }
+            }
+            return encontrados == destino.length ? destino : Arrays.copyOf(destino, encontrados);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Monta a conjunção de uma cláusula, começando pela lista mais curta, ou null se algum termo não existir.
+     */
+    private Conjuncao conjuncao(String[] clausula) {
+        Cursor[] cursores = new Cursor[clausula.length];
+        for (int i = 0; i < clausula.length; i++) {
+            ListaPostagens lista = termos.get(clausula[i]);
+            if (lista == null) {
+                return null;
+            }
+            cursores[i] = new Cursor(lista);
+        }
+        Arrays.sort(cursores, (a, b) -> Integer.compare(a.lista.quantidade, b.lista.quantidade));
+        return new Conjuncao(cursores);
+    }
+
+    /**
+     * Divide um texto em termos.
+     * @param texto O texto.
+     * @param consulta true para os termos de uma consulta, em que uma hashtag procura só a hashtag.
+     * @return Os termos distintos, na ordem em que aparecem.
+     */
+    static Set<String> termosDe(String texto, boolean consulta) {
+        String normalizado = Normalizador.normalizar(texto);
+        Set<String> resultado = new LinkedHashSet<>();
+        int i = 0;
+        while (i < normalizado.length()) {
+            char c = normalizado.charAt(i);
+            char tipo = 0;
+            if ((c == '#' || c == '@') && i + 1 < normalizado.length() && caractereDeTermo(normalizado.charAt(i + 1))
+                    && (i == 0 || !caractereDeTermo(normalizado.charAt(i - 1)))) {
+                tipo = c;
+                i++;
+            } else if (!caractereDeTermo(c)) {
+                i++;
+                continue;
+            }
+
+            int inicio = i;
+            while (i < normalizado.length() && (caractereDeTermo(normalizado.charAt(i))
+                    || (tipo == '@' && normalizado.charAt(i) == '.'))) {
+                i++;
+            }
+            int fim = i;
+            while (fim > inicio && normalizado.charAt(fim - 1) == '.') {
+                fim--; // Um ponto final depois da menção não faz parte do username
+            }
+            String palavra = normalizado.substring(inicio, fim);
+
+            if (tipo != 0) {
+                resultado.add(tipo + palavra);
+            }
+            if ((tipo == 0 || (tipo == '#' && !consulta)) && palavra.length() >= 2) {
+                resultado.add(palavra);
+            }
+        }
+        return resultado;
+    }
+
+    private static boolean caractereDeTermo(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    /**
+     * IDs dos posts que contêm um termo, em ordem crescente, comprimidos em blocos de {@value #TAMANHO_BLOCO}.
+     * Cada bloco guarda o primeiro ID em {@link #primeiros} e os seguintes como diferenças em varint a partir
+     * da posição {@link #inicios} de {@link #dados}.
+     */
+    private static final class ListaPostagens {
+        byte[] dados = new byte[8];
+        int bytes;
+        int[] primeiros = new int[1];
+        int[] inicios = new int[1];
+        int quantidade;
+        int ultimo; // Maior ID da lista
+        int mortos; // IDs de posts excluídos ainda na lista
+
+        int blocos() {
+            return (quantidade + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        }
+
+        /**
+         * Adiciona um ID. No caso comum ele é o maior e entra no final em O(1); caso contrário (posts criados
+         * simultaneamente e indexados fora de ordem) a lista é reescrita.
+         */
+        void adicionar(int id) {
+            if (quantidade > 0 && id <= ultimo) {
+                int[] ids = paraArray();
+                int posicao = Arrays.binarySearch(ids, id);
+                if (posicao >= 0) {
+                    return;
+                }
+                posicao = -(posicao + 1);
+                int[] novos = new int[ids.length + 1];
+                System.arraycopy(ids, 0, novos, 0, posicao);
+                novos[posicao] = id;
+                System.arraycopy(ids, posicao, novos, posicao + 1, ids.length - posicao);
+                reescrever(novos, novos.length);
+                return;
+            }
+            acrescentar(id);
+        }
+
+        private void acrescentar(int id) {
+            if (quantidade % TAMANHO_BLOCO == 0) {
+                int bloco = quantidade / TAMANHO_BLOCO;
+                if (bloco == primeiros.length) {
+                    primeiros = Arrays.copyOf(primeiros, bloco * 2);
+                    inicios = Arrays.copyOf(inicios, bloco * 2);
+                }
+                primeiros[bloco] = id;
+                inicios[bloco] = bytes;
+            } else {
+                int diferenca = id - ultimo;
+                if (bytes + 5 > dados.length) {
+                    dados = Arrays.copyOf(dados, Math.max(dados.length * 2, bytes + 5));
+                }
+                while ((diferenca & ~0x7F) != 0) {
+                    dados[bytes++] = (byte) ((diferenca & 0x7F) | 0x80);
+                    diferenca >>>= 7;
+                }
+                dados[bytes++] = (byte) diferenca;
+            }
+            ultimo = id;
+            quantidade++;
+        }
+
+        /**
+         * Decodifica um bloco.
+         * @return A quantidade de IDs do bloco.
+         */
+        int decodificar(int bloco, int[] destino) {
+            int tamanho = Math.min(TAMANHO_BLOCO, quantidade - bloco * TAMANHO_BLOCO);
+            int posicao = inicios[bloco];
+            int id = primeiros[bloco];
+            destino[0] = id;
+            for (int i = 1; i < tamanho; i++) {
+                int diferenca = 0;
+                int deslocamento = 0;
+                byte b;
+                do {
+                    b = dados[posicao++];
+                    diferenca |= (b & 0x7F) << deslocamento;
+                    deslocamento += 7;
+                } while (b < 0);
+                id += diferenca;
+                destino[i] = id;
+            }
+            return tamanho;
+        }
+
+        int[] paraArray() {
+            int[] ids = new int[quantidade];
+            int[] bloco = new int[TAMANHO_BLOCO];
+            for (int b = 0; b < blocos(); b++) {
+                int tamanho = decodificar(b, bloco);
+                System.arraycopy(bloco, 0, ids, b * TAMANHO_BLOCO, tamanho);
+            }
+            return ids;
+        }
+
+        /**
+         * Reescreve a lista sem os IDs de posts excluídos.
+         */
+        void compactar(ConjuntoIds removidos) {
+            int[] ids = paraArray();
+            int k = 0;
+            for (int id : ids) {
+                if (!removidos.contem(id)) {
+                    ids[k++] = id;
+                }
+            }
+            reescrever(ids, k);
+        }
+
+        private void reescrever(int[] ids, int tamanho) {
+            dados = new byte[Math.max(8, tamanho)];
+            bytes = 0;
+            primeiros = new int[Math.max(1, (tamanho + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO)];
+            inicios = new int[primeiros.length];
+            quantidade = 0;
+            ultimo = 0;
+            mortos = 0;
+            for (int i = 0; i < tamanho; i++) {
+                acrescentar(ids[i]);
+            }
+        }
+    }
+
+    /**
+     * Percorre uma lista do maior para o menor ID, decodificando um bloco por vez.
+     */
+    private static final class Cursor {
+        final ListaPostagens lista;
+        private final int[] ids = new int[TAMANHO_BLOCO];
+        private int bloco = -1; // Bloco decodificado em ids
+        private int posicao; // Posição do ID atual em ids
+
+        Cursor(ListaPostagens lista) {
+            this.lista = lista;
+        }
+
+        /**
+         * Avança até o maior ID menor ou igual ao alvo. Os alvos devem ser decrescentes.
+         * @return O ID, ou 0 se não houver.
+         */
+        int buscar(int alvo) {
+            if (alvo <= 0) {
+                return 0;
+            }
+            if (bloco < 0 || lista.primeiros[bloco] > alvo) {
+                // Último bloco que começa em um ID menor ou igual ao alvo, antes do atual
+                int inicio = 0;
+                int fim = bloco < 0 ? lista.blocos() : bloco;
+                while (inicio < fim) {
+                    int meio = (inicio + fim) >>> 1;
+                    if (lista.primeiros[meio] <= alvo) {
+                        inicio = meio + 1;
+                    } else {
+                        fim = meio;
+                    }
+                }
+                if (inicio == 0) {
+                    bloco = 0;
+                    posicao = -1;
+                    return 0;
+                }
+                bloco = inicio - 1;
+                posicao = lista.decodificar(bloco, ids) - 1;
+            }
+            while (ids[posicao] > alvo) { // O primeiro ID do bloco é menor ou igual ao alvo
+                posicao--;
+            }
+            return ids[posicao];
+        }
+    }
+
+    /**
+     * Posts que contêm todos os termos de uma cláusula: cada cursor salta para o maior ID que não passa do
+     * menor ID visto, até todos concordarem.
+     */
+    private static final class Conjuncao {
+        private final Cursor[] cursores;
+        private boolean esgotada;
+
+        Conjuncao(Cursor[] cursores) {
+            this.cursores = cursores;
+        }
+
+        /**
+         * Retorna o maior ID menor ou igual ao alvo presente em todas as listas, ou 0 se não houver.
+         * Os alvos devem ser decrescentes.
+         */
+        int proximo(int alvo) {
+            while (!esgotada) {
+                boolean concordam = true;
+                for (Cursor cursor : cursores) {
+                    int id = cursor.buscar(alvo);
+                    if (id == 0) {
+                        esgotada = true;
+                        return 0;
+                    }
+                    if (id < alvo) {
+                        if (cursor != cursores[0]) {
+                            concordam = false; // Os cursores anteriores estão acima do novo alvo
+                        }
+                        alvo = id;
+                    }
+                }
+                if (concordam) {
+                    return alvo;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.util.ConjuntoIds;
+import com.redesocial.util.Normalizador;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de busca de usuários por nome e username, atualizado a cada cadastro, atualização e exclusão.
+ * Os textos são normalizados (sem acentos e em minúsculas) e indexados de duas formas:
+ * por trigramas, para buscas por trecho com 3 ou mais caracteres, e por palavras em ordem alfabética,
+ * para buscas por prefixo com termos curtos. Apenas os candidatos do índice são verificados.
+ * Um prefixo de 1 ou 2 caracteres abrange boa parte das palavras, então os candidatos dos termos curtos são
+ * limitados a uma folga sobre o limite pedido, percorrendo as palavras em ordem alfabética a partir do próprio
+ * termo (o username igual ao termo é sempre considerado).
+ * Buscas simultâneas são permitidas; as alterações são feitas com exclusividade.
+ */
+class IndiceBuscaUsuarios {
+    private static final int CANDIDATOS_POR_RESULTADO = 8; // Folga dos termos curtos sobre o limite pedido
+
+    private final Map<Integer, Entrada> entradas; // Textos normalizados de cada usuário indexado
+    private final Map<String, ConjuntoIds> trigramas; // Trigrama -> IDs dos usuários que o contêm
+    private final TreeMap<String, ConjuntoIds> palavras; // Palavra -> IDs dos usuários que a contêm
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    /**
+     * Textos normalizados com que um usuário foi indexado.
+     */
+    private record Entrada(int id, String nome, String username) {
+    }
+
+    /**
+     * Candidato a resultado de uma busca, com sua relevância (quanto menor, mais relevante).
+     */
+    private record Resultado(Entrada entrada, int relevancia) {
+    }
+
+    private static final Comparator<Resultado> ORDEM_RELEVANCIA = Comparator
+            .comparingInt(Resultado::relevancia)
+            .thenComparingInt(r -> r.entrada().username().length())
+            .thenComparingInt(r -> r.entrada().id());
+
+    IndiceBuscaUsuarios() {
+        entradas = new HashMap<>();
+        trigramas = new HashMap<>();
+        palavras = new TreeMap<>();
+    }
+
+    /**
+     * Indexa o nome e o username de um usuário.
+     * @param id O ID do usuário.
+     * @param nome O nome do usuário.
+     * @param username O username do usuário.
+     */
+    void adicionar(int id, String nome, String username) {
+        Entrada entrada = new Entrada(id, Normalizador.normalizar(nome), Normalizador.normalizar(username));
+        trava.writeLock().lock();
+        try {
+            entradas.put(id, entrada);
+            for (String texto : new String[]{entrada.nome(), entrada.username()}) {
+                for (String trigrama : trigramasDe(texto)) {
+                    trigramas.computeIfAbsent(trigrama, t -> new ConjuntoIds()).adicionar(id);
+                }
+                for (String palavra : texto.split("\\s+")) {
+                    if (!palavra.isEmpty()) {
+                        palavras.computeIfAbsent(palavra, p -> new ConjuntoIds()).adicionar(id);
+                    }
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um usuário do índice.
+     * @param id O ID do usuário.
+     */
+    void remover(int id) {
+        trava.writeLock().lock();
+        try {
+            Entrada entrada = entradas.remove(id);
+            if (entrada == null) {
+                return;
+            }
+            for (String texto : new String[]{entrada.nome(), entrada.username()}) {
+                for (String trigrama : trigramasDe(texto)) {
+                    removerDe(trigramas, trigrama, id);
+                }
+                for (String palavra : texto.split("\\s+")) {
+                    removerDe(palavras, palavra, id);
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca usuários cujo nome (e, opcionalmente, username) contenha o termo informado.
+     * Termos com menos de 3 caracteres são buscados como prefixo de palavra.
+     * Os resultados são ordenados por relevância: username exato, prefixo do username, prefixo de palavra do nome e,
+     * por fim, trecho em qualquer posição.
+     * @param termo O termo buscado.
+     * @param limite Quantidade máxima de resultados.
+     * @param incluirUsername Se o username também deve ser considerado na busca.
+     * @return Os IDs dos usuários encontrados, do mais relevante para o menos relevante.
+     */
+    List<Integer> buscar(String termo, int limite, boolean incluirUsername) {
+        String consulta = Normalizador.normalizar(termo);
+        if (consulta.isEmpty() || limite <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Heap com os piores resultados no topo, limitado a 'limite' elementos
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(ORDEM_RELEVANCIA.reversed());
+        trava.readLock().lock();
+        try {
+            for (int id : candidatos(consulta, limite)) {
+                Entrada entrada = entradas.get(id);
+                int relevancia = entrada == null ? -1 : relevancia(entrada, consulta, incluirUsername);
+                if (relevancia < 0) {
+                    continue;
+                }
+                melhores.add(new Resultado(entrada, relevancia));
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+
+        List<Resultado> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(ORDEM_RELEVANCIA);
+        List<Integer> ids = new ArrayList<>(ordenados.size());
+        for (Resultado resultado : ordenados) {
+            ids.add(resultado.entrada().id());
+        }
+        return ids;
+    }
+
+    /**
+     * Obtém os IDs que podem conter a consulta, usando a menor lista de trigramas
+     * ou, para consultas curtas, as palavras que começam com a consulta, até reunir a folga sobre o limite.
+     */
+    private int[] candidatos(String consulta, int limite) {
+        if (consulta.length() < 3) {
+            int maximo = limite > Integer.MAX_VALUE / CANDIDATOS_POR_RESULTADO
+                    ? Integer.MAX_VALUE : limite * CANDIDATOS_POR_RESULTADO;
+            ConjuntoIds encontrados = new ConjuntoIds();
+            for (ConjuntoIds ids : palavras.subMap(consulta, consulta + Character.MAX_VALUE).values()) {
+                boolean percorridos = ids.paraCadaEnquanto(id -> {
+                    encontrados.adicionar(id);
+                    return encontrados.tamanho() < maximo;
+                });
+                if (!percorridos) {
+                    break;
+                }
+            }
+            return encontrados.paraArray();
+        }
+
+        List<ConjuntoIds> listas = new ArrayList<>();
+        for (String trigrama : trigramasDe(consulta)) {
+            ConjuntoIds ids = trigramas.get(trigrama);
+            if (ids == null) {
+                return new int[0]; // Algum trigrama não aparece em nenhum usuário
+            }
+            listas.add(ids);
+        }
+        listas.sort(Comparator.comparingInt(ConjuntoIds::tamanho));
+
+        // Percorre a menor lista e mantém apenas os IDs presentes em todas as outras
+        ConjuntoIds menor = listas.get(0);
+        List<ConjuntoIds> demais = listas.subList(1, listas.size());
+        int[] ids = new int[menor.tamanho()];
+        int[] quantidade = {0};
+        menor.paraCada(id -> {
+            for (ConjuntoIds outra : demais) {
+                if (!outra.contem(id)) {
+                    return;
+                }
+            }
+            ids[quantidade[0]++] = id;
+        });
+        return Arrays.copyOf(ids, quantidade[0]);
+    }
+
+    /**
+     * Calcula a relevância de um usuário para a consulta.
+     * @return A relevância (menor é melhor), ou -1 se o usuário não corresponder à consulta.
+     */
+    private static int relevancia(Entrada entrada, String consulta, boolean incluirUsername) {
+        if (incluirUsername && entrada.username().equals(consulta)) {
+            return 0;
+        }
+        if (incluirUsername && entrada.username().startsWith(consulta)) {
+            return 1;
+        }
+        if (entrada.nome().startsWith(consulta) || entrada.nome().contains(" " + consulta)) {
+            return 2;
+        }
+        if (consulta.length() >= 3
+                && (entrada.nome().contains(consulta) || (incluirUsername && entrada.username().contains(consulta)))) {
+            return 3;
+        }
+        return -1;
+    }
+
+    private static List<String> trigramasDe(String texto) {
+        List<String> resultado = new ArrayList<>();
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            resultado.add(texto.substring(i, i + 3));
+        }
+        return resultado;
+    }
+
+    private static void removerDe(Map<String, ConjuntoIds> indice, String chave, int id) {
+        ConjuntoIds ids = indice.get(chave);
+        if (ids != null) {
+            ids.remover(id);
+            if (ids.tamanho() == 0) {
+                indice.remove(chave);
+            }
+        }
+    }
+}
\ No newline at end of file
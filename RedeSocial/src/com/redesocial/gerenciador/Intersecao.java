@@ -0,0 +1,117 @@
+package com.redesocial.gerenciador;
+
+/**
+ * Interseção de listas de IDs ordenadas em ordem crescente e sem repetições, como as listas de adjacência
+ * do {@link GrafoAmizades}.
+ * Listas de tamanhos parecidos são intercaladas (merge) em O(m + n). Quando uma é muito maior que a outra,
+ * cada ID da menor é procurado na maior por busca galopante: o passo dobra até ultrapassar o ID e a busca
+ * binária termina no intervalo encontrado, em O(m log(n / m)). Assim, cruzar 50 amigos com os 100 mil de
+ * um perfil popular custa algumas centenas de comparações, e não 100 mil.
+ */
+final class Intersecao {
+    private static final int RAZAO_GALOPE = 16; // A partir desta razão entre os tamanhos, usa a busca galopante
+
+    private Intersecao() {
+    }
+
+    /**
+     * Conta os IDs presentes nas duas listas.
+     * @return A quantidade de IDs em comum.
+     */
+    static int contar(int[] a, int tamanhoA, int[] b, int tamanhoB) {
+        return percorrer(a, tamanhoA, b, tamanhoB, 0, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Copia para o destino os primeiros IDs em comum maiores que {@code depoisDe}, em ordem crescente.
+     * @param depoisDe Cursor: só IDs maiores que ele são considerados.
+     * @param destino Array que recebe os IDs; a quantidade máxima é o seu tamanho.
+     * @return A quantidade de IDs copiados.
+     */
+    static int coletar(int[] a, int tamanhoA, int[] b, int tamanhoB, int depoisDe, int[] destino) {
+        return percorrer(a, tamanhoA, b, tamanhoB, depoisDe, destino.length, destino);
+    }
+
+    private static int percorrer(int[] a, int tamanhoA, int[] b, int tamanhoB, int depoisDe, int limite, int[] destino) {
+        if (tamanhoA > tamanhoB) {
+            int[] lista = a;
+            a = b;
+            b = lista;
+            int tamanho = tamanhoA;
+            tamanhoA = tamanhoB;
+            tamanhoB = tamanho;
+        }
+
+        int i = depoisDe <= 0 ? 0 : depoisDe(a, tamanhoA, depoisDe);
+        int j = depoisDe <= 0 ? 0 : depoisDe(b, tamanhoB, depoisDe);
+        int encontrados = 0;
+
+        if ((long) (tamanhoA - i) * RAZAO_GALOPE < tamanhoB - j) {
+            for (; i < tamanhoA && j < tamanhoB && encontrados < limite; i++) {
+                j = galopar(b, j, tamanhoB, a[i]);
+                if (j < tamanhoB && b[j] == a[i]) {
+                    encontrados = registrar(destino, encontrados, a[i]);
+                    j++;
+                }
+            }
+            return encontrados;
+        }
+
+        while (i < tamanhoA && j < tamanhoB && encontrados < limite) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                encontrados = registrar(destino, encontrados, a[i]);
+                i++;
+                j++;
+            }
+        }
+        return encontrados;
+    }
+
+    private static int registrar(int[] destino, int encontrados, int id) {
+        if (destino != null) {
+            destino[encontrados] = id;
+        }
+        return encontrados + 1;
+    }
+
+    /**
+     * Busca galopante: retorna a primeira posição a partir de {@code inicio} com valor maior ou igual ao alvo.
+     */
+    private static int galopar(int[] lista, int inicio, int fim, int alvo) {
+        int passo = 1;
+        int anterior = inicio;
+        int posicao = inicio;
+        while (posicao < fim && lista[posicao] < alvo) {
+            anterior = posicao + 1;
+            posicao = inicio + passo;
+            passo <<= 1;
+        }
+        return primeiraMaiorOuIgual(lista, anterior, Math.min(posicao, fim), alvo);
+    }
+
+    /**
+     * Retorna a primeira posição com valor maior que o cursor.
+     */
+    private static int depoisDe(int[] lista, int tamanho, int cursor) {
+        return primeiraMaiorOuIgual(lista, 0, tamanho, cursor + 1);
+    }
+
+    /**
+     * Busca binária pela primeira posição de [inicio, fim) com valor maior ou igual ao alvo (ou fim).
+     */
+    private static int primeiraMaiorOuIgual(int[] lista, int inicio, int fim, int alvo) {
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (lista[meio] < alvo) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+}
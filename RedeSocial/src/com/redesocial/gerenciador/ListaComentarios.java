@@ -0,0 +1,122 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.modelo.Comentario;
+
+import java.util.Arrays;
+
+/**
+ * Lista dos comentários de um post, em ordem crescente de ID (ordem de chegada).
+ * Segue o mesmo esquema da {@link ListaPostsAutor}: as escritas são serializadas por post e as leituras
+ * trabalham sem trava sobre uma {@link Fatia} imutável. Um comentário novo sempre recebe o maior ID, então a
+ * inserção é no final e custa O(1) amortizado, por maior que seja o post; só comentários restaurados fora de
+ * ordem copiam o array.
+ */
+class ListaComentarios {
+    private static final Comentario[] VAZIO = new Comentario[0];
+
+    private volatile Fatia atual = new Fatia(VAZIO, 0);
+
+    /**
+     * Visão imutável da lista: as posições de 0 a {@code tamanho - 1} do array nunca são alteradas.
+     * @param itens Array com os comentários.
+     * @param tamanho Quantidade de posições válidas.
+     */
+    record Fatia(Comentario[] itens, int tamanho) {
+    }
+
+    /**
+     * Insere um comentário na posição correspondente ao seu ID.
+     * @param comentario O comentário, já com ID.
+     * @return true se o comentário foi inserido, false se já havia um comentário com o mesmo ID.
+     */
+    synchronized boolean adicionar(Comentario comentario) {
+        Fatia fatia = atual;
+        int id = comentario.getId();
+        int tamanho = fatia.tamanho();
+        if (tamanho == 0 || fatia.itens()[tamanho - 1].getId() < id) {
+            Comentario[] itens = fatia.itens();
+            if (tamanho == itens.length) {
+                itens = Arrays.copyOf(itens, Math.max(4, itens.length + (itens.length >> 1)));
+            }
+            itens[tamanho] = comentario; // Posição ainda não visível para os leitores
+            atual = new Fatia(itens, tamanho + 1);
+            return true;
+        }
+
+        int posicao = posicaoDe(fatia, id);
+        if (posicao >= 0) {
+            return false;
+        }
+        posicao = -(posicao + 1);
+
+        // Cria um novo array para não alterar as posições vistas pelos leitores
+        Comentario[] itens = new Comentario[Math.max(4, tamanho + 1 + (tamanho >> 1))];
+        System.arraycopy(fatia.itens(), 0, itens, 0, posicao);
+        itens[posicao] = comentario;
+        System.arraycopy(fatia.itens(), posicao, itens, posicao + 1, tamanho - posicao);
+        atual = new Fatia(itens, tamanho + 1);
+        return true;
+    }
+
+    /**
+     * Remove todos os comentários de um autor, copiando o array uma única vez.
+     * @param idAutor O ID do autor.
+     * @return A quantidade de comentários removidos.
+     */
+    synchronized int removerDoAutor(int idAutor) {
+        Fatia fatia = atual;
+        Comentario[] itens = new Comentario[fatia.itens().length];
+        int tamanho = 0;
+        for (int i = 0; i < fatia.tamanho(); i++) {
+            Comentario comentario = fatia.itens()[i];
+            if (comentario.getAutor() == null || comentario.getAutor().getId() == null
+                    || comentario.getAutor().getId() != idAutor) {
+                itens[tamanho++] = comentario;
+            }
+        }
+        int removidos = fatia.tamanho() - tamanho;
+        if (removidos > 0) {
+            atual = new Fatia(itens, tamanho); // Novo array: os leitores da fatia antiga não são afetados
+        }
+        return removidos;
+    }
+
+    /**
+     * Verifica se este exato comentário já está na lista.
+     * @param comentario O comentário, já com ID.
+     * @return true se o comentário está na lista.
+     */
+    boolean contem(Comentario comentario) {
+        Fatia fatia = atual;
+        int posicao = posicaoDe(fatia, comentario.getId());
+        return posicao >= 0 && fatia.itens()[posicao] == comentario;
+    }
+
+    /**
+     * Retorna uma visão imutável do estado atual da lista.
+     * @return A fatia atual.
+     */
+    Fatia fatia() {
+        return atual;
+    }
+
+    /**
+     * Busca binária pelo ID.
+     * @return A posição do comentário ou, se ele não existir, {@code -(ponto de inserção) - 1}.
+     */
+    static int posicaoDe(Fatia fatia, int idComentario) {
+        int inicio = 0, fim = fatia.tamanho() - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int id = fatia.itens()[meio].getId();
+            if (id < idComentario) {
+                inicio = meio + 1;
+            } else if (id > idComentario) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -(inicio + 1);
+    }
+}
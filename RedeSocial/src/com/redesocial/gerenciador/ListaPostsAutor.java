@@ -0,0 +1,87 @@
+package com.redesocial.gerenciador;
+
+import java.util.Arrays;
+
+/**
+ * Lista dos IDs dos posts de um autor, em ordem crescente (ordem de criação).
+ * As escritas são serializadas por autor; as leituras não usam trava e trabalham sobre um {@link Fatia}
+ * imutável, que continua válido mesmo que a lista seja alterada durante a leitura.
+ * Inserções no final custam O(1) amortizado; remoções copiam o array (são raras).
+ */
+class ListaPostsAutor {
+    static final int[] VAZIO = new int[0];
+
+    private volatile Fatia atual = new Fatia(VAZIO, 0);
+
+    /**
+     * Visão imutável da lista: as posições de 0 a {@code tamanho - 1} do array nunca são alteradas.
+     * @param itens Array com os IDs dos posts.
+     * @param tamanho Quantidade de posições válidas.
+     */
+    record Fatia(int[] itens, int tamanho) {
+    }
+
+    /**
+     * Acrescenta um post no final da lista.
+     * @param idPost O ID do post, maior que os já existentes.
+     */
+    synchronized void adicionar(int idPost) {
+        Fatia fatia = atual;
+        int[] itens = fatia.itens();
+        if (fatia.tamanho() == itens.length) {
+            itens = Arrays.copyOf(itens, Math.max(4, itens.length + (itens.length >> 1)));
+        }
+        itens[fatia.tamanho()] = idPost; // Posição ainda não visível para os leitores
+        atual = new Fatia(itens, fatia.tamanho() + 1);
+    }
+
+    /**
+     * Remove um post da lista, localizando-o por busca binária pelo ID.
+     * @param idPost O ID do post.
+     * @return true se o post foi removido.
+     */
+    synchronized boolean remover(int idPost) {
+        Fatia fatia = atual;
+        int posicao = posicaoDe(fatia, idPost);
+        if (posicao < 0) {
+            return false;
+        }
+
+        // Cria um novo array para não alterar as posições vistas pelos leitores
+        int[] itens = new int[fatia.itens().length];
+        System.arraycopy(fatia.itens(), 0, itens, 0, posicao);
+        System.arraycopy(fatia.itens(), posicao + 1, itens, posicao, fatia.tamanho() - posicao - 1);
+        atual = new Fatia(itens, fatia.tamanho() - 1);
+        return true;
+    }
+
+    /**
+     * Retorna uma visão imutável do estado atual da lista.
+     * @return A fatia atual.
+     */
+    Fatia fatia() {
+        return atual;
+    }
+
+    /**
+     * Localiza um post na fatia por busca binária pelo ID.
+     * @param fatia A fatia consultada.
+     * @param idPost O ID do post.
+     * @return A posição do post, ou {@code -(ponto de inserção + 1)} se ele não estiver na fatia.
+     */
+    static int posicaoDe(Fatia fatia, int idPost) {
+        int inicio = 0, fim = fatia.tamanho() - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int id = fatia.itens()[meio];
+            if (id < idPost) {
+                inicio = meio + 1;
+            } else if (id > idPost) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -(inicio + 1);
+    }
+}
\ No newline at end of file
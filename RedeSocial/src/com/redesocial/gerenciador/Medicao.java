@@ -0,0 +1,80 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.metricas.Metricas;
+import com.redesocial.metricas.OperacaoMedida;
+
+import java.util.function.Supplier;
+
+/**
+ * Medição das operações dos gerenciadores, concentrada em um só lugar: os métodos de negócio passam o seu
+ * corpo como lambda, e aqui ficam a latência e as falhas registradas nas {@link Metricas} e o ciclo de vida do
+ * {@link EventoOperacao} do JFR, criado só quando uma gravação o liga.
+ * Acessos O(1), como buscas por ID, não são medidos, e as chamadas internas entre os gerenciadores usam
+ * métodos sem medição, para que uma operação não conte também as que ela usa.
+ */
+final class Medicao {
+    private Medicao() {
+    }
+
+    /**
+     * Executa e mede uma operação que devolve um valor.
+     * @param metricas Onde a latência e a falha são registradas.
+     * @param operacao A operação medida.
+     * @param idUsuario O usuário envolvido, ou 0.
+     * @param idPost O post envolvido, ou 0.
+     * @param corpo O corpo da operação.
+     * @return O valor devolvido pelo corpo.
+     */
+    static <T> T medir(Metricas metricas, OperacaoMedida operacao, int idUsuario, int idPost, Supplier<T> corpo) {
+        long inicio = metricas.iniciar();
+        EventoOperacao evento = ChaveEventos.operacoes ? iniciarEvento(idUsuario, idPost) : null;
+        try {
+            return corpo.get();
+        } catch (RuntimeException e) {
+            metricas.falhou(operacao, e);
+            if (evento != null) {
+                evento.falha = e.getClass().getName();
+            }
+            throw e;
+        } finally {
+            metricas.concluir(operacao, inicio);
+            if (evento != null) {
+                concluirEvento(evento, operacao);
+            }
+        }
+    }
+
+    /**
+     * Executa e mede uma operação sem valor de retorno.
+     * @param metricas Onde a latência e a falha são registradas.
+     * @param operacao A operação medida.
+     * @param idUsuario O usuário envolvido, ou 0.
+     * @param idPost O post envolvido, ou 0.
+     * @param corpo O corpo da operação.
+     */
+    static void executar(Metricas metricas, OperacaoMedida operacao, int idUsuario, int idPost, Runnable corpo) {
+        medir(metricas, operacao, idUsuario, idPost, () -> {
+            corpo.run();
+            return null;
+        });
+    }
+
+    private static EventoOperacao iniciarEvento(int idUsuario, int idPost) {
+        EventoOperacao evento = new EventoOperacao();
+        evento.idUsuario = idUsuario;
+        evento.idPost = idPost;
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Marca o fim da chamada e grava o evento, se ele estiver acima do limiar de duração configurado.
+     */
+    private static void concluirEvento(EventoOperacao evento, OperacaoMedida operacao) {
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.operacao = operacao.getNome();
+            evento.commit();
+        }
+    }
+}
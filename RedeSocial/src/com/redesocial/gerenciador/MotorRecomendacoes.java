@@ -0,0 +1,290 @@
+package com.redesocial.gerenciador;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Motor de sugestões de amizade ("pessoas que você talvez conheça"), que ordena os amigos de amigos de um
+ * usuário pela quantidade de amigos em comum.
+ * A contagem percorre as listas de adjacência dos amigos uma única vez, somando em um array de contadores
+ * indexado pelo ID; só os candidatos tocados são visitados de novo para escolher os melhores e zerar os
+ * contadores. O custo é a soma dos graus dos amigos, sem listas nem mapas intermediários, e os arrays de
+ * trabalho são emprestados de um pool limitado ao número de processadores, já que cada consulta pode rodar
+ * em uma thread virtual nova.
+ * As {@value #QUANTIDADE_SUGESTOES} melhores sugestões de cada usuário ficam em cache, calculadas na primeira
+ * consulta ou por {@link #recalcularTodos(ForkJoinPool)}, que divide os usuários entre os núcleos com fork/join
+ * sobre uma cópia congelada do grafo. Cada entrada guarda a versão do grafo em que foi calculada e só é usada
+ * se nem o usuário nem os seus amigos mudaram de lista depois disso ({@link GrafoAmizades#versaoDaVizinhanca(int)});
+ * assim, criar ou remover uma amizade custa O(1) aqui, em vez de descartar as sugestões de todos os amigos dos
+ * dois usuários, e a validação custa O(grau) na consulta.
+ */
+class MotorRecomendacoes {
+    static final int QUANTIDADE_SUGESTOES = 10; // Sugestões mantidas em cache por usuário
+    private static final int LIMIAR_LOTE = 256; // Usuários calculados por tarefa do fork/join
+    private static final long[] SEM_SUGESTOES = new long[0];
+    private static final int LIMITE_RASCUNHOS = Runtime.getRuntime().availableProcessors(); // Guardados no pool
+
+    private final GrafoAmizades amizades;
+    private final Map<Integer, Calculo> sugestoes;
+    private final ConcurrentLinkedQueue<Rascunho> rascunhos = new ConcurrentLinkedQueue<>(); // Livres para empréstimo
+    private final AtomicInteger quantidadeRascunhos = new AtomicInteger(); // Tamanho de rascunhos
+    private final Adjacencia adjacenciaAtual;
+
+    /**
+     * Sugestões de um usuário e a versão do grafo em que foram calculadas.
+     * @param versao A versão do grafo lida antes do cálculo.
+     * @param melhores Melhores primeiro, cada uma como (amigos em comum << 32) | ID.
+     */
+    private record Calculo(long versao, long[] melhores) {
+    }
+
+    /**
+     * Listas de adjacência de onde as contagens são lidas: o grafo atual ou uma cópia congelada.
+     */
+    @FunctionalInterface
+    private interface Adjacencia {
+        /**
+         * Retorna o array com os amigos de um usuário nas posições de {@code faixa[0]} a {@code faixa[1] - 1}.
+         */
+        int[] vizinhos(int id, int[] faixa);
+    }
+
+    /**
+     * Construtor da classe.
+     * @param amizades O grafo de amizades, consultado nos cálculos sob demanda.
+     */
+    MotorRecomendacoes(GrafoAmizades amizades) {
+        this.amizades = amizades;
+        this.sugestoes = new ConcurrentHashMap<>();
+        this.adjacenciaAtual = (id, faixa) -> {
+            int[] vizinhos = amizades.vizinhos(id);
+            faixa[0] = 0;
+            faixa[1] = vizinhos.length;
+            return vizinhos;
+        };
+    }
+
+    /**
+     * Retorna as melhores sugestões de um usuário, calculando-as se não estiverem em cache ou estiverem desatualizadas.
+     * @param idUsuario O ID do usuário.
+     * @param limite A quantidade máxima de sugestões (até {@value #QUANTIDADE_SUGESTOES}).
+     * @return As sugestões, da maior para a menor quantidade de amigos em comum (e, no empate, por ID).
+     */
+    List<SugestaoAmizade> sugerir(int idUsuario, int limite) {
+        Calculo calculo = sugestoes.get(idUsuario);
+        if (calculo == null || amizades.versaoDaVizinhanca(idUsuario) > calculo.versao()) {
+            // A versão é lida antes do cálculo: uma amizade alterada durante ele invalida o resultado na próxima consulta
+            long versao = amizades.getVersao();
+            Rascunho rascunho = emprestarRascunho();
+            try {
+                calculo = new Calculo(versao, calcular(idUsuario, adjacenciaAtual, rascunho));
+            } finally {
+                devolverRascunho(rascunho);
+            }
+            sugestoes.put(idUsuario, calculo);
+        }
+
+        long[] melhores = calculo.melhores();
+
+        int quantidade = Math.min(limite, melhores.length);
+        List<SugestaoAmizade> lista = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            lista.add(new SugestaoAmizade((int) melhores[i], (int) (melhores[i] >>> 32)));
+        }
+        return lista;
+    }
+
+    /**
+     * Recalcula as sugestões de todos os usuários com amigos, em paralelo.
+     * Os resultados levam a versão da cópia congelada, então os que forem afetados por amizades alteradas
+     * durante o recálculo são refeitos na consulta.
+     * @param pool O pool do fork/join.
+     */
+    void recalcularTodos(ForkJoinPool pool) {
+        GrafoCsr grafo = amizades.congelar();
+        Adjacencia adjacencia = (id, faixa) -> {
+            int grau = grafo.grau(id);
+            faixa[0] = grau == 0 ? 0 : grafo.inicio(id);
+            faixa[1] = faixa[0] + grau;
+            return grafo.destinos();
+        };
+        pool.invoke(new Lote(grafo, adjacencia, 1, grafo.getTamanho()));
+    }
+
+    /**
+     * Tarefa do fork/join que calcula as sugestões de um intervalo de IDs, dividindo-o enquanto for grande.
+     */
+    private final class Lote extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L; // Serializável só por herança do RecursiveAction; nunca é serializado
+
+        private final transient GrafoCsr grafo;
+        private final transient Adjacencia adjacencia;
+        private final int inicio;
+        private final int fim;
+
+        Lote(GrafoCsr grafo, Adjacencia adjacencia, int inicio, int fim) {
+            this.grafo = grafo;
+            this.adjacencia = adjacencia;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio > LIMIAR_LOTE) {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new Lote(grafo, adjacencia, inicio, meio), new Lote(grafo, adjacencia, meio, fim));
+                return;
+            }
+
+            Rascunho rascunho = emprestarRascunho();
+            try {
+                for (int id = inicio; id < fim; id++) {
+                    if (grafo.grau(id) > 0) { // Usuários sem amigos são calculados sob demanda, sem custo
+                        sugestoes.put(id, new Calculo(grafo.getVersao(), calcular(id, adjacencia, rascunho)));
+                    }
+                }
+            } finally {
+                devolverRascunho(rascunho);
+            }
+        }
+    }
+
+    private Rascunho emprestarRascunho() {
+        Rascunho rascunho = rascunhos.poll();
+        if (rascunho == null) {
+            return new Rascunho();
+        }
+        quantidadeRascunhos.decrementAndGet();
+        return rascunho;
+    }
+
+    /**
+     * Devolve o rascunho ao pool, ou o descarta se o pool já estiver cheio.
+     */
+    private void devolverRascunho(Rascunho rascunho) {
+        if (quantidadeRascunhos.incrementAndGet() <= LIMITE_RASCUNHOS) {
+            rascunhos.offer(rascunho);
+        } else {
+            quantidadeRascunhos.decrementAndGet();
+        }
+    }
+
+    /**
+     * Descarta as sugestões de um usuário excluído. As dos seus ex-amigos e dos amigos deles são refeitas
+     * na próxima consulta, já que as listas de amigos mudaram.
+     * @param idUsuario O ID do usuário excluído.
+     */
+    void usuarioExcluido(int idUsuario) {
+        sugestoes.remove(idUsuario);
+    }
+
+    /**
+     * Conta os amigos em comum com cada amigo de amigo que ainda não é amigo do usuário e escolhe os melhores.
+     */
+    private static long[] calcular(int idUsuario, Adjacencia adjacencia, Rascunho rascunho) {
+        int[] faixa = rascunho.faixa;
+        int[] amigos = adjacencia.vizinhos(idUsuario, faixa);
+        int inicioAmigos = faixa[0], fimAmigos = faixa[1];
+        if (inicioAmigos == fimAmigos) {
+            return SEM_SUGESTOES;
+        }
+
+        // O próprio usuário e os seus amigos são marcados para não serem contados como candidatos
+        int geracao = rascunho.novaGeracao();
+        rascunho.marcar(idUsuario, geracao);
+        for (int i = inicioAmigos; i < fimAmigos; i++) {
+            rascunho.marcar(amigos[i], geracao);
+        }
+        for (int i = inicioAmigos; i < fimAmigos; i++) {
+            int[] vizinhos = adjacencia.vizinhos(amigos[i], faixa);
+            for (int j = faixa[0]; j < faixa[1]; j++) {
+                rascunho.contar(vizinhos[j], geracao);
+            }
+        }
+        return rascunho.melhores();
+    }
+
+    /**
+     * Arrays de trabalho de um cálculo, indexados pelo ID e ampliados conforme os IDs crescem.
+     * As marcas usam uma geração por cálculo, para não precisarem ser zeradas.
+     */
+    private static final class Rascunho {
+        private int[] contagens = new int[0];
+        private int[] marcas = new int[0];
+        private int[] tocados = new int[0]; // Candidatos com contagem positiva no cálculo atual
+        private int quantidadeTocados;
+        private int geracao;
+        private final long[] melhores = new long[QUANTIDADE_SUGESTOES];
+        private final int[] faixa = new int[2];
+
+        int novaGeracao() {
+            if (++geracao == 0) {
+                Arrays.fill(marcas, 0);
+                geracao = 1;
+            }
+            return geracao;
+        }
+
+        void marcar(int id, int geracao) {
+            garantir(id);
+            marcas[id] = geracao;
+        }
+
+        void contar(int id, int geracao) {
+            garantir(id);
+            if (marcas[id] != geracao && contagens[id]++ == 0) {
+                tocados[quantidadeTocados++] = id;
+            }
+        }
+
+        /**
+         * Escolhe os candidatos com mais amigos em comum, mantendo-os em ordem por inserção, e zera os contadores.
+         * A chave de ordenação é (contagem << 32) | (MAX - ID), para que o menor ID vença os empates.
+         */
+        long[] melhores() {
+            int quantidade = 0;
+            for (int t = 0; t < quantidadeTocados; t++) {
+                int id = tocados[t];
+                long chave = ((long) contagens[id] << 32) | (Integer.MAX_VALUE - id);
+                contagens[id] = 0;
+                if (quantidade == melhores.length && chave <= melhores[quantidade - 1]) {
+                    continue;
+                }
+
+                int posicao = quantidade < melhores.length ? quantidade++ : quantidade - 1;
+                while (posicao > 0 && melhores[posicao - 1] < chave) {
+                    melhores[posicao] = melhores[posicao - 1];
+                    posicao--;
+                }
+                melhores[posicao] = chave;
+            }
+            quantidadeTocados = 0;
+
+            long[] resultado = new long[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                int id = Integer.MAX_VALUE - (int) melhores[i];
+                resultado[i] = (melhores[i] & 0xFFFFFFFF00000000L) | id;
+            }
+            return resultado;
+        }
+
+        private void garantir(int id) {
+            if (id >= contagens.length) {
+                int tamanho = Math.max(id + 1, contagens.length * 2);
+                contagens = Arrays.copyOf(contagens, tamanho);
+                marcas = Arrays.copyOf(marcas, tamanho);
+                tocados = Arrays.copyOf(tocados, tamanho);
+            }
+        }
+    }
+}
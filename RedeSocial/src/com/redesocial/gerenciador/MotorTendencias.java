@@ -0,0 +1,405 @@
+package com.redesocial.gerenciador;
+
+import java.time.InstantSource;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Motor dos posts em alta, alimentado pelas curtidas, descurtidas e comentários à medida que acontecem.
+ * Cada curtida ou comentário soma um peso que decai exponencialmente com meia-vida de
+ * {@value #MEIA_VIDA_HORAS} horas, e só vale dentro de uma janela deslizante de {@value #QUANTIDADE_BALDES}
+ * baldes de uma hora: quando um balde sai da janela, os seus eventos são descontados dos posts.
+ * O último evento de cada par (post, usuário) fica indexado, encadeado aos anteriores do mesmo par; a descurtida,
+ * ou a remoção dos comentários de um usuário excluído, anula esses eventos nos seus baldes. Eventos que já saíram
+ * da janela não são descontados de novo.
+ * Para não reescrever todas as pontuações a cada instante, os pesos são guardados relativos a um instante de
+ * referência ({@code peso * e^(λ(t - referencia))}): como o decaimento multiplica todas pelo mesmo fator, a
+ * ordem entre elas não muda com o tempo, só com os eventos. Quando o fator cresce demais, as pontuações são
+ * trazidas para uma nova referência, o que ocorre a cada muitos dias.
+ * Os posts com pontuação positiva ficam em dois heaps indexados: os {@value #QUANTIDADE_EM_ALTA} melhores em um
+ * heap de mínimo e os demais em um heap de máximo. Cada evento ajusta a posição de um post em O(log n) e, se
+ * preciso, troca as raízes dos dois heaps; a consulta copia a lista dos melhores, ordenada só quando muda.
+ * Todas as operações são sincronizadas na instância.
+ */
+class MotorTendencias {
+    static final int QUANTIDADE_EM_ALTA = 50; // Posts mantidos no ranking
+    static final int QUANTIDADE_BALDES = 24; // Janela de 24 horas
+    static final int MEIA_VIDA_HORAS = 6;
+    static final double PESO_CURTIDA = 1;
+    static final double PESO_COMENTARIO = 2;
+    private static final long DURACAO_BALDE_MS = 60 * 60 * 1000L;
+    private static final double LAMBDA = Math.log(2) / (MEIA_VIDA_HORAS * DURACAO_BALDE_MS); // Por milissegundo
+    private static final double EXPOENTE_MAXIMO = 30; // Acima deste expoente, a referência é avançada
+    private static final double PONTUACAO_MINIMA = 1e-6; // Restos de arredondamento abaixo disto valem zero
+    private static final long SEM_EVENTO = -1; // Fim do encadeamento dos eventos de um par
+    private static final long COMENTARIO = Long.MIN_VALUE; // Distingue a chave dos comentários da das curtidas
+
+    private final InstantSource relogio;
+    private final Balde[] baldes = new Balde[QUANTIDADE_BALDES];
+    private final Map<Integer, Entrada> entradas = new HashMap<>(); // Posts com eventos na janela
+    private final Map<Long, Long> ultimosEventos = new HashMap<>(); // Chave do par -> local do seu último evento
+    private final Heap melhores = new Heap(true, QUANTIDADE_EM_ALTA);
+    private final Heap demais = new Heap(false, 16);
+    private long baldeAtual; // Instante atual dividido pela duração de um balde
+    private long referencia; // Instante em que o fator de decaimento vale 1
+    private double fatorAtual = 1; // e^(λ(agora - referencia)), o peso relativo de um evento agora
+    private int[] ranking; // Os melhores em ordem, refeito na consulta depois de uma mudança
+
+    /**
+     * Pontuação de um post e a sua posição em um dos heaps.
+     */
+    private static final class Entrada {
+        final int id;
+        double pontos;
+        int eventos; // Eventos do post ainda na janela
+        Heap heap; // null enquanto a pontuação não for positiva
+        int posicao;
+
+        Entrada(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Eventos registrados durante uma hora, com os pesos já relativos à referência (zero nos anulados), a chave
+     * do par (post, usuário) e o local do evento anterior do mesmo par.
+     */
+    private static final class Balde {
+        long numero; // Instante dividido pela duração de um balde
+        int[] ids = new int[16];
+        double[] pesos = new double[16];
+        long[] chaves = new long[16];
+        long[] anteriores = new long[16];
+        int tamanho;
+
+        void adicionar(int id, double peso, long chave, long anterior) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+                pesos = Arrays.copyOf(pesos, tamanho * 2);
+                chaves = Arrays.copyOf(chaves, tamanho * 2);
+                anteriores = Arrays.copyOf(anteriores, tamanho * 2);
+            }
+            ids[tamanho] = id;
+            pesos[tamanho] = peso;
+            chaves[tamanho] = chave;
+            anteriores[tamanho] = anterior;
+            tamanho++;
+        }
+    }
+
+    /**
+     * Construtor da classe.
+     * @param relogio Fonte do horário atual.
+     */
+    MotorTendencias(InstantSource relogio) {
+        this.relogio = relogio;
+        long agora = relogio.millis();
+        baldeAtual = agora / DURACAO_BALDE_MS;
+        referencia = agora;
+        for (int i = 0; i < QUANTIDADE_BALDES; i++) {
+            baldes[i] = new Balde();
+            baldes[i].numero = baldeAtual - Math.floorMod(baldeAtual - i, QUANTIDADE_BALDES);
+        }
+    }
+
+    /**
+     * Registra uma curtida em um post, no instante atual.
+     * @param idPost O ID do post.
+     * @param idUsuario O ID de quem curtiu.
+     */
+    synchronized void registrarCurtida(int idPost, int idUsuario) {
+        registrar(idPost, chave(idPost, idUsuario), PESO_CURTIDA);
+    }
+
+    /**
+     * Registra um comentário em um post, no instante atual.
+     * @param idPost O ID do post.
+     * @param idAutor O ID do autor do comentário, ou 0 se não houver.
+     */
+    synchronized void registrarComentario(int idPost, int idAutor) {
+        registrar(idPost, chave(idPost, idAutor) | COMENTARIO, PESO_COMENTARIO);
+    }
+
+    /**
+     * Anula a curtida do usuário no post, se ela ainda estiver na janela.
+     * @param idPost O ID do post.
+     * @param idUsuario O ID de quem descurtiu.
+     */
+    synchronized void desfazerCurtida(int idPost, int idUsuario) {
+        anular(idPost, chave(idPost, idUsuario));
+    }
+
+    /**
+     * Anula os comentários do autor no post que ainda estiverem na janela.
+     * @param idPost O ID do post.
+     * @param idAutor O ID do autor dos comentários removidos.
+     */
+    synchronized void desfazerComentarios(int idPost, int idAutor) {
+        anular(idPost, chave(idPost, idAutor) | COMENTARIO);
+    }
+
+    /**
+     * Tira um post excluído do ranking. Os seus eventos ainda na janela são ignorados ao expirar.
+     * @param idPost O ID do post.
+     */
+    synchronized void postRemovido(int idPost) {
+        Entrada entrada = entradas.remove(idPost);
+        if (entrada != null && entrada.heap != null) {
+            retirar(entrada);
+            equilibrar();
+        }
+    }
+
+    /**
+     * Retorna os posts com maior pontuação agora, sem percorrer os demais.
+     * @param limite A quantidade máxima de posts (até {@value #QUANTIDADE_EM_ALTA}).
+     * @return Os IDs, do mais para o menos engajado (e, no empate, do mais novo para o mais antigo).
+     */
+    synchronized int[] emAlta(int limite) {
+        avancar(relogio.millis());
+        if (ranking == null) {
+            Entrada[] ordenadas = Arrays.copyOf(melhores.itens, melhores.tamanho);
+            Arrays.sort(ordenadas, (a, b) -> maior(a, b) ? -1 : maior(b, a) ? 1 : 0);
+            ranking = new int[ordenadas.length];
+            for (int i = 0; i < ordenadas.length; i++) {
+                ranking[i] = ordenadas[i].id;
+            }
+        }
+        return Arrays.copyOf(ranking, Math.min(limite, ranking.length));
+    }
+
+    private void registrar(int idPost, long chave, double peso) {
+        avancar(relogio.millis());
+        double valor = peso * fatorAtual;
+        Balde balde = baldes[(int) (baldeAtual % QUANTIDADE_BALDES)];
+        Long anterior = ultimosEventos.put(chave, local(baldeAtual, balde.tamanho));
+        balde.adicionar(idPost, valor, chave, anterior == null ? SEM_EVENTO : anterior);
+        Entrada entrada = entradas.computeIfAbsent(idPost, Entrada::new);
+        entrada.eventos++;
+        entrada.pontos += valor;
+        reposicionar(entrada);
+        equilibrar();
+    }
+
+    /**
+     * Zera os eventos do par ainda na janela, seguindo o encadeamento a partir do último, e os desconta do post.
+     * Os eventos anulados continuam nos baldes, com peso zero, até expirarem.
+     */
+    private void anular(int idPost, long chave) {
+        avancar(relogio.millis());
+        Long ultimo = ultimosEventos.remove(chave);
+        double anulado = 0;
+        for (long local = ultimo == null ? SEM_EVENTO : ultimo; local != SEM_EVENTO; ) {
+            long numero = local >>> 32;
+            if (baldeAtual - numero >= QUANTIDADE_BALDES) {
+                break; // Este e os anteriores já saíram da janela
+            }
+            Balde balde = baldes[(int) (numero % QUANTIDADE_BALDES)];
+            int indice = (int) local;
+            anulado += balde.pesos[indice];
+            balde.pesos[indice] = 0;
+            local = balde.anteriores[indice];
+        }
+
+        Entrada entrada = entradas.get(idPost);
+        if (entrada != null && anulado != 0) {
+            entrada.pontos -= anulado;
+            reposicionar(entrada);
+            equilibrar();
+        }
+    }
+
+    private static long chave(int idPost, int idUsuario) {
+        return (long) idPost << 32 | (idUsuario & 0xFFFFFFFFL);
+    }
+
+    private static long local(long numeroBalde, int indice) {
+        return numeroBalde << 32 | indice;
+    }
+
+    /**
+     * Avança a janela até o instante informado, descontando os eventos dos baldes que saíram dela,
+     * e avança a referência quando o fator de decaimento fica grande demais.
+     */
+    private void avancar(long agora) {
+        long balde = agora / DURACAO_BALDE_MS;
+        if (balde > baldeAtual) {
+            long passos = Math.min(balde - baldeAtual, QUANTIDADE_BALDES);
+            for (long b = balde - passos + 1; b <= balde; b++) {
+                Balde expirado = baldes[(int) (b % QUANTIDADE_BALDES)];
+                expirar(expirado);
+                expirado.numero = b;
+            }
+            baldeAtual = balde;
+            equilibrar();
+        }
+
+        double expoente = LAMBDA * (agora - referencia);
+        if (expoente > EXPOENTE_MAXIMO) {
+            double fator = Math.exp(-expoente);
+            for (Entrada entrada : entradas.values()) {
+                entrada.pontos *= fator; // A mesma escala para todos preserva a ordem dos heaps
+            }
+            for (Balde b : baldes) {
+                for (int i = 0; i < b.tamanho; i++) {
+                    b.pesos[i] *= fator;
+                }
+            }
+            referencia = agora;
+            expoente = 0;
+        }
+        fatorAtual = Math.exp(Math.max(expoente, 0));
+    }
+
+    private void expirar(Balde balde) {
+        for (int i = 0; i < balde.tamanho; i++) {
+            ultimosEventos.remove(balde.chaves[i], local(balde.numero, i)); // Se ainda era o último do par
+            Entrada entrada = entradas.get(balde.ids[i]);
+            if (entrada == null) {
+                continue; // Post excluído
+            }
+            entrada.pontos -= balde.pesos[i];
+            if (--entrada.eventos == 0) {
+                entradas.remove(entrada.id);
+                entrada.pontos = 0;
+            }
+            reposicionar(entrada);
+        }
+        balde.tamanho = 0;
+    }
+
+    /**
+     * Coloca a entrada no heap certo depois de uma mudança de pontuação, sem equilibrar os dois heaps.
+     */
+    private void reposicionar(Entrada entrada) {
+        if (entrada.pontos <= PONTUACAO_MINIMA * fatorAtual) {
+            if (entrada.heap != null) {
+                retirar(entrada);
+            }
+        } else if (entrada.heap == null) {
+            demais.inserir(entrada);
+        } else {
+            if (entrada.heap == melhores) {
+                ranking = null;
+            }
+            entrada.heap.ajustar(entrada);
+        }
+    }
+
+    private void retirar(Entrada entrada) {
+        if (entrada.heap == melhores) {
+            ranking = null;
+        }
+        entrada.heap.remover(entrada);
+    }
+
+    /**
+     * Mantém em {@link #melhores} as entradas de maior pontuação: completa-o com as raízes de {@link #demais}
+     * e troca as raízes enquanto a de {@link #demais} for maior.
+     */
+    private void equilibrar() {
+        while (melhores.tamanho < QUANTIDADE_EM_ALTA && demais.tamanho > 0) {
+            Entrada entrada = demais.itens[0];
+            demais.remover(entrada);
+            melhores.inserir(entrada);
+            ranking = null;
+        }
+        while (melhores.tamanho > 0 && demais.tamanho > 0 && maior(demais.itens[0], melhores.itens[0])) {
+            Entrada subindo = demais.itens[0];
+            Entrada descendo = melhores.itens[0];
+            demais.remover(subindo);
+            melhores.remover(descendo);
+            melhores.inserir(subindo);
+            demais.inserir(descendo);
+            ranking = null;
+        }
+    }
+
+    private static boolean maior(Entrada a, Entrada b) {
+        return a.pontos > b.pontos || (a.pontos == b.pontos && a.id > b.id);
+    }
+
+    /**
+     * Heap binário de entradas que mantém em cada entrada a sua posição, para ajustá-la ou removê-la em O(log n).
+     */
+    private static final class Heap {
+        private final boolean minimo; // Heap de mínimo (raiz é a menor entrada) ou de máximo
+        Entrada[] itens;
+        int tamanho;
+
+        Heap(boolean minimo, int capacidade) {
+            this.minimo = minimo;
+            this.itens = new Entrada[capacidade];
+        }
+
+        void inserir(Entrada entrada) {
+            if (tamanho == itens.length) {
+                itens = Arrays.copyOf(itens, tamanho * 2);
+            }
+            entrada.heap = this;
+            colocar(entrada, tamanho++);
+            subir(entrada.posicao);
+        }
+
+        void remover(Entrada entrada) {
+            int posicao = entrada.posicao;
+            Entrada ultima = itens[--tamanho];
+            itens[tamanho] = null;
+            entrada.heap = null;
+            if (ultima != entrada) {
+                colocar(ultima, posicao);
+                ajustar(ultima);
+            }
+        }
+
+        void ajustar(Entrada entrada) {
+            subir(entrada.posicao);
+            descer(entrada.posicao);
+        }
+
+        /**
+         * Indica se a entrada deve ficar acima da outra neste heap.
+         */
+        private boolean antes(Entrada a, Entrada b) {
+            return minimo ? maior(b, a) : maior(a, b);
+        }
+
+        private void subir(int posicao) {
+            Entrada entrada = itens[posicao];
+            while (posicao > 0) {
+                int pai = (posicao - 1) >>> 1;
+                if (!antes(entrada, itens[pai])) {
+                    break;
+                }
+                colocar(itens[pai], posicao);
+                posicao = pai;
+            }
+            colocar(entrada, posicao);
+        }
+
+        private void descer(int posicao) {
+            Entrada entrada = itens[posicao];
+            while (true) {
+                int filho = 2 * posicao + 1;
+                if (filho >= tamanho) {
+                    break;
+                }
+                if (filho + 1 < tamanho && antes(itens[filho + 1], itens[filho])) {
+                    filho++;
+                }
+                if (!antes(itens[filho], entrada)) {
+                    break;
+                }
+                colocar(itens[filho], posicao);
+                posicao = filho;
+            }
+            colocar(entrada, posicao);
+        }
+
+        private void colocar(Entrada entrada, int posicao) {
+            itens[posicao] = entrada;
+            entrada.posicao = posicao;
+        }
+    }
+}
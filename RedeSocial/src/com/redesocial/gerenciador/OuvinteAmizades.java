@@ -0,0 +1,22 @@
+package com.redesocial.gerenciador;
+
+/**
+ * Interface utilizada para ser notificado sobre mudanças nas amizades entre usuários.
+ * Permite que outros gerenciadores mantenham estruturas derivadas das amizades (como as timelines) atualizadas.
+ */
+public interface OuvinteAmizades {
+
+    /**
+     * Chamado após a criação de uma amizade mútua entre dois usuários.
+     * @param idUsuario1 O ID do primeiro usuário.
+     * @param idUsuario2 O ID do segundo usuário.
+     */
+    void amizadeAdicionada(int idUsuario1, int idUsuario2);
+
+    /**
+     * Chamado após a remoção de uma amizade mútua entre dois usuários.
+     * @param idUsuario1 O ID do primeiro usuário.
+     * @param idUsuario2 O ID do segundo usuário.
+     */
+    void amizadeRemovida(int idUsuario1, int idUsuario2);
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.redesocial.gerenciador;
+
+/**
+ * Interface utilizada para ser notificado sobre a exclusão de contas de usuários.
+ * Permite que outros gerenciadores apaguem o que a conta deixou para trás (posts, curtidas, comentários e timelines).
+ */
+public interface OuvinteExclusoes {
+
+    /**
+     * Chamado após a exclusão de um usuário, quando ele já não pode ser encontrado nem ter amigos.
+     * @param idUsuario O ID do usuário excluído.
+     * @param amigos Os IDs de quem era amigo dele, em ordem crescente.
+     */
+    void usuarioExcluido(int idUsuario, int[] amigos);
+}
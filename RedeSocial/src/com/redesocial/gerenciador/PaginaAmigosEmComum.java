@@ -0,0 +1,41 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.modelo.Usuario;
+
+import java.util.List;
+
+/**
+ * Página dos amigos em comum entre dois usuários.
+ * Contém os amigos da página, em ordem crescente de ID, e o cursor para a página seguinte.
+ */
+public class PaginaAmigosEmComum {
+    private final List<Usuario> amigos;
+    private final int proximoCursor;
+
+    /**
+     * Construtor da classe.
+     * @param amigos Amigos em comum da página.
+     * @param proximoCursor ID do último amigo da página, a partir do qual continua a próxima, ou 0 se não
+     *                      houver mais amigos em comum.
+     */
+    public PaginaAmigosEmComum(List<Usuario> amigos, int proximoCursor) {
+        this.amigos = amigos;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<Usuario> getAmigos() {
+        return amigos;
+    }
+
+    public int getProximoCursor() {
+        return proximoCursor;
+    }
+
+    /**
+     * Indica se existem mais amigos em comum depois desta página.
+     * @return true se houver uma próxima página.
+     */
+    public boolean temProximaPagina() {
+        return proximoCursor != 0;
+    }
+}
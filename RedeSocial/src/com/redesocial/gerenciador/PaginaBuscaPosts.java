@@ -0,0 +1,41 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.modelo.Post;
+
+import java.util.List;
+
+/**
+ * Página de resultados de uma busca de posts.
+ * Contém os posts encontrados, do mais recente para o mais antigo, e o cursor para a página seguinte.
+ */
+public class PaginaBuscaPosts {
+    private final List<Post> posts;
+    private final int proximoCursor;
+
+    /**
+     * Construtor da classe.
+     * @param posts Posts da página.
+     * @param proximoCursor ID do último post da página, a partir do qual continua a próxima, ou 0 se não
+     *                      houver mais resultados.
+     */
+    public PaginaBuscaPosts(List<Post> posts, int proximoCursor) {
+        this.posts = posts;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    public int getProximoCursor() {
+        return proximoCursor;
+    }
+
+    /**
+     * Indica se existem resultados mais antigos depois desta página.
+     * @return true se houver uma próxima página.
+     */
+    public boolean temProximaPagina() {
+        return proximoCursor != 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.modelo.Comentario;
+
+import java.util.List;
+
+/**
+ * Página de comentários de um post.
+ * Contém os comentários da página, do mais recente para o mais antigo, e o cursor para a página seguinte.
+ */
+public class PaginaComentarios {
+    private final List<Comentario> comentarios;
+    private final int proximoCursor;
+
+    /**
+     * Construtor da classe.
+     * @param comentarios Comentários da página.
+     * @param proximoCursor ID do último comentário da página, a partir do qual continua a próxima, ou 0 se não
+     *                      houver mais comentários.
+     */
+    public PaginaComentarios(List<Comentario> comentarios, int proximoCursor) {
+        this.comentarios = comentarios;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<Comentario> getComentarios() {
+        return comentarios;
+    }
+
+    public int getProximoCursor() {
+        return proximoCursor;
+    }
+
+    /**
+     * Indica se existem comentários mais antigos depois desta página.
+     * @return true se houver uma próxima página.
+     */
+    public boolean temProximaPagina() {
+        return proximoCursor != 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.modelo.Post;
+
+import java.util.List;
+
+/**
+ * Página de resultados do feed de notícias.
+ * Contém os posts da página, do mais recente para o mais antigo, e o cursor para a página seguinte.
+ */
+public class PaginaFeed {
+    private final List<Post> posts;
+    private final String proximoCursor;
+
+    /**
+     * Construtor da classe.
+     * @param posts Posts da página.
+     * @param proximoCursor Cursor opaco para a próxima página, ou null se não houver mais posts.
+     */
+    public PaginaFeed(List<Post> posts, String proximoCursor) {
+        this.posts = posts;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    /**
+     * Indica se existem mais posts depois desta página.
+     * @return true se houver uma próxima página.
+     */
+    public boolean temProximaPagina() {
+        return proximoCursor != null;
+    }
+}
\ No newline at end of file
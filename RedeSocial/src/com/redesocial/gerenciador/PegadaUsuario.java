@@ -0,0 +1,56 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.util.ConjuntoIds;
+
+/**
+ * Índice reverso das interações de um usuário com os posts: os posts que ele curtiu e aqueles em que comentou.
+ * Com ele, a exclusão da conta desfaz essas interações visitando só os posts envolvidos, sem varrer os demais.
+ * Cada pegada tem a sua própria trava, sempre obtida depois da trava do post, nunca antes.
+ * Quando a conta é excluída, a pegada é encerrada e fica no mapa como marca da exclusão: quem curte ou comenta
+ * verifica, com a trava da pegada, que ela não foi encerrada e aplica a interação sem soltá-la, de modo que
+ * toda interação aceita aparece para a limpeza da conta.
+ */
+class PegadaUsuario {
+    private final ConjuntoIds curtidos = new ConjuntoIds();
+    private final ConjuntoIds comentados = new ConjuntoIds();
+    private boolean encerrada;
+
+    synchronized void curtiu(int idPost) {
+        curtidos.adicionar(idPost);
+    }
+
+    synchronized void descurtiu(int idPost) {
+        curtidos.remover(idPost);
+    }
+
+    synchronized void comentou(int idPost) {
+        comentados.adicionar(idPost);
+    }
+
+    /**
+     * Esquece os comentários em um post, depois que eles ou o próprio post foram removidos.
+     * @param idPost O ID do post.
+     */
+    synchronized void esquecerComentarios(int idPost) {
+        comentados.remover(idPost);
+    }
+
+    /**
+     * Encerra a pegada de uma conta excluída; a partir daqui ela não recebe mais interações.
+     */
+    synchronized void encerrar() {
+        encerrada = true;
+    }
+
+    synchronized boolean encerrada() {
+        return encerrada;
+    }
+
+    synchronized int[] curtidos() {
+        return curtidos.paraArray();
+    }
+
+    synchronized int[] comentados() {
+        return comentados.paraArray();
+    }
+}
@@ -0,0 +1,70 @@
+package com.redesocial.gerenciador;
+
+import com.redesocial.modelo.Comentario;
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+
+/**
+ * Interface utilizada pelos gerenciadores para registrar cada alteração antes de confirmá-la ao chamador.
+ * Cada método anota a alteração (sem esperar pelo disco) e devolve uma posição; o gerenciador libera suas
+ * travas e só então chama {@link #aguardar(long)}, permitindo que várias alterações compartilhem a mesma gravação.
+ * As anotações são feitas com a trava que torna a alteração visível, para que a ordem registrada seja uma ordem
+ * válida de reaplicação, e antes de a alteração ser aplicada: se a anotação falhar, nada muda na memória.
+ * A implementação padrão não registra nada.
+ */
+public interface RegistroMutacoes {
+
+    /**
+     * Registro que não grava nada, usado quando não há persistência configurada.
+     */
+    RegistroMutacoes NENHUM = new RegistroMutacoes() {
+    };
+
+    default long usuarioCadastrado(Usuario usuario) {
+        return 0;
+    }
+
+    default long usuarioAtualizado(Usuario usuario) {
+        return 0;
+    }
+
+    default long usuarioExcluido(int idUsuario) {
+        return 0;
+    }
+
+    default long amizadeAdicionada(int idUsuario1, int idUsuario2) {
+        return 0;
+    }
+
+    default long amizadeRemovida(int idUsuario1, int idUsuario2) {
+        return 0;
+    }
+
+    default long postCriado(Post post) {
+        return 0;
+    }
+
+    default long postExcluido(int idPost) {
+        return 0;
+    }
+
+    default long curtidaAdicionada(int idPost, int idUsuario) {
+        return 0;
+    }
+
+    default long curtidaRemovida(int idPost, int idUsuario) {
+        return 0;
+    }
+
+    default long comentarioAdicionado(Comentario comentario) {
+        return 0;
+    }
+
+    /**
+     * Aguarda até que a alteração anotada na posição informada esteja gravada de forma durável.
+     * @param posicao A posição devolvida pelo método que anotou a alteração.
+     * @throws com.redesocial.exception.PersistenciaException Se a gravação falhar.
+     */
+    default void aguardar(long posicao) {
+    }
+}
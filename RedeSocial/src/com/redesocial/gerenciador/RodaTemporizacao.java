@@ -0,0 +1,147 @@
+package com.redesocial.gerenciador;
+
+import java.util.function.Consumer;
+
+/**
+ * Roda de temporização hierárquica para o vencimento de sessões, no estilo das usadas pelo núcleo do Linux
+ * e pelo Kafka. O tempo avança em tiques; cada um dos {@value #NIVEIS} níveis tem {@value #POSICOES}
+ * posições, e cada posição de um nível cobre uma volta inteira do nível abaixo. Uma sessão fica no nível
+ * mais baixo cujo bloco de tiques contém o seu vencimento e, quando a roda entra nesse bloco, desce para o
+ * nível seguinte. Assim, agendar, cancelar e vencer são O(1), e avançar um tique só visita as sessões que
+ * vencem ou descem de nível nele, em vez de percorrer todas as sessões.
+ * As sessões formam listas duplamente encadeadas pelos seus próprios campos, sem alocar memória por
+ * agendamento. Não é segura para uso concorrente: o {@link GerenciadorSessoes} a protege com uma trava.
+ */
+class RodaTemporizacao {
+    static final int BITS_NIVEL = 6;
+    static final int POSICOES = 1 << BITS_NIVEL;
+    static final int NIVEIS = 4; // Com tiques de 1 s, o nível mais alto cobre cerca de 194 dias
+
+    private final Sessao[] cabecas = new Sessao[NIVEIS * POSICOES];
+    private volatile long tiqueAtual; // Lido sem a trava para decidir se vale a pena avançar
+    private int tamanho;
+
+    /**
+     * Construtor da classe.
+     * @param tiqueInicial O tique em que a roda começa.
+     */
+    RodaTemporizacao(long tiqueInicial) {
+        tiqueAtual = tiqueInicial;
+    }
+
+    long getTiqueAtual() {
+        return tiqueAtual;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Agenda o vencimento de uma sessão que não esteja agendada. Vencimentos que já passaram ocorrem no
+     * próximo tique; os que vão além do alcance da roda são reagendados ao chegar a vez deles no nível mais alto.
+     * @param sessao A sessão.
+     * @param tique O tique de vencimento.
+     */
+    void agendar(Sessao sessao, long tique) {
+        inserir(sessao, Math.max(tique, tiqueAtual + 1));
+    }
+
+    /**
+     * Cancela o vencimento de uma sessão, se estiver agendada.
+     * @param sessao A sessão.
+     */
+    void remover(Sessao sessao) {
+        if (sessao.posicao < 0) {
+            return;
+        }
+        if (sessao.anterior != null) {
+            sessao.anterior.proximo = sessao.proximo;
+        } else {
+            cabecas[sessao.posicao] = sessao.proximo;
+        }
+        if (sessao.proximo != null) {
+            sessao.proximo.anterior = sessao.anterior;
+        }
+        desligar(sessao);
+    }
+
+    /**
+     * Avança a roda até o tique informado, entregando as sessões vencidas em cada tique.
+     * A ação pode reagendar a sessão recebida.
+     * @param alvo O tique até o qual avançar.
+     * @param aoVencer Ação executada para cada sessão vencida.
+     */
+    void avancar(long alvo, Consumer<Sessao> aoVencer) {
+        while (tiqueAtual < alvo) {
+            if (tamanho == 0) {
+                tiqueAtual = alvo; // Nada agendado: não é preciso visitar os tiques um a um
+                return;
+            }
+
+            long tique = tiqueAtual + 1;
+            tiqueAtual = tique;
+
+            // Ao entrar em um novo bloco de um nível, as sessões da posição correspondente descem de nível,
+            // começando pelo mais alto para que desçam até o nível 0 no mesmo tique, se for o caso
+            for (int nivel = NIVEIS - 1; nivel > 0; nivel--) {
+                if ((tique & ((1L << (BITS_NIVEL * nivel)) - 1)) == 0) {
+                    Sessao sessao = desanexar(indice(nivel, tique));
+                    while (sessao != null) {
+                        Sessao proxima = sessao.proximo;
+                        desligar(sessao);
+                        inserir(sessao, sessao.tiqueVencimento);
+                        sessao = proxima;
+                    }
+                }
+            }
+
+            Sessao sessao = desanexar(indice(0, tique));
+            while (sessao != null) {
+                Sessao proxima = sessao.proximo;
+                desligar(sessao);
+                aoVencer.accept(sessao);
+                sessao = proxima;
+            }
+        }
+    }
+
+    private void inserir(Sessao sessao, long tique) {
+        long atual = tiqueAtual;
+        int nivel = 0;
+        while (nivel < NIVEIS - 1 && (tique >>> (BITS_NIVEL * (nivel + 1))) != (atual >>> (BITS_NIVEL * (nivel + 1)))) {
+            nivel++;
+        }
+
+        int posicao = indice(nivel, tique);
+        sessao.tiqueVencimento = tique;
+        sessao.posicao = posicao;
+        sessao.anterior = null;
+        sessao.proximo = cabecas[posicao];
+        if (sessao.proximo != null) {
+            sessao.proximo.anterior = sessao;
+        }
+        cabecas[posicao] = sessao;
+        tamanho++;
+    }
+
+    private Sessao desanexar(int posicao) {
+        Sessao cabeca = cabecas[posicao];
+        cabecas[posicao] = null;
+        return cabeca;
+    }
+
+    /**
+     * Desfaz as ligações de uma sessão que saiu da lista em que estava e a desconta do total agendado.
+     */
+    private void desligar(Sessao sessao) {
+        sessao.anterior = null;
+        sessao.proximo = null;
+        sessao.posicao = -1;
+        tamanho--;
+    }
+
+    private static int indice(int nivel, long tique) {
+        return nivel * POSICOES + (int) ((tique >>> (BITS_NIVEL * nivel)) & (POSICOES - 1));
+    }
+}
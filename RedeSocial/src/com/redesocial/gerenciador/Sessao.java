@@ -0,0 +1,51 @@
+package com.redesocial.gerenciador;
+
+/**
+ * Sessão de um usuário autenticado, identificada por um token opaco.
+ * Além do token e do usuário, guarda apenas o instante do último acesso e os campos usados pela
+ * {@link RodaTemporizacao}, para que cada sessão ocupe uma quantidade pequena e fixa de memória.
+ */
+public class Sessao {
+    private final String token;
+    private final int idUsuario;
+    private volatile long ultimoAcesso; // Em milissegundos
+
+    // Campos da roda de temporização, protegidos pela trava do GerenciadorSessoes
+    Sessao anterior;
+    Sessao proximo;
+    long tiqueVencimento;
+    int posicao = -1; // Posição na roda, ou -1 se não estiver agendada
+
+    Sessao(String token, int idUsuario, long agora) {
+        this.token = token;
+        this.idUsuario = idUsuario;
+        this.ultimoAcesso = agora;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public int getIdUsuario() {
+        return idUsuario;
+    }
+
+    /**
+     * Retorna o instante do último acesso registrado, com a precisão da roda de temporização.
+     * @return O instante, em milissegundos desde a época.
+     */
+    public long getUltimoAcesso() {
+        return ultimoAcesso;
+    }
+
+    /**
+     * Registra um acesso. Acessos mais próximos que a resolução da roda não são escritos, o que evita
+     * disputar a linha de cache da sessão entre requisições simultâneas do mesmo usuário.
+     * @param agora O instante do acesso, em milissegundos.
+     */
+    void registrarAcesso(long agora) {
+        if (agora - ultimoAcesso >= GerenciadorSessoes.RESOLUCAO_MS) {
+            ultimoAcesso = agora;
+        }
+    }
+}
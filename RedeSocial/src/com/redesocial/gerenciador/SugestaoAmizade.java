@@ -0,0 +1,10 @@
+package com.redesocial.gerenciador;
+
+/**
+ * Sugestão de amizade ("pessoas que você talvez conheça"): um usuário que ainda não é amigo de quem recebe a
+ * sugestão, com a quantidade de amigos que os dois têm em comum.
+ * @param idUsuario O ID do usuário sugerido.
+ * @param amigosEmComum A quantidade de amigos em comum.
+ */
+public record SugestaoAmizade(int idUsuario, int amigosEmComum) {
+}
@@ -0,0 +1,144 @@
+package com.redesocial.gerenciador;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Timeline pré-calculada de um usuário: guarda os IDs dos posts mais recentes do seu feed.
+ * Os IDs ficam em ordem crescente (que é a ordem de criação dos posts) em um buffer circular que começa
+ * pequeno e dobra de tamanho até a capacidade; ao encher, os posts mais antigos são descartados.
+ * Cada timeline é protegida pela sua própria trava.
+ */
+class Timeline {
+    private static final int TAMANHO_INICIAL = 8;
+
+    private final int capacidade;
+    private int[] ids;
+    private int inicio; // Posição do ID mais antigo no buffer
+    private int tamanho;
+
+    /**
+     * Construtor da classe.
+     * @param capacidade Quantidade máxima de IDs mantidos na timeline.
+     */
+    Timeline(int capacidade) {
+        this.capacidade = capacidade;
+        ids = new int[Math.min(TAMANHO_INICIAL, capacidade)];
+    }
+
+    /**
+     * Adiciona o ID de um post à timeline.
+     * No caso comum o post é o mais novo e entra no final em O(1); caso contrário é inserido na sua posição.
+     * @param idPost O ID do post.
+     */
+    synchronized void adicionar(int idPost) {
+        if (tamanho > 0 && idPost <= obter(tamanho - 1)) {
+            mesclar(new int[]{idPost});
+            return;
+        }
+
+        if (tamanho == ids.length && ids.length < capacidade) {
+            crescer(tamanho + 1);
+        } else if (tamanho == ids.length) {
+            // Descarta o mais antigo para abrir espaço
+            inicio = (inicio + 1) % ids.length;
+            tamanho--;
+        }
+        ids[(inicio + tamanho) % ids.length] = idPost;
+        tamanho++;
+    }
+
+    /**
+     * Mescla um conjunto de IDs à timeline, mantendo a ordem e apenas os mais recentes que couberem.
+     * Utilizado para o preenchimento retroativo quando uma amizade é criada.
+     * @param novos IDs de posts em ordem crescente.
+     */
+    synchronized void mesclar(int[] novos) {
+        int[] atuais = paraArray();
+        int[] mesclados = new int[atuais.length + novos.length];
+        int i = 0, j = 0, k = 0;
+
+        while (i < atuais.length || j < novos.length) {
+            int proximo;
+            if (j >= novos.length || (i < atuais.length && atuais[i] <= novos[j])) {
+                proximo = atuais[i++];
+            } else {
+                proximo = novos[j++];
+            }
+            if (k == 0 || mesclados[k - 1] != proximo) { // Ignora IDs repetidos
+                mesclados[k++] = proximo;
+            }
+        }
+
+        int descartados = Math.max(0, k - capacidade);
+        redefinir(mesclados, descartados, k);
+    }
+
+    /**
+     * Remove da timeline os IDs que satisfazem o critério informado.
+     * @param criterio Critério de remoção.
+     */
+    synchronized void removerSe(IntPredicate criterio) {
+        int[] atuais = paraArray();
+        int k = 0;
+        for (int id : atuais) {
+            if (!criterio.test(id)) {
+                atuais[k++] = id;
+            }
+        }
+        redefinir(atuais, 0, k);
+    }
+
+    /**
+     * Retorna os IDs da timeline do mais recente para o mais antigo.
+     * @param limite Quantidade máxima de IDs.
+     * @return Os IDs mais recentes.
+     */
+    synchronized int[] recentes(int limite) {
+        int quantidade = Math.min(limite, tamanho);
+        int[] resultado = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            resultado[i] = obter(tamanho - 1 - i);
+        }
+        return resultado;
+    }
+
+    synchronized int tamanho() {
+        return tamanho;
+    }
+
+    private int obter(int posicao) {
+        return ids[(inicio + posicao) % ids.length];
+    }
+
+    private int[] paraArray() {
+        int[] resultado = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            resultado[i] = obter(i);
+        }
+        return resultado;
+    }
+
+    private void redefinir(int[] origem, int de, int ate) {
+        if (ate - de > ids.length) {
+            crescer(ate - de);
+        }
+        Arrays.fill(ids, 0);
+        System.arraycopy(origem, de, ids, 0, ate - de);
+        inicio = 0;
+        tamanho = ate - de;
+    }
+
+    /**
+     * Dobra o buffer até caber a quantidade informada, sem passar da capacidade, com os IDs atuais no início.
+     * @param necessario Quantidade de IDs que o buffer deve comportar.
+     */
+    private void crescer(int necessario) {
+        int novoTamanho = ids.length;
+        while (novoTamanho < necessario) {
+            novoTamanho = Math.min(novoTamanho * 2, capacidade);
+        }
+        ids = Arrays.copyOf(paraArray(), novoTamanho);
+        inicio = 0;
+    }
+}
\ No newline at end of file
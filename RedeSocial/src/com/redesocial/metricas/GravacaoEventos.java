@@ -0,0 +1,73 @@
+package com.redesocial.metricas;
+
+import com.redesocial.exception.ValidacaoException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Gravação do Java Flight Recorder com os eventos da rede social ligados.
+ * Os gerenciadores emitem um evento {@value #EVENTO_OPERACAO} por chamada de método público e um evento
+ * {@value #EVENTO_FEED} por página de feed montada, com o usuário, a quantidade de amigos, os posts
+ * examinados e o tamanho do resultado. Os dois vêm desligados e só custam algo quando uma gravação os liga,
+ * seja por esta classe, seja pela linha de comando da JVM:
+ * <pre>{@code
+ * java -XX:StartFlightRecording:filename=rede.jfr,+com.redesocial.OperacaoGerenciador#enabled=true,+com.redesocial.MontagemFeed#enabled=true ...
+ * }</pre>
+ * A gravação usa a configuração {@code default} do JDK, de baixo custo, de modo que pausas de GC, disputa por
+ * travas e amostras de CPU aparecem na mesma linha do tempo que as operações.
+ */
+public final class GravacaoEventos implements AutoCloseable {
+    public static final String EVENTO_OPERACAO = "com.redesocial.OperacaoGerenciador";
+    public static final String EVENTO_FEED = "com.redesocial.MontagemFeed";
+
+    private final Recording gravacao;
+
+    private GravacaoEventos(Recording gravacao) {
+        this.gravacao = gravacao;
+    }
+
+    /**
+     * Inicia uma gravação que será salva no arquivo informado ao ser fechada.
+     * @param arquivo O arquivo .jfr de destino.
+     * @param limiar Duração mínima para que uma operação ou montagem de feed seja gravada; zero grava todas.
+     * @return A gravação iniciada.
+     * @throws ValidacaoException Se o limiar for negativo.
+     * @throws IOException Se o arquivo de destino não puder ser usado.
+     */
+    public static GravacaoEventos iniciar(Path arquivo, Duration limiar) throws IOException {
+        if (limiar == null || limiar.isNegative()) {
+            throw new ValidacaoException("O limiar não pode ser negativo.");
+        }
+
+        Configuration configuracao;
+        try {
+            configuracao = Configuration.getConfiguration("default");
+        } catch (ParseException e) {
+            throw new IOException("Configuração padrão do JFR inválida.", e);
+        }
+
+        Recording gravacao = new Recording(configuracao);
+        gravacao.setName("rede-social");
+        for (String evento : new String[]{EVENTO_OPERACAO, EVENTO_FEED}) {
+            gravacao.enable(evento).withThreshold(limiar).withoutStackTrace();
+        }
+        gravacao.setToDisk(true);
+        gravacao.setDestination(arquivo);
+        gravacao.start();
+        return new GravacaoEventos(gravacao);
+    }
+
+    /**
+     * Encerra a gravação e a salva no arquivo de destino.
+     */
+    @Override
+    public void close() {
+        gravacao.stop(); // Grava o arquivo de destino
+        gravacao.close();
+    }
+}
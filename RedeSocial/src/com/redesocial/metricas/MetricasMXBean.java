@@ -0,0 +1,33 @@
+package com.redesocial.metricas;
+
+import java.util.List;
+
+/**
+ * Interface de gerenciamento JMX das {@link Metricas}, registrada como {@value Metricas#NOME_JMX}.
+ * Pode ser consultada pelo JConsole ou pelo VisualVM com a aplicação em execução.
+ */
+public interface MetricasMXBean {
+
+    /**
+     * Retorna as métricas das operações que já foram chamadas.
+     * @return Uma fotografia das métricas de cada operação.
+     */
+    List<ResumoOperacao> getOperacoes();
+
+    /**
+     * Retorna as métricas em uma tabela de texto, como exibida no console.
+     * @return O relatório.
+     */
+    String getRelatorio();
+
+    /**
+     * Retorna o intervalo médio entre chamadas cronometradas (1 quando todas são cronometradas).
+     * @return A amostragem.
+     */
+    int getAmostragem();
+
+    /**
+     * Zera todos os contadores e histogramas.
+     */
+    void limpar();
+}
@@ -0,0 +1,88 @@
+package com.redesocial.metricas;
+
+import com.redesocial.exception.PostException;
+import com.redesocial.exception.UsuarioException;
+import com.redesocial.exception.ValidacaoException;
+import com.redesocial.util.HistogramaLatencias;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores e histograma de latências de uma operação.
+ * Todas as chamadas e falhas são contadas; o histograma recebe apenas as chamadas cronometradas, que podem ser
+ * uma amostra (ver {@link Metricas#Metricas(int)}).
+ * As falhas são separadas pelas exceções da aplicação; qualquer outra exceção conta como falha inesperada.
+ */
+public class MetricasOperacao {
+    private final LongAdder chamadas = new LongAdder();
+    private final LongAdder falhasValidacao = new LongAdder();
+    private final LongAdder falhasUsuario = new LongAdder();
+    private final LongAdder falhasPost = new LongAdder();
+    private final LongAdder falhasInesperadas = new LongAdder();
+    private final HistogramaLatencias latencias = new HistogramaLatencias();
+
+    void contar() {
+        chamadas.increment();
+    }
+
+    void registrar(long nanos) {
+        latencias.registrar(Math.max(0, nanos));
+    }
+
+    void falhou(RuntimeException e) {
+        if (e instanceof ValidacaoException) {
+            falhasValidacao.increment();
+        } else if (e instanceof UsuarioException) {
+            falhasUsuario.increment();
+        } else if (e instanceof PostException) {
+            falhasPost.increment();
+        } else {
+            falhasInesperadas.increment();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de chamadas concluídas, com ou sem falha.
+     * @return A quantidade de chamadas.
+     */
+    public long getChamadas() {
+        return chamadas.sum();
+    }
+
+    public long getFalhasValidacao() {
+        return falhasValidacao.sum();
+    }
+
+    public long getFalhasUsuario() {
+        return falhasUsuario.sum();
+    }
+
+    public long getFalhasPost() {
+        return falhasPost.sum();
+    }
+
+    public long getFalhasInesperadas() {
+        return falhasInesperadas.sum();
+    }
+
+    public long getFalhas() {
+        return getFalhasValidacao() + getFalhasUsuario() + getFalhasPost() + getFalhasInesperadas();
+    }
+
+    /**
+     * Retorna o histograma das latências das chamadas cronometradas, em nanossegundos.
+     * @return O histograma.
+     */
+    public HistogramaLatencias getLatencias() {
+        return latencias;
+    }
+
+    void limpar() {
+        chamadas.reset();
+        falhasValidacao.reset();
+        falhasUsuario.reset();
+        falhasPost.reset();
+        falhasInesperadas.reset();
+        latencias.limpar();
+    }
+}
@@ -0,0 +1,52 @@
+package com.redesocial.metricas;
+
+/**
+ * Operações dos gerenciadores acompanhadas pelas {@link Metricas}, uma para cada método público de negócio que não seja um acesso O(1).
+ * Métodos de configuração e de recuperação dos dados (como {@code usarRegistro} e {@code restaurar}) não são medidos.
+ */
+public enum OperacaoMedida {
+    USUARIOS_CADASTRAR("usuarios.cadastrar"),
+    USUARIOS_AUTENTICAR("usuarios.autenticar"),
+    USUARIOS_BUSCAR_POR_NOME("usuarios.buscarPorNome"),
+    USUARIOS_BUSCAR("usuarios.buscar"),
+    USUARIOS_ATUALIZAR("usuarios.atualizar"),
+    USUARIOS_DELETAR("usuarios.deletar"),
+    USUARIOS_ADICIONAR_AMIZADE("usuarios.adicionarAmizade"),
+    USUARIOS_REMOVER_AMIZADE("usuarios.removerAmizade"),
+    USUARIOS_LISTAR_IDS_AMIGOS("usuarios.listarIdsAmigos"),
+    USUARIOS_CONTAR_AMIGOS_EM_COMUM("usuarios.contarAmigosEmComum"),
+    USUARIOS_CONSULTAR_AMIGOS_EM_COMUM("usuarios.consultarAmigosEmComum"),
+    USUARIOS_LISTAR_AMIGOS("usuarios.listarAmigos"),
+    USUARIOS_CONGELAR_AMIZADES("usuarios.congelarAmizades"),
+    USUARIOS_SUGERIR_AMIGOS("usuarios.sugerirAmigos"),
+    USUARIOS_RECALCULAR_SUGESTOES("usuarios.recalcularSugestoes"),
+    USUARIOS_LISTAR_USUARIOS("usuarios.listarUsuarios"),
+    USUARIOS_CONSULTAR_USUARIOS("usuarios.consultarUsuarios"),
+    USUARIOS_ADICIONAR_POST("usuarios.adicionarPost"),
+    POSTS_CRIAR("posts.criar"),
+    POSTS_LISTAR_FEED("posts.listarFeed"),
+    POSTS_CONSULTAR_FEED("posts.consultarFeed"),
+    POSTS_LISTAR_EM_ALTA("posts.listarEmAlta"),
+    POSTS_BUSCAR("posts.buscar"),
+    POSTS_LISTAR_POSTS("posts.listarPosts"),
+    POSTS_LISTAR_POR_USUARIO("posts.listarPorUsuario"),
+    POSTS_LISTAR_ULTIMOS_POR_USUARIO("posts.listarUltimosPorUsuario"),
+    POSTS_CURTIR("posts.curtir"),
+    POSTS_DESCURTIR("posts.descurtir"),
+    POSTS_LISTAR_CURTIDAS("posts.listarCurtidas"),
+    POSTS_COMENTAR("posts.comentar"),
+    POSTS_CONSULTAR_COMENTARIOS("posts.consultarComentarios"),
+    POSTS_LISTAR_COMENTARIOS("posts.listarComentarios"),
+    POSTS_DELETAR("posts.deletar"),
+    POSTS_VALIDAR_POST("posts.validarPost");
+
+    private final String nome;
+
+    OperacaoMedida(String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
@@ -0,0 +1,70 @@
+package com.redesocial.metricas;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Fotografia das métricas de uma operação, com as latências em microssegundos.
+ * Exposta pelo {@link MetricasMXBean}; por isso segue o padrão de getters exigido pelo JMX.
+ */
+public class ResumoOperacao {
+    private final String operacao;
+    private final long chamadas;
+    private final long falhas;
+    private final double mediaMicros;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double p999Micros;
+    private final double maximoMicros;
+
+    @ConstructorProperties({"operacao", "chamadas", "falhas", "mediaMicros", "p50Micros", "p99Micros", "p999Micros", "maximoMicros"})
+    public ResumoOperacao(String operacao, long chamadas, long falhas, double mediaMicros, double p50Micros,
+                          double p99Micros, double p999Micros, double maximoMicros) {
+        this.operacao = operacao;
+        this.chamadas = chamadas;
+        this.falhas = falhas;
+        this.mediaMicros = mediaMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maximoMicros = maximoMicros;
+    }
+
+    static ResumoOperacao de(OperacaoMedida operacao, MetricasOperacao metricas) {
+        return new ResumoOperacao(operacao.getNome(), metricas.getChamadas(), metricas.getFalhas(),
+                metricas.getLatencias().getMedia() / 1e3, metricas.getLatencias().percentil(0.50) / 1e3,
+                metricas.getLatencias().percentil(0.99) / 1e3, metricas.getLatencias().percentil(0.999) / 1e3,
+                metricas.getLatencias().getMaximo() / 1e3);
+    }
+
+    public String getOperacao() {
+        return operacao;
+    }
+
+    public long getChamadas() {
+        return chamadas;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public double getMediaMicros() {
+        return mediaMicros;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public double getP999Micros() {
+        return p999Micros;
+    }
+
+    public double getMaximoMicros() {
+        return maximoMicros;
+    }
+}
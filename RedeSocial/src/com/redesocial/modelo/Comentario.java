@@ -1,7 +1,6 @@
 package com.redesocial.modelo;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Classe que representa um comentário em um post da rede social.
@@ -10,7 +9,6 @@ import java.time.format.DateTimeFormatter;
 public class Comentario {
 
     private Integer id;
-    private int geradorId = 1;
     private Usuario autor;
     private String conteudo;
     private LocalDateTime dataComentario;
@@ -19,12 +17,12 @@ public class Comentario {
     /**
      * Construtor da classe Comentario.
      * Inicializa os atributos obrigatórios e define a data do comentário como o momento atual.
+     * O ID é atribuído pelo gerenciador de posts quando o comentário é adicionado.
      * @param autor Usuário autor do comentário.
      * @param conteudo Conteúdo textual do comentário.
      * @param post Post associado ao comentário.
      */
     public Comentario(Usuario autor, String conteudo, Post post) {
-        id = geradorId ++;
         this.autor = autor;
         this.conteudo = conteudo;
         this.dataComentario = LocalDateTime.now();
@@ -83,6 +81,6 @@ public class Comentario {
         return "ID: " + id + "\n" +
                 "Autor: " + autor.getNome() + " (" + autor.getUsername() + ")\n" +
                 "Conteúdo: " + conteudo + "\n" +
-                "Data do Comentário: " + dataComentario.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")) + "\n";
+                "Data do Comentário: " + Post.FORMATO_DATA.format(dataComentario) + "\n";
     }
 }
\ No newline at end of file
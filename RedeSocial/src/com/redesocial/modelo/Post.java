@@ -2,71 +2,53 @@ package com.redesocial.modelo;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Classe que representa um post na rede social.
- * Armazena informações como autor, conteúdo, data de publicação, curtidas e comentários.
+ * Armazena informações como autor, conteúdo, data de publicação e as quantidades de curtidas e comentários.
+ * O {@link com.redesocial.gerenciador.GerenciadorPosts} guarda os posts em colunas, junto com as curtidas e os
+ * comentários; cada {@code Post} devolvido por ele é uma visão montada na leitura, com as contagens daquele momento.
  */
 public class Post {
+    /** Formato das datas exibidas; criado uma vez, já que o formatador é imutável e seguro entre threads. */
+    public static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
     private Integer id;
     private Usuario autor;
     private String conteudo;
     private LocalDateTime dataPublicacao;
-    private List<Usuario> curtidas;
-    private List<Comentario> comentarios;
+    private int numeroCurtidas;
+    private int numeroComentarios;
 
     /**
      * Construtor da classe.
-     * Inicializa os atributos obrigatórios e as listas de curtidas e comentários.
+     * Inicializa os atributos obrigatórios, sem curtidas nem comentários; estes são registrados pelo gerenciador.
      * @param id Identificador único do post.
      * @param autor Usuário autor do post.
      * @param conteudo Conteúdo textual do post.
      * @param dataPublicacao Data e hora da publicação.
-     * @param curtidas Lista de usuários que curtiram o post (inicialmente vazia).
-     * @param comentarios Lista de comentários no post (inicialmente vazia).
      */
-    public Post(Integer id, Usuario autor, String conteudo, LocalDateTime dataPublicacao, List<Usuario> curtidas, List<Comentario> comentarios) {
+    public Post(Integer id, Usuario autor, String conteudo, LocalDateTime dataPublicacao) {
         this.id = id;
         this.autor = autor;
         this.conteudo = conteudo;
         this.dataPublicacao = dataPublicacao;
-        this.curtidas = new ArrayList<>();
-        this.comentarios = new ArrayList<>();
-    }
-
-    /**
-     * Adiciona uma curtida ao post.
-     * Verifica se o usuário ainda não curtiu antes de adicionar.
-     * @param usuario Usuário que curtiu o post.
-     */
-    public void adicionarCurtida(Usuario usuario) {
-        if (curtidas != null && !curtidas.contains(usuario)) {
-            curtidas.add(usuario);
-        }
     }
 
     /**
-     * Remove uma curtida do post.
-     * Verifica se o usuário já curtiu antes de remover.
-     * @param usuario Usuário que deseja remover a curtida.
-     */
-    public void removerCurtida(Usuario usuario) {
-        if (curtidas.contains(usuario)) {
-            curtidas.remove(usuario);
-        }
-    }
-
-    /**
-     * Adiciona um comentário ao post.
-     * Verifica se o comentário ainda não está presente antes de adicioná-lo.
-     * @param comentario Comentário a ser adicionado.
+     * Construtor da classe, mantido por compatibilidade.
+     * @param id Identificador único do post.
+     * @param autor Usuário autor do post.
+     * @param conteudo Conteúdo textual do post.
+     * @param dataPublicacao Data e hora da publicação.
+     * @param curtidas Ignorado: as curtidas são registradas pelo gerenciador.
+     * @param comentarios Ignorado: os comentários são adicionados pelo gerenciador.
+     * @deprecated As listas são ignoradas; use {@link #Post(Integer, Usuario, String, LocalDateTime)}.
      */
-    public void adicionarComentario(Comentario comentario) {
-        if (comentarios != null && !comentarios.contains(comentario)) {
-            comentarios.add(comentario);
-        }
+    @Deprecated
+    public Post(Integer id, Usuario autor, String conteudo, LocalDateTime dataPublicacao, List<Usuario> curtidas, List<Comentario> comentarios) {
+        this(id, autor, conteudo, dataPublicacao);
     }
 
     // Métodos getter e setter para manipulação dos atributos
@@ -103,20 +85,20 @@ public class Post {
         this.dataPublicacao = dataPublicacao;
     }
 
-    public List<Usuario> getCurtidas() {
-        return curtidas;
+    public int getNumeroCurtidas() {
+        return numeroCurtidas;
     }
 
-    public void setCurtidas(List<Usuario> curtidas) {
-        this.curtidas = curtidas;
+    public void setNumeroCurtidas(int numeroCurtidas) {
+        this.numeroCurtidas = numeroCurtidas;
     }
 
-    public List<Comentario> getComentarios() {
-        return comentarios;
+    public int getNumeroComentarios() {
+        return numeroComentarios;
     }
 
-    public void setComentarios(List<Comentario> comentarios) {
-        this.comentarios = comentarios;
+    public void setNumeroComentarios(int numeroComentarios) {
+        this.numeroComentarios = numeroComentarios;
     }
 
     /**
@@ -129,8 +111,8 @@ public class Post {
         return "ID: " + id + "\n" +
                 "Autor: " + autor.getNome() + " (" + autor.getUsername() + ")\n" +
                 "Conteúdo: " + conteudo + "\n" +
-                "Data de Publicação: " + dataPublicacao.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")) + "\n" +
-                "Curtidas: " + (curtidas != null ? curtidas.size() : 0) + "\n" +
-                "Comentários: " + (comentarios != null ? comentarios.size() : 0) + "\n";
+                "Data de Publicação: " + FORMATO_DATA.format(dataPublicacao) + "\n" +
+                "Curtidas: " + numeroCurtidas + "\n" +
+                "Comentários: " + numeroComentarios + "\n";
     }
 }
\ No newline at end of file
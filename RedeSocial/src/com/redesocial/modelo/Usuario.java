@@ -3,14 +3,13 @@ package com.redesocial.modelo;
 import com.redesocial.exception.UsuarioException;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 /**
  * Classe que representa um usuário na rede social.
- * Armazena informações como nome, username, email, senha, data de cadastro,
- * lista de amigos e lista de posts.
+ * Armazena informações como nome, username, email, senha, data de cadastro e a quantidade de posts.
+ * Os posts em si são mantidos pelo {@link com.redesocial.gerenciador.GerenciadorPosts}.
+ * As amizades são mantidas pelo {@link com.redesocial.gerenciador.GerenciadorUsuarios}.
  */
 public class Usuario {
     private Integer id;
@@ -19,8 +18,7 @@ public class Usuario {
     private String email;
     private String senha;
     private LocalDateTime dataCadastro;
-    private List<Usuario> amigos;
-    private List<Post> posts;
+    private int numeroPosts;
 
     /**
      * Construtor da classe.
@@ -51,46 +49,26 @@ public class Usuario {
         this.email = email;
         this.senha = senha;
         this.dataCadastro = dataCadastro;
-        this.amigos = new ArrayList<>();
-        this.posts = new ArrayList<>();
     }
 
     /**
-     * Adiciona um amigo à lista de amigos do usuário.
-     * A adição é recíproca (o outro usuário também adiciona este como amigo).
-     * @param amigo Usuário a ser adicionado como amigo.
+     * Conta um post publicado pelo usuário.
+     * O usuário guarda só a quantidade: os posts ficam no gerenciador e não são mantidos vivos por aqui.
+     * @param post Post publicado.
      */
-    public void adicionarAmigo(Usuario amigo) {
-        if (amigo != null && !this.equals(amigo) && !amigos.contains(amigo)) {
-            amigos.add(amigo);
-            if (!amigo.getAmigos().contains(this)) {
-                amigo.adicionarAmigo(this); // Adiciona reciprocamente
-            }
+    public synchronized void adicionarPost(Post post) {
+        if (post != null) {
+            numeroPosts++;
         }
     }
 
     /**
-     * Remove um amigo da lista de amigos do usuário.
-     * A remoção é recíproca (o outro usuário também remove este como amigo).
-     * @param amigo Usuário a ser removido da lista de amigos.
+     * Desconta um post excluído do usuário.
+     * @param post Post excluído.
      */
-    public void removerAmigo(Usuario amigo) {
-        if (amigo != null && amigos.contains(amigo)) {
-            amigos.remove(amigo);
-            if (amigo.getAmigos().contains(this)) {
-                amigo.removerAmigo(this); // Remove reciprocamente
-            }
-        }
-    }
-
-    /**
-     * Adiciona um post à lista de posts do usuário.
-     * Verifica se o post já não está na lista antes de adicioná-lo.
-     * @param post Post a ser adicionado.
-     */
-    public void adicionarPost(Post post) {
-        if (post != null && !posts.contains(post)) {
-            posts.add(post);
+    public synchronized void removerPost(Post post) {
+        if (post != null && numeroPosts > 0) {
+            numeroPosts--;
         }
     }
 
@@ -144,39 +122,26 @@ public class Usuario {
         this.dataCadastro = dataCadastro;
     }
 
-    public List<Usuario> getAmigos() {
-        return amigos;
-    }
-
-    public void setAmigos(List<Usuario> amigos) {
-        this.amigos = amigos;
-    }
-
-    public List<Post> getPosts() {
-        return posts;
+    public synchronized int getNumeroPosts() {
+        return numeroPosts;
     }
 
-    public void setPosts(List<Post> posts) {
-        this.posts = posts;
+    public synchronized void setNumeroPosts(int numeroPosts) {
+        this.numeroPosts = numeroPosts;
     }
 
     /**
      * Retorna uma representação em texto do objeto.
-     * Inclui informações básicas e o número de amigos e posts.
+     * Inclui informações básicas e o número de posts.
      * @return String representando o objeto.
      */
     @Override
     public String toString() {
-        String nomesAmigos = amigos.stream()
-                .map(Usuario::getNome)
-                .reduce((a, b) -> a + ", " + b)
-                .orElse("Nenhum amigo");
         return String.format(
-                "ID: %d | Nome: %s | Username: %s | Email: %s | Data de Cadastro: %s | Amigos: [%s] | Posts: %d",
+                "ID: %d | Nome: %s | Username: %s | Email: %s | Data de Cadastro: %s | Posts: %d",
                 id, nome, username, email,
                 dataCadastro != null ? dataCadastro.toString() : "N/A",
-                nomesAmigos,
-                posts != null ? posts.size() : 0
+                getNumeroPosts()
         );
     }
 
@@ -0,0 +1,598 @@
+package com.redesocial.persistencia;
+
+import com.redesocial.exception.PersistenciaException;
+import com.redesocial.exception.ValidacaoException;
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.gerenciador.RegistroMutacoes;
+import com.redesocial.modelo.Comentario;
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Diário binário, somente de acréscimo, com todas as alterações feitas nos gerenciadores (write-ahead log).
+ * Cada alteração é anotada em memória com a trava do gerenciador e gravada por uma thread dedicada, que
+ * escreve de uma só vez tudo o que foi anotado desde a gravação anterior e força os dados para o disco
+ * (group commit): uma rajada de curtidas custa uma única sincronização com o disco, e não milhares.
+ * Cada registro tem o formato {@code [tamanho][crc32c][posição][tipo][conteúdo]} e o diário é dividido em
+ * segmentos nomeados pela posição do primeiro registro. Ao abrir, os segmentos existentes são reaplicados
+ * em ordem para reconstruir os dados em memória; um registro incompleto no final do último segmento
+ * (gravação interrompida) é descartado.
+ * Para que a abertura não dependa do histórico inteiro, a cada {@code registrosPorSnapshot} registros é gerado
+ * um {@link Snapshot}; a abertura carrega o snapshot mais recente e reaplica apenas os registros posteriores.
+ * O snapshot é montado em segundo plano a partir do snapshot anterior e dos segmentos já fechados, em uma cópia
+ * separada dos dados, sem pausar as sessões; em seguida os segmentos e snapshots que ele cobre são apagados.
+ * As anotações são protegidas por um monitor simples e nunca bloqueiam esperando o disco, pois são feitas
+ * dentro dos blocos {@code synchronized} dos gerenciadores; a espera pela gravação usa uma trava separada.
+ */
+public final class DiarioMutacoes implements RegistroMutacoes {
+    private static final long TAMANHO_SEGMENTO = 64L * 1024 * 1024; // Tamanho a partir do qual um novo segmento é iniciado
+    private static final long REGISTROS_POR_SNAPSHOT = 1_000_000;
+    static final int CABECALHO = 8; // Tamanho e CRC de cada registro
+    private static final int CAPACIDADE_BUFFER = 64 * 1024;
+    private static final String PREFIXO = "diario-";
+    private static final String SUFIXO = ".log";
+
+    private final Path diretorio;
+    private final GerenciadorUsuarios gerenciadorUsuarios;
+    private final GerenciadorPosts gerenciadorPosts;
+    private final Object travaPendentes; // Protege o buffer de pendentes e a numeração dos registros
+    private final ReentrantLock trava; // Protege a espera pelas gravações
+    private final Condition gravado; // Sinalizada a cada gravação ou troca de segmento concluída
+    private final Object travaSnapshot; // Garante um snapshot por vez
+    private final long registrosPorSnapshot;
+    private final CRC32C crc;
+    private SaidaBinaria pendentes; // Registros anotados desde a última gravação
+    private SaidaBinaria emGravacao; // Registros sendo gravados pela thread de gravação
+    private long proximaPosicao;
+    private volatile long posicaoDuravel; // Posição do último registro já forçado para o disco
+    private volatile IOException falha;
+    private volatile boolean fechado;
+    private FileChannel canal; // Segmento atual, usado apenas pela thread de gravação
+    private volatile long inicioSegmento; // Posição do primeiro registro do segmento atual
+    private volatile boolean trocaSolicitada;
+    private long trocas; // Quantidade de trocas de segmento, protegida por trava
+    private volatile long posicaoSnapshot; // Posição coberta pelo snapshot mais recente
+    private volatile PersistenciaException falhaSnapshot;
+    private Thread gravador;
+    private Thread geradorSnapshots;
+    private int registrosReproduzidos;
+    private int registrosIgnorados;
+    private volatile long gravacoes;
+
+    private DiarioMutacoes(Path diretorio, GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts,
+                           long registrosPorSnapshot) {
+        this.diretorio = diretorio;
+        this.gerenciadorUsuarios = gerenciadorUsuarios;
+        this.gerenciadorPosts = gerenciadorPosts;
+        this.registrosPorSnapshot = registrosPorSnapshot;
+        travaPendentes = new Object();
+        trava = new ReentrantLock();
+        gravado = trava.newCondition();
+        travaSnapshot = new Object();
+        crc = new CRC32C();
+        pendentes = new SaidaBinaria(CAPACIDADE_BUFFER);
+        emGravacao = new SaidaBinaria(CAPACIDADE_BUFFER);
+        proximaPosicao = 1;
+    }
+
+    /**
+     * Abre o diário no diretório informado, gerando um snapshot a cada milhão de registros.
+     * @param diretorio O diretório dos segmentos e snapshots (criado se não existir).
+     * @param gerenciadorUsuarios O gerenciador de usuários a ser reconstruído e registrado.
+     * @param gerenciadorPosts O gerenciador de posts a ser reconstruído e registrado.
+     * @return O diário aberto.
+     * @throws PersistenciaException Se os dados não puderem ser lidos ou estiverem corrompidos.
+     * @see #abrir(Path, GerenciadorUsuarios, GerenciadorPosts, long)
+     */
+    public static DiarioMutacoes abrir(Path diretorio, GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts) {
+        return abrir(diretorio, gerenciadorUsuarios, gerenciadorPosts, REGISTROS_POR_SNAPSHOT);
+    }
+
+    /**
+     * Abre o diário no diretório informado: carrega o snapshot mais recente e reaplica as alterações gravadas
+     * depois dele nos gerenciadores, que devem estar vazios, e passa a registrar todas as novas alterações.
+     * @param diretorio O diretório dos segmentos e snapshots (criado se não existir).
+     * @param gerenciadorUsuarios O gerenciador de usuários a ser reconstruído e registrado.
+     * @param gerenciadorPosts O gerenciador de posts a ser reconstruído e registrado.
+     * @param registrosPorSnapshot Quantidade de registros após a qual um novo snapshot é gerado, ou 0 para não gerar automaticamente.
+     * @return O diário aberto.
+     * @throws PersistenciaException Se os dados não puderem ser lidos ou estiverem corrompidos.
+     */
+    public static DiarioMutacoes abrir(Path diretorio, GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts,
+                                       long registrosPorSnapshot) {
+        if (diretorio == null || gerenciadorUsuarios == null || gerenciadorPosts == null) {
+            throw new ValidacaoException("Diretório e gerenciadores não podem ser nulos.");
+        }
+        if (registrosPorSnapshot < 0) {
+            throw new ValidacaoException("Intervalo entre snapshots não pode ser negativo.");
+        }
+
+        DiarioMutacoes diario = new DiarioMutacoes(diretorio, gerenciadorUsuarios, gerenciadorPosts, registrosPorSnapshot);
+        try {
+            Files.createDirectories(diretorio);
+            Snapshot.apagarGravacaoInterrompida(diretorio);
+
+            List<Path> snapshots = Snapshot.listar(diretorio);
+            long ultimaPosicao = 0;
+            if (!snapshots.isEmpty()) {
+                ultimaPosicao = Snapshot.carregar(snapshots.get(snapshots.size() - 1), gerenciadorUsuarios, gerenciadorPosts);
+            }
+            diario.posicaoSnapshot = ultimaPosicao;
+
+            ReprodutorDiario reprodutor = new ReprodutorDiario(gerenciadorUsuarios, gerenciadorPosts);
+            ultimaPosicao = reprodutor.reproduzir(listarSegmentos(diretorio), ultimaPosicao, Long.MAX_VALUE, true);
+            diario.registrosReproduzidos = reprodutor.getRegistrosReproduzidos();
+            diario.registrosIgnorados = reprodutor.getRegistrosIgnorados();
+            diario.proximaPosicao = ultimaPosicao + 1;
+            diario.posicaoDuravel = ultimaPosicao;
+
+            diario.canal = diario.abrirSegmento(diario.proximaPosicao);
+        } catch (IOException e) {
+            throw new PersistenciaException("Não foi possível abrir o diário em " + diretorio + ".", e);
+        }
+
+        diario.gravador = Thread.ofPlatform().name("diario-gravacao").daemon().start(diario::gravarContinuamente);
+        diario.geradorSnapshots = Thread.ofPlatform().name("diario-snapshot").daemon().start(diario::gerarSnapshotsPeriodicos);
+        gerenciadorUsuarios.usarRegistro(diario);
+        gerenciadorPosts.usarRegistro(diario);
+        return diario;
+    }
+
+    /**
+     * Grava o que ainda estiver pendente e fecha o diário. Alterações posteriores falham com
+     * {@link PersistenciaException}.
+     */
+    public void fechar() {
+        synchronized (travaPendentes) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+        }
+        LockSupport.unpark(gravador);
+        LockSupport.unpark(geradorSnapshots);
+
+        try {
+            gravador.join();
+            geradorSnapshots.join();
+            canal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new PersistenciaException("Erro ao fechar o diário.", e);
+        }
+    }
+
+    /**
+     * @return A quantidade de alterações reaplicadas ao abrir o diário.
+     */
+    public int getRegistrosReproduzidos() {
+        return registrosReproduzidos;
+    }
+
+    /**
+     * @return A quantidade de alterações do diário que não puderam ser reaplicadas (por exemplo, uma amizade
+     * com um usuário excluído ao mesmo tempo) e foram ignoradas.
+     */
+    public int getRegistrosIgnorados() {
+        return registrosIgnorados;
+    }
+
+    /**
+     * @return A quantidade de sincronizações com o disco feitas desde a abertura.
+     */
+    public long getGravacoes() {
+        return gravacoes;
+    }
+
+    /**
+     * @return A posição do último registro gravado de forma durável.
+     */
+    public long getPosicaoDuravel() {
+        return posicaoDuravel;
+    }
+
+    /**
+     * @return A posição do diário coberta pelo snapshot mais recente (0 se não houver snapshot).
+     */
+    public long getPosicaoSnapshot() {
+        return posicaoSnapshot;
+    }
+
+    /**
+     * @return A falha do último snapshot automático, ou null se ele foi gerado com sucesso.
+     */
+    public PersistenciaException getFalhaSnapshot() {
+        return falhaSnapshot;
+    }
+
+    /**
+     * Gera um snapshot com todas as alterações já gravadas e apaga os segmentos e snapshots anteriores a ele.
+     * O segmento atual é fechado e o snapshot é montado em uma cópia separada dos dados, a partir do snapshot
+     * anterior e dos segmentos fechados, sem bloquear as alterações em andamento.
+     * @return A posição do diário coberta pelo snapshot.
+     * @throws PersistenciaException Se o snapshot não puder ser gravado.
+     */
+    public long gravarSnapshot() {
+        synchronized (travaSnapshot) {
+            long ate = trocarSegmento() - 1; // Todos os registros até aqui estão em segmentos fechados
+            if (ate <= posicaoSnapshot) {
+                return posicaoSnapshot;
+            }
+
+            try {
+                GerenciadorUsuarios copiaUsuarios = new GerenciadorUsuarios();
+                GerenciadorPosts copiaPosts = new GerenciadorPosts(copiaUsuarios);
+                long posicao = 0;
+                List<Path> snapshots = Snapshot.listar(diretorio);
+                if (!snapshots.isEmpty()) {
+                    posicao = Snapshot.carregar(snapshots.get(snapshots.size() - 1), copiaUsuarios, copiaPosts);
+                }
+
+                List<Path> segmentos = listarSegmentos(diretorio);
+                posicao = new ReprodutorDiario(copiaUsuarios, copiaPosts).reproduzir(segmentos, posicao, ate, false);
+                Snapshot.gravar(diretorio, posicao, copiaUsuarios, copiaPosts);
+
+                // Apaga os snapshots anteriores e os segmentos cujos registros o novo snapshot já cobre
+                for (Path anterior : snapshots) {
+                    if (Snapshot.posicaoDe(anterior) < posicao) {
+                        Files.deleteIfExists(anterior);
+                    }
+                }
+                for (int i = 0; i < segmentos.size() - 1; i++) {
+                    if (primeiraPosicao(segmentos.get(i + 1)) <= posicao + 1) {
+                        Files.deleteIfExists(segmentos.get(i));
+                    }
+                }
+
+                posicaoSnapshot = posicao;
+                return posicao;
+            } catch (IOException e) {
+                throw new PersistenciaException("Não foi possível gravar o snapshot.", e);
+            }
+        }
+    }
+
+    /**
+     * Laço da thread de snapshots, acordada pela thread de gravação quando o diário cresce além do intervalo.
+     */
+    private void gerarSnapshotsPeriodicos() {
+        while (!fechado) {
+            LockSupport.park(this);
+            if (!fechado && registrosPorSnapshot > 0 && posicaoDuravel - posicaoSnapshot >= registrosPorSnapshot) {
+                try {
+                    gravarSnapshot();
+                    falhaSnapshot = null;
+                } catch (PersistenciaException e) {
+                    falhaSnapshot = e; // Os dados continuam seguros no diário; tenta de novo no próximo intervalo
+                }
+            }
+        }
+    }
+
+    /**
+     * Pede à thread de gravação que inicie um novo segmento e aguarda a troca.
+     * @return A posição do primeiro registro do novo segmento.
+     * @throws PersistenciaException Se o diário estiver fechado ou a troca falhar.
+     */
+    private long trocarSegmento() {
+        trava.lock();
+        try {
+            long trocasAntes = trocas;
+            trocaSolicitada = true;
+            LockSupport.unpark(gravador);
+            while (trocas == trocasAntes && falha == null && !fechado) {
+                gravado.awaitUninterruptibly();
+            }
+            if (trocas == trocasAntes) {
+                throw new PersistenciaException("Não foi possível iniciar um novo segmento do diário.", falha);
+            }
+            return inicioSegmento;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public long usuarioCadastrado(Usuario usuario) {
+        return anexar(TipoRegistro.USUARIO_CADASTRADO, saida -> escreverUsuario(saida, usuario));
+    }
+
+    @Override
+    public long usuarioAtualizado(Usuario usuario) {
+        return anexar(TipoRegistro.USUARIO_ATUALIZADO, saida -> escreverUsuario(saida, usuario));
+    }
+
+    @Override
+    public long usuarioExcluido(int idUsuario) {
+        return anexar(TipoRegistro.USUARIO_EXCLUIDO, saida -> saida.escreverInt(idUsuario));
+    }
+
+    @Override
+    public long amizadeAdicionada(int idUsuario1, int idUsuario2) {
+        return anexar(TipoRegistro.AMIZADE_ADICIONADA, saida -> {
+            saida.escreverInt(idUsuario1);
+            saida.escreverInt(idUsuario2);
+        });
+    }
+
+    @Override
+    public long amizadeRemovida(int idUsuario1, int idUsuario2) {
+        return anexar(TipoRegistro.AMIZADE_REMOVIDA, saida -> {
+            saida.escreverInt(idUsuario1);
+            saida.escreverInt(idUsuario2);
+        });
+    }
+
+    @Override
+    public long postCriado(Post post) {
+        return anexar(TipoRegistro.POST_CRIADO, saida -> {
+            saida.escreverInt(post.getId());
+            saida.escreverInt(idDe(post.getAutor()));
+            saida.escreverTexto(post.getConteudo());
+            saida.escreverData(post.getDataPublicacao());
+        });
+    }
+
+    @Override
+    public long postExcluido(int idPost) {
+        return anexar(TipoRegistro.POST_EXCLUIDO, saida -> saida.escreverInt(idPost));
+    }
+
+    @Override
+    public long curtidaAdicionada(int idPost, int idUsuario) {
+        return anexar(TipoRegistro.CURTIDA_ADICIONADA, saida -> {
+            saida.escreverInt(idPost);
+            saida.escreverInt(idUsuario);
+        });
+    }
+
+    @Override
+    public long curtidaRemovida(int idPost, int idUsuario) {
+        return anexar(TipoRegistro.CURTIDA_REMOVIDA, saida -> {
+            saida.escreverInt(idPost);
+            saida.escreverInt(idUsuario);
+        });
+    }
+
+    @Override
+    public long comentarioAdicionado(Comentario comentario) {
+        return anexar(TipoRegistro.COMENTARIO_ADICIONADO, saida -> {
+            saida.escreverInt(comentario.getId() == null ? 0 : comentario.getId());
+            saida.escreverInt(comentario.getPost().getId());
+            saida.escreverInt(idDe(comentario.getAutor()));
+            saida.escreverTexto(comentario.getConteudo());
+            saida.escreverData(comentario.getDataComentario());
+        });
+    }
+
+    /**
+     * Aguarda até que o registro na posição informada tenha sido forçado para o disco.
+     * @param posicao A posição devolvida ao anotar a alteração.
+     * @throws PersistenciaException Se a gravação falhar.
+     */
+    @Override
+    public void aguardar(long posicao) {
+        if (posicao <= posicaoDuravel) {
+            return;
+        }
+
+        trava.lock();
+        try {
+            while (posicaoDuravel < posicao && falha == null) {
+                gravado.awaitUninterruptibly();
+            }
+            if (posicaoDuravel < posicao) {
+                throw new PersistenciaException("Não foi possível gravar a alteração no diário.", falha);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Anota um registro no buffer de pendentes, sem esperar pelo disco.
+     * @param tipo O tipo do registro.
+     * @param conteudo Escreve o conteúdo específico do tipo.
+     * @return A posição do registro no diário.
+     * @throws PersistenciaException Se o diário estiver fechado ou uma gravação anterior tiver falhado.
+     */
+    private long anexar(TipoRegistro tipo, Consumer<SaidaBinaria> conteudo) {
+        long posicao;
+        boolean estavaVazio;
+        synchronized (travaPendentes) {
+            if (fechado) {
+                throw new PersistenciaException("O diário de alterações está fechado.");
+            }
+            if (falha != null) {
+                throw new PersistenciaException("O diário está indisponível após uma falha de gravação.", falha);
+            }
+
+            posicao = proximaPosicao++;
+            int inicio = pendentes.tamanho();
+            pendentes.escreverInt(0); // Tamanho e CRC, preenchidos ao final
+            pendentes.escreverInt(0);
+            pendentes.escreverLong(posicao);
+            pendentes.escreverByte(tipo.getCodigo());
+            conteudo.accept(pendentes);
+
+            int tamanho = pendentes.tamanho() - inicio - CABECALHO;
+            crc.reset();
+            crc.update(pendentes.dados(), inicio + CABECALHO, tamanho);
+            pendentes.gravarInt(inicio, tamanho);
+            pendentes.gravarInt(inicio + 4, (int) crc.getValue());
+            estavaVazio = inicio == 0;
+        }
+
+        // Só é preciso acordar a thread de gravação no primeiro registro de cada lote
+        if (estavaVazio) {
+            LockSupport.unpark(gravador);
+        }
+        return posicao;
+    }
+
+    /**
+     * Laço da thread de gravação. Enquanto um lote é gravado e sincronizado, novas alterações se acumulam
+     * no outro buffer e seguem juntas na próxima gravação.
+     */
+    private void gravarContinuamente() {
+        while (true) {
+            if (trocaSolicitada) {
+                trocaSolicitada = false;
+                if (!iniciarSegmento()) {
+                    return;
+                }
+            }
+
+            long ultimaDoLote = -1;
+            synchronized (travaPendentes) {
+                if (pendentes.tamanho() > 0) {
+                    SaidaBinaria lote = pendentes;
+                    pendentes = emGravacao;
+                    emGravacao = lote;
+                    ultimaDoLote = proximaPosicao - 1;
+                } else if (fechado) {
+                    return; // Fechado e sem nada pendente
+                }
+            }
+
+            if (ultimaDoLote < 0) {
+                LockSupport.park(this); // Aguarda o próximo registro anotado ou o fechamento
+                continue;
+            }
+
+            IOException erro = null;
+            try {
+                emGravacao.gravarEm(canal);
+                canal.force(false);
+                gravacoes++;
+            } catch (IOException e) {
+                erro = e;
+            }
+            emGravacao.limpar();
+
+            trava.lock();
+            try {
+                if (erro == null) {
+                    posicaoDuravel = ultimaDoLote;
+                } else {
+                    falha = erro;
+                }
+                gravado.signalAll();
+            } finally {
+                trava.unlock();
+            }
+
+            if (erro != null) {
+                return;
+            }
+
+            if (registrosPorSnapshot > 0 && ultimaDoLote - posicaoSnapshot >= registrosPorSnapshot) {
+                LockSupport.unpark(geradorSnapshots);
+            }
+            try {
+                if (canal.size() >= TAMANHO_SEGMENTO && !iniciarSegmento()) {
+                    return;
+                }
+            } catch (IOException e) {
+                registrarFalha(e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fecha o segmento atual e inicia outro a partir do próximo registro a ser gravado.
+     * Chamado apenas pela thread de gravação, entre dois lotes.
+     * @return false se a troca falhar; nesse caso o diário fica indisponível.
+     */
+    private boolean iniciarSegmento() {
+        try {
+            canal.close();
+            canal = abrirSegmento(posicaoDuravel + 1);
+        } catch (IOException e) {
+            registrarFalha(e);
+            return false;
+        }
+
+        trava.lock();
+        try {
+            trocas++;
+            gravado.signalAll();
+        } finally {
+            trava.unlock();
+        }
+        return true;
+    }
+
+    private void registrarFalha(IOException erro) {
+        trava.lock();
+        try {
+            falha = erro;
+            gravado.signalAll();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private FileChannel abrirSegmento(long primeiraPosicao) throws IOException {
+        inicioSegmento = primeiraPosicao;
+        Path arquivo = diretorio.resolve(String.format("%s%020d%s", PREFIXO, primeiraPosicao, SUFIXO));
+        return FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Lista os segmentos do diário, em ordem de posição.
+     * @param diretorio O diretório de dados.
+     * @return Os arquivos de segmento.
+     * @throws IOException Se o diretório não puder ser lido.
+     */
+    static List<Path> listarSegmentos(Path diretorio) throws IOException {
+        List<Path> segmentos = new ArrayList<>();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.filter(arquivo -> {
+                String nome = arquivo.getFileName().toString();
+                return nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO);
+            }).forEach(segmentos::add);
+        }
+        segmentos.sort(null); // Os nomes têm largura fixa, então a ordem alfabética é a ordem das posições
+        return segmentos;
+    }
+
+    /**
+     * @param segmento O arquivo de um segmento.
+     * @return A posição do primeiro registro do segmento, indicada no nome do arquivo.
+     */
+    static long primeiraPosicao(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    private static void escreverUsuario(SaidaBinaria saida, Usuario usuario) {
+        saida.escreverInt(usuario.getId());
+        saida.escreverTexto(usuario.getNome());
+        saida.escreverTexto(usuario.getUsername());
+        saida.escreverTexto(usuario.getEmail());
+        saida.escreverTexto(usuario.getSenha());
+        saida.escreverData(usuario.getDataCadastro());
+    }
+
+    private static int idDe(Usuario usuario) {
+        return usuario == null || usuario.getId() == null ? 0 : usuario.getId();
+    }
+}
@@ -0,0 +1,45 @@
+package com.redesocial.persistencia;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Leitura dos valores escritos por {@link SaidaBinaria}, sobre um {@link ByteBuffer} (inclusive mapeado em memória).
+ */
+final class EntradaBinaria {
+    private final ByteBuffer buffer;
+
+    EntradaBinaria(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    int lerByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    int lerInt() {
+        return buffer.getInt();
+    }
+
+    long lerLong() {
+        return buffer.getLong();
+    }
+
+    String lerTexto() {
+        int tamanho = buffer.getInt();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    LocalDateTime lerData() {
+        long segundos = buffer.getLong();
+        int nanos = buffer.getInt();
+        return segundos == SaidaBinaria.DATA_NULA ? null : LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,201 @@
+package com.redesocial.persistencia;
+
+import com.redesocial.exception.PersistenciaException;
+import com.redesocial.exception.PostException;
+import com.redesocial.exception.UsuarioException;
+import com.redesocial.exception.ValidacaoException;
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.modelo.Comentario;
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Reaplica os registros dos segmentos do diário em um par de gerenciadores.
+ * Usado na abertura do diário, sobre os gerenciadores da aplicação, e na geração de snapshots, sobre uma
+ * cópia separada dos dados que não interfere nas sessões em andamento.
+ */
+final class ReprodutorDiario {
+    private final GerenciadorUsuarios gerenciadorUsuarios;
+    private final GerenciadorPosts gerenciadorPosts;
+    private final CRC32C crc;
+    private int registrosReproduzidos;
+    private int registrosIgnorados;
+
+    ReprodutorDiario(GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts) {
+        this.gerenciadorUsuarios = gerenciadorUsuarios;
+        this.gerenciadorPosts = gerenciadorPosts;
+        crc = new CRC32C();
+    }
+
+    int getRegistrosReproduzidos() {
+        return registrosReproduzidos;
+    }
+
+    int getRegistrosIgnorados() {
+        return registrosIgnorados;
+    }
+
+    /**
+     * Reaplica, em ordem, os registros dos segmentos com posição entre {@code ultimaPosicao} (exclusive) e
+     * {@code ate} (inclusive).
+     * @param segmentos Os segmentos do diário, em ordem.
+     * @param ultimaPosicao A posição do último registro já refletido nos gerenciadores (por exemplo, por um snapshot).
+     * @param ate A posição do último registro a ser reaplicado.
+     * @param descartarIncompleto Se um registro incompleto no final do último segmento deve ser apagado do arquivo.
+     * @return A posição do último registro reaplicado.
+     * @throws IOException Se algum segmento não puder ser lido.
+     * @throws PersistenciaException Se um segmento que não é o último estiver incompleto ou corrompido.
+     */
+    long reproduzir(List<Path> segmentos, long ultimaPosicao, long ate, boolean descartarIncompleto) throws IOException {
+        for (int i = 0; i < segmentos.size() && ultimaPosicao < ate; i++) {
+            // Segmentos que terminam antes da última posição já refletida não precisam ser lidos
+            if (i < segmentos.size() - 1 && DiarioMutacoes.primeiraPosicao(segmentos.get(i + 1)) <= ultimaPosicao + 1) {
+                continue;
+            }
+
+            StandardOpenOption[] opcoes = descartarIncompleto
+                    ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                    : new StandardOpenOption[]{StandardOpenOption.READ};
+            try (FileChannel leitura = FileChannel.open(segmentos.get(i), opcoes)) {
+                long tamanho = leitura.size();
+                MappedByteBuffer buffer = leitura.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+                ultimaPosicao = reproduzirSegmento(buffer, ultimaPosicao, ate);
+
+                if (buffer.position() < tamanho && ultimaPosicao < ate) {
+                    if (i < segmentos.size() - 1) {
+                        throw new PersistenciaException("Segmento do diário corrompido: " + segmentos.get(i));
+                    }
+                    if (descartarIncompleto) {
+                        leitura.truncate(buffer.position()); // Descarta a gravação interrompida no final
+                    }
+                }
+            }
+        }
+        return ultimaPosicao;
+    }
+
+    /**
+     * Reaplica os registros válidos de um segmento, parando no primeiro registro incompleto, corrompido ou
+     * posterior a {@code ate}. Registros com posição já reaplicada são ignorados.
+     * @param buffer O conteúdo do segmento; ao final, sua posição indica o fim do último registro lido.
+     * @param ultimaPosicao A posição do último registro já reaplicado.
+     * @param ate A posição do último registro a ser reaplicado.
+     * @return A posição do último registro reaplicado.
+     */
+    private long reproduzirSegmento(ByteBuffer buffer, long ultimaPosicao, long ate) {
+        while (buffer.remaining() >= DiarioMutacoes.CABECALHO) {
+            int inicio = buffer.position();
+            int tamanho = buffer.getInt();
+            int soma = buffer.getInt();
+            if (tamanho < 9 || tamanho > buffer.remaining()) {
+                buffer.position(inicio);
+                break;
+            }
+
+            ByteBuffer corpo = buffer.slice(buffer.position(), tamanho);
+            crc.reset();
+            crc.update(corpo.duplicate());
+            if ((int) crc.getValue() != soma) {
+                buffer.position(inicio);
+                break;
+            }
+
+            EntradaBinaria entrada = new EntradaBinaria(corpo);
+            long posicao = entrada.lerLong();
+            if (posicao > ate) {
+                buffer.position(inicio);
+                break;
+            }
+
+            TipoRegistro tipo = TipoRegistro.de(entrada.lerByte());
+            if (tipo == null) {
+                throw new PersistenciaException("Tipo de registro desconhecido na posição " + posicao + " do diário.");
+            }
+            if (posicao > ultimaPosicao) {
+                aplicar(tipo, entrada);
+                ultimaPosicao = posicao;
+            }
+            buffer.position(inicio + DiarioMutacoes.CABECALHO + tamanho);
+        }
+        return ultimaPosicao;
+    }
+
+    /**
+     * Reaplica uma alteração pelos mesmos métodos dos gerenciadores, que ainda não registram nada neste
+     * momento. Usuários e posts são restaurados com os IDs originais; curtidas, descurtidas e comentários passam
+     * pelos métodos de restauração, que não os contam como engajamento recente nos posts em alta.
+     * @param tipo O tipo do registro.
+     * @param entrada O conteúdo do registro.
+     */
+    private void aplicar(TipoRegistro tipo, EntradaBinaria entrada) {
+        try {
+            switch (tipo) {
+                case USUARIO_CADASTRADO -> gerenciadorUsuarios.restaurar(lerUsuario(entrada));
+                case USUARIO_ATUALIZADO -> gerenciadorUsuarios.atualizar(lerUsuario(entrada));
+                case USUARIO_EXCLUIDO -> gerenciadorUsuarios.deletar(entrada.lerInt());
+                case AMIZADE_ADICIONADA -> {
+                    int idUsuario1 = entrada.lerInt();
+                    int idUsuario2 = entrada.lerInt();
+                    gerenciadorUsuarios.adicionarAmizade(idUsuario1, idUsuario2);
+                }
+                case AMIZADE_REMOVIDA -> {
+                    int idUsuario1 = entrada.lerInt();
+                    int idUsuario2 = entrada.lerInt();
+                    gerenciadorUsuarios.removerAmizade(idUsuario1, idUsuario2);
+                }
+                case POST_CRIADO -> {
+                    int id = entrada.lerInt();
+                    int idAutor = entrada.lerInt();
+                    Usuario autor = idAutor == 0 ? null : gerenciadorUsuarios.buscarPorId(idAutor);
+                    Post post = new Post(id, autor, entrada.lerTexto(), entrada.lerData());
+                    if (autor != null) {
+                        gerenciadorUsuarios.adicionarPost(autor, post);
+                    }
+                    gerenciadorPosts.restaurar(post);
+                }
+                case POST_EXCLUIDO -> gerenciadorPosts.deletar(entrada.lerInt());
+                case CURTIDA_ADICIONADA -> {
+                    int idPost = entrada.lerInt();
+                    int idUsuario = entrada.lerInt();
+                    gerenciadorUsuarios.buscarPorId(idUsuario); // Só curte quem ainda existia
+                    gerenciadorPosts.restaurarCurtida(idPost, idUsuario);
+                }
+                case CURTIDA_REMOVIDA -> {
+                    int idPost = entrada.lerInt();
+                    int idUsuario = entrada.lerInt();
+                    gerenciadorPosts.restaurarDescurtida(idPost, idUsuario);
+                }
+                case COMENTARIO_ADICIONADO -> {
+                    int id = entrada.lerInt();
+                    Post post = gerenciadorPosts.buscarPorId(entrada.lerInt());
+                    Usuario autor = gerenciadorUsuarios.buscarPorId(entrada.lerInt());
+                    Comentario comentario = new Comentario(autor, entrada.lerTexto(), post);
+                    comentario.setId(id == 0 ? null : id);
+                    comentario.setDataComentario(entrada.lerData());
+                    gerenciadorPosts.restaurarComentario(comentario);
+                }
+            }
+            registrosReproduzidos++;
+        } catch (ValidacaoException | UsuarioException | PostException e) {
+            // A alteração já não era aplicável quando foi registrada (por exemplo, concorrente a uma exclusão)
+            registrosIgnorados++;
+        }
+    }
+
+    private static Usuario lerUsuario(EntradaBinaria entrada) {
+        int id = entrada.lerInt();
+        Usuario usuario = new Usuario(entrada.lerTexto(), entrada.lerTexto(), entrada.lerTexto(), entrada.lerTexto(), entrada.lerData());
+        usuario.setId(id);
+        return usuario;
+    }
+}
@@ -0,0 +1,115 @@
+package com.redesocial.persistencia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Buffer de bytes que cresce conforme necessário, usado para montar registros binários antes da gravação.
+ * Os números são escritos em big-endian, os textos como tamanho seguido dos bytes em UTF-8 e as datas
+ * como segundos e nanossegundos desde a época, em UTC. Não é seguro para uso concorrente.
+ */
+final class SaidaBinaria {
+    static final long DATA_NULA = Long.MIN_VALUE;
+
+    private byte[] dados;
+    private int tamanho;
+
+    SaidaBinaria(int capacidade) {
+        dados = new byte[capacidade];
+    }
+
+    void escreverByte(int valor) {
+        garantirCapacidade(1);
+        dados[tamanho++] = (byte) valor;
+    }
+
+    void escreverInt(int valor) {
+        garantirCapacidade(4);
+        gravarInt(tamanho, valor);
+        tamanho += 4;
+    }
+
+    void escreverLong(long valor) {
+        escreverInt((int) (valor >>> 32));
+        escreverInt((int) valor);
+    }
+
+    /**
+     * Escreve um texto como tamanho em bytes seguido do conteúdo em UTF-8; o tamanho -1 representa null.
+     * @param texto O texto a ser escrito.
+     */
+    void escreverTexto(String texto) {
+        if (texto == null) {
+            escreverInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escreverInt(bytes.length);
+        garantirCapacidade(bytes.length);
+        System.arraycopy(bytes, 0, dados, tamanho, bytes.length);
+        tamanho += bytes.length;
+    }
+
+    void escreverBytes(byte[] bytes, int inicio, int quantidade) {
+        garantirCapacidade(quantidade);
+        System.arraycopy(bytes, inicio, dados, tamanho, quantidade);
+        tamanho += quantidade;
+    }
+
+    void escreverData(LocalDateTime data) {
+        if (data == null) {
+            escreverLong(DATA_NULA);
+            escreverInt(0);
+            return;
+        }
+        escreverLong(data.toEpochSecond(ZoneOffset.UTC));
+        escreverInt(data.getNano());
+    }
+
+    /**
+     * Sobrescreve um inteiro em uma posição já escrita, como o tamanho de um registro conhecido só no final.
+     * @param posicao A posição do primeiro byte.
+     * @param valor O valor a ser gravado.
+     */
+    void gravarInt(int posicao, int valor) {
+        dados[posicao] = (byte) (valor >>> 24);
+        dados[posicao + 1] = (byte) (valor >>> 16);
+        dados[posicao + 2] = (byte) (valor >>> 8);
+        dados[posicao + 3] = (byte) valor;
+    }
+
+    /**
+     * Grava todo o conteúdo do buffer no canal, a partir da posição atual do canal.
+     * @param canal O canal de destino.
+     * @throws IOException Se a escrita falhar.
+     */
+    void gravarEm(FileChannel canal) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(dados, 0, tamanho);
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    byte[] dados() {
+        return dados;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    void limpar() {
+        tamanho = 0;
+    }
+
+    private void garantirCapacidade(int adicional) {
+        if (tamanho + adicional > dados.length) {
+            dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + adicional));
+        }
+    }
+}
@@ -0,0 +1,586 @@
+package com.redesocial.persistencia;
+
+import com.redesocial.exception.PersistenciaException;
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.modelo.Comentario;
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot binário dos dados dos gerenciadores em uma posição do diário.
+ * O arquivo tem um cabeçalho de tamanho fixo seguido de seções de registros de largura fixa (usuários, amizades,
+ * posts, curtidas e comentários) e de uma tabela de textos, referenciados pelos registros por índice.
+ * Na carga o arquivo é mapeado em memória, em blocos de até 2 GB, e os registros são lidos diretamente das
+ * páginas mapeadas, sem nenhuma decodificação de formato variável além dos textos.
+ */
+final class Snapshot {
+    static final String PREFIXO = "snapshot-";
+    static final String SUFIXO = ".bin";
+    static final String SUFIXO_TEMPORARIO = ".tmp"; // Arquivos auxiliares da gravação
+
+    private static final int MAGICO = 0x52534E50; // "RSNP"
+    private static final int VERSAO = 2; // Na versão 1, os deslocamentos dos textos tinham 4 bytes
+    private static final int TAMANHO_CABECALHO = 128;
+    private static final int LIMITE_BUFFER = 1 << 20;
+    private static final int USUARIO_EXCLUIDO = 1; // Autor de posts ou comentários que já foi excluído
+
+    // Seções do arquivo, na ordem em que são gravadas
+    private static final int USUARIOS = 0;
+    private static final int AMIZADES = 1;
+    private static final int POSTS = 2;
+    private static final int CURTIDAS = 3;
+    private static final int COMENTARIOS = 4;
+    private static final int TEXTOS = 5;
+    private static final int QUANTIDADE_SECOES = 6;
+
+    // Tamanho de cada registro, em bytes
+    private static final int TAMANHO_USUARIO = 40; // id, flags, nome, username, email, senha, segundos, nanos, reservado
+    private static final int TAMANHO_AMIZADE = 8; // id1, id2
+    private static final int TAMANHO_POST = 40; // id, autor, conteúdo, nanos, segundos, início das curtidas, quantidade, reservado
+    private static final int TAMANHO_CURTIDA = 4; // id do usuário
+    private static final int TAMANHO_COMENTARIO = 32; // id, post, autor, conteúdo, segundos, nanos, reservado
+    private static final int[] ALINHAMENTOS = {TAMANHO_USUARIO, TAMANHO_AMIZADE, TAMANHO_POST, TAMANHO_CURTIDA,
+            TAMANHO_COMENTARIO, 8}; // Por seção; na de textos, o dos deslocamentos
+
+    private Snapshot() {
+    }
+
+    /**
+     * Lista os snapshots do diretório, do mais antigo para o mais recente.
+     * @param diretorio O diretório de dados.
+     * @return Os arquivos de snapshot.
+     * @throws IOException Se o diretório não puder ser lido.
+     */
+    static List<Path> listar(Path diretorio) throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.filter(arquivo -> {
+                String nome = arquivo.getFileName().toString();
+                return nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO);
+            }).forEach(snapshots::add);
+        }
+        snapshots.sort(null); // Nomes de largura fixa: a ordem alfabética é a ordem das posições
+        return snapshots;
+    }
+
+    static long posicaoDe(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    /**
+     * Apaga o snapshot e os arquivos auxiliares deixados por uma gravação interrompida.
+     * @param diretorio O diretório de dados.
+     * @throws IOException Se algum arquivo não puder ser apagado.
+     */
+    static void apagarGravacaoInterrompida(Path diretorio) throws IOException {
+        Files.deleteIfExists(diretorio.resolve(PREFIXO + "gravando" + SUFIXO));
+        Files.deleteIfExists(diretorio.resolve(TabelaTextos.DESLOCAMENTOS));
+        Files.deleteIfExists(diretorio.resolve(TabelaTextos.BYTES));
+    }
+
+    /**
+     * Grava o snapshot dos gerenciadores, que não devem ser alterados durante a gravação.
+     * O arquivo é escrito com outro nome, forçado para o disco e só então renomeado, para que um snapshot
+     * incompleto nunca seja carregado.
+     * @param diretorio O diretório de dados.
+     * @param posicao A posição do último registro do diário refletido nos gerenciadores.
+     * @param gerenciadorUsuarios O gerenciador de usuários.
+     * @param gerenciadorPosts O gerenciador de posts.
+     * @return O arquivo gravado.
+     * @throws IOException Se a gravação falhar.
+     */
+    static Path gravar(Path diretorio, long posicao, GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts) throws IOException {
+        List<Usuario> ativos = gerenciadorUsuarios.listarUsuarios();
+        List<Post> posts = gerenciadorPosts.listarPosts();
+
+        // Autores excluídos continuam referenciados pelos seus posts e comentários
+        Set<Integer> idsAtivos = new HashSet<>();
+        for (Usuario usuario : ativos) {
+            idsAtivos.add(usuario.getId());
+        }
+        Map<Integer, Usuario> excluidos = new TreeMap<>();
+        for (Post post : posts) {
+            adicionarSeExcluido(post.getAutor(), idsAtivos, excluidos);
+            for (Comentario comentario : gerenciadorPosts.listarComentarios(post.getId())) {
+                adicionarSeExcluido(comentario.getAutor(), idsAtivos, excluidos);
+            }
+        }
+
+        Path temporario = diretorio.resolve(PREFIXO + "gravando" + SUFIXO);
+        Path arquivo = diretorio.resolve(String.format("%s%020d%s", PREFIXO, posicao, SUFIXO));
+        long[] inicios = new long[QUANTIDADE_SECOES];
+        long[] quantidades = new long[QUANTIDADE_SECOES];
+
+        try (TabelaTextos textos = new TabelaTextos(diretorio);
+             FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            Escritor escritor = new Escritor(canal);
+
+            inicios[USUARIOS] = escritor.posicao();
+            for (Usuario usuario : ativos) {
+                escreverUsuario(escritor.saida, usuario, 0, textos);
+                escritor.descarregarSeCheio();
+            }
+            for (Usuario usuario : excluidos.values()) {
+                escreverUsuario(escritor.saida, usuario, USUARIO_EXCLUIDO, textos);
+                escritor.descarregarSeCheio();
+            }
+            quantidades[USUARIOS] = ativos.size() + excluidos.size();
+
+            inicios[AMIZADES] = escritor.posicao();
+            for (Usuario usuario : ativos) {
+                for (int idAmigo : gerenciadorUsuarios.listarIdsAmigos(usuario.getId())) {
+                    if (idAmigo > usuario.getId() && idsAtivos.contains(idAmigo)) { // Cada amizade uma única vez
+                        escritor.saida.escreverInt(usuario.getId());
+                        escritor.saida.escreverInt(idAmigo);
+                        quantidades[AMIZADES]++;
+                    }
+                }
+                escritor.descarregarSeCheio();
+            }
+
+            inicios[POSTS] = escritor.posicao();
+            long inicioCurtidas = 0;
+            for (Post post : posts) {
+                SaidaBinaria saida = escritor.saida;
+                saida.escreverInt(post.getId());
+                saida.escreverInt(idDe(post.getAutor()));
+                saida.escreverInt(textos.adicionar(post.getConteudo()));
+                escreverData(saida, post.getDataPublicacao(), true);
+                saida.escreverLong(inicioCurtidas);
+                saida.escreverInt(post.getNumeroCurtidas());
+                saida.escreverInt(0);
+                inicioCurtidas += post.getNumeroCurtidas();
+                escritor.descarregarSeCheio();
+            }
+            quantidades[POSTS] = posts.size();
+
+            inicios[CURTIDAS] = escritor.posicao();
+            for (Post post : posts) {
+                for (int idUsuario : gerenciadorPosts.listarCurtidas(post.getId())) {
+                    escritor.saida.escreverInt(idUsuario);
+                }
+                escritor.descarregarSeCheio();
+            }
+            quantidades[CURTIDAS] = inicioCurtidas;
+
+            inicios[COMENTARIOS] = escritor.posicao();
+            for (Post post : posts) {
+                for (Comentario comentario : gerenciadorPosts.listarComentarios(post.getId())) {
+                    SaidaBinaria saida = escritor.saida;
+                    saida.escreverInt(comentario.getId() == null ? 0 : comentario.getId());
+                    saida.escreverInt(post.getId());
+                    saida.escreverInt(idDe(comentario.getAutor()));
+                    saida.escreverInt(textos.adicionar(comentario.getConteudo()));
+                    escreverData(saida, comentario.getDataComentario(), false);
+                    saida.escreverInt(0);
+                    quantidades[COMENTARIOS]++;
+                }
+                escritor.descarregarSeCheio();
+            }
+
+            inicios[TEXTOS] = escritor.posicao();
+            quantidades[TEXTOS] = textos.quantidade;
+            textos.escrever(escritor);
+            escritor.descarregar();
+
+            // O cabeçalho é escrito por último, com o CRC de todo o conteúdo
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+            cabecalho.putInt(MAGICO).putInt(VERSAO).putLong(posicao).putInt((int) escritor.crc.getValue())
+                    .putInt(gerenciadorUsuarios.getProximoId()).putInt(gerenciadorPosts.getProximoId()).putInt(gerenciadorPosts.getProximoIdComentario());
+            for (int secao = 0; secao < QUANTIDADE_SECOES; secao++) {
+                cabecalho.putLong(inicios[secao]).putLong(quantidades[secao]);
+            }
+            cabecalho.flip();
+            canal.write(cabecalho, 0);
+            canal.force(true);
+        }
+
+        Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return arquivo;
+    }
+
+    /**
+     * Carrega um snapshot nos gerenciadores, que devem estar vazios e sem registro de alterações configurado.
+     * @param arquivo O arquivo do snapshot.
+     * @param gerenciadorUsuarios O gerenciador de usuários.
+     * @param gerenciadorPosts O gerenciador de posts.
+     * @return A posição do diário refletida pelo snapshot.
+     * @throws IOException Se o arquivo não puder ser lido.
+     * @throws PersistenciaException Se o arquivo estiver corrompido ou em um formato desconhecido.
+     */
+    static long carregar(Path arquivo, GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts) throws IOException {
+        SecaoMapeada[] secoes = new SecaoMapeada[QUANTIDADE_SECOES];
+        long[] quantidades = new long[QUANTIDADE_SECOES];
+        long posicao;
+        int proximoIdUsuario;
+        int proximoIdPost;
+        int proximoIdComentario;
+        int versao;
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < TAMANHO_CABECALHO) {
+                throw new PersistenciaException("Snapshot incompleto: " + arquivo);
+            }
+
+            MappedByteBuffer cabecalho = canal.map(FileChannel.MapMode.READ_ONLY, 0, TAMANHO_CABECALHO);
+            int magico = cabecalho.getInt();
+            versao = cabecalho.getInt();
+            if (magico != MAGICO || versao < 1 || versao > VERSAO) {
+                throw new PersistenciaException("Formato de snapshot desconhecido: " + arquivo);
+            }
+            posicao = cabecalho.getLong();
+            int soma = cabecalho.getInt();
+            proximoIdUsuario = cabecalho.getInt();
+            proximoIdPost = cabecalho.getInt();
+            proximoIdComentario = cabecalho.getInt(); // Zero nos arquivos anteriores aos IDs globais de comentário
+            long[] inicios = new long[QUANTIDADE_SECOES];
+            for (int secao = 0; secao < QUANTIDADE_SECOES; secao++) {
+                inicios[secao] = cabecalho.getLong();
+                quantidades[secao] = cabecalho.getLong();
+            }
+
+            // Confere o CRC de todo o conteúdo, mapeado em blocos
+            CRC32C crc = new CRC32C();
+            for (long inicio = TAMANHO_CABECALHO; inicio < tamanho; inicio += Integer.MAX_VALUE) {
+                crc.update(canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(Integer.MAX_VALUE, tamanho - inicio)));
+            }
+            if ((int) crc.getValue() != soma) {
+                throw new PersistenciaException("Snapshot corrompido: " + arquivo);
+            }
+
+            // Cada seção é mapeada separadamente; os mapeamentos continuam válidos após fechar o canal
+            for (int secao = 0; secao < QUANTIDADE_SECOES; secao++) {
+                long fim = secao + 1 < QUANTIDADE_SECOES ? inicios[secao + 1] : tamanho;
+                secoes[secao] = new SecaoMapeada(canal, inicios[secao], fim - inicios[secao], ALINHAMENTOS[secao]);
+            }
+        }
+
+        LeitorTextos textos = new LeitorTextos(secoes[TEXTOS], quantidades[TEXTOS], versao == 1 ? 4 : 8);
+
+        // Usuários: os ativos voltam aos índices; os excluídos só servem de autor para posts e comentários
+        Map<Integer, Usuario> usuarios = new HashMap<>();
+        SecaoMapeada secao = secoes[USUARIOS];
+        for (long i = 0; i < quantidades[USUARIOS]; i++) {
+            long base = i * TAMANHO_USUARIO;
+            Usuario usuario = new Usuario(textos.ler(secao.getInt(base + 8)), textos.ler(secao.getInt(base + 12)),
+                    textos.ler(secao.getInt(base + 16)), textos.ler(secao.getInt(base + 20)),
+                    lerData(secao.getLong(base + 24), secao.getInt(base + 32)));
+            usuario.setId(secao.getInt(base));
+            usuarios.put(usuario.getId(), usuario);
+            if ((secao.getInt(base + 4) & USUARIO_EXCLUIDO) == 0) {
+                gerenciadorUsuarios.restaurar(usuario);
+            }
+        }
+        gerenciadorUsuarios.avancarProximoId(proximoIdUsuario);
+
+        // Amizades antes dos posts, para que cada post seja distribuído às timelines dos amigos do autor
+        secao = secoes[AMIZADES];
+        for (long i = 0; i < quantidades[AMIZADES]; i++) {
+            long base = i * TAMANHO_AMIZADE;
+            gerenciadorUsuarios.adicionarAmizade(secao.getInt(base), secao.getInt(base + 4));
+        }
+
+        secao = secoes[POSTS];
+        SecaoMapeada curtidas = secoes[CURTIDAS];
+        Map<Integer, Post> posts = new HashMap<>();
+        for (long i = 0; i < quantidades[POSTS]; i++) {
+            long base = i * TAMANHO_POST;
+            Usuario autor = usuarios.get(secao.getInt(base + 4));
+            Post post = new Post(secao.getInt(base), autor, textos.ler(secao.getInt(base + 8)),
+                    lerData(secao.getLong(base + 16), secao.getInt(base + 12)));
+
+            if (autor != null) {
+                gerenciadorUsuarios.adicionarPost(autor, post);
+            }
+            gerenciadorPosts.restaurar(post);
+            posts.put(post.getId(), post);
+
+            long inicio = secao.getLong(base + 24);
+            int quantidade = secao.getInt(base + 32);
+            for (long j = 0; j < quantidade; j++) {
+                gerenciadorPosts.restaurarCurtida(post.getId(), curtidas.getInt((inicio + j) * TAMANHO_CURTIDA));
+            }
+        }
+        gerenciadorPosts.avancarProximoId(proximoIdPost);
+
+        secao = secoes[COMENTARIOS];
+        for (long i = 0; i < quantidades[COMENTARIOS]; i++) {
+            long base = i * TAMANHO_COMENTARIO;
+            Post post = posts.get(secao.getInt(base + 4));
+            Comentario comentario = new Comentario(usuarios.get(secao.getInt(base + 8)), textos.ler(secao.getInt(base + 12)), post);
+            int id = secao.getInt(base);
+            comentario.setId(id == 0 ? null : id);
+            comentario.setDataComentario(lerData(secao.getLong(base + 16), secao.getInt(base + 24)));
+            gerenciadorPosts.restaurarComentario(comentario);
+        }
+        gerenciadorPosts.avancarProximoIdComentario(proximoIdComentario);
+
+        return posicao;
+    }
+
+    private static void adicionarSeExcluido(Usuario usuario, Set<Integer> idsAtivos, Map<Integer, Usuario> excluidos) {
+        if (usuario != null && usuario.getId() != null && !idsAtivos.contains(usuario.getId())) {
+            excluidos.putIfAbsent(usuario.getId(), usuario);
+        }
+    }
+
+    private static void escreverUsuario(SaidaBinaria saida, Usuario usuario, int flags, TabelaTextos textos) throws IOException {
+        saida.escreverInt(usuario.getId());
+        saida.escreverInt(flags);
+        saida.escreverInt(textos.adicionar(usuario.getNome()));
+        saida.escreverInt(textos.adicionar(usuario.getUsername()));
+        saida.escreverInt(textos.adicionar(usuario.getEmail()));
+        saida.escreverInt(textos.adicionar(usuario.getSenha()));
+        escreverData(saida, usuario.getDataCadastro(), false);
+        saida.escreverInt(0);
+    }
+
+    /**
+     * Escreve uma data como segundos (8 bytes) e nanossegundos (4 bytes), ou na ordem inversa quando
+     * {@code nanosPrimeiro}, para manter os campos de 8 bytes alinhados no registro.
+     */
+    private static void escreverData(SaidaBinaria saida, LocalDateTime data, boolean nanosPrimeiro) {
+        long segundos = data == null ? SaidaBinaria.DATA_NULA : data.toEpochSecond(ZoneOffset.UTC);
+        int nanos = data == null ? 0 : data.getNano();
+        if (nanosPrimeiro) {
+            saida.escreverInt(nanos);
+            saida.escreverLong(segundos);
+        } else {
+            saida.escreverLong(segundos);
+            saida.escreverInt(nanos);
+        }
+    }
+
+    private static LocalDateTime lerData(long segundos, int nanos) {
+        return segundos == SaidaBinaria.DATA_NULA ? null : LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+    }
+
+    private static int idDe(Usuario usuario) {
+        return usuario == null || usuario.getId() == null ? 0 : usuario.getId();
+    }
+
+    /**
+     * Escreve o arquivo em blocos, acumulando o CRC do conteúdo gravado.
+     */
+    private static final class Escritor {
+        private final FileChannel canal;
+        private final SaidaBinaria saida;
+        private final CRC32C crc;
+        private long gravados;
+
+        Escritor(FileChannel canal) throws IOException {
+            this.canal = canal;
+            saida = new SaidaBinaria(LIMITE_BUFFER + 4096);
+            crc = new CRC32C();
+            canal.position(TAMANHO_CABECALHO);
+            gravados = TAMANHO_CABECALHO;
+        }
+
+        long posicao() {
+            return gravados + saida.tamanho();
+        }
+
+        void descarregarSeCheio() throws IOException {
+            if (saida.tamanho() >= LIMITE_BUFFER) {
+                descarregar();
+            }
+        }
+
+        void descarregar() throws IOException {
+            crc.update(saida.dados(), 0, saida.tamanho());
+            saida.gravarEm(canal);
+            gravados += saida.tamanho();
+            saida.limpar();
+        }
+    }
+
+    /**
+     * Textos do snapshot: os registros guardam apenas o índice do texto (-1 para null).
+     * Gravada como {@code quantidade + 1} deslocamentos de 8 bytes seguidos dos bytes em UTF-8. Durante a
+     * gravação, os deslocamentos e os bytes vão para dois arquivos auxiliares, copiados ao final para o
+     * snapshot, de modo que os textos nunca ficam todos na memória.
+     */
+    private static final class TabelaTextos implements Closeable {
+        static final String DESLOCAMENTOS = PREFIXO + "gravando-deslocamentos" + SUFIXO_TEMPORARIO;
+        static final String BYTES = PREFIXO + "gravando-textos" + SUFIXO_TEMPORARIO;
+
+        private final Path arquivoDeslocamentos;
+        private final Path arquivoBytes;
+        private final FileChannel canalDeslocamentos;
+        private final FileChannel canalBytes;
+        private final SaidaBinaria deslocamentos = new SaidaBinaria(LIMITE_BUFFER + 8);
+        private final SaidaBinaria bytes = new SaidaBinaria(LIMITE_BUFFER + 4096);
+        private long totalBytes;
+        private int quantidade;
+
+        TabelaTextos(Path diretorio) throws IOException {
+            arquivoDeslocamentos = diretorio.resolve(DESLOCAMENTOS);
+            arquivoBytes = diretorio.resolve(BYTES);
+            canalDeslocamentos = abrir(arquivoDeslocamentos);
+            FileChannel canal;
+            try {
+                canal = abrir(arquivoBytes);
+            } catch (IOException e) {
+                canalDeslocamentos.close();
+                Files.deleteIfExists(arquivoDeslocamentos);
+                throw e;
+            }
+            canalBytes = canal;
+            deslocamentos.escreverLong(0);
+        }
+
+        private static FileChannel abrir(Path arquivo) throws IOException {
+            return FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        int adicionar(String texto) throws IOException {
+            if (texto == null) {
+                return -1;
+            }
+            if (quantidade == Integer.MAX_VALUE) {
+                throw new PersistenciaException("Textos demais para um snapshot.");
+            }
+            byte[] codificado = texto.getBytes(StandardCharsets.UTF_8);
+            bytes.escreverBytes(codificado, 0, codificado.length);
+            totalBytes += codificado.length;
+            deslocamentos.escreverLong(totalBytes);
+            descarregarSeCheio(bytes, canalBytes);
+            descarregarSeCheio(deslocamentos, canalDeslocamentos);
+            return quantidade++;
+        }
+
+        void escrever(Escritor escritor) throws IOException {
+            deslocamentos.gravarEm(canalDeslocamentos);
+            deslocamentos.limpar();
+            bytes.gravarEm(canalBytes);
+            bytes.limpar();
+            copiar(canalDeslocamentos, escritor);
+            copiar(canalBytes, escritor);
+        }
+
+        private static void descarregarSeCheio(SaidaBinaria saida, FileChannel canal) throws IOException {
+            if (saida.tamanho() >= LIMITE_BUFFER) {
+                saida.gravarEm(canal);
+                saida.limpar();
+            }
+        }
+
+        private static void copiar(FileChannel origem, Escritor escritor) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(LIMITE_BUFFER);
+            origem.position(0);
+            while (origem.read(buffer) >= 0) {
+                escritor.saida.escreverBytes(buffer.array(), 0, buffer.position());
+                escritor.descarregarSeCheio();
+                buffer.clear();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (canalDeslocamentos; canalBytes) {
+                // Os canais são fechados antes de apagar os arquivos
+            }
+            Files.deleteIfExists(arquivoDeslocamentos);
+            Files.deleteIfExists(arquivoBytes);
+        }
+    }
+
+    /**
+     * Seção do arquivo mapeada em blocos, já que um único mapeamento não passa de 2 GB. Cada bloco tem um
+     * múltiplo do alinhamento da seção, para que nenhum campo fique dividido entre dois blocos.
+     */
+    private static final class SecaoMapeada {
+        private final ByteBuffer[] blocos;
+        private final long tamanhoBloco;
+
+        SecaoMapeada(FileChannel canal, long inicio, long tamanho, int alinhamento) throws IOException {
+            tamanhoBloco = (long) (Integer.MAX_VALUE / alinhamento) * alinhamento;
+            blocos = new ByteBuffer[(int) ((tamanho + tamanhoBloco - 1) / tamanhoBloco)];
+            for (int i = 0; i < blocos.length; i++) {
+                long deslocamento = i * tamanhoBloco;
+                blocos[i] = canal.map(FileChannel.MapMode.READ_ONLY, inicio + deslocamento, Math.min(tamanhoBloco, tamanho - deslocamento));
+            }
+        }
+
+        int getInt(long posicao) {
+            return blocos[(int) (posicao / tamanhoBloco)].getInt((int) (posicao % tamanhoBloco));
+        }
+
+        long getLong(long posicao) {
+            return blocos[(int) (posicao / tamanhoBloco)].getLong((int) (posicao % tamanhoBloco));
+        }
+
+        /**
+         * Copia bytes a partir da posição informada, atravessando blocos se preciso.
+         */
+        void get(long posicao, byte[] destino) {
+            int copiados = 0;
+            while (copiados < destino.length) {
+                long atual = posicao + copiados;
+                ByteBuffer bloco = blocos[(int) (atual / tamanhoBloco)];
+                int deslocamento = (int) (atual % tamanhoBloco);
+                int quantidade = Math.min(destino.length - copiados, bloco.capacity() - deslocamento);
+                bloco.get(deslocamento, destino, copiados, quantidade);
+                copiados += quantidade;
+            }
+        }
+    }
+
+    /**
+     * Leitura dos textos diretamente da seção mapeada.
+     */
+    private static final class LeitorTextos {
+        private final SecaoMapeada secao;
+        private final int larguraDeslocamento; // 4 bytes na versão 1, 8 nas seguintes
+        private final long inicioBytes;
+
+        LeitorTextos(SecaoMapeada secao, long quantidade, int larguraDeslocamento) {
+            this.secao = secao;
+            this.larguraDeslocamento = larguraDeslocamento;
+            this.inicioBytes = (quantidade + 1) * larguraDeslocamento;
+        }
+
+        String ler(int indice) {
+            if (indice < 0) {
+                return null;
+            }
+            long inicio = deslocamento(indice);
+            long fim = deslocamento(indice + 1L);
+            byte[] bytes = new byte[Math.toIntExact(fim - inicio)];
+            secao.get(inicioBytes + inicio, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private long deslocamento(long indice) {
+            long posicao = indice * larguraDeslocamento;
+            return larguraDeslocamento == 4 ? secao.getInt(posicao) : secao.getLong(posicao);
+        }
+    }
+}
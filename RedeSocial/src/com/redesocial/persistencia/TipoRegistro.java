@@ -0,0 +1,45 @@
+package com.redesocial.persistencia;
+
+/**
+ * Tipos de registro gravados no diário de alterações. O código de cada tipo faz parte do formato em disco
+ * e não deve ser alterado.
+ */
+enum TipoRegistro {
+    USUARIO_CADASTRADO(1),
+    USUARIO_ATUALIZADO(2),
+    USUARIO_EXCLUIDO(3),
+    AMIZADE_ADICIONADA(4),
+    AMIZADE_REMOVIDA(5),
+    POST_CRIADO(6),
+    POST_EXCLUIDO(7),
+    CURTIDA_ADICIONADA(8),
+    CURTIDA_REMOVIDA(9),
+    COMENTARIO_ADICIONADO(10);
+
+    private static final TipoRegistro[] POR_CODIGO = new TipoRegistro[11];
+
+    static {
+        for (TipoRegistro tipo : values()) {
+            POR_CODIGO[tipo.codigo] = tipo;
+        }
+    }
+
+    private final int codigo;
+
+    TipoRegistro(int codigo) {
+        this.codigo = codigo;
+    }
+
+    int getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Retorna o tipo correspondente ao código gravado em disco.
+     * @param codigo O código lido.
+     * @return O tipo, ou null se o código for desconhecido.
+     */
+    static TipoRegistro de(int codigo) {
+        return codigo >= 0 && codigo < POR_CODIGO.length ? POR_CODIGO[codigo] : null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.redesocial.simulacao;
+
+import com.redesocial.exception.ValidacaoException;
+
+/**
+ * Parâmetros da rede social sintética montada pelo {@link GeradorGrafoSocial}.
+ * As inclinações são expoentes de Zipf: 0 distribui tudo de forma uniforme e valores maiores concentram
+ * amizades, posts ou curtidas em poucos usuários e posts. Uma inclinação {@code s} entre 0 e 1 nas amizades
+ * produz uma cauda de lei de potência com expoente {@code 1 + 1/s} na quantidade de amigos (0.5 resulta
+ * em 3, típico de redes sociais reais).
+ *
+ * @param usuarios Quantidade de usuários.
+ * @param grauMedio Quantidade média de amigos por usuário.
+ * @param inclinacaoAmizades Concentração das amizades em poucas contas muito conectadas.
+ * @param posts Quantidade de posts.
+ * @param inclinacaoAtividade Concentração dos posts, curtidas e comentários nos usuários mais ativos.
+ * @param fracaoRajada Probabilidade de um post ser seguido por outro do mesmo autor poucos segundos depois.
+ * @param curtidasPorPost Quantidade média de curtidas por post.
+ * @param inclinacaoCurtidas Concentração das curtidas e comentários em poucos posts virais.
+ * @param comentariosPorPost Quantidade média de comentários por post.
+ * @param semente Semente dos sorteios; a mesma configuração gera sempre a mesma rede.
+ */
+public record ConfiguracaoGrafo(int usuarios, double grauMedio, double inclinacaoAmizades, int posts,
+                                double inclinacaoAtividade, double fracaoRajada, double curtidasPorPost,
+                                double inclinacaoCurtidas, double comentariosPorPost, long semente) {
+
+    /**
+     * Valida os parâmetros.
+     * @throws ValidacaoException Se alguma quantidade ou inclinação for negativa, se não houver usuários,
+     * ou se a fração de rajadas não estiver entre 0 e 1.
+     */
+    public ConfiguracaoGrafo {
+        if (usuarios <= 0) {
+            throw new ValidacaoException("A quantidade de usuários deve ser positiva.");
+        }
+        if (grauMedio < 0 || posts < 0 || curtidasPorPost < 0 || comentariosPorPost < 0) {
+            throw new ValidacaoException("As quantidades não podem ser negativas.");
+        }
+        if (inclinacaoAmizades < 0 || inclinacaoAtividade < 0 || inclinacaoCurtidas < 0) {
+            throw new ValidacaoException("As inclinações não podem ser negativas.");
+        }
+        if (fracaoRajada < 0 || fracaoRajada >= 1) {
+            throw new ValidacaoException("A fração de rajadas deve estar entre 0 (inclusive) e 1 (exclusive).");
+        }
+    }
+
+    /**
+     * Cria uma configuração com proporções próximas às de uma rede social real: 20 amigos e 5 posts por
+     * usuário em média, poucas contas com milhares de amigos e curtidas concentradas em posts virais.
+     * @param usuarios Quantidade de usuários.
+     * @return A configuração.
+     */
+    public static ConfiguracaoGrafo padrao(int usuarios) {
+        return new ConfiguracaoGrafo(usuarios, 20, 0.5, usuarios * 5, 0.8, 0.3, 3, 1.0, 0.5, 42);
+    }
+}
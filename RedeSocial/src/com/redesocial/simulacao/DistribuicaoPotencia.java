@@ -0,0 +1,53 @@
+package com.redesocial.simulacao;
+
+import com.redesocial.exception.ValidacaoException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Sorteia posições de 0 a {@code n - 1} com probabilidade proporcional a {@code (posicao + 1)^-expoente}
+ * (distribuição de Zipf). Com expoente 0 o sorteio é uniforme; quanto maior o expoente, mais os sorteios se
+ * concentram nas primeiras posições.
+ * As probabilidades acumuladas são calculadas uma única vez e cada sorteio é uma busca binária.
+ */
+class DistribuicaoPotencia {
+    private final double[] acumulados;
+
+    /**
+     * Construtor da classe.
+     * @param n Quantidade de posições.
+     * @param expoente O expoente da distribuição; deve ser maior ou igual a zero.
+     * @throws ValidacaoException Se a quantidade não for positiva ou o expoente for negativo.
+     */
+    DistribuicaoPotencia(int n, double expoente) {
+        if (n <= 0) {
+            throw new ValidacaoException("Quantidade de posições deve ser positiva.");
+        }
+        if (expoente < 0) {
+            throw new ValidacaoException("Expoente não pode ser negativo.");
+        }
+
+        acumulados = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += Math.pow(i + 1, -expoente);
+            acumulados[i] = total;
+        }
+    }
+
+    /**
+     * Sorteia uma posição.
+     * @param aleatorio O gerador de números aleatórios.
+     * @return A posição sorteada, de 0 a {@code n - 1}.
+     */
+    int sortear(Random aleatorio) {
+        double alvo = aleatorio.nextDouble() * acumulados[acumulados.length - 1];
+        int posicao = Arrays.binarySearch(acumulados, alvo);
+        return Math.min(posicao >= 0 ? posicao : -posicao - 1, acumulados.length - 1);
+    }
+
+    int tamanho() {
+        return acumulados.length;
+    }
+}
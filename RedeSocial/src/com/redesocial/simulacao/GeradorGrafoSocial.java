@@ -0,0 +1,216 @@
+package com.redesocial.simulacao;
+
+import com.redesocial.exception.PostException;
+import com.redesocial.exception.ValidacaoException;
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.modelo.Comentario;
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Monta uma rede social sintética diretamente nos gerenciadores, pelos mesmos métodos usados pelos menus.
+ * <ul>
+ *     <li>Amizades: modelo de Chung-Lu, em que cada extremidade de uma amizade é sorteada com peso de Zipf;
+ *     os primeiros usuários se tornam contas com milhares de amigos e a maioria fica com poucos.</li>
+ *     <li>Posts: autores sorteados pela atividade, em ordem cronológica ao longo de {@value #DIAS} dias, com
+ *     rajadas de posts seguidos do mesmo autor.</li>
+ *     <li>Curtidas e comentários: concentrados em poucos posts virais, espalhados ao acaso entre os posts.</li>
+ * </ul>
+ * Todos os sorteios partem da semente da configuração, então a mesma configuração gera sempre a mesma rede.
+ */
+public class GeradorGrafoSocial {
+    static final int DIAS = 30;
+    private static final LocalDateTime DATA_BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int RAJADA_MAXIMA_SEGUNDOS = 60;
+
+    /**
+     * Resumo da rede gerada.
+     * @param usuarios Quantidade de usuários cadastrados.
+     * @param amizades Quantidade de amizades distintas.
+     * @param maiorGrau Quantidade de amigos do usuário mais conectado.
+     * @param posts Quantidade de posts.
+     * @param curtidas Quantidade de curtidas aplicadas (sorteios repetidos são descartados).
+     * @param comentarios Quantidade de comentários.
+     * @param duracao Tempo gasto na geração.
+     */
+    public record Resumo(int usuarios, long amizades, int maiorGrau, int posts, long curtidas, long comentarios,
+                         Duration duracao) {
+    }
+
+    private final ConfiguracaoGrafo configuracao;
+    private final Random aleatorio;
+    private final DistribuicaoPotencia atividade;
+    private final int[] usuariosPorAtividade; // Posição na distribuição de atividade -> ID do usuário
+    private DistribuicaoPotencia popularidade;
+    private int[] postsPorPopularidade; // Posição na distribuição de popularidade -> ID do post
+
+    /**
+     * Construtor da classe.
+     * @param configuracao Os parâmetros da rede.
+     */
+    public GeradorGrafoSocial(ConfiguracaoGrafo configuracao) {
+        this.configuracao = configuracao;
+        this.aleatorio = new Random(configuracao.semente());
+        this.atividade = new DistribuicaoPotencia(configuracao.usuarios(), configuracao.inclinacaoAtividade());
+        this.usuariosPorAtividade = permutacao(configuracao.usuarios(), aleatorio);
+    }
+
+    public ConfiguracaoGrafo getConfiguracao() {
+        return configuracao;
+    }
+
+    /**
+     * Gera a rede nos gerenciadores informados, que devem estar vazios.
+     * @param gerenciadorUsuarios O gerenciador de usuários.
+     * @param gerenciadorPosts O gerenciador de posts.
+     * @return O resumo da rede gerada.
+     * @throws ValidacaoException Se algum dos gerenciadores já tiver usuários ou posts.
+     */
+    public Resumo gerar(GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts) {
+        // Os IDs gerados precisam ir de 1 até a quantidade configurada, para os sorteios por posição
+        if (gerenciadorUsuarios.getProximoId() != 1 || gerenciadorPosts.getProximoId() != 1) {
+            throw new ValidacaoException("O gerador precisa de gerenciadores vazios.");
+        }
+
+        long inicio = System.nanoTime();
+        cadastrarUsuarios(gerenciadorUsuarios);
+
+        // As amizades vêm antes dos posts, para que cada post seja distribuído direto às timelines dos amigos
+        long amizades = criarAmizades(gerenciadorUsuarios);
+        criarPosts(gerenciadorUsuarios, gerenciadorPosts);
+        int posts = configuracao.posts();
+
+        long curtidas = 0;
+        long comentarios = 0;
+        if (posts > 0) {
+            popularidade = new DistribuicaoPotencia(posts, configuracao.inclinacaoCurtidas());
+            postsPorPopularidade = permutacao(posts, aleatorio);
+            curtidas = curtir(gerenciadorPosts, Math.round(posts * configuracao.curtidasPorPost()));
+            comentarios = comentar(gerenciadorUsuarios, gerenciadorPosts, Math.round(posts * configuracao.comentariosPorPost()));
+        }
+
+        int maiorGrau = 0;
+        for (int id = 1; id <= configuracao.usuarios(); id++) {
+            maiorGrau = Math.max(maiorGrau, gerenciadorUsuarios.contarAmigos(id));
+        }
+        return new Resumo(configuracao.usuarios(), amizades, maiorGrau, posts, curtidas, comentarios,
+                Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    /**
+     * Sorteia um usuário com peso pela sua atividade.
+     * @param aleatorio O gerador de números aleatórios.
+     * @return O ID do usuário.
+     */
+    int sortearUsuarioAtivo(Random aleatorio) {
+        return usuariosPorAtividade[atividade.sortear(aleatorio)];
+    }
+
+    /**
+     * Sorteia um post com peso pela sua popularidade. Só pode ser usado depois de {@link #gerar}.
+     * @param aleatorio O gerador de números aleatórios.
+     * @return O ID do post, ou 0 se a rede não tiver posts.
+     */
+    int sortearPostPopular(Random aleatorio) {
+        return postsPorPopularidade == null ? 0 : postsPorPopularidade[popularidade.sortear(aleatorio)];
+    }
+
+    private void cadastrarUsuarios(GerenciadorUsuarios gerenciadorUsuarios) {
+        for (int i = 1; i <= configuracao.usuarios(); i++) {
+            String username = "sim" + i;
+            gerenciadorUsuarios.cadastrar(new Usuario("Usuário Simulado " + i, username, username + "@simulacao.com",
+                    "123456", DATA_BASE.minusDays(DIAS).plusSeconds(i % 86400)));
+        }
+    }
+
+    /**
+     * Cria as amizades pelo modelo de Chung-Lu: cada extremidade é sorteada com peso {@code (id)^-inclinacao},
+     * então a quantidade esperada de amigos de cada usuário é proporcional ao seu peso.
+     * @return A quantidade de amizades distintas criadas.
+     */
+    private long criarAmizades(GerenciadorUsuarios gerenciadorUsuarios) {
+        if (configuracao.usuarios() < 2) {
+            return 0;
+        }
+
+        DistribuicaoPotencia pesos = new DistribuicaoPotencia(configuracao.usuarios(), configuracao.inclinacaoAmizades());
+        long sorteios = Math.round(configuracao.usuarios() * configuracao.grauMedio() / 2);
+        for (long i = 0; i < sorteios; i++) {
+            int idUsuario1 = pesos.sortear(aleatorio) + 1;
+            int idUsuario2 = pesos.sortear(aleatorio) + 1;
+            gerenciadorUsuarios.adicionarAmizade(idUsuario1, idUsuario2); // Pares repetidos não mudam nada
+        }
+
+        long extremidades = 0;
+        for (int id = 1; id <= configuracao.usuarios(); id++) {
+            extremidades += gerenciadorUsuarios.contarAmigos(id);
+        }
+        return extremidades / 2;
+    }
+
+    private void criarPosts(GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts) {
+        double intervaloMedio = Duration.ofDays(DIAS).toSeconds() / (double) Math.max(1, configuracao.posts());
+        LocalDateTime data = DATA_BASE.minusDays(DIAS);
+        Usuario autor = null;
+
+        for (int i = 0; i < configuracao.posts(); i++) {
+            if (autor != null && aleatorio.nextDouble() < configuracao.fracaoRajada()) {
+                data = data.plusSeconds(1 + aleatorio.nextInt(RAJADA_MAXIMA_SEGUNDOS)); // Continua a rajada
+            } else {
+                autor = gerenciadorUsuarios.buscarPorId(sortearUsuarioAtivo(aleatorio));
+                // Intervalos exponenciais entre posts independentes (processo de Poisson)
+                data = data.plusNanos((long) (-Math.log(1 - aleatorio.nextDouble()) * intervaloMedio * 1e9));
+            }
+
+            Post post = new Post(null, autor, "Post simulado " + i, data);
+            gerenciadorUsuarios.adicionarPost(autor, post);
+            gerenciadorPosts.criar(post);
+        }
+    }
+
+    private long curtir(GerenciadorPosts gerenciadorPosts, long quantidade) {
+        long aplicadas = 0;
+        for (long i = 0; i < quantidade; i++) {
+            try {
+                gerenciadorPosts.curtir(sortearPostPopular(aleatorio), sortearUsuarioAtivo(aleatorio));
+                aplicadas++;
+            } catch (PostException e) {
+                // O usuário sorteado já havia curtido o post
+            }
+        }
+        return aplicadas;
+    }
+
+    private long comentar(GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts, long quantidade) {
+        for (long i = 0; i < quantidade; i++) {
+            Post post = gerenciadorPosts.buscarPorId(sortearPostPopular(aleatorio));
+            Usuario autor = gerenciadorUsuarios.buscarPorId(sortearUsuarioAtivo(aleatorio));
+            Comentario comentario = new Comentario(autor, "Comentário simulado " + i, post);
+            comentario.setDataComentario(post.getDataPublicacao().plusSeconds(1 + aleatorio.nextInt(3600)));
+            gerenciadorPosts.comentar(comentario);
+        }
+        return quantidade;
+    }
+
+    /**
+     * Embaralha os IDs de 1 a {@code n} (Fisher-Yates).
+     */
+    private static int[] permutacao(int n, Random aleatorio) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            int troca = ids[i];
+            ids[i] = ids[j];
+            ids[j] = troca;
+        }
+        return ids;
+    }
+}
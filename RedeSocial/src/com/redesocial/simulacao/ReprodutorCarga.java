@@ -0,0 +1,178 @@
+package com.redesocial.simulacao;
+
+import com.redesocial.exception.PostException;
+import com.redesocial.exception.UsuarioException;
+import com.redesocial.exception.ValidacaoException;
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.modelo.Comentario;
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+import com.redesocial.util.HistogramaLatencias;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Executa um {@link RoteiroOperacoes} diretamente nos gerenciadores, a uma taxa alvo, e mede a latência de
+ * cada tipo de operação.
+ * A carga é de malha aberta: a operação {@code i} tem horário previsto {@code i / taxa} segundos após o
+ * início, e a latência é medida a partir desse horário, e não do momento em que uma thread ficou livre para
+ * executá-la. Assim, quando o sistema não acompanha a taxa, a fila que se forma aparece nas latências em vez
+ * de ser escondida (o problema da "omissão coordenada"). O tempo de serviço, medido do início ao fim da
+ * execução, é informado à parte.
+ */
+public class ReprodutorCarga {
+    private static final int TAMANHO_PAGINA = 20;
+
+    /**
+     * Resultado de uma execução.
+     * @param operacoes Quantidade de operações executadas.
+     * @param duracao Tempo total da execução.
+     * @param latencias Latência desde o horário previsto, em nanossegundos, por tipo de operação.
+     * @param servico Tempo de serviço, em nanossegundos, por tipo de operação.
+     * @param rejeitadas Operações recusadas pelos gerenciadores (por exemplo, curtida repetida), por tipo.
+     */
+    public record Resultado(int operacoes, Duration duracao, HistogramaLatencias[] latencias,
+                            HistogramaLatencias[] servico, AtomicLongArray rejeitadas) {
+
+        /**
+         * Imprime a vazão obtida e uma linha de percentis por tipo de operação, em microssegundos.
+         * @param saida Onde imprimir.
+         */
+        public void imprimir(PrintStream saida) {
+            double segundos = duracao.toNanos() / 1e9;
+            saida.printf("Operações: %d em %.1f s (%.0f op/s)%n", operacoes, segundos, operacoes / segundos);
+            saida.printf("%-12s %9s %9s %9s %9s %9s %9s %10s %9s%n", "Operação", "Total", "Rejeit.",
+                    "p50 (µs)", "p90", "p99", "p99.9", "máx", "serv. p99");
+
+            HistogramaLatencias total = new HistogramaLatencias();
+            for (TipoOperacao tipo : TipoOperacao.values()) {
+                HistogramaLatencias histograma = latencias[tipo.ordinal()];
+                if (histograma.getQuantidade() > 0) {
+                    imprimirLinha(saida, tipo.getCodigo(), histograma, rejeitadas.get(tipo.ordinal()),
+                            servico[tipo.ordinal()].percentil(0.99));
+                    total.adicionar(histograma);
+                }
+            }
+            long totalRejeitadas = 0;
+            HistogramaLatencias totalServico = new HistogramaLatencias();
+            for (int i = 0; i < servico.length; i++) {
+                totalRejeitadas += rejeitadas.get(i);
+                totalServico.adicionar(servico[i]);
+            }
+            imprimirLinha(saida, "total", total, totalRejeitadas, totalServico.percentil(0.99));
+        }
+
+        private static void imprimirLinha(PrintStream saida, String nome, HistogramaLatencias histograma,
+                                          long rejeitadas, long servicoP99) {
+            saida.printf("%-12s %9d %9d %9.1f %9.1f %9.1f %9.1f %10.1f %9.1f%n", nome, histograma.getQuantidade(),
+                    rejeitadas, histograma.percentil(0.50) / 1e3, histograma.percentil(0.90) / 1e3,
+                    histograma.percentil(0.99) / 1e3, histograma.percentil(0.999) / 1e3,
+                    histograma.getMaximo() / 1e3, servicoP99 / 1e3);
+        }
+    }
+
+    private final GerenciadorUsuarios gerenciadorUsuarios;
+    private final GerenciadorPosts gerenciadorPosts;
+
+    /**
+     * Construtor da classe.
+     * @param gerenciadorUsuarios O gerenciador de usuários.
+     * @param gerenciadorPosts O gerenciador de posts.
+     */
+    public ReprodutorCarga(GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts) {
+        this.gerenciadorUsuarios = gerenciadorUsuarios;
+        this.gerenciadorPosts = gerenciadorPosts;
+    }
+
+    /**
+     * Executa o roteiro inteiro e aguarda o seu fim.
+     * @param roteiro As operações a serem executadas, em ordem de horário previsto.
+     * @param taxa Operações por segundo; zero ou negativo executa o mais rápido possível.
+     * @param threads Quantidade de threads executando operações ao mesmo tempo.
+     * @return As latências medidas.
+     * @throws ValidacaoException Se a quantidade de threads não for positiva.
+     * @throws InterruptedException Se a thread for interrompida enquanto aguarda o fim da execução.
+     */
+    public Resultado executar(RoteiroOperacoes roteiro, double taxa, int threads) throws InterruptedException {
+        if (threads <= 0) {
+            throw new ValidacaoException("A quantidade de threads deve ser positiva.");
+        }
+
+        int tipos = TipoOperacao.values().length;
+        HistogramaLatencias[] latencias = new HistogramaLatencias[tipos];
+        HistogramaLatencias[] servico = new HistogramaLatencias[tipos];
+        for (int i = 0; i < tipos; i++) {
+            latencias[i] = new HistogramaLatencias();
+            servico[i] = new HistogramaLatencias();
+        }
+        AtomicLongArray rejeitadas = new AtomicLongArray(tipos);
+        AtomicInteger proxima = new AtomicInteger();
+        double intervalo = taxa > 0 ? TimeUnit.SECONDS.toNanos(1) / taxa : 0;
+        long inicio = System.nanoTime();
+
+        List<Thread> executores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            executores.add(Thread.ofPlatform().name("reprodutor-" + t).start(() -> {
+                int indice;
+                while ((indice = proxima.getAndIncrement()) < roteiro.tamanho()) {
+                    long previsto = inicio + (long) (indice * intervalo);
+                    long agora;
+                    while ((agora = System.nanoTime()) < previsto) {
+                        LockSupport.parkNanos(previsto - agora);
+                    }
+                    if (intervalo == 0) {
+                        previsto = agora; // Sem taxa alvo, não há horário previsto para comparar
+                    }
+
+                    TipoOperacao tipo = roteiro.tipo(indice);
+                    try {
+                        executar(tipo, roteiro.usuario(indice), roteiro.alvo(indice));
+                    } catch (ValidacaoException | UsuarioException | PostException e) {
+                        rejeitadas.incrementAndGet(tipo.ordinal());
+                    }
+                    long fim = System.nanoTime();
+                    latencias[tipo.ordinal()].registrar(fim - previsto);
+                    servico[tipo.ordinal()].registrar(fim - agora);
+                }
+            }));
+        }
+        for (Thread executor : executores) {
+            executor.join();
+        }
+
+        return new Resultado(roteiro.tamanho(), Duration.ofNanos(System.nanoTime() - inicio), latencias, servico, rejeitadas);
+    }
+
+    /**
+     * Executa uma operação pelos mesmos métodos usados pelos menus.
+     */
+    private void executar(TipoOperacao tipo, int idUsuario, int alvo) {
+        switch (tipo) {
+            case VER_FEED -> gerenciadorPosts.listarFeed(idUsuario, TAMANHO_PAGINA);
+            case VER_PERFIL -> gerenciadorPosts.listarUltimosPorUsuario(alvo, TAMANHO_PAGINA);
+            case BUSCAR_USUARIOS -> gerenciadorUsuarios.buscar("sim" + alvo, TAMANHO_PAGINA);
+            case CRIAR_POST -> {
+                Usuario autor = gerenciadorUsuarios.buscarPorId(idUsuario);
+                Post post = new Post(null, autor, "Post da simulação", LocalDateTime.now());
+                gerenciadorPosts.validarPost(post);
+                gerenciadorUsuarios.adicionarPost(autor, post);
+                gerenciadorPosts.criar(post);
+            }
+            case CURTIR -> gerenciadorPosts.curtir(alvo, idUsuario);
+            case COMENTAR -> {
+                Post post = gerenciadorPosts.buscarPorId(alvo);
+                gerenciadorPosts.comentar(new Comentario(gerenciadorUsuarios.buscarPorId(idUsuario), "Comentário da simulação", post));
+            }
+            case ADICIONAR_AMIZADE -> gerenciadorUsuarios.adicionarAmizade(idUsuario, alvo);
+        }
+    }
+}
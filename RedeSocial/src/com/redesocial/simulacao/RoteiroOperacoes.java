@@ -0,0 +1,164 @@
+package com.redesocial.simulacao;
+
+import com.redesocial.exception.ValidacaoException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Sequência de operações a serem executadas pelo {@link ReprodutorCarga}.
+ * Cada operação tem um tipo, o usuário que a executa e um alvo (o post curtido ou comentado, o perfil
+ * visitado, o usuário buscado ou o novo amigo). As operações ficam em arrays paralelos, para que roteiros
+ * com milhões de operações ocupem pouca memória.
+ *
+ * Em arquivo, cada linha tem o código do tipo, o ID do usuário e o alvo separados por espaço,
+ * por exemplo {@code curtida 42 1337}; linhas vazias ou iniciadas por {@code #} são ignoradas.
+ */
+public class RoteiroOperacoes {
+    private final TipoOperacao[] tipos;
+    private final int[] usuarios;
+    private final int[] alvos;
+
+    private RoteiroOperacoes(TipoOperacao[] tipos, int[] usuarios, int[] alvos) {
+        this.tipos = tipos;
+        this.usuarios = usuarios;
+        this.alvos = alvos;
+    }
+
+    /**
+     * Sorteia um roteiro sobre uma rede já gerada: os usuários mais ativos executam mais operações e as curtidas
+     * e os comentários se concentram nos posts mais populares.
+     * @param gerador O gerador que montou a rede.
+     * @param quantidade Quantidade de operações.
+     * @param pesos Peso de cada tipo de operação, indexado por {@link TipoOperacao#ordinal()}.
+     * @param semente Semente dos sorteios.
+     * @return O roteiro.
+     * @throws ValidacaoException Se a quantidade for negativa ou os pesos forem inválidos.
+     */
+    public static RoteiroOperacoes gerar(GeradorGrafoSocial gerador, int quantidade, int[] pesos, long semente) {
+        if (quantidade < 0) {
+            throw new ValidacaoException("Quantidade de operações não pode ser negativa.");
+        }
+        if (pesos.length != TipoOperacao.values().length || Arrays.stream(pesos).anyMatch(peso -> peso < 0)
+                || Arrays.stream(pesos).sum() == 0) {
+            throw new ValidacaoException("Os pesos das operações devem ser não negativos, com ao menos um positivo.");
+        }
+
+        int[] acumulados = new int[pesos.length];
+        for (int i = 0, total = 0; i < pesos.length; i++) {
+            total += pesos[i];
+            acumulados[i] = total;
+        }
+
+        Random aleatorio = new Random(semente);
+        boolean temPosts = gerador.getConfiguracao().posts() > 0;
+        TipoOperacao[] tipos = new TipoOperacao[quantidade];
+        int[] usuarios = new int[quantidade];
+        int[] alvos = new int[quantidade];
+
+        for (int i = 0; i < quantidade; i++) {
+            int sorteio = aleatorio.nextInt(acumulados[acumulados.length - 1]);
+            int indice = 0;
+            while (acumulados[indice] <= sorteio) {
+                indice++;
+            }
+
+            TipoOperacao tipo = TipoOperacao.values()[indice];
+            if (!temPosts && (tipo == TipoOperacao.CURTIR || tipo == TipoOperacao.COMENTAR)) {
+                tipo = TipoOperacao.VER_FEED; // Sem posts não há o que curtir ou comentar
+            }
+            tipos[i] = tipo;
+            usuarios[i] = gerador.sortearUsuarioAtivo(aleatorio);
+            alvos[i] = switch (tipo) {
+                case CURTIR, COMENTAR -> gerador.sortearPostPopular(aleatorio);
+                case VER_PERFIL, BUSCAR_USUARIOS, ADICIONAR_AMIZADE -> gerador.sortearUsuarioAtivo(aleatorio);
+                case VER_FEED, CRIAR_POST -> 0;
+            };
+        }
+        return new RoteiroOperacoes(tipos, usuarios, alvos);
+    }
+
+    /**
+     * Lê um roteiro de um arquivo.
+     * @param arquivo O arquivo do roteiro.
+     * @return O roteiro.
+     * @throws IOException Se o arquivo não puder ser lido.
+     * @throws ValidacaoException Se alguma linha for inválida.
+     */
+    public static RoteiroOperacoes ler(Path arquivo) throws IOException {
+        TipoOperacao[] tipos = new TipoOperacao[1024];
+        int[] usuarios = new int[1024];
+        int[] alvos = new int[1024];
+        int quantidade = 0;
+
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            int numero = 0;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                linha = linha.trim();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+
+                String[] partes = linha.split("\\s+");
+                TipoOperacao tipo = partes.length == 3 ? TipoOperacao.de(partes[0]) : null;
+                if (tipo == null) {
+                    throw new ValidacaoException("Linha " + numero + " do roteiro inválida: " + linha);
+                }
+                if (quantidade == tipos.length) {
+                    tipos = Arrays.copyOf(tipos, quantidade * 2);
+                    usuarios = Arrays.copyOf(usuarios, quantidade * 2);
+                    alvos = Arrays.copyOf(alvos, quantidade * 2);
+                }
+                try {
+                    usuarios[quantidade] = Integer.parseInt(partes[1]);
+                    alvos[quantidade] = Integer.parseInt(partes[2]);
+                } catch (NumberFormatException e) {
+                    throw new ValidacaoException("Linha " + numero + " do roteiro inválida: " + linha);
+                }
+                tipos[quantidade++] = tipo;
+            }
+        }
+        return new RoteiroOperacoes(Arrays.copyOf(tipos, quantidade), Arrays.copyOf(usuarios, quantidade),
+                Arrays.copyOf(alvos, quantidade));
+    }
+
+    /**
+     * Grava o roteiro em um arquivo, no formato aceito por {@link #ler(Path)}.
+     * @param arquivo O arquivo de destino.
+     * @throws IOException Se o arquivo não puder ser gravado.
+     */
+    public void gravar(Path arquivo) throws IOException {
+        try (BufferedWriter escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            escritor.write("# tipo idUsuario alvo");
+            escritor.newLine();
+            for (int i = 0; i < tipos.length; i++) {
+                escritor.write(tipos[i].getCodigo() + " " + usuarios[i] + " " + alvos[i]);
+                escritor.newLine();
+            }
+        }
+    }
+
+    public int tamanho() {
+        return tipos.length;
+    }
+
+    public TipoOperacao tipo(int indice) {
+        return tipos[indice];
+    }
+
+    public int usuario(int indice) {
+        return usuarios[indice];
+    }
+
+    public int alvo(int indice) {
+        return alvos[indice];
+    }
+}
@@ -0,0 +1,109 @@
+package com.redesocial.simulacao;
+
+import com.redesocial.exception.ValidacaoException;
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Monta uma rede sintética em memória e executa sobre ela um roteiro misto de leituras e escritas a uma taxa
+ * alvo, imprimindo o resumo da rede e os histogramas de latência por operação. Útil para dimensionar hardware
+ * sem depender de dados digitados no console.
+ *
+ * Uso: {@code java com.redesocial.simulacao.SimuladorCarga [--opcao=valor ...]}, com as opções:
+ * <ul>
+ *     <li>{@code --usuarios} (10000), {@code --grau} (20), {@code --inclinacao-amizades} (0.5),
+ *     {@code --posts} (5 por usuário), {@code --inclinacao-atividade} (0.8), {@code --rajada} (0.3),
+ *     {@code --curtidas} (3 por post), {@code --inclinacao-curtidas} (1.0), {@code --comentarios} (0.5 por post)
+ *     e {@code --semente} (42): parâmetros da rede, ver {@link ConfiguracaoGrafo};</li>
+ *     <li>{@code --operacoes} (100000), {@code --taxa} (5000 op/s; 0 para a taxa máxima) e {@code --threads} (4);</li>
+ *     <li>{@code --mistura}: pesos das operações, por exemplo {@code feed:60,curtida:30,post:10};</li>
+ *     <li>{@code --roteiro}: executa o roteiro gravado no arquivo em vez de sortear um;</li>
+ *     <li>{@code --gravar-roteiro}: grava o roteiro sorteado no arquivo, para repetir a mesma carga depois.</li>
+ * </ul>
+ */
+public class SimuladorCarga {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.out.println("Opção inválida: " + arg);
+                return;
+            }
+            opcoes.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        int usuarios = Integer.parseInt(opcoes.getOrDefault("usuarios", "10000"));
+        ConfiguracaoGrafo configuracao = new ConfiguracaoGrafo(
+                usuarios,
+                Double.parseDouble(opcoes.getOrDefault("grau", "20")),
+                Double.parseDouble(opcoes.getOrDefault("inclinacao-amizades", "0.5")),
+                Integer.parseInt(opcoes.getOrDefault("posts", String.valueOf(usuarios * 5))),
+                Double.parseDouble(opcoes.getOrDefault("inclinacao-atividade", "0.8")),
+                Double.parseDouble(opcoes.getOrDefault("rajada", "0.3")),
+                Double.parseDouble(opcoes.getOrDefault("curtidas", "3")),
+                Double.parseDouble(opcoes.getOrDefault("inclinacao-curtidas", "1.0")),
+                Double.parseDouble(opcoes.getOrDefault("comentarios", "0.5")),
+                Long.parseLong(opcoes.getOrDefault("semente", "42")));
+        int operacoes = Integer.parseInt(opcoes.getOrDefault("operacoes", "100000"));
+        double taxa = Double.parseDouble(opcoes.getOrDefault("taxa", "5000"));
+        int threads = Integer.parseInt(opcoes.getOrDefault("threads", "4"));
+
+        GerenciadorUsuarios gerenciadorUsuarios = new GerenciadorUsuarios();
+        GerenciadorPosts gerenciadorPosts = new GerenciadorPosts(gerenciadorUsuarios);
+        GeradorGrafoSocial gerador = new GeradorGrafoSocial(configuracao);
+
+        System.out.println("Gerando rede com " + configuracao.usuarios() + " usuários e " + configuracao.posts() + " posts...");
+        GeradorGrafoSocial.Resumo resumo = gerador.gerar(gerenciadorUsuarios, gerenciadorPosts);
+        System.out.printf("Rede gerada em %.1f s: %d amizades (média de %.1f amigos, máximo de %d), %d posts, %d curtidas e %d comentários.%n",
+                resumo.duracao().toMillis() / 1e3, resumo.amizades(), 2.0 * resumo.amizades() / resumo.usuarios(),
+                resumo.maiorGrau(), resumo.posts(), resumo.curtidas(), resumo.comentarios());
+
+        RoteiroOperacoes roteiro;
+        if (opcoes.containsKey("roteiro")) {
+            roteiro = RoteiroOperacoes.ler(Path.of(opcoes.get("roteiro")));
+        } else {
+            roteiro = RoteiroOperacoes.gerar(gerador, operacoes, pesos(opcoes.get("mistura")), configuracao.semente() + 1);
+        }
+        if (opcoes.containsKey("gravar-roteiro")) {
+            Path arquivo = Path.of(opcoes.get("gravar-roteiro"));
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            roteiro.gravar(arquivo);
+        }
+
+        System.out.println("Executando " + roteiro.tamanho() + " operações com " + threads + " threads"
+                + (taxa > 0 ? " a " + taxa + " op/s" : " na taxa máxima") + "...");
+        new ReprodutorCarga(gerenciadorUsuarios, gerenciadorPosts).executar(roteiro, taxa, threads).imprimir(System.out);
+    }
+
+    /**
+     * Interpreta a mistura de operações no formato {@code codigo:peso,codigo:peso}; tipos não citados ficam
+     * com peso zero. Sem mistura, usa os pesos padrão de cada tipo.
+     */
+    private static int[] pesos(String mistura) {
+        int[] pesos = new int[TipoOperacao.values().length];
+        if (mistura == null) {
+            for (TipoOperacao tipo : TipoOperacao.values()) {
+                pesos[tipo.ordinal()] = tipo.getPesoPadrao();
+            }
+            return pesos;
+        }
+
+        for (String item : mistura.split(",")) {
+            String[] partes = item.split(":");
+            TipoOperacao tipo = partes.length == 2 ? TipoOperacao.de(partes[0].trim()) : null;
+            if (tipo == null) {
+                throw new ValidacaoException("Mistura inválida: " + item);
+            }
+            pesos[tipo.ordinal()] = Integer.parseInt(partes[1].trim());
+        }
+        return pesos;
+    }
+}
@@ -0,0 +1,45 @@
+package com.redesocial.simulacao;
+
+/**
+ * Tipos de operação de um {@link RoteiroOperacoes}, com o código usado nos arquivos de roteiro e o peso de
+ * cada tipo na mistura padrão (em porcentagem), que privilegia leituras como em uma rede social real.
+ */
+public enum TipoOperacao {
+    VER_FEED("feed", 45),
+    VER_PERFIL("perfil", 15),
+    BUSCAR_USUARIOS("busca", 5),
+    CRIAR_POST("post", 10),
+    CURTIR("curtida", 18),
+    COMENTAR("comentario", 5),
+    ADICIONAR_AMIZADE("amizade", 2);
+
+    private final String codigo;
+    private final int pesoPadrao;
+
+    TipoOperacao(String codigo, int pesoPadrao) {
+        this.codigo = codigo;
+        this.pesoPadrao = pesoPadrao;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public int getPesoPadrao() {
+        return pesoPadrao;
+    }
+
+    /**
+     * Retorna o tipo correspondente a um código.
+     * @param codigo O código do tipo.
+     * @return O tipo, ou null se o código não existir.
+     */
+    public static TipoOperacao de(String codigo) {
+        for (TipoOperacao tipo : values()) {
+            if (tipo.codigo.equals(codigo)) {
+                return tipo;
+            }
+        }
+        return null;
+    }
+}
@@ -2,7 +2,10 @@ package com.redesocial.ui;
 
 import com.redesocial.exception.ValidacaoException;
 import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorSessoes;
 import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.gerenciador.Sessao;
+import com.redesocial.metricas.Metricas;
 import com.redesocial.modelo.Usuario;
 import com.redesocial.util.Validador;
 
@@ -11,11 +14,12 @@ import java.util.Scanner;
 
 /**
  * Classe responsável por exibir o menu principal da aplicação.
- * O menu permite que o usuário se registre, faça login ou encerre a aplicação.
+ * O menu permite que o usuário se registre, faça login, consulte as métricas de desempenho ou encerre a aplicação.
  */
 public class MenuPrincipal {
     private final GerenciadorUsuarios gerenciadorUsuarios;
     private final GerenciadorPosts gerenciadorPosts;
+    private final GerenciadorSessoes gerenciadorSessoes;
     private final Scanner scanner;
 
     /**
@@ -25,19 +29,44 @@ public class MenuPrincipal {
     public MenuPrincipal() {
         gerenciadorUsuarios = new GerenciadorUsuarios();
         gerenciadorPosts = new GerenciadorPosts(gerenciadorUsuarios);
+        gerenciadorSessoes = new GerenciadorSessoes(gerenciadorUsuarios);
+        scanner = new Scanner(System.in);
+    }
+
+    /**
+     * Construtor da classe MenuPrincipal que utiliza gerenciadores já existentes,
+     * permitindo que o console compartilhe os dados com outras interfaces (como a API HTTP).
+     * @param gerenciadorUsuarios Instância do gerenciador de usuários.
+     * @param gerenciadorPosts Instância do gerenciador de posts.
+     */
+    public MenuPrincipal(GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts) {
+        this(gerenciadorUsuarios, gerenciadorPosts, new GerenciadorSessoes(gerenciadorUsuarios));
+    }
+
+    /**
+     * Construtor da classe MenuPrincipal que também compartilha as sessões com outras interfaces.
+     * @param gerenciadorUsuarios Instância do gerenciador de usuários.
+     * @param gerenciadorPosts Instância do gerenciador de posts.
+     * @param gerenciadorSessoes Instância do gerenciador de sessões.
+     */
+    public MenuPrincipal(GerenciadorUsuarios gerenciadorUsuarios, GerenciadorPosts gerenciadorPosts,
+                         GerenciadorSessoes gerenciadorSessoes) {
+        this.gerenciadorUsuarios = gerenciadorUsuarios;
+        this.gerenciadorPosts = gerenciadorPosts;
+        this.gerenciadorSessoes = gerenciadorSessoes;
         scanner = new Scanner(System.in);
     }
 
     /**
      * Exibe o menu principal para o usuário e processa suas escolhas.
-     * Possui as opções de cadastro, login e saída.
+     * Possui as opções de cadastro, login, métricas e saída.
      */
     public void exibirMenu() {
         boolean continuar = true; // Controle de loop do menu
 
         while (continuar) {
             System.out.println("\n=== Menu Principal ===");
-            System.out.println("1. Cadastrar \n2. Fazer Login \n3. Sair");
+            System.out.println("1. Cadastrar \n2. Fazer Login \n3. Métricas \n4. Sair");
             System.out.print("Escolha uma opção: ");
 
             int opcao = scanner.nextInt(); // Lê a opção escolhida pelo usuário
@@ -46,12 +75,40 @@ public class MenuPrincipal {
             switch (opcao) {
                 case 1 -> cadastrarUsuario(); // Chama o método para cadastro de novo usuário
                 case 2 -> fazerLogin(); // Chama o método para login do usuário
-                case 3 -> continuar = false; // Sai do menu
+                case 3 -> exibirMetricas(); // Exibe as métricas de desempenho dos gerenciadores
+                case 4 -> continuar = false; // Sai do menu
                 default -> System.out.println("Opção inválida"); // Mensagem para entrada inválida
             }
         }
     }
 
+    /**
+     * Exibe a latência (p50, p99 e p999) e a quantidade de chamadas e falhas de cada operação dos gerenciadores.
+     * Permite zerar as métricas para acompanhar um novo período.
+     */
+    private void exibirMetricas() {
+        System.out.println("\n=== Métricas ===");
+        Metricas metricas = gerenciadorUsuarios.getMetricas();
+        if (!metricas.isAtivas()) {
+            System.out.println("As métricas estão desativadas.");
+            return;
+        }
+
+        System.out.print(metricas.getRelatorio());
+        if (gerenciadorPosts.getMetricas() != metricas) {
+            System.out.print(gerenciadorPosts.getMetricas().getRelatorio());
+        }
+
+        System.out.println("1. Zerar métricas \n2. Voltar");
+        int opcao = scanner.nextInt(); // Lê a escolha do usuário
+        scanner.nextLine(); // Limpa o buffer do scanner
+        if (opcao == 1) {
+            metricas.limpar();
+            gerenciadorPosts.getMetricas().limpar();
+            System.out.println("Métricas zeradas.");
+        }
+    }
+
     /**
      * Realiza o processo de cadastro de um novo usuário.
      * Inclui validação de entradas (nome, username, email e senha).
@@ -139,10 +196,14 @@ public class MenuPrincipal {
                 String username = obterEntradaValida("Digite seu username: ", validadorUsername());
                 String senha = obterEntradaValida("Digite sua senha: ", validadorSenha());
 
-                // Tenta autenticar o usuário
-                Usuario usuario = autenticar(username, senha);
+                // Tenta autenticar o usuário, abrindo uma sessão para ele
+                Sessao sessao = gerenciadorSessoes.entrar(username, senha);
                 logado = true; // Define o estado como logado
-                exibirMenuLogado(usuario); // Redireciona para o menu logado
+                try {
+                    exibirMenuLogado(gerenciadorUsuarios.buscarPorId(sessao.getIdUsuario())); // Redireciona para o menu logado
+                } finally {
+                    gerenciadorSessoes.sair(sessao.getToken()); // Encerra a sessão no logout
+                }
             } catch (Exception e) {
                 System.out.println(e.getMessage()); // Exibe mensagem de erro
                 System.out.println("1. Tentar novamente \n2. Voltar");
@@ -189,27 +250,4 @@ public class MenuPrincipal {
         menu.exibirMenu();
     }
 
-    /**
-     * Realiza a autenticação do usuário verificando suas credenciais.
-     * @param username Username fornecido.
-     * @param senha Senha fornecida.
-     * @return Usuário autenticado.
-     * @throws ValidacaoException Se o username ou senha forem inválidos.
-     */
-    private Usuario autenticar(String username, String senha) {
-        // Busca o usuário pelo username
-        Usuario usuario = gerenciadorUsuarios.buscarPorUsername(username); // Não usa Optional aqui, pois o método retorna Usuario ou null
-
-        // Verifica se o usuário foi encontrado
-        if (usuario == null) {
-            throw new ValidacaoException("Usuário com username " + username + " não existe");
-        }
-
-        // Verifica se a senha fornecida corresponde à senha armazenada
-        if (!usuario.getSenha().equals(senha)) {
-            throw new ValidacaoException("Senha incorreta");
-        }
-
-        return usuario; // Retorna o usuário autenticado
-    }
 }
\ No newline at end of file
@@ -4,6 +4,10 @@ import com.redesocial.exception.PostException;
 import com.redesocial.exception.UsuarioException;
 import com.redesocial.gerenciador.GerenciadorPosts;
 import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.gerenciador.PaginaBuscaPosts;
+import com.redesocial.gerenciador.PaginaComentarios;
+import com.redesocial.gerenciador.PaginaFeed;
+import com.redesocial.gerenciador.SugestaoAmizade;
 import com.redesocial.modelo.Comentario;
 import com.redesocial.modelo.Post;
 import com.redesocial.modelo.Usuario;
@@ -11,17 +15,22 @@ import com.redesocial.modelo.Usuario;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Scanner;
-import java.util.stream.Collectors;
 
 /**
  * Classe responsável por exibir o menu do usuário e gerenciar suas interações com o sistema.
  * Inclui funcionalidades como criação de posts, gerenciamento de amizades, e visualização do feed de notícias.
  */
 public class MenuUsuario {
+    private static final int TAMANHO_FEED = 20; // Quantidade de posts exibidos no feed
+    private static final int TAMANHO_COMENTARIOS = 10; // Quantidade de comentários exibidos por página
+    private static final int LIMITE_BUSCA = 20; // Quantidade máxima de usuários exibidos na busca
+    private static final int TAMANHO_LISTA_USUARIOS = 50; // Quantidade de usuários exibidos por página
+    private static final int LIMITE_SUGESTOES = 10; // Quantidade máxima de sugestões de amizade exibidas
     private Usuario usuario;
     private final GerenciadorUsuarios gerenciadorUsuarios;
     private final GerenciadorPosts gerenciadorPosts;
     private final Scanner scanner;
+    private final Renderizador renderizador; // Buffer das listagens, descarregado a cada página
 
     /**
      * Construtor da classe MenuUsuario.
@@ -35,6 +44,7 @@ public class MenuUsuario {
         this.gerenciadorUsuarios = gerenciadorUsuarios;
         this.gerenciadorPosts = gerenciadorPosts;
         this.scanner = new Scanner(System.in);
+        this.renderizador = new Renderizador(System.out);
     }
 
     /**
@@ -54,7 +64,9 @@ public class MenuUsuario {
             System.out.println("5. Ver Feed de Notícias");
             System.out.println("6. Ver Posts por Usuário");
             System.out.println("7. Lista de Usuários");
-            System.out.println("8. Logout");
+            System.out.println("8. Posts em Alta");
+            System.out.println("9. Buscar Posts");
+            System.out.println("10. Logout");
             System.out.print("Escolha uma opção: ");
 
             int opcao = scanner.nextInt(); // Lê a opção escolhida pelo usuário
@@ -69,7 +81,9 @@ public class MenuUsuario {
                 case 5 -> verFeedNoticias();
                 case 6 -> listarPorUsuario();
                 case 7 -> listarUsuarios();
-                case 8 -> {
+                case 8 -> verPostsEmAlta();
+                case 9 -> buscarPosts();
+                case 10 -> {
                     System.out.println("Desconectando...");
                     continuar = false;
                 }
@@ -86,7 +100,7 @@ public class MenuUsuario {
         String conteudo = scanner.nextLine(); // Lê o conteúdo do post
 
         // Cria uma nova instância de Post
-        Post novoPost = new Post(null, usuario, conteudo, LocalDateTime.now(), null, null);
+        Post novoPost = new Post(null, usuario, conteudo, LocalDateTime.now());
 
         try {
             // Chama a função de validação antes de tentar criar o post
@@ -116,8 +130,8 @@ public class MenuUsuario {
         System.out.println("Username: " + usuario.getUsername());
         System.out.println("Email: " + usuario.getEmail());
         System.out.println("Data de Cadastro: " + usuario.getDataCadastro());
-        System.out.println("Número de Amigos: " + usuario.getAmigos().size());
-        System.out.println("Número de Posts: " + usuario.getPosts().size());
+        System.out.println("Número de Amigos: " + gerenciadorUsuarios.contarAmigos(usuario.getId()));
+        System.out.println("Número de Posts: " + usuario.getNumeroPosts());
 
         System.out.println("\n1. Editar perfil");
         System.out.println("2. Excluir conta");
@@ -189,24 +203,14 @@ public class MenuUsuario {
         System.out.println("Digite o nome de usuário ou parte do nome para buscar:");
         String busca = scanner.nextLine(); // Lê o nome ou parte do nome para busca
 
-        // Busca usuários pelo nome (parcial)
-        List<Usuario> usuariosEncontrados = gerenciadorUsuarios.buscarPorNome(busca);
-
-        // Busca usuários pelo username (parcial) dentro do mesmo método
-        List<Usuario> usuariosPorUsername = gerenciadorUsuarios.listarUsuarios().stream()
-                .filter(u -> u.getUsername().toLowerCase().contains(busca.toLowerCase()))
-                .collect(Collectors.toList());
-
-        // Combina os resultados da busca por nome e username
-        usuariosEncontrados.addAll(usuariosPorUsername);
+        // Busca usuários pelo nome ou username (parcial), já sem repetições e ordenados por relevância
+        List<Usuario> usuariosEncontrados = gerenciadorUsuarios.buscar(busca, LIMITE_BUSCA);
 
         // Exibe os resultados
         if (!usuariosEncontrados.isEmpty()) {
-            System.out.println("Usuários encontrados:");
-            // Para evitar duplicação de usuários, podemos filtrar os repetidos (caso um usuário seja encontrado por nome e username)
-            usuariosEncontrados.stream()
-                    .distinct()
-                    .forEach(u -> System.out.println(u.getNome() + " (" + u.getUsername() + ")"));
+            renderizador.linha("Usuários encontrados:");
+            usuariosEncontrados.forEach(u -> renderizador.linha(u.getNome() + " (" + u.getUsername() + ")"));
+            renderizador.descarregar();
         } else {
             System.out.println("Nenhum usuário encontrado.");
         }
@@ -220,7 +224,8 @@ public class MenuUsuario {
         System.out.println("1. Adicionar Amigo");
         System.out.println("2. Remover Amigo");
         System.out.println("3. Listar Amigos");
-        System.out.println("4. Voltar");
+        System.out.println("4. Sugestões de Amizade");
+        System.out.println("5. Voltar");
 
         int opcao = scanner.nextInt(); // Lê a opção escolhida
         scanner.nextLine(); // Consome a quebra de linha
@@ -230,7 +235,8 @@ public class MenuUsuario {
             case 1 -> adicionarAmigo();
             case 2 -> removerAmigo();
             case 3 -> listarAmigos();
-            case 4 -> System.out.println("Voltando...");
+            case 4 -> sugerirAmigos();
+            case 5 -> System.out.println("Voltando...");
             default -> System.out.println("Opção inválida.");
         }
     }
@@ -243,7 +249,7 @@ public class MenuUsuario {
         String nomeUsuario = scanner.nextLine(); // Lê o username do amigo a ser adicionado
         Usuario amigo = gerenciadorUsuarios.buscarPorUsername(nomeUsuario); // Busca o usuário pelo username
 
-        if (amigo != null && !usuario.getAmigos().contains(amigo)) {
+        if (amigo != null && !amigo.equals(usuario) && !gerenciadorUsuarios.saoAmigos(usuario.getId(), amigo.getId())) {
             gerenciadorUsuarios.adicionarAmizade(usuario.getId(), amigo.getId()); // Adiciona a amizade
             System.out.println("Você agora é amigo de " + amigo.getNome());
         } else {
@@ -259,7 +265,7 @@ public class MenuUsuario {
         String nomeUsuario = scanner.nextLine(); // Lê o username do amigo a ser removido
         Usuario amigo = gerenciadorUsuarios.buscarPorUsername(nomeUsuario); // Busca o usuário pelo username
 
-        if (amigo != null && usuario.getAmigos().contains(amigo)) {
+        if (amigo != null && gerenciadorUsuarios.saoAmigos(usuario.getId(), amigo.getId())) {
             gerenciadorUsuarios.removerAmizade(usuario.getId(), amigo.getId()); // Remove a amizade
             System.out.println("Amigo removido com sucesso.");
         } else {
@@ -271,42 +277,85 @@ public class MenuUsuario {
      * Exibe a lista de amigos do usuário logado.
      */
     private void listarAmigos() {
+        List<Usuario> amigos = gerenciadorUsuarios.listarAmigos(usuario.getId());
+
         // Verifica se o usuário tem amigos
-        if (usuario.getAmigos().isEmpty()) {
+        if (amigos.isEmpty()) {
             System.out.println("Você ainda não tem amigos.");
         } else {
-            System.out.println("Seus amigos:");
+            renderizador.linha("Seus amigos:");
             // Percorre a lista de amigos e imprime informações de forma legível
-            for (Usuario amigo : usuario.getAmigos()) {
-                System.out.println("- " + amigo.getNome() + " (" + amigo.getUsername() + ")");
+            for (Usuario amigo : amigos) {
+                renderizador.linha("- " + amigo.getNome() + " (" + amigo.getUsername() + ")");
             }
+            renderizador.descarregar();
         }
     }
 
+    /**
+     * Exibe as sugestões de amizade do usuário logado: amigos de amigos, com a quantidade de amigos em comum.
+     */
+    private void sugerirAmigos() {
+        List<SugestaoAmizade> sugestoes = gerenciadorUsuarios.sugerirAmigos(usuario.getId(), LIMITE_SUGESTOES);
+        if (sugestoes.isEmpty()) {
+            System.out.println("Nenhuma sugestão de amizade no momento.");
+            return;
+        }
+
+        renderizador.linha("Pessoas que você talvez conheça:");
+        for (SugestaoAmizade sugestao : sugestoes) {
+            try {
+                Usuario sugerido = gerenciadorUsuarios.buscarPorId(sugestao.idUsuario());
+                renderizador.linha("- " + sugerido.getNome() + " (" + sugerido.getUsername() + "), "
+                        + sugestao.amigosEmComum() + (sugestao.amigosEmComum() == 1 ? " amigo" : " amigos") + " em comum");
+            } catch (UsuarioException e) {
+                // Excluído depois do cálculo das sugestões
+            }
+        }
+        renderizador.descarregar();
+    }
+
     /**
      * Exibe o feed de notícias do usuário, incluindo posts de amigos e do próprio usuário.
+     * Os posts são exibidos em páginas, todas consultadas pelo mesmo cursor (data, ID), para que a passagem de
+     * uma página para a seguinte não pule nem repita posts.
      */
     private void verFeedNoticias() {
         try {
             System.out.println("\n=== Feed de Notícias ===");
 
-            // Filtra os posts de amigos ou do próprio usuário, ordenados pela data de publicação
-            List<Post> posts = gerenciadorPosts.listarPosts().stream()
-                    .filter(post -> usuario.getAmigos().contains(post.getAutor()) || post.getAutor().equals(usuario))
-                    .sorted((p1, p2) -> p2.getDataPublicacao().compareTo(p1.getDataPublicacao()))
-                    .toList();
+            // Obtém os posts mais recentes de amigos ou do próprio usuário
+            PaginaFeed pagina = gerenciadorPosts.consultarFeed(usuario.getId(), TAMANHO_FEED, null);
+
+            if (pagina.getPosts().isEmpty()) {
+                System.out.println("Não há posts no feed de notícias.");
+                return;
+            }
 
-            if (!posts.isEmpty()) {
-                posts.forEach(post -> System.out.println(post)); // Exibe os posts do feed
-                System.out.println("Digite o número do post para interagir ou 0 para voltar: ");
+            while (true) {
+                renderizador.posts(pagina.getPosts()); // Exibe os posts da página de uma só vez
+                renderizador.linha("Digite o número do post para interagir, -1 para ver mais posts ou 0 para voltar: ");
+                renderizador.descarregar();
                 int opcao = scanner.nextInt(); // Lê a interação do usuário
                 scanner.nextLine();
 
-                if (opcao != 0) {
-                    interagirPost(opcao); // Chama o método para interagir com um post
+                if (opcao == -1) {
+                    // Consulta a próxima página a partir do cursor devolvido pela página exibida
+                    if (!pagina.temProximaPagina()) {
+                        System.out.println("Não há mais posts no feed de notícias.");
+                        return;
+                    }
+                    pagina = gerenciadorPosts.consultarFeed(usuario.getId(), TAMANHO_FEED, pagina.getProximoCursor());
+                    if (pagina.getPosts().isEmpty()) {
+                        System.out.println("Não há mais posts no feed de notícias.");
+                        return;
+                    }
+                } else {
+                    if (opcao != 0) {
+                        interagirPost(opcao); // Chama o método para interagir com um post
+                    }
+                    return;
                 }
-            } else {
-                System.out.println("Não há posts no feed de notícias.");
             }
 
         } catch (Exception e) {
@@ -315,14 +364,78 @@ public class MenuUsuario {
     }
 
     /**
-     * Lista os posts de um usuário com base no username fornecido.
+     * Exibe os posts com mais curtidas e comentários recentes e permite interagir com um deles.
+     */
+    private void verPostsEmAlta() {
+        try {
+            System.out.println("\n=== Posts em Alta ===");
+
+            List<Post> posts = gerenciadorPosts.listarEmAlta(TAMANHO_FEED);
+            if (posts.isEmpty()) {
+                System.out.println("Não há posts em alta no momento.");
+                return;
+            }
+
+            renderizador.posts(posts);
+            renderizador.linha("Digite o número do post para interagir ou 0 para voltar: ");
+            renderizador.descarregar();
+            int opcao = scanner.nextInt();
+            scanner.nextLine();
+            if (opcao != 0) {
+                interagirPost(opcao);
+            }
+        } catch (Exception e) {
+            System.out.println("Erro: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Busca posts pelo conteúdo, com #hashtags, @menções e "OU" entre alternativas, exibindo uma página por vez.
+     */
+    private void buscarPosts() {
+        try {
+            System.out.print("Digite os termos da busca (ex.: #ferias praia OU @maria): ");
+            String consulta = scanner.nextLine();
+
+            PaginaBuscaPosts pagina = gerenciadorPosts.buscar(consulta, TAMANHO_FEED, 0);
+            if (pagina.getPosts().isEmpty()) {
+                System.out.println("Nenhum post encontrado.");
+                return;
+            }
+
+            while (true) {
+                renderizador.posts(pagina.getPosts());
+                renderizador.linha(pagina.temProximaPagina()
+                        ? "Digite o número do post para interagir, -1 para ver mais resultados ou 0 para voltar: "
+                        : "Digite o número do post para interagir ou 0 para voltar: ");
+                renderizador.descarregar();
+                int opcao = scanner.nextInt();
+                scanner.nextLine();
+
+                if (opcao == -1 && pagina.temProximaPagina()) {
+                    pagina = gerenciadorPosts.buscar(consulta, TAMANHO_FEED, pagina.getProximoCursor());
+                } else {
+                    if (opcao > 0) {
+                        interagirPost(opcao);
+                    }
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("Erro: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lista os posts de um usuário com base no username fornecido, dos mais recentes para os mais antigos,
+     * uma página por vez.
      * Permite buscar posts ou retornar ao menu anterior digitando "0".
      */
     private void listarPorUsuario() {
         while (true) {
             try {
                 System.out.print("Digite o username do usuário (ou 0 para voltar): ");
-                String username = new java.util.Scanner(System.in).nextLine();
+                String username = scanner.nextLine();
 
                 if (username.equals("0")) {
                     System.out.println("Voltando ao menu principal...");
@@ -331,14 +444,32 @@ public class MenuUsuario {
 
                 Usuario usuario = gerenciadorUsuarios.buscarPorUsername(username);
                 if (usuario != null) {
-                    List<Post> posts = gerenciadorPosts.listarPorUsuario(usuario.getId());
-                    if (!posts.isEmpty()) {
-                        for (Post post : posts) {
-                            System.out.println(post);
-                        }
-                    } else {
+                    exibirRelacao(usuario);
+                    List<Post> posts = gerenciadorPosts.listarUltimosPorUsuario(usuario.getId(), TAMANHO_FEED);
+                    if (posts.isEmpty()) {
                         System.out.println("Este usuário não possui posts.");
                     }
+                    while (!posts.isEmpty()) {
+                        renderizador.posts(posts);
+                        if (posts.size() < TAMANHO_FEED) {
+                            renderizador.descarregar();
+                            break;
+                        }
+                        renderizador.linha("Digite -1 para ver mais posts ou 0 para buscar outro usuário: ");
+                        renderizador.descarregar();
+                        int opcao = scanner.nextInt();
+                        scanner.nextLine();
+                        if (opcao != -1) {
+                            break;
+                        }
+
+                        // Consulta a próxima página a partir do último post exibido
+                        int antesDe = posts.get(posts.size() - 1).getId();
+                        posts = gerenciadorPosts.listarUltimosPorUsuario(usuario.getId(), TAMANHO_FEED, antesDe);
+                        if (posts.isEmpty()) {
+                            System.out.println("Este usuário não possui mais posts.");
+                        }
+                    }
                 } else {
                     System.out.println("Username inválido. Tente novamente.");
                 }
@@ -349,28 +480,77 @@ public class MenuUsuario {
     }
 
     /**
-     * Lista todos os usuários cadastrados no sistema, com exceção caso não haja usuários.
+     * Exibe a relação do usuário logado com outro usuário: se são amigos e quantos amigos têm em comum,
+     * com os primeiros deles.
+     * @param outro O usuário cujo perfil está sendo visto.
+     */
+    private void exibirRelacao(Usuario outro) {
+        if (outro.getId().equals(usuario.getId())) {
+            return;
+        }
+
+        int emComum = gerenciadorUsuarios.contarAmigosEmComum(usuario.getId(), outro.getId());
+        StringBuilder linha = new StringBuilder(outro.getNome()).append(" (").append(outro.getUsername()).append(')')
+                .append(gerenciadorUsuarios.saoAmigos(usuario.getId(), outro.getId()) ? " | Amigos" : " | Não são amigos")
+                .append(" | ").append(emComum).append(emComum == 1 ? " amigo em comum" : " amigos em comum");
+        if (emComum > 0) {
+            List<Usuario> primeiros = gerenciadorUsuarios.consultarAmigosEmComum(usuario.getId(), outro.getId(), 0,
+                    Renderizador.PREVIA_AMIGOS).getAmigos();
+            linha.append(": ");
+            for (int i = 0; i < primeiros.size(); i++) {
+                linha.append(i > 0 ? ", " : "").append(primeiros.get(i).getUsername());
+            }
+            if (emComum > primeiros.size()) {
+                linha.append(" e mais ").append(emComum - primeiros.size());
+            }
+        }
+        renderizador.linha(linha.toString());
+        renderizador.descarregar();
+    }
+
+    /**
+     * Lista os usuários cadastrados no sistema em páginas, com uma prévia dos amigos de cada um.
+     * Cada página é consultada a partir do último usuário exibido, sem carregar a lista inteira.
      * @throws UsuarioException Se não houver usuários cadastrados.
      */
     public void listarUsuarios() {
         try {
-            List<Usuario> listaUsuarios = gerenciadorUsuarios.listarUsuarios();
-            if (listaUsuarios.isEmpty()) {
+            List<Usuario> pagina = gerenciadorUsuarios.consultarUsuarios(0, TAMANHO_LISTA_USUARIOS);
+            if (pagina.isEmpty()) {
                 throw new UsuarioException("Nenhum usuário cadastrado.");
             }
 
-            System.out.println("\n=== Lista de Usuários ===");
-            for (Usuario usuario : listaUsuarios) {
-                System.out.println("Usuário " + usuario.getId() + ": " + usuario.getNome() + " (" + usuario.getUsername() + ")");
-            }
+            renderizador.linha("\n=== Lista de Usuários ===");
+            while (true) {
+                for (Usuario usuario : pagina) {
+                    renderizador.usuario(usuario, gerenciadorUsuarios.listarAmigos(usuario.getId(), Renderizador.PREVIA_AMIGOS),
+                            gerenciadorUsuarios.contarAmigos(usuario.getId()));
+                }
+                if (pagina.size() < TAMANHO_LISTA_USUARIOS) {
+                    renderizador.descarregar();
+                    return;
+                }
 
+                renderizador.linha("Digite -1 para ver mais usuários ou 0 para voltar: ");
+                renderizador.descarregar();
+                int opcao = scanner.nextInt();
+                scanner.nextLine();
+                if (opcao != -1) {
+                    return;
+                }
+                pagina = gerenciadorUsuarios.consultarUsuarios(pagina.get(pagina.size() - 1).getId(), TAMANHO_LISTA_USUARIOS);
+                if (pagina.isEmpty()) {
+                    System.out.println("Não há mais usuários.");
+                    return;
+                }
+            }
         } catch (UsuarioException e) {
             System.out.println("Erro: " + e.getMessage());
         }
     }
 
     /**
-     * Permite ao usuário interagir com uma postagem específica (curtir ou comentar).
+     * Permite ao usuário interagir com uma postagem específica (curtir, comentar ou ver os comentários).
      * @param id Identificador do post a ser interagido.
      */
     private void interagirPost(int id) {
@@ -382,7 +562,7 @@ public class MenuUsuario {
             }
 
             System.out.println("Interagindo com o post #" + id);
-            System.out.println("1. Curtir\n2. Descurtir\n3. Comentar\n4. Voltar");
+            System.out.println("1. Curtir\n2. Descurtir\n3. Comentar\n4. Ver Comentários\n5. Voltar");
             int opcao = scanner.nextInt(); // Lê a opção escolhida
             scanner.nextLine();
 
@@ -391,7 +571,7 @@ public class MenuUsuario {
                 case 1 -> {
                     try {
                         // Chama o método curtir e captura a exceção, se houver
-                        gerenciadorPosts.curtir(usuario.getId(), post.getId());
+                        gerenciadorPosts.curtir(post.getId(), usuario.getId());
                         System.out.println("Você curtiu o post!");
                     } catch (PostException e) {
                         System.out.println(e.getMessage());
@@ -400,7 +580,7 @@ public class MenuUsuario {
                 case 2 -> {
                     try {
                         // Chama o método descurtir e captura a exceção, se houver
-                        gerenciadorPosts.descurtir(usuario.getId(), post.getId());
+                        gerenciadorPosts.descurtir(post.getId(), usuario.getId());
                         System.out.println("Você descurtiu o post.");
                     } catch (PostException e) {
                         System.out.println(e.getMessage());
@@ -413,7 +593,8 @@ public class MenuUsuario {
                     gerenciadorPosts.comentar(comentario); // Adiciona o comentário
                     System.out.println("Comentário adicionado com sucesso!");
                 }
-                case 4 -> System.out.println("Voltando...");
+                case 4 -> verComentarios(post);
+                case 5 -> System.out.println("Voltando...");
                 default -> System.out.println("Opção inválida.");
             }
         } catch (Exception e) {
@@ -421,6 +602,36 @@ public class MenuUsuario {
         }
     }
 
+    /**
+     * Exibe os comentários de um post, dos mais recentes para os mais antigos, em páginas.
+     * @param post O post cujos comentários serão exibidos.
+     */
+    private void verComentarios(Post post) {
+        PaginaComentarios pagina = gerenciadorPosts.consultarComentarios(post.getId(), TAMANHO_COMENTARIOS, 0);
+        if (pagina.getComentarios().isEmpty()) {
+            System.out.println("Este post ainda não tem comentários.");
+            return;
+        }
+
+        System.out.println("\n=== Comentários (" + gerenciadorPosts.contarComentarios(post.getId()) + ") ===");
+        while (true) {
+            pagina.getComentarios().forEach(renderizador::comentario); // Exibe os comentários da página
+            if (!pagina.temProximaPagina()) {
+                renderizador.descarregar();
+                return;
+            }
+
+            renderizador.linha("Digite -1 para ver comentários mais antigos ou 0 para voltar: ");
+            renderizador.descarregar();
+            int opcao = scanner.nextInt();
+            scanner.nextLine();
+            if (opcao != -1) {
+                return;
+            }
+            pagina = gerenciadorPosts.consultarComentarios(post.getId(), TAMANHO_COMENTARIOS, pagina.getProximoCursor());
+        }
+    }
+
     /**
      * Realiza a exclusão da conta do usuário logado.
      * Solicita confirmação antes de proceder com a exclusão e informa o resultado da operação.
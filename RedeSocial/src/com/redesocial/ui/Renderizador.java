@@ -0,0 +1,119 @@
+package com.redesocial.ui;
+
+import com.redesocial.modelo.Comentario;
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+
+/**
+ * Escreve as listagens do console (posts, comentários e usuários) em um buffer reaproveitado.
+ * Os campos são anexados direto ao buffer, sem montar uma string por objeto, e as datas usam o formatador
+ * compartilhado {@link Post#FORMATO_DATA}. Nada chega ao console até {@link #descarregar()}, chamado uma vez
+ * por página, antes de pedir a próxima opção; assim o custo acompanha o que é exibido, e não uma escrita por linha.
+ */
+class Renderizador {
+    static final int PREVIA_AMIGOS = 3; // Quantidade de amigos exibidos na prévia de um usuário
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    private final PrintWriter saida;
+
+    /**
+     * Construtor da classe.
+     * @param console O console onde as listagens são escritas, cujo charset é respeitado.
+     */
+    Renderizador(PrintStream console) {
+        this.saida = new PrintWriter(new BufferedWriter(new OutputStreamWriter(console, console.charset()), TAMANHO_BUFFER), false);
+    }
+
+    /**
+     * Escreve uma linha de texto.
+     * @param texto O texto.
+     */
+    void linha(String texto) {
+        saida.append(texto).append('\n');
+    }
+
+    /**
+     * Escreve um post, no mesmo formato de {@link Post#toString()}.
+     * @param post O post.
+     */
+    void post(Post post) {
+        saida.append("ID: ").append(String.valueOf(post.getId())).append('\n')
+                .append("Autor: ").append(post.getAutor().getNome())
+                .append(" (").append(post.getAutor().getUsername()).append(")\n")
+                .append("Conteúdo: ").append(post.getConteudo()).append('\n')
+                .append("Data de Publicação: ");
+        data(post.getDataPublicacao());
+        saida.append("\nCurtidas: ").append(String.valueOf(post.getNumeroCurtidas())).append('\n')
+                .append("Comentários: ").append(String.valueOf(post.getNumeroComentarios())).append("\n\n");
+    }
+
+    /**
+     * Escreve uma página de posts.
+     * @param posts Os posts da página.
+     */
+    void posts(List<Post> posts) {
+        for (Post post : posts) {
+            post(post);
+        }
+    }
+
+    /**
+     * Escreve um comentário, no mesmo formato de {@link Comentario#toString()}.
+     * @param comentario O comentário.
+     */
+    void comentario(Comentario comentario) {
+        saida.append("ID: ").append(String.valueOf(comentario.getId())).append('\n')
+                .append("Autor: ").append(comentario.getAutor().getNome())
+                .append(" (").append(comentario.getAutor().getUsername()).append(")\n")
+                .append("Conteúdo: ").append(comentario.getConteudo()).append('\n')
+                .append("Data do Comentário: ");
+        data(comentario.getDataComentario());
+        saida.append("\n\n");
+    }
+
+    /**
+     * Escreve a linha de um usuário em uma listagem, com a prévia dos seus amigos.
+     * @param usuario O usuário.
+     * @param previaAmigos Até {@link #PREVIA_AMIGOS} amigos do usuário.
+     * @param totalAmigos A quantidade total de amigos, para indicar quantos ficaram de fora da prévia.
+     */
+    void usuario(Usuario usuario, List<Usuario> previaAmigos, int totalAmigos) {
+        saida.append("Usuário ").append(String.valueOf(usuario.getId())).append(": ")
+                .append(usuario.getNome()).append(" (").append(usuario.getUsername()).append(')');
+        if (totalAmigos > 0) {
+            saida.append(" | Amigos: ");
+            for (int i = 0; i < previaAmigos.size(); i++) {
+                if (i > 0) {
+                    saida.append(", ");
+                }
+                saida.append(previaAmigos.get(i).getUsername());
+            }
+            if (totalAmigos > previaAmigos.size()) {
+                saida.append(" e mais ").append(String.valueOf(totalAmigos - previaAmigos.size()));
+            }
+        }
+        saida.append('\n');
+    }
+
+    /**
+     * Envia ao console tudo o que foi escrito desde a última chamada.
+     */
+    void descarregar() {
+        saida.flush();
+    }
+
+    private void data(TemporalAccessor data) {
+        if (data == null) {
+            saida.append("N/A");
+        } else {
+            Post.FORMATO_DATA.formatTo(data, saida);
+        }
+    }
+}
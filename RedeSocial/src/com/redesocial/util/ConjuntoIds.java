@@ -0,0 +1,247 @@
+package com.redesocial.util;
+
+import com.redesocial.exception.ValidacaoException;
+
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Conjunto compacto de IDs inteiros positivos (por exemplo, os usuários que curtiram um post).
+ * Os IDs ficam em uma tabela hash de endereçamento aberto com {@code int}s. Quando o conjunto tem pelo menos
+ * {@value #MINIMO_PARA_BITS} IDs e é denso o bastante para que um mapa de bits até o maior ID ocupe menos que
+ * 4 bytes por ID, ele é convertido para {@link BitSet}. A decisão é refeita a cada inserção de um ID maior e a
+ * cada remoção: se o mapa de bits deixar de compensar (por exemplo, um ID muito alto em um conjunto pequeno),
+ * o conjunto volta para a tabela hash. Na remoção há uma folga de 2 vezes, para não alternar a cada operação.
+ * Inserção, remoção, consulta e contagem são feitas em tempo constante (amortizado nas conversões).
+ */
+public class ConjuntoIds {
+    private static final int[] VAZIO = new int[0];
+    private static final int CAPACIDADE_INICIAL = 4;
+    private static final int MINIMO_PARA_BITS = 64; // Conjuntos menores ficam sempre na tabela hash
+
+    private int[] tabela = VAZIO; // Tabela hash; 0 indica posição livre
+    private BitSet bits; // Mapa de bits, usado após a conversão
+    private int tamanho;
+    private int maiorId;
+
+    /**
+     * Adiciona um ID ao conjunto.
+     * @param id O ID a ser adicionado.
+     * @return true se o ID foi adicionado, false se já estava presente.
+     * @throws ValidacaoException Se o ID não for positivo.
+     */
+    public boolean adicionar(int id) {
+        if (id <= 0) {
+            throw new ValidacaoException("ID deve ser positivo.");
+        }
+
+        if (bits != null) {
+            if (bits.get(id)) {
+                return false;
+            }
+            if (compensaBits(Math.max(id, bits.length() - 1), tamanho + 1)) {
+                bits.set(id);
+                tamanho++;
+                return true;
+            }
+            converterParaTabela(); // O ID esticaria o mapa de bits além do que a tabela ocuparia
+        }
+
+        if (contem(id)) {
+            return false;
+        }
+        if ((tamanho + 1) * 2 > tabela.length) {
+            redimensionar(Math.max(CAPACIDADE_INICIAL, tabela.length * 2));
+        }
+        inserirNaTabela(tabela, id);
+        tamanho++;
+        maiorId = Math.max(maiorId, id);
+
+        if (compensaBits(maiorId, tamanho)) {
+            converterParaBits();
+        }
+        return true;
+    }
+
+    /**
+     * Remove um ID do conjunto.
+     * @param id O ID a ser removido.
+     * @return true se o ID foi removido, false se não estava presente.
+     */
+    public boolean remover(int id) {
+        if (id <= 0) {
+            return false;
+        }
+
+        if (bits != null) {
+            if (!bits.get(id)) {
+                return false;
+            }
+            bits.clear(id);
+            tamanho--;
+            if (tamanho < MINIMO_PARA_BITS || (long) bits.length() / 8 > 2L * tamanho * Integer.BYTES) {
+                converterParaTabela();
+            }
+            return true;
+        }
+
+        if (tabela.length == 0) {
+            return false;
+        }
+        int posicao = localizar(id);
+        if (tabela[posicao] != id) {
+            return false;
+        }
+
+        // Remoção com deslocamento para trás, mantendo as sequências de sondagem válidas
+        int mascara = tabela.length - 1;
+        int livre = posicao;
+        int atual = (livre + 1) & mascara;
+        while (tabela[atual] != 0) {
+            int ideal = posicaoIdeal(tabela[atual], mascara);
+            if (((atual - ideal) & mascara) >= ((atual - livre) & mascara)) {
+                tabela[livre] = tabela[atual];
+                livre = atual;
+            }
+            atual = (atual + 1) & mascara;
+        }
+        tabela[livre] = 0;
+        tamanho--;
+        return true;
+    }
+
+    /**
+     * Verifica se o ID pertence ao conjunto.
+     * @param id O ID a ser verificado.
+     * @return true se o ID estiver presente.
+     */
+    public boolean contem(int id) {
+        if (id <= 0) {
+            return false;
+        }
+        if (bits != null) {
+            return bits.get(id);
+        }
+        return tabela.length > 0 && tabela[localizar(id)] == id;
+    }
+
+    /**
+     * Retorna a quantidade de IDs do conjunto.
+     * @return O tamanho do conjunto.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Percorre todos os IDs do conjunto.
+     * @param acao Ação executada para cada ID.
+     */
+    public void paraCada(IntConsumer acao) {
+        if (bits != null) {
+            bits.stream().forEach(acao);
+            return;
+        }
+        for (int id : tabela) {
+            if (id != 0) {
+                acao.accept(id);
+            }
+        }
+    }
+
+    /**
+     * Percorre os IDs do conjunto enquanto a ação pedir para continuar.
+     * @param acao Ação executada para cada ID; devolve false para interromper o percurso.
+     * @return true se todos os IDs foram percorridos, false se o percurso foi interrompido.
+     */
+    public boolean paraCadaEnquanto(IntPredicate acao) {
+        if (bits != null) {
+            for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+                if (!acao.test(id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int id : tabela) {
+            if (id != 0 && !acao.test(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna os IDs do conjunto em um array.
+     * @return Array com os IDs, sem ordem definida.
+     */
+    public int[] paraArray() {
+        int[] ids = new int[tamanho];
+        int[] posicao = {0};
+        paraCada(id -> ids[posicao[0]++] = id);
+        return ids;
+    }
+
+    private int localizar(int id) {
+        int mascara = tabela.length - 1;
+        int posicao = posicaoIdeal(id, mascara);
+        while (tabela[posicao] != 0 && tabela[posicao] != id) {
+            posicao = (posicao + 1) & mascara;
+        }
+        return posicao;
+    }
+
+    private static int posicaoIdeal(int id, int mascara) {
+        int hash = id * 0x9E3779B9; // Espalha IDs sequenciais pela tabela
+        return (hash ^ (hash >>> 16)) & mascara;
+    }
+
+    private static void inserirNaTabela(int[] destino, int id) {
+        int mascara = destino.length - 1;
+        int posicao = posicaoIdeal(id, mascara);
+        while (destino[posicao] != 0) {
+            posicao = (posicao + 1) & mascara;
+        }
+        destino[posicao] = id;
+    }
+
+    private void redimensionar(int capacidade) {
+        int[] nova = new int[capacidade];
+        for (int id : tabela) {
+            if (id != 0) {
+                inserirNaTabela(nova, id);
+            }
+        }
+        tabela = nova;
+    }
+
+    /**
+     * Indica se um mapa de bits até o maior ID ocupa menos memória que 4 bytes por ID.
+     */
+    private static boolean compensaBits(int maiorId, int tamanho) {
+        return tamanho >= MINIMO_PARA_BITS && (long) maiorId / 8 <= (long) tamanho * Integer.BYTES;
+    }
+
+    private void converterParaTabela() {
+        int capacidade = CAPACIDADE_INICIAL;
+        while (capacidade < (tamanho + 1) * 2) {
+            capacidade <<= 1;
+        }
+        int[] nova = new int[capacidade];
+        bits.stream().forEach(id -> inserirNaTabela(nova, id));
+        maiorId = Math.max(0, bits.length() - 1);
+        tabela = tamanho == 0 ? VAZIO : nova;
+        bits = null;
+    }
+
+    private void converterParaBits() {
+        bits = new BitSet(maiorId + 1);
+        for (int id : tabela) {
+            if (id != 0) {
+                bits.set(id);
+            }
+        }
+        tabela = VAZIO;
+    }
+}
\ No newline at end of file
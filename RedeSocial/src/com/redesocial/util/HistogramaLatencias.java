@@ -0,0 +1,133 @@
+package com.redesocial.util;
+
+import com.redesocial.exception.ValidacaoException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências com faixas logarítmicas, no estilo do HdrHistogram.
+ * Valores até 63 ficam em faixas exatas; acima disso, cada potência de 2 é dividida em 32 faixas iguais,
+ * o que limita o erro relativo de cada valor a cerca de 3%. Todo o intervalo de {@code long} cabe em
+ * menos de 2 mil contadores, então o registro é O(1), não aloca memória e não depende da quantidade de amostras.
+ * Pode ser usado por várias threads ao mesmo tempo sem travas; a quantidade e a soma usam {@link LongAdder},
+ * que não disputa a mesma linha de cache entre threads.
+ */
+public class HistogramaLatencias {
+    private static final int BITS_SUBFAIXA = 5;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA; // Faixas por potência de 2
+    private static final int FAIXAS = (64 - BITS_SUBFAIXA) * SUBFAIXAS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+    private final LongAdder quantidade = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra um valor (por exemplo, uma latência em nanossegundos).
+     * @param valor O valor a ser registrado.
+     * @throws ValidacaoException Se o valor for negativo.
+     */
+    public void registrar(long valor) {
+        if (valor < 0) {
+            throw new ValidacaoException("Valor não pode ser negativo.");
+        }
+        contagens.incrementAndGet(faixa(valor));
+        quantidade.increment();
+        soma.add(valor);
+        if (valor > maximo.get()) { // Evita escrever no máximo compartilhado quando ele não muda
+            maximo.accumulateAndGet(valor, Math::max);
+        }
+    }
+
+    /**
+     * Soma ao histograma os valores registrados em outro.
+     * @param outro O histograma cujos valores serão somados.
+     */
+    public void adicionar(HistogramaLatencias outro) {
+        for (int i = 0; i < FAIXAS; i++) {
+            long contagem = outro.contagens.get(i);
+            if (contagem > 0) {
+                contagens.addAndGet(i, contagem);
+            }
+        }
+        quantidade.add(outro.quantidade.sum());
+        soma.add(outro.soma.sum());
+        maximo.accumulateAndGet(outro.maximo.get(), Math::max);
+    }
+
+    public long getQuantidade() {
+        return quantidade.sum();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Retorna a média exata dos valores registrados.
+     * @return A média, ou 0 se não houver valores.
+     */
+    public double getMedia() {
+        long total = quantidade.sum();
+        return total == 0 ? 0 : soma.sum() / (double) total;
+    }
+
+    /**
+     * Retorna o valor abaixo do qual está a fração informada dos registros, com a precisão das faixas.
+     * @param percentil A fração dos registros, entre 0 e 1 (por exemplo, 0.99 para o p99).
+     * @return O maior valor da faixa que contém o percentil, limitado ao máximo registrado, ou 0 se não houver valores.
+     * @throws ValidacaoException Se o percentil estiver fora do intervalo de 0 a 1.
+     */
+    public long percentil(double percentil) {
+        if (percentil < 0 || percentil > 1) {
+            throw new ValidacaoException("Percentil deve estar entre 0 e 1.");
+        }
+
+        long total = quantidade.sum();
+        if (total == 0) {
+            return 0;
+        }
+
+        long alvo = Math.max(1, (long) Math.ceil(percentil * total));
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Zera o histograma. Registros feitos ao mesmo tempo podem ser parcialmente descartados.
+     */
+    public void limpar() {
+        for (int i = 0; i < FAIXAS; i++) {
+            contagens.set(i, 0);
+        }
+        quantidade.reset();
+        soma.reset();
+        maximo.set(0);
+    }
+
+    private static int faixa(long valor) {
+        if (valor < 2 * SUBFAIXAS) {
+            return (int) valor;
+        }
+        // O expoente escolhe a potência de 2 e os 5 bits seguintes ao mais significativo, a faixa dentro dela
+        int deslocamento = 63 - Long.numberOfLeadingZeros(valor) - BITS_SUBFAIXA;
+        return (deslocamento + 1) * SUBFAIXAS + (int) (valor >>> deslocamento) - SUBFAIXAS;
+    }
+
+    private static long limiteSuperior(int faixa) {
+        if (faixa < 2 * SUBFAIXAS) {
+            return faixa;
+        }
+        int deslocamento = faixa / SUBFAIXAS - 1;
+        long mantissa = faixa % SUBFAIXAS + SUBFAIXAS;
+        return ((mantissa + 1) << deslocamento) - 1;
+    }
+}
@@ -0,0 +1,35 @@
+package com.redesocial.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Utilitário para normalizar textos antes de indexá-los ou compará-los em buscas.
+ * Remove acentos e diferenças entre maiúsculas e minúsculas, de modo que "José" e "jose" sejam equivalentes.
+ */
+public final class Normalizador {
+
+    private Normalizador() {
+    }
+
+    /**
+     * Normaliza um texto, removendo acentos, convertendo para minúsculas e ignorando espaços nas bordas.
+     * @param texto O texto a ser normalizado.
+     * @return O texto normalizado, ou uma string vazia se for nulo.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+
+        String decomposto = Normalizer.normalize(texto.trim(), Normalizer.Form.NFD);
+        StringBuilder resultado = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) { // Descarta os acentos separados da letra
+                resultado.append(c);
+            }
+        }
+        return resultado.toString().toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.redesocial.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara dois arquivos de resultados do JMH em CSV (uma execução de base e a atual), métrica a métrica.
+ * São comparados o resultado principal de cada benchmark e a alocação por operação ({@code gc.alloc.rate.norm});
+ * as demais métricas de GC dependem da duração da medição e variam demais entre execuções.
+ * Uma diferença só é considerada regressão ou melhoria quando é maior que a soma das margens de erro das
+ * duas medições e que {@value #LIMIAR_PERCENTUAL}% do valor de base. Para o tempo por operação e para a
+ * alocação, menor é melhor; para a vazão, maior.
+ *
+ * <p>Uso: {@code java -cp benchmarks.jar com.redesocial.benchmark.CompararResultados base.csv atual.csv}</p>
+ */
+public class CompararResultados {
+    static final double LIMIAR_PERCENTUAL = 5.0;
+    private static final String PREFIXO = "com.redesocial.benchmark.";
+    private static final String ALOCACAO = ":gc.alloc.rate.norm";
+
+    private record Medicao(String modo, double valor, double erro, String unidade) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CompararResultados <base.csv> <atual.csv>");
+            System.exit(2);
+        }
+        int regressoes = comparar(Path.of(args[0]), Path.of(args[1]), System.out);
+        System.exit(regressoes > 0 ? 1 : 0);
+    }
+
+    /**
+     * Compara os resultados e imprime uma linha por métrica presente nos dois arquivos.
+     * @param base O arquivo da execução de base.
+     * @param atual O arquivo da execução atual.
+     * @param saida Onde imprimir a comparação.
+     * @return A quantidade de regressões encontradas.
+     * @throws IOException Se algum dos arquivos não puder ser lido.
+     */
+    static int comparar(Path base, Path atual, PrintStream saida) throws IOException {
+        Map<String, Medicao> medicoesBase = ler(base);
+        Map<String, Medicao> medicoesAtuais = ler(atual);
+
+        int regressoes = 0;
+        saida.printf(Locale.ROOT, "%n%-70s %14s %14s %9s  %s%n", "Métrica", "Base", "Atual", "Variação", "");
+        for (Map.Entry<String, Medicao> entrada : medicoesAtuais.entrySet()) {
+            Medicao anterior = medicoesBase.get(entrada.getKey());
+            if (anterior == null) {
+                continue;
+            }
+            Medicao medicao = entrada.getValue();
+            double diferenca = medicao.valor() - anterior.valor();
+            double variacao = anterior.valor() == 0 ? 0 : diferenca / anterior.valor() * 100;
+
+            String situacao = "";
+            if (Math.abs(diferenca) > margem(anterior) + margem(medicao) && Math.abs(variacao) > LIMIAR_PERCENTUAL) {
+                boolean maiorMelhor = medicao.modo().equals("thrpt") && !entrada.getKey().contains(":");
+                boolean piorou = maiorMelhor ? diferenca < 0 : diferenca > 0;
+                situacao = piorou ? "REGRESSÃO" : "melhoria";
+                if (piorou) {
+                    regressoes++;
+                }
+            }
+            saida.printf(Locale.ROOT, "%-70s %14.3f %14.3f %+8.1f%%  %s %s%n", entrada.getKey(), anterior.valor(),
+                    medicao.valor(), variacao, medicao.unidade(), situacao);
+        }
+        saida.printf("%nRegressões: %d%n", regressoes);
+        return regressoes;
+    }
+
+    private static double margem(Medicao medicao) {
+        return Double.isNaN(medicao.erro()) ? 0 : medicao.erro();
+    }
+
+    /**
+     * Lê um arquivo CSV do JMH, identificando cada métrica pelo nome do benchmark e pelos valores dos parâmetros.
+     * Apenas o resultado principal e a alocação por operação são mantidos.
+     */
+    private static Map<String, Medicao> ler(Path arquivo) throws IOException {
+        List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+        Map<String, Medicao> medicoes = new LinkedHashMap<>();
+        if (linhas.isEmpty()) {
+            return medicoes;
+        }
+
+        List<String> cabecalho = campos(linhas.get(0));
+        for (int i = 1; i < linhas.size(); i++) {
+            List<String> campos = campos(linhas.get(i));
+            if (campos.size() < 7) {
+                continue;
+            }
+            String benchmark = campos.get(0);
+            if (benchmark.contains(":") && !benchmark.endsWith(ALOCACAO)) {
+                continue;
+            }
+            StringBuilder chave = new StringBuilder(benchmark.startsWith(PREFIXO) ? benchmark.substring(PREFIXO.length()) : benchmark);
+            for (int j = 7; j < campos.size() && j < cabecalho.size(); j++) {
+                chave.append(' ').append(cabecalho.get(j).replace("Param: ", "")).append('=').append(campos.get(j));
+            }
+            medicoes.put(chave.toString(), new Medicao(campos.get(1), numero(campos.get(4)), numero(campos.get(5)), campos.get(6)));
+        }
+        return medicoes;
+    }
+
+    private static double numero(String texto) {
+        // O JMH formata os números com o separador decimal da localidade da JVM
+        String normalizado = texto.replace(',', '.');
+        return normalizado.isEmpty() || normalizado.equals("NaN") ? Double.NaN : Double.parseDouble(normalizado);
+    }
+
+    private static List<String> campos(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                entreAspas = !entreAspas;
+            } else if (c == ',' && !entreAspas) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,80 @@
+package com.redesocial.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ponto de entrada do jar de benchmarks.
+ * Aceita as mesmas opções de linha de comando do JMH e, quando elas não dizem o contrário, ativa o
+ * profiler de GC (taxa de alocação por operação e coletas) e grava os resultados em CSV, para que possam
+ * ser comparados entre versões. Com {@code --base=arquivo.csv}, compara o resultado com uma execução
+ * anterior ao final e termina com código 1 se houver regressões.
+ */
+public class ExecutarBenchmarks {
+    private static final String OPCAO_BASE = "--base=";
+    private static final String RESULTADO_PADRAO = "jmh-resultado.csv";
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String base = null;
+        List<String> opcoesJmh = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(OPCAO_BASE)) {
+                base = arg.substring(OPCAO_BASE.length());
+            } else {
+                opcoesJmh.add(arg);
+            }
+        }
+
+        CommandLineOptions linhaComando;
+        try {
+            linhaComando = new CommandLineOptions(opcoesJmh.toArray(new String[0]));
+        } catch (CommandLineOptionException e) {
+            System.err.println("Opção inválida: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (linhaComando.shouldHelp()) {
+            linhaComando.showHelp();
+            System.out.println("\n  " + OPCAO_BASE + "<arquivo.csv>   Compara o resultado com uma execução anterior em CSV.");
+            return;
+        }
+        if (linhaComando.shouldList() || linhaComando.shouldListWithParams() || linhaComando.shouldListProfilers()
+                || linhaComando.shouldListResultFormats()) {
+            new Runner(linhaComando).list();
+            return;
+        }
+
+        // As opções da linha de comando prevalecem; o builder só preenche o que não foi informado
+        OptionsBuilder opcoes = new OptionsBuilder();
+        opcoes.parent(linhaComando);
+        if (linhaComando.getProfilers().isEmpty()) {
+            opcoes.addProfiler(GCProfiler.class);
+        }
+        if (!linhaComando.getResultFormat().hasValue()) {
+            opcoes.resultFormat(ResultFormatType.CSV);
+        }
+        if (!linhaComando.getResult().hasValue()) {
+            opcoes.result(RESULTADO_PADRAO);
+        }
+
+        new Runner(opcoes.build()).run();
+
+        if (base != null) {
+            String resultado = linhaComando.getResult().orElse(RESULTADO_PADRAO);
+            int regressoes = CompararResultados.comparar(Path.of(base), Path.of(resultado), System.out);
+            if (regressoes > 0) {
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.redesocial.benchmark;
+
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.gerenciador.PaginaFeed;
+import com.redesocial.modelo.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a montagem do feed de notícias: a timeline pré-calculada ({@code listarFeed}) e as mesmas chamadas do
+ * menu "Ver Feed de Notícias", em que todas as páginas vêm da consulta por cursor.
+ * A população tem {@code quantidade} usuários, cada um ligado a {@value #AMIGOS_POR_USUARIO} amigos sorteados,
+ * e {@code quantidade} posts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedBenchmark {
+    static final int TAMANHO_FEED = 20; // Mesmo tamanho de página do menu
+    static final int AMIGOS_POR_USUARIO = 8;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int quantidade;
+
+    private GerenciadorPosts gerenciadorPosts;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        Random aleatorio = new Random(Populacao.SEMENTE);
+        GerenciadorUsuarios gerenciadorUsuarios = Populacao.cadastrarUsuarios(quantidade);
+        Populacao.criarAmizades(gerenciadorUsuarios, quantidade, AMIGOS_POR_USUARIO, aleatorio);
+        gerenciadorPosts = Populacao.criarPosts(gerenciadorUsuarios, quantidade, quantidade, aleatorio);
+    }
+
+    @Benchmark
+    public List<Post> listarFeed() {
+        return gerenciadorPosts.listarFeed(1 + ThreadLocalRandom.current().nextInt(quantidade), TAMANHO_FEED);
+    }
+
+    /**
+     * Monta a primeira página do feed e, se houver, a página seguinte pelo cursor devolvido.
+     */
+    @Benchmark
+    public void verFeedNoticias(Blackhole blackhole) {
+        int idUsuario = 1 + ThreadLocalRandom.current().nextInt(quantidade);
+        PaginaFeed pagina = gerenciadorPosts.consultarFeed(idUsuario, TAMANHO_FEED, null);
+        blackhole.consume(pagina);
+
+        if (pagina.temProximaPagina()) {
+            blackhole.consume(gerenciadorPosts.consultarFeed(idUsuario, TAMANHO_FEED, pagina.getProximoCursor()));
+        }
+    }
+}
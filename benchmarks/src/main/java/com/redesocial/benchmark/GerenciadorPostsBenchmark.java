@@ -0,0 +1,118 @@
+package com.redesocial.benchmark;
+
+import com.redesocial.exception.PostException;
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.gerenciador.PaginaComentarios;
+import com.redesocial.modelo.Comentario;
+import com.redesocial.modelo.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede as operações do {@link GerenciadorPosts} usadas na interação com posts.
+ * A população tem {@code quantidade} usuários e {@code quantidade} posts, com autores sorteados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GerenciadorPostsBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int quantidade;
+
+    private GerenciadorUsuarios gerenciadorUsuarios;
+    private GerenciadorPosts gerenciadorPosts;
+    private AtomicLong proximaCurtida;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        gerenciadorUsuarios = Populacao.cadastrarUsuarios(quantidade);
+        gerenciadorPosts = Populacao.criarPosts(gerenciadorUsuarios, quantidade, quantidade, new Random(Populacao.SEMENTE));
+        proximaCurtida = new AtomicLong();
+    }
+
+    @Benchmark
+    public Post buscarPorId() {
+        return gerenciadorPosts.buscarPorId(1 + ThreadLocalRandom.current().nextInt(quantidade));
+    }
+
+    /**
+     * Curte com um par (post, usuário) diferente a cada chamada, percorrendo todos os posts antes de repetir
+     * um usuário, para que a medição não caia no caminho de curtida duplicada.
+     */
+    @Benchmark
+    public Post curtir() {
+        long sequencia = proximaCurtida.getAndIncrement();
+        int idPost = 1 + (int) (sequencia % quantidade);
+        int idUsuario = 1 + (int) ((sequencia / quantidade) % quantidade);
+        try {
+            gerenciadorPosts.curtir(idPost, idUsuario);
+        } catch (PostException e) {
+            // Só ocorre depois de esgotados todos os pares
+        }
+        return gerenciadorPosts.buscarPorId(idPost);
+    }
+
+    /**
+     * Comenta em um post sorteado; os comentários se acumulam nos posts durante a medição.
+     */
+    @Benchmark
+    public Comentario comentar() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        Post post = gerenciadorPosts.buscarPorId(1 + aleatorio.nextInt(quantidade));
+        Comentario comentario = new Comentario(gerenciadorUsuarios.buscarPorId(1 + aleatorio.nextInt(quantidade)), "Comentário", post);
+        gerenciadorPosts.comentar(comentario);
+        return comentario;
+    }
+
+    /**
+     * Comenta sempre no mesmo post, que acumula milhões de comentários durante a medição; o custo deve
+     * ser o mesmo de {@link #comentar()}, independente do tamanho da discussão.
+     */
+    @Benchmark
+    public Comentario comentarPostViral() {
+        Post post = gerenciadorPosts.buscarPorId(1);
+        Comentario comentario = new Comentario(gerenciadorUsuarios.buscarPorId(1 + ThreadLocalRandom.current().nextInt(quantidade)), "Comentário", post);
+        gerenciadorPosts.comentar(comentario);
+        return comentario;
+    }
+
+    /**
+     * Consulta a primeira página de comentários de um post sorteado.
+     */
+    @Benchmark
+    public PaginaComentarios consultarComentarios() {
+        return gerenciadorPosts.consultarComentarios(1 + ThreadLocalRandom.current().nextInt(quantidade), 20, 0);
+    }
+
+    /**
+     * Lista os posts de um autor sorteado; autores sem posts fazem parte da medição, como no menu.
+     */
+    @Benchmark
+    public List<Post> listarPorUsuario() {
+        try {
+            return gerenciadorPosts.listarPorUsuario(1 + ThreadLocalRandom.current().nextInt(quantidade));
+        } catch (PostException e) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.redesocial.benchmark;
+
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.modelo.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mede as operações do {@link GerenciadorUsuarios} usadas no cadastro, no login e na busca de usuários.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GerenciadorUsuariosBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int quantidade;
+
+    private GerenciadorUsuarios gerenciadorUsuarios;
+    private AtomicInteger proximoCadastro;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        gerenciadorUsuarios = Populacao.cadastrarUsuarios(quantidade);
+        proximoCadastro = new AtomicInteger(quantidade);
+    }
+
+    /**
+     * Cadastra um usuário novo a cada chamada; a população cresce durante a medição.
+     */
+    @Benchmark
+    public Usuario cadastrar() {
+        Usuario usuario = Populacao.novoUsuario(proximoCadastro.getAndIncrement());
+        gerenciadorUsuarios.cadastrar(usuario);
+        return usuario;
+    }
+
+    @Benchmark
+    public Usuario buscarPorUsername() {
+        return gerenciadorUsuarios.buscarPorUsername(Populacao.username(ThreadLocalRandom.current().nextInt(quantidade)));
+    }
+
+    /**
+     * Busca por um nome completo sorteado; cada nome é compartilhado por cerca de 1/400 da população.
+     */
+    @Benchmark
+    public List<Usuario> buscarPorNome() {
+        return gerenciadorUsuarios.buscarPorNome(Populacao.nome(ThreadLocalRandom.current().nextInt(quantidade)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.redesocial.benchmark;
+
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Mede quantos bytes de heap cada post ocupa, incluindo os índices do {@link GerenciadorPosts}.
+ * Os usuários são cadastrados antes da primeira medição; a segunda é feita depois de criar os posts, pelo
+ * mesmo caminho do {@link Populacao}, e de curtir uma parte deles, já que a maioria dos posts nunca recebe curtidas.
+ * O resultado inclui o texto de cada post (cerca de 60 bytes nesta população).
+ *
+ * <p>Uso: {@code java -Xmx8g -cp benchmarks.jar com.redesocial.benchmark.MedirMemoriaPosts [posts] [usuarios] [percentualCurtidos]}</p>
+ */
+public class MedirMemoriaPosts {
+
+    public static void main(String[] args) {
+        int quantidadePosts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int quantidadeUsuarios = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int percentualCurtidos = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        Random aleatorio = new Random(Populacao.SEMENTE);
+        GerenciadorUsuarios gerenciadorUsuarios = Populacao.cadastrarUsuarios(quantidadeUsuarios);
+        long antes = heapUsado();
+
+        GerenciadorPosts gerenciadorPosts = Populacao.criarPosts(gerenciadorUsuarios, quantidadeUsuarios, quantidadePosts, aleatorio);
+        for (int id = 1; id <= quantidadePosts; id++) {
+            if (aleatorio.nextInt(100) < percentualCurtidos) {
+                gerenciadorPosts.curtir(id, 1 + aleatorio.nextInt(quantidadeUsuarios));
+            }
+        }
+        long depois = heapUsado();
+
+        System.out.printf(Locale.ROOT, "%d posts (%d%% curtidos): %.1f MB, %.1f bytes por post%n", quantidadePosts,
+                percentualCurtidos, (depois - antes) / 1e6, (double) (depois - antes) / quantidadePosts);
+        if (gerenciadorPosts.buscarPorId(quantidadePosts) == null) { // Mantém os dados vivos até a medição
+            System.exit(1);
+        }
+    }
+
+    private static long heapUsado() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,93 @@
+package com.redesocial.benchmark;
+
+import com.redesocial.exception.PostException;
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.metricas.Metricas;
+import com.redesocial.modelo.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede o custo das {@link Metricas} comparando as mesmas operações com as métricas desativadas, cronometrando
+ * todas as chamadas e cronometrando uma amostra de 1 a cada 16.
+ * As operações mais baratas dos gerenciadores são as que mais evidenciam o custo fixo da medição. O orçamento
+ * é de no máximo 100 ns por chamada medida em relação à variante desativada; onde o relógio da máquina for
+ * lento demais para cronometrar todas as chamadas dentro dele, use a amostragem.
+ * Para medir a disputa entre threads, execute com {@code -t 4}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricasBenchmark {
+    static final int QUANTIDADE = 100_000;
+
+    @Param({"desativadas", "todas", "amostra16"})
+    public String metricas;
+
+    private GerenciadorUsuarios gerenciadorUsuarios;
+    private GerenciadorPosts gerenciadorPosts;
+    private AtomicLong proximaCurtida;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        gerenciadorUsuarios = Populacao.cadastrarUsuarios(QUANTIDADE);
+        gerenciadorPosts = Populacao.criarPosts(gerenciadorUsuarios, QUANTIDADE, QUANTIDADE, new Random(Populacao.SEMENTE));
+        if (!metricas.equals("desativadas")) {
+            Metricas medidas = new Metricas(metricas.equals("todas") ? 1 : 16);
+            gerenciadorUsuarios.usarMetricas(medidas);
+            gerenciadorPosts.usarMetricas(medidas);
+        }
+        proximaCurtida = new AtomicLong();
+    }
+
+    @Benchmark
+    public int[] listarCurtidas() {
+        return gerenciadorPosts.listarCurtidas(1 + ThreadLocalRandom.current().nextInt(QUANTIDADE));
+    }
+
+    @Benchmark
+    public List<Post> listarUltimoPost() {
+        return gerenciadorPosts.listarUltimosPorUsuario(1 + ThreadLocalRandom.current().nextInt(QUANTIDADE), 1);
+    }
+
+    /**
+     * Curte com um par (post, usuário) diferente a cada chamada; só a curtida é medida, pois a busca do post
+     * devolvido é um acesso O(1).
+     */
+    @Benchmark
+    public Post curtir() {
+        long sequencia = proximaCurtida.getAndIncrement();
+        int idPost = 1 + (int) (sequencia % QUANTIDADE);
+        try {
+            gerenciadorPosts.curtir(idPost, 1 + (int) ((sequencia / QUANTIDADE) % QUANTIDADE));
+        } catch (PostException e) {
+            // Só ocorre depois de esgotados todos os pares
+        }
+        return gerenciadorPosts.buscarPorId(idPost);
+    }
+
+    @Benchmark
+    public List<Post> listarFeed() {
+        return gerenciadorPosts.listarFeed(1 + ThreadLocalRandom.current().nextInt(QUANTIDADE), 20);
+    }
+}
@@ -0,0 +1,100 @@
+package com.redesocial.benchmark;
+
+import com.redesocial.gerenciador.GerenciadorPosts;
+import com.redesocial.gerenciador.GerenciadorUsuarios;
+import com.redesocial.modelo.Post;
+import com.redesocial.modelo.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Monta as massas de dados usadas pelos benchmarks.
+ * Os dados são gerados a partir de uma semente fixa, para que execuções diferentes (por exemplo, antes e
+ * depois de uma alteração) meçam exatamente a mesma população. O usuário de índice {@code i} recebe o ID
+ * {@code i + 1}, já que os gerenciadores começam a numeração em 1.
+ */
+final class Populacao {
+    static final long SEMENTE = 20241017L;
+    static final LocalDateTime DATA_BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final String[] NOMES = {
+            "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela", "Heitor", "Isabela", "João",
+            "Júlia", "Lucas", "Mariana", "Nicolas", "Olívia", "Pedro", "Rafaela", "Samuel", "Tainá", "Vitor"
+    };
+    private static final String[] SOBRENOMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+            "Costa", "Ribeiro", "Martins", "Carvalho", "Araújo", "Melo", "Barbosa", "Cardoso", "Rocha", "Conceição"
+    };
+
+    private Populacao() {
+    }
+
+    static String nome(int i) {
+        return NOMES[i % NOMES.length] + " " + SOBRENOMES[(i / NOMES.length) % SOBRENOMES.length];
+    }
+
+    static String username(int i) {
+        return "usuario" + i;
+    }
+
+    static Usuario novoUsuario(int i) {
+        String username = username(i);
+        return new Usuario(nome(i), username, username + "@teste.com", "123456", DATA_BASE.plusSeconds(i));
+    }
+
+    /**
+     * Cadastra {@code quantidade} usuários pelo mesmo caminho usado pelo menu de cadastro.
+     * @param quantidade Quantidade de usuários.
+     * @return O gerenciador com os usuários cadastrados.
+     */
+    static GerenciadorUsuarios cadastrarUsuarios(int quantidade) {
+        GerenciadorUsuarios gerenciadorUsuarios = new GerenciadorUsuarios();
+        for (int i = 0; i < quantidade; i++) {
+            gerenciadorUsuarios.cadastrar(novoUsuario(i));
+        }
+        return gerenciadorUsuarios;
+    }
+
+    /**
+     * Liga cada usuário a {@code amigosPorUsuario} usuários sorteados, ignorando sorteios repetidos.
+     * Deve ser chamado antes de {@link #criarPosts}, para que os posts sejam distribuídos às timelines.
+     * @param gerenciadorUsuarios O gerenciador com os usuários.
+     * @param quantidade Quantidade de usuários cadastrados.
+     * @param amigosPorUsuario Quantidade de amizades criadas a partir de cada usuário.
+     * @param aleatorio O gerador de números aleatórios.
+     */
+    static void criarAmizades(GerenciadorUsuarios gerenciadorUsuarios, int quantidade, int amigosPorUsuario, Random aleatorio) {
+        if (quantidade < 2) {
+            return;
+        }
+        for (int id = 1; id <= quantidade; id++) {
+            for (int j = 0; j < amigosPorUsuario; j++) {
+                int amigo = 1 + aleatorio.nextInt(quantidade);
+                if (amigo != id && !gerenciadorUsuarios.saoAmigos(id, amigo)) {
+                    gerenciadorUsuarios.adicionarAmizade(id, amigo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cria {@code quantidade} posts de autores sorteados, em ordem cronológica, da mesma forma que o menu
+     * de criação de posts.
+     * @param gerenciadorUsuarios O gerenciador com os autores.
+     * @param quantidadeUsuarios Quantidade de usuários cadastrados.
+     * @param quantidade Quantidade de posts.
+     * @param aleatorio O gerador de números aleatórios.
+     * @return O gerenciador com os posts criados.
+     */
+    static GerenciadorPosts criarPosts(GerenciadorUsuarios gerenciadorUsuarios, int quantidadeUsuarios, int quantidade, Random aleatorio) {
+        GerenciadorPosts gerenciadorPosts = new GerenciadorPosts(gerenciadorUsuarios);
+        for (int i = 0; i < quantidade; i++) {
+            Usuario autor = gerenciadorUsuarios.buscarPorId(1 + aleatorio.nextInt(quantidadeUsuarios));
+            Post post = new Post(null, autor, "Post " + i + " de " + autor.getUsername(), DATA_BASE.plusSeconds(i));
+            gerenciadorUsuarios.adicionarPost(autor, post);
+            gerenciadorPosts.criar(post);
+        }
+        return gerenciadorPosts;
+    }
+}